@@ -0,0 +1,287 @@
+package com.murdoch.fitnessapp;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumented benchmark that compares the heap used by, and the time taken to calculate the
+ * distance travelled over, GPS tracks stored as an ArrayList of GPSLocations (the storage
+ * used before GPSTrack) against GPS tracks stored in a GPSTrack
+ *
+ * The heap is measured per 10000 GPSLocations, as the difference in the heap used by the
+ * runtime before and after the tracks are created. Results are written to logcat under the
+ * tag BENCHMARK_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class GPSTrackMemoryBenchmarkInstrumentedTest
+{
+    private static final String BENCHMARK_TAG = "WorkoutSessionBenchmark";
+
+    private static final int NUMBER_OF_GPS_LOCATIONS_PER_TRACK = 10_000;
+
+    //several tracks are created so that the difference in the heap used is not lost in noise
+    private static final int NUMBER_OF_TRACKS = 20;
+
+    private static final int PAUSE_INTERVAL = 600;
+
+    private static final int NUMBER_OF_WARMUP_ITERATIONS = 20;
+    private static final int NUMBER_OF_MEASURED_ITERATIONS = 50;
+
+
+    @Test
+    public void storeGPSTracks_ArrayListAgainstGPSTrack_HeapPer10000GPSLocationsBenchmark()
+    {
+        long arrayListHeapUsedInBytes = getUsedHeapInBytes();
+
+        List<List<IGPSLocation>> listOfArrayListTracks = new ArrayList<>();
+
+        for (int trackIndex = 0; trackIndex < NUMBER_OF_TRACKS; trackIndex++)
+        {
+            listOfArrayListTracks.add(getBenchmarkTrack(trackIndex));
+        }
+
+        arrayListHeapUsedInBytes = getUsedHeapInBytes() - arrayListHeapUsedInBytes;
+
+
+        long gpsTrackHeapUsedInBytes = getUsedHeapInBytes();
+
+        List<GPSTrack> listOfGPSTracks = new ArrayList<>();
+
+        for (int trackIndex = 0; trackIndex < NUMBER_OF_TRACKS; trackIndex++)
+        {
+            GPSTrack gpsTrack = new GPSTrack();
+
+            addBenchmarkTrack(trackIndex, gpsTrack);
+
+            listOfGPSTracks.add(gpsTrack);
+        }
+
+        gpsTrackHeapUsedInBytes = getUsedHeapInBytes() - gpsTrackHeapUsedInBytes;
+
+
+        Log.i(BENCHMARK_TAG, String.format("Heap per %d GPSLocations | " +
+                "ARRAY_LIST: %d bytes | GPS_TRACK: %d bytes",
+                NUMBER_OF_GPS_LOCATIONS_PER_TRACK,
+                arrayListHeapUsedInBytes / NUMBER_OF_TRACKS,
+                gpsTrackHeapUsedInBytes / NUMBER_OF_TRACKS));
+
+
+        for (int trackIndex = 0; trackIndex < NUMBER_OF_TRACKS; trackIndex++)
+        {
+            assertEquals(listOfArrayListTracks.get(trackIndex),
+                         listOfGPSTracks.get(trackIndex).getListOfGPSLocations());
+        }
+
+        assertTrue(gpsTrackHeapUsedInBytes < arrayListHeapUsedInBytes);
+    }
+
+
+    @Test
+    public void calculateDistanceTravelled_ArrayListAgainstGPSTrack_Benchmark()
+    {
+        List<IGPSLocation> arrayListTrack = getBenchmarkTrack(0);
+
+        WorkoutSession workoutSession = new WorkoutSession();
+        addBenchmarkTrack(0, workoutSession);
+
+
+        double arrayListDistanceInKilometers = 0;
+
+        for (int iteration = 0; iteration < NUMBER_OF_WARMUP_ITERATIONS; iteration++)
+        {
+            arrayListDistanceInKilometers = calculateAndGetTotalDistanceInKilometers(
+                                                                            arrayListTrack);
+        }
+
+        long arrayListStartTimeInNanoseconds = System.nanoTime();
+
+        for (int iteration = 0; iteration < NUMBER_OF_MEASURED_ITERATIONS; iteration++)
+        {
+            arrayListDistanceInKilometers = calculateAndGetTotalDistanceInKilometers(
+                                                                            arrayListTrack);
+        }
+
+        long arrayListTimeInMicroseconds = (System.nanoTime() - arrayListStartTimeInNanoseconds) /
+                                           1_000 / NUMBER_OF_MEASURED_ITERATIONS;
+
+
+        for (int iteration = 0; iteration < NUMBER_OF_WARMUP_ITERATIONS; iteration++)
+        {
+            workoutSession.calculateDistanceTravelled();
+        }
+
+        long gpsTrackStartTimeInNanoseconds = System.nanoTime();
+
+        for (int iteration = 0; iteration < NUMBER_OF_MEASURED_ITERATIONS; iteration++)
+        {
+            workoutSession.calculateDistanceTravelled();
+        }
+
+        long gpsTrackTimeInMicroseconds = (System.nanoTime() - gpsTrackStartTimeInNanoseconds) /
+                                          1_000 / NUMBER_OF_MEASURED_ITERATIONS;
+
+
+        Log.i(BENCHMARK_TAG, String.format("calculateDistanceTravelled over %d GPSLocations | " +
+                "ARRAY_LIST: %d us | GPS_TRACK: %d us",
+                NUMBER_OF_GPS_LOCATIONS_PER_TRACK,
+                arrayListTimeInMicroseconds, gpsTrackTimeInMicroseconds));
+
+
+        final double DELTA = 1e-9;
+
+        assertEquals(arrayListDistanceInKilometers,
+                     workoutSession.getDistanceTravelledInKilometers(), DELTA);
+    }
+
+
+    /**
+     * Returns the heap used by the runtime in bytes, after requesting a garbage collection
+     * */
+    private static long getUsedHeapInBytes()
+    {
+        Runtime runtime = Runtime.getRuntime();
+
+        System.gc();
+        System.runFinalization();
+        System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+
+    /**
+     * Calculate and return the total distance of a track stored as a list of GPSLocations,
+     * in the way WorkoutSession did before the track was stored in a GPSTrack
+     *
+     * @param listOfGPSLocations the track of interest, in which each pause is a null element
+     * */
+    private static double calculateAndGetTotalDistanceInKilometers(
+                                                        List<IGPSLocation> listOfGPSLocations)
+    {
+        final int EARTH_RADIUS_IN_KILOMETERS = 6371;
+
+        double totalDistanceInKilometers = 0;
+
+        for (int index = 1; index < listOfGPSLocations.size(); index++)
+        {
+            IGPSLocation firstPoint = listOfGPSLocations.get(index - 1);
+            IGPSLocation secondPoint = listOfGPSLocations.get(index);
+
+            if (firstPoint == null || secondPoint == null)
+            {
+                continue;
+            }
+
+            double firstPointLatitudeRadius = firstPoint.getLatitude() * Math.PI / 180;
+            double secondPointLatitudeRadius = secondPoint.getLatitude() * Math.PI / 180;
+
+            double latitudeDifference =
+                    (secondPoint.getLatitude() - firstPoint.getLatitude()) * Math.PI / 180;
+            double longitudeDifference =
+                    (secondPoint.getLongitude() - firstPoint.getLongitude()) * Math.PI / 180;
+
+            double chordLength =
+                    Math.sin(latitudeDifference / 2) * Math.sin(latitudeDifference / 2) +
+                    Math.cos(firstPointLatitudeRadius) * Math.cos(secondPointLatitudeRadius) *
+                            Math.sin(longitudeDifference / 2) * Math.sin(longitudeDifference / 2);
+
+            double angularDistance = 2 * Math.atan2(Math.sqrt(chordLength),
+                                                    Math.sqrt(1 - chordLength));
+
+            totalDistanceInKilometers += EARTH_RADIUS_IN_KILOMETERS * angularDistance;
+        }
+
+        return totalDistanceInKilometers;
+    }
+
+
+    /**
+     * Returns the benchmark track of the index given as a list of GPSLocations, in which each
+     * pause is a null element
+     *
+     * @param trackIndex the index of the track, which offsets its GPSLocations
+     * */
+    private static List<IGPSLocation> getBenchmarkTrack(int trackIndex)
+    {
+        List<IGPSLocation> track = new ArrayList<>();
+
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS_PER_TRACK; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                track.add(null);
+            }
+
+            track.add(new GPSLocation(getBenchmarkLatitude(trackIndex, index),
+                                      getBenchmarkLongitude(index)));
+        }
+
+        return track;
+    }
+
+
+    /**
+     * Adds the same GPSLocations and pauses as getBenchmarkTrack(int) to the track given,
+     * without creating a GPSLocation per GPSLocation
+     *
+     * @param trackIndex the index of the track, which offsets its GPSLocations
+     * @param gpsTrack the track to add to
+     * */
+    private static void addBenchmarkTrack(int trackIndex, GPSTrack gpsTrack)
+    {
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS_PER_TRACK; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                gpsTrack.addPause();
+            }
+
+            gpsTrack.addGPSLocation(getBenchmarkLatitude(trackIndex, index),
+                                    getBenchmarkLongitude(index));
+        }
+    }
+
+
+    /**
+     * Adds the same GPSLocations and pauses as getBenchmarkTrack(int) to the workout
+     * session given
+     *
+     * @param trackIndex the index of the track, which offsets its GPSLocations
+     * @param workoutSession the workout session to add to
+     * */
+    private static void addBenchmarkTrack(int trackIndex, WorkoutSession workoutSession)
+    {
+        for (IGPSLocation gpsLocation : getBenchmarkTrack(trackIndex))
+        {
+            workoutSession.addGPSLocation(gpsLocation);
+        }
+    }
+
+
+    private static double getBenchmarkLatitude(int trackIndex, int index)
+    {
+        return -32.0 + trackIndex * 0.001 + index * 0.00004 + Math.sin(index / 50.0) * 0.0002;
+    }
+
+
+    private static double getBenchmarkLongitude(int index)
+    {
+        return 115.8 + index * 0.00003;
+    }
+}
@@ -0,0 +1,321 @@
+package com.murdoch.fitnessapp;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackEncoding;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumented benchmark that compares the on-disk size and the load time of GPS tracks
+ * stored with one record per GPSLocation (the format used before database version 6)
+ * against GPS tracks stored as one BLOB per workout session encoded by GPSTrackEncoding
+ *
+ * Each format is written into its own database file, so that the size of the file only
+ * reflects that format. Results are written to logcat under the tag BENCHMARK_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class GPSTrackStorageBenchmarkInstrumentedTest
+{
+    private static final String BENCHMARK_TAG = "WorkoutSessionBenchmark";
+
+    private static final String PER_GPS_LOCATION_DATABASE_NAME =
+                                                    "GPSTrackStorageBenchmarkPerGPSLocation.db";
+    private static final String ENCODED_TRACK_DATABASE_NAME =
+                                                    "GPSTrackStorageBenchmarkEncodedTrack.db";
+
+    private static final int NUMBER_OF_WORKOUT_SESSIONS = 50;
+
+    //a two hour workout session with one GPSLocation every two seconds
+    private static final int NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION = 3600;
+
+    private static final int PAUSE_INTERVAL = 600;
+
+    Context context;
+
+
+    /**
+     * Setup the benchmark before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        this.context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        this.context.deleteDatabase(PER_GPS_LOCATION_DATABASE_NAME);
+        this.context.deleteDatabase(ENCODED_TRACK_DATABASE_NAME);
+    }
+
+
+    /**
+     * Remove the database files created by the benchmark
+     * */
+    @After
+    public void tearDownTest()
+    {
+        this.context.deleteDatabase(PER_GPS_LOCATION_DATABASE_NAME);
+        this.context.deleteDatabase(ENCODED_TRACK_DATABASE_NAME);
+    }
+
+
+    @Test
+    public void storeAndLoadGPSTracks_PerGPSLocationAgainstEncodedTrack_Benchmark()
+    {
+        List<List<IGPSLocation>> listOfTracks = new ArrayList<>();
+
+        for (int sessionIndex = 0; sessionIndex < NUMBER_OF_WORKOUT_SESSIONS; sessionIndex++)
+        {
+            listOfTracks.add(getBenchmarkTrack(sessionIndex));
+        }
+
+
+        File perGPSLocationDatabaseFile =
+                this.context.getDatabasePath(PER_GPS_LOCATION_DATABASE_NAME);
+
+        writePerGPSLocationDatabase(perGPSLocationDatabaseFile, listOfTracks);
+
+        long perGPSLocationLoadStartTimeInNanoseconds = System.nanoTime();
+        List<List<IGPSLocation>> perGPSLocationResult =
+                loadPerGPSLocationDatabase(perGPSLocationDatabaseFile);
+        long perGPSLocationLoadTimeInMilliseconds =
+                (System.nanoTime() - perGPSLocationLoadStartTimeInNanoseconds) / 1_000_000;
+
+
+        File encodedTrackDatabaseFile =
+                this.context.getDatabasePath(ENCODED_TRACK_DATABASE_NAME);
+
+        writeEncodedTrackDatabase(encodedTrackDatabaseFile, listOfTracks);
+
+        long encodedTrackLoadStartTimeInNanoseconds = System.nanoTime();
+        List<List<IGPSLocation>> encodedTrackResult =
+                loadEncodedTrackDatabase(encodedTrackDatabaseFile);
+        long encodedTrackLoadTimeInMilliseconds =
+                (System.nanoTime() - encodedTrackLoadStartTimeInNanoseconds) / 1_000_000;
+
+
+        Log.i(BENCHMARK_TAG, String.format("%d sessions x %d GPSLocations | " +
+                "PER_GPS_LOCATION: %d bytes, %d ms | ENCODED_TRACK: %d bytes, %d ms",
+                NUMBER_OF_WORKOUT_SESSIONS, NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION,
+                perGPSLocationDatabaseFile.length(), perGPSLocationLoadTimeInMilliseconds,
+                encodedTrackDatabaseFile.length(), encodedTrackLoadTimeInMilliseconds));
+
+
+        assertEquals(perGPSLocationResult, encodedTrackResult);
+
+        assertTrue(encodedTrackDatabaseFile.length() < perGPSLocationDatabaseFile.length());
+    }
+
+
+    /**
+     * Write the tracks into a new database with one record per GPSLocation, using the same
+     * table definition as WorkoutSessionGPSLocation before database version 6
+     *
+     * @param databaseFile the database file to write to
+     * @param listOfTracks the tracks to write, one per workout session
+     * */
+    private static void writePerGPSLocationDatabase(File databaseFile,
+                                                    List<List<IGPSLocation>> listOfTracks)
+    {
+        final SQLiteDatabase.CursorFactory NO_CURSOR_FACTORY = null;
+
+        SQLiteDatabase sqLiteDatabase = SQLiteDatabase.openOrCreateDatabase(databaseFile,
+                                                                            NO_CURSOR_FACTORY);
+
+        sqLiteDatabase.execSQL("CREATE TABLE WorkoutSessionGPSLocation ( " +
+                "sessionId INTEGER NOT NULL, locationIndex INTEGER NOT NULL, " +
+                "isLocationNull INTEGER NOT NULL, latitude REAL, longitude REAL, " +
+                "PRIMARY KEY ( sessionId, locationIndex ) );");
+
+        sqLiteDatabase.beginTransaction();
+
+        for (int sessionIndex = 0; sessionIndex < listOfTracks.size(); sessionIndex++)
+        {
+            List<IGPSLocation> track = listOfTracks.get(sessionIndex);
+
+            for (int locationIndex = 0; locationIndex < track.size(); locationIndex++)
+            {
+                IGPSLocation gpsLocation = track.get(locationIndex);
+
+                ContentValues contentValues = new ContentValues();
+                contentValues.put("sessionId", sessionIndex);
+                contentValues.put("locationIndex", locationIndex);
+
+                //1 when the location is not null, as in WorkoutSessionDatabaseHelper
+                contentValues.put("isLocationNull", gpsLocation != null ? 1 : 0);
+                contentValues.put("latitude",
+                                  gpsLocation != null ? gpsLocation.getLatitude() : null);
+                contentValues.put("longitude",
+                                  gpsLocation != null ? gpsLocation.getLongitude() : null);
+
+                sqLiteDatabase.insertOrThrow("WorkoutSessionGPSLocation", null, contentValues);
+            }
+        }
+
+        sqLiteDatabase.setTransactionSuccessful();
+        sqLiteDatabase.endTransaction();
+        sqLiteDatabase.close();
+    }
+
+
+    /**
+     * Load every track from a database written by
+     * writePerGPSLocationDatabase(File, List)
+     *
+     * @param databaseFile the database file to load from
+     * */
+    private static List<List<IGPSLocation>> loadPerGPSLocationDatabase(File databaseFile)
+    {
+        final SQLiteDatabase.CursorFactory NO_CURSOR_FACTORY = null;
+
+        SQLiteDatabase sqLiteDatabase = SQLiteDatabase.openDatabase(databaseFile.getPath(),
+                NO_CURSOR_FACTORY, SQLiteDatabase.OPEN_READONLY);
+
+        List<List<IGPSLocation>> listOfTracks = new ArrayList<>();
+
+        Cursor cursor = sqLiteDatabase.rawQuery("SELECT sessionId, isLocationNull, " +
+                "latitude, longitude FROM WorkoutSessionGPSLocation " +
+                "ORDER BY sessionId ASC, locationIndex ASC", null);
+
+        long currentSessionId = -1;
+        List<IGPSLocation> currentTrack = null;
+
+        while (cursor.moveToNext())
+        {
+            long sessionId = cursor.getLong(0);
+
+            if (sessionId != currentSessionId)
+            {
+                currentSessionId = sessionId;
+                currentTrack = new ArrayList<>();
+                listOfTracks.add(currentTrack);
+            }
+
+            currentTrack.add(cursor.getLong(1) == 1 ?
+                    new GPSLocation(cursor.getDouble(2), cursor.getDouble(3)) : null);
+        }
+
+        cursor.close();
+        sqLiteDatabase.close();
+
+        return listOfTracks;
+    }
+
+
+    /**
+     * Write the tracks into a new database with one encoded track per workout session, using
+     * the same table definition as WorkoutSessionGPSTrack
+     *
+     * @param databaseFile the database file to write to
+     * @param listOfTracks the tracks to write, one per workout session
+     * */
+    private static void writeEncodedTrackDatabase(File databaseFile,
+                                                  List<List<IGPSLocation>> listOfTracks)
+    {
+        final SQLiteDatabase.CursorFactory NO_CURSOR_FACTORY = null;
+
+        SQLiteDatabase sqLiteDatabase = SQLiteDatabase.openOrCreateDatabase(databaseFile,
+                                                                            NO_CURSOR_FACTORY);
+
+        sqLiteDatabase.execSQL("CREATE TABLE WorkoutSessionGPSTrack ( " +
+                "sessionId INTEGER PRIMARY KEY, encodedTrack BLOB NOT NULL );");
+
+        sqLiteDatabase.beginTransaction();
+
+        for (int sessionIndex = 0; sessionIndex < listOfTracks.size(); sessionIndex++)
+        {
+            ContentValues contentValues = new ContentValues();
+            contentValues.put("sessionId", sessionIndex);
+            contentValues.put("encodedTrack",
+                              GPSTrackEncoding.encode(listOfTracks.get(sessionIndex)));
+
+            sqLiteDatabase.insertOrThrow("WorkoutSessionGPSTrack", null, contentValues);
+        }
+
+        sqLiteDatabase.setTransactionSuccessful();
+        sqLiteDatabase.endTransaction();
+        sqLiteDatabase.close();
+    }
+
+
+    /**
+     * Load every track from a database written by writeEncodedTrackDatabase(File, List)
+     *
+     * @param databaseFile the database file to load from
+     * */
+    private static List<List<IGPSLocation>> loadEncodedTrackDatabase(File databaseFile)
+    {
+        final SQLiteDatabase.CursorFactory NO_CURSOR_FACTORY = null;
+
+        SQLiteDatabase sqLiteDatabase = SQLiteDatabase.openDatabase(databaseFile.getPath(),
+                NO_CURSOR_FACTORY, SQLiteDatabase.OPEN_READONLY);
+
+        List<List<IGPSLocation>> listOfTracks = new ArrayList<>();
+
+        Cursor cursor = sqLiteDatabase.rawQuery("SELECT encodedTrack FROM " +
+                "WorkoutSessionGPSTrack ORDER BY sessionId ASC", null);
+
+        while (cursor.moveToNext())
+        {
+            listOfTracks.add(GPSTrackEncoding.decode(cursor.getBlob(0)));
+        }
+
+        cursor.close();
+        sqLiteDatabase.close();
+
+        return listOfTracks;
+    }
+
+
+    /**
+     * Returns a track of NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION GPSLocations about
+     * 5 meters apart, with a pause after every PAUSE_INTERVAL GPSLocations. The coordinates
+     * are rounded to the fixed-point scale of GPSTrackEncoding, so that both formats load
+     * the same coordinates
+     *
+     * @param sessionIndex index of the workout session, used to vary its track
+     * */
+    private static List<IGPSLocation> getBenchmarkTrack(int sessionIndex)
+    {
+        List<IGPSLocation> track = new ArrayList<>();
+
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                track.add(null);
+            }
+
+            double latitude = -32.0 + sessionIndex * 0.001 + index * 0.00004 +
+                    Math.sin(index / 50.0) * 0.0002;
+            double longitude = 115.8 + index * 0.00003;
+
+            track.add(new GPSLocation(
+                    Math.round(latitude * GPSTrackEncoding.COORDINATE_SCALE) /
+                            GPSTrackEncoding.COORDINATE_SCALE,
+                    Math.round(longitude * GPSTrackEncoding.COORDINATE_SCALE) /
+                            GPSTrackEncoding.COORDINATE_SCALE));
+        }
+
+        return track;
+    }
+}
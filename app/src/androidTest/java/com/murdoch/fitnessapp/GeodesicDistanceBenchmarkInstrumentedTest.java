@@ -0,0 +1,138 @@
+package com.murdoch.fitnessapp;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GeodesicDistance;
+
+/**
+ * Instrumented benchmark that compares the time taken to calculate the total distance of a
+ * GPS track with the Haversine formula previously used by WorkoutSession, calculated for
+ * each pair of GPSLocations separately, against each mode of GeodesicDistance, calculated
+ * in a batch over the coordinate arrays
+ *
+ * Results are written to logcat under the tag BENCHMARK_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class GeodesicDistanceBenchmarkInstrumentedTest
+{
+    private static final String BENCHMARK_TAG = "WorkoutSessionBenchmark";
+
+    private static final int NUMBER_OF_GPS_LOCATIONS = 10_000;
+
+    private static final int NUMBER_OF_WARMUP_ITERATIONS = 20;
+    private static final int NUMBER_OF_MEASURED_ITERATIONS = 50;
+
+
+    @Test
+    public void calculateTotalDistanceInKilometers_EachMode_Benchmark()
+    {
+        double[] latitudes = new double[NUMBER_OF_GPS_LOCATIONS];
+        double[] longitudes = new double[NUMBER_OF_GPS_LOCATIONS];
+
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS; index++)
+        {
+            latitudes[index] = -32.0 + index * 0.00004 + Math.sin(index / 50.0) * 0.0002;
+            longitudes[index] = 115.8 + index * 0.00003;
+        }
+
+
+        double referenceDistanceInKilometers = 0;
+
+        for (int iteration = 0; iteration < NUMBER_OF_WARMUP_ITERATIONS; iteration++)
+        {
+            referenceDistanceInKilometers =
+                    calculateReferenceTotalDistanceInKilometers(latitudes, longitudes);
+        }
+
+        long referenceStartTimeInNanoseconds = System.nanoTime();
+
+        for (int iteration = 0; iteration < NUMBER_OF_MEASURED_ITERATIONS; iteration++)
+        {
+            referenceDistanceInKilometers =
+                    calculateReferenceTotalDistanceInKilometers(latitudes, longitudes);
+        }
+
+        long referenceTimeInMicroseconds = (System.nanoTime() - referenceStartTimeInNanoseconds) /
+                                           1_000 / NUMBER_OF_MEASURED_ITERATIONS;
+
+        Log.i(BENCHMARK_TAG, String.format("Total distance over %d GPSLocations | " +
+                "REFERENCE: %d us", NUMBER_OF_GPS_LOCATIONS, referenceTimeInMicroseconds));
+
+
+        for (GeodesicDistance.Mode mode : GeodesicDistance.Mode.values())
+        {
+            double distanceInKilometers = 0;
+
+            for (int iteration = 0; iteration < NUMBER_OF_WARMUP_ITERATIONS; iteration++)
+            {
+                distanceInKilometers = GeodesicDistance.calculateTotalDistanceInKilometers(
+                        latitudes, longitudes, 0, NUMBER_OF_GPS_LOCATIONS, mode);
+            }
+
+            long startTimeInNanoseconds = System.nanoTime();
+
+            for (int iteration = 0; iteration < NUMBER_OF_MEASURED_ITERATIONS; iteration++)
+            {
+                distanceInKilometers = GeodesicDistance.calculateTotalDistanceInKilometers(
+                        latitudes, longitudes, 0, NUMBER_OF_GPS_LOCATIONS, mode);
+            }
+
+            long timeInMicroseconds = (System.nanoTime() - startTimeInNanoseconds) /
+                                      1_000 / NUMBER_OF_MEASURED_ITERATIONS;
+
+            Log.i(BENCHMARK_TAG, String.format("Total distance over %d GPSLocations | " +
+                    "%s: %d us", NUMBER_OF_GPS_LOCATIONS, mode, timeInMicroseconds));
+
+
+            assertEquals(referenceDistanceInKilometers, distanceInKilometers,
+                    referenceDistanceInKilometers *
+                            GeodesicDistance.MAXIMUM_EQUIRECTANGULAR_RELATIVE_ERROR);
+        }
+    }
+
+
+    /**
+     * Calculate and return the total distance between consecutive GPSLocations using the
+     * Haversine formula, calculated for each pair separately as WorkoutSession did before
+     * GeodesicDistance was introduced
+     * */
+    private static double calculateReferenceTotalDistanceInKilometers(double[] latitudes,
+                                                                      double[] longitudes)
+    {
+        final int EARTH_RADIUS_IN_KILOMETERS = 6371;
+
+        double totalDistanceInKilometers = 0;
+
+        for (int index = 1; index < latitudes.length; index++)
+        {
+            double firstPointLatitudeRadius = latitudes[index - 1] * Math.PI / 180;
+            double secondPointLatitudeRadius = latitudes[index] * Math.PI / 180;
+
+            double latitudeDifference =
+                    (latitudes[index] - latitudes[index - 1]) * Math.PI / 180;
+            double longitudeDifference =
+                    (longitudes[index] - longitudes[index - 1]) * Math.PI / 180;
+
+            double chordLength =
+                    Math.sin(latitudeDifference / 2) * Math.sin(latitudeDifference / 2) +
+                    Math.cos(firstPointLatitudeRadius) * Math.cos(secondPointLatitudeRadius) *
+                            Math.sin(longitudeDifference / 2) * Math.sin(longitudeDifference / 2);
+
+            double angularDistance = 2 * Math.atan2(Math.sqrt(chordLength),
+                                                    Math.sqrt(1 - chordLength));
+
+            totalDistanceInKilometers += EARTH_RADIUS_IN_KILOMETERS * angularDistance;
+        }
+
+        return totalDistanceInKilometers;
+    }
+}
@@ -0,0 +1,92 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.images.ImageDecoding;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Instrumented test of the ImageDecoding class, which decodes real image files
+ * */
+@RunWith(AndroidJUnit4.class)
+public class ImageDecodingInstrumentedTest
+{
+    private static final int IMAGE_WIDTH = 4000;
+    private static final int IMAGE_HEIGHT = 3000;
+    private static final int JPEG_QUALITY = 90;
+
+    File imageFile;
+
+
+    /**
+     * Write a photo-sized JPEG image file into the cache directory before each test
+     * */
+    @Before
+    public void setupTest() throws IOException
+    {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        this.imageFile = new File(context.getCacheDir(), "ImageDecodingInstrumentedTest.jpg");
+
+        Bitmap bitmap = Bitmap.createBitmap(IMAGE_WIDTH, IMAGE_HEIGHT, Bitmap.Config.ARGB_8888);
+
+        try (FileOutputStream fileOutputStream = new FileOutputStream(this.imageFile))
+        {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, fileOutputStream);
+        }
+
+        bitmap.recycle();
+    }
+
+
+    /**
+     * Remove the image file created by the test
+     * */
+    @After
+    public void tearDownTest()
+    {
+        this.imageFile.delete();
+    }
+
+
+    /**
+     * Test that the image is decoded sub-sampled to at least the size required, instead of
+     * at its full size
+     * */
+    @Test
+    public void decodeSampledBitmap_PhotoLargerThanRequired_SubSampledBitmap() throws IOException
+    {
+        Bitmap bitmap = ImageDecoding.decodeSampledBitmap(this.imageFile.getAbsolutePath(),
+                                                          1000, 700);
+
+        final int EXPECTED_IN_SAMPLE_SIZE = 4;
+
+        assertEquals(IMAGE_WIDTH / EXPECTED_IN_SAMPLE_SIZE, bitmap.getWidth());
+        assertEquals(IMAGE_HEIGHT / EXPECTED_IN_SAMPLE_SIZE, bitmap.getHeight());
+    }
+
+
+    /**
+     * Test that decoding an image file that does not exist throws an IOException
+     * */
+    @Test(expected = IOException.class)
+    public void decodeSampledBitmap_NonExistentFile_IOException() throws IOException
+    {
+        ImageDecoding.decodeSampledBitmap(this.imageFile.getAbsolutePath() + ".missing",
+                                          1000, 700);
+    }
+}
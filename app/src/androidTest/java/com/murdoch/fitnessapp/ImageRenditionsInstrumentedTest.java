@@ -0,0 +1,144 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.images.ImageRenditions;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Instrumented test of the ImageRenditions class, which writes the renditions of real image
+ * files
+ * */
+@RunWith(AndroidJUnit4.class)
+public class ImageRenditionsInstrumentedTest
+{
+    private static final int IMAGE_WIDTH = 4000;
+    private static final int IMAGE_HEIGHT = 3000;
+    private static final int JPEG_QUALITY = 90;
+
+    File imageFile;
+
+
+    /**
+     * Write a photo-sized JPEG image file into the cache directory before each test
+     * */
+    @Before
+    public void setupTest() throws IOException
+    {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        this.imageFile = new File(context.getCacheDir(), "ImageRenditionsInstrumentedTest.jpg");
+
+        Bitmap bitmap = Bitmap.createBitmap(IMAGE_WIDTH, IMAGE_HEIGHT, Bitmap.Config.ARGB_8888);
+
+        try (FileOutputStream fileOutputStream = new FileOutputStream(this.imageFile))
+        {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, fileOutputStream);
+        }
+
+        bitmap.recycle();
+    }
+
+
+    /**
+     * Remove the image file and the renditions created by the test
+     * */
+    @After
+    public void tearDownTest()
+    {
+        ImageRenditions.deleteImageRenditions(this.imageFile.getAbsolutePath());
+
+        this.imageFile.delete();
+    }
+
+
+    /**
+     * Test that both renditions are written next to the image, scaled down to their maximum
+     * size on the longest side while keeping the aspect ratio of the image, and that they
+     * are much smaller files than the image
+     * */
+    @Test
+    public void writeImageRenditions_Photo_RenditionsScaledToMaximumSize() throws IOException
+    {
+        String imagePath = this.imageFile.getAbsolutePath();
+
+        ImageRenditions.writeImageRenditions(imagePath);
+
+        assertRenditionSize(ImageRenditions.getThumbnailPath(imagePath),
+                            ImageRenditions.THUMBNAIL_MAXIMUM_SIZE_IN_PIXELS);
+        assertRenditionSize(ImageRenditions.getDisplayPath(imagePath),
+                            ImageRenditions.DISPLAY_MAXIMUM_SIZE_IN_PIXELS);
+
+        assertTrue(new File(ImageRenditions.getThumbnailPath(imagePath)).length() <
+                   new File(ImageRenditions.getDisplayPath(imagePath)).length());
+        assertTrue(new File(ImageRenditions.getDisplayPath(imagePath)).length() <
+                   this.imageFile.length());
+    }
+
+
+    /**
+     * Test that deleting the renditions removes both rendition files, but not the image
+     * */
+    @Test
+    public void deleteImageRenditions_WrittenRenditions_OnlyRenditionsDeleted()
+            throws IOException
+    {
+        String imagePath = this.imageFile.getAbsolutePath();
+
+        ImageRenditions.writeImageRenditions(imagePath);
+
+        assertTrue(ImageRenditions.deleteImageRenditions(imagePath));
+
+        assertFalse(new File(ImageRenditions.getThumbnailPath(imagePath)).exists());
+        assertFalse(new File(ImageRenditions.getDisplayPath(imagePath)).exists());
+        assertTrue(this.imageFile.isFile());
+    }
+
+
+    /**
+     * Test that writing the renditions of an image file that does not exist throws an
+     * IOException, and leaves no rendition behind
+     * */
+    @Test
+    public void writeImageRenditions_NonExistentFile_IOException()
+    {
+        String missingImagePath = this.imageFile.getAbsolutePath() + ".missing";
+
+        assertThrows(IOException.class,
+                     () -> ImageRenditions.writeImageRenditions(missingImagePath));
+
+        assertFalse(new File(ImageRenditions.getThumbnailPath(missingImagePath)).exists());
+        assertFalse(new File(ImageRenditions.getDisplayPath(missingImagePath)).exists());
+    }
+
+
+    /**
+     * Assert that the rendition is a decodable image whose longest side is the maximum size
+     * given, with the aspect ratio of the image
+     * */
+    private static void assertRenditionSize(String renditionPath, int maximumSizeInPixels)
+    {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(renditionPath, options);
+
+        assertEquals(maximumSizeInPixels, options.outWidth);
+        assertEquals(maximumSizeInPixels * IMAGE_HEIGHT / IMAGE_WIDTH, options.outHeight);
+    }
+}
@@ -0,0 +1,55 @@
+package com.murdoch.fitnessapp;
+
+import android.os.Parcel;
+
+import com.murdoch.fitnessapp.models.implementations.ParcelableGPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a WorkoutSession into a Parcel in the legacy format, as WorkoutSession did before
+ * the packed format was introduced, so that the instrumented tests can check that the legacy
+ * format can still be read, and compare both formats
+ * */
+final class LegacyWorkoutSessionParcel
+{
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private LegacyWorkoutSessionParcel()
+    {
+
+    }
+
+
+    /**
+     * Write the workout session into the parcel in the legacy format, i.e. the GPSLocations
+     * and image paths as lists of values, each with its own type tag (and class name for the
+     * GPSLocations), and the start date time and activity type as strings
+     * */
+    static void writeToParcel(WorkoutSession workoutSession, Parcel parcel)
+    {
+        List<ParcelableGPSLocation> listOfParcelableGPSLocations = new ArrayList<>();
+
+        for (IGPSLocation gpsLocation : workoutSession.getListOfGPSLocations())
+        {
+            listOfParcelableGPSLocations.add(
+                    gpsLocation != null ? new ParcelableGPSLocation(gpsLocation) : null);
+        }
+
+        parcel.writeInt(workoutSession.getDurationInSeconds());
+        parcel.writeInt(workoutSession.getNumberOfStepsTaken());
+        parcel.writeDouble(workoutSession.getCaloriesConsumed());
+        parcel.writeDouble(workoutSession.getDistanceTravelledInKilometers());
+        parcel.writeList(workoutSession.getListOfImagesTaken());
+        parcel.writeList(listOfParcelableGPSLocations);
+
+        parcel.writeString(workoutSession.getStartDateTime() != null ?
+                           workoutSession.getStartDateTime().toString() : null);
+
+        parcel.writeString(workoutSession.getActivityType().toString());
+    }
+}
@@ -4,20 +4,20 @@ import static org.junit.Assert.assertEquals;
 
 import android.os.Parcel;
 
-import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.ParcelableGPSLocation;
 
 import org.junit.Test;
 
 /**
- * Instrumented tests for the GPSLocation class, testing methods related
+ * Instrumented tests for the ParcelableGPSLocation class, testing methods related
  * to the Parcelable interface
  * */
-public class GPSLocationInstrumentedTest
+public class ParcelableGPSLocationInstrumentedTest
 {
     /**
      * Test that the writeToParcel and static Creator methods (part of Parcelable interface)
-     * are correctly creating flattening an instance of GPSLocation into a Parcel, and
-     * re-creating it back into an instance of GPSLocation
+     * are correctly creating flattening an instance of ParcelableGPSLocation into a Parcel, and
+     * re-creating it back into an instance of ParcelableGPSLocation
      * */
     @Test
     public void writeToParcel_and_StaticCreator_ValidValues_NoException()
@@ -27,8 +27,8 @@ public class GPSLocationInstrumentedTest
         final double RANDOM_VALID_LATITUDE = 12.34;
         final double RANDOM_VALID_LONGITUDE = 56.78;
 
-        GPSLocation ORIGINAL_GPS_LOCATION = new GPSLocation(RANDOM_VALID_LATITUDE,
-                RANDOM_VALID_LONGITUDE);
+        ParcelableGPSLocation ORIGINAL_GPS_LOCATION = new ParcelableGPSLocation(
+                RANDOM_VALID_LATITUDE, RANDOM_VALID_LONGITUDE);
 
 
         ORIGINAL_GPS_LOCATION.writeToParcel(parcel,
@@ -38,8 +38,8 @@ public class GPSLocationInstrumentedTest
 
         parcel.setDataPosition(STARTING_POSITION);
 
-        GPSLocation createdFromParcel =
-                GPSLocation.CREATOR.createFromParcel(parcel);
+        ParcelableGPSLocation createdFromParcel =
+                ParcelableGPSLocation.CREATOR.createFromParcel(parcel);
 
 
         assertEquals(ORIGINAL_GPS_LOCATION, createdFromParcel);
@@ -0,0 +1,205 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper.RecordLoadingMode;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Instrumented benchmark that compares the number of queries made and the latency of
+ * queryAllWorkoutSessionRecords(RecordLoadingMode) between the PER_SESSION and BATCHED
+ * record loading modes
+ *
+ * Results are written to logcat under the tag BENCHMARK_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionDatabaseHelperBenchmarkInstrumentedTest
+{
+    private static final String BENCHMARK_TAG = "WorkoutSessionBenchmark";
+
+    private static final int NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION = 20;
+
+    Context context;
+    WorkoutSessionDatabaseHelper databaseHelper;
+
+    /**
+     * Number of queries made through the databaseHelper, counted by its cursor factory
+     * */
+    int numberOfQueriesMade;
+
+
+    /**
+     * Setup the benchmark before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        this.context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        SQLiteDatabase.CursorFactory queryCountingCursorFactory =
+                (sqLiteDatabase, cursorDriver, editTable, query) -> {
+                    this.numberOfQueriesMade++;
+
+                    return new SQLiteCursor(cursorDriver, editTable, query);
+                };
+
+        this.databaseHelper = new WorkoutSessionDatabaseHelper(context,
+                                                                queryCountingCursorFactory);
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Remove all records created by the benchmark
+     * */
+    @After
+    public void tearDownTest()
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    @Test
+    public void queryAllWorkoutSessionRecords_OneHundredRecords_Benchmark()
+            throws RecordInsertionException
+    {
+        benchmarkQueryAllWorkoutSessionRecords(100);
+    }
+
+
+    @Test
+    public void queryAllWorkoutSessionRecords_OneThousandRecords_Benchmark()
+            throws RecordInsertionException
+    {
+        benchmarkQueryAllWorkoutSessionRecords(1_000);
+    }
+
+
+    @Test
+    public void queryAllWorkoutSessionRecords_TenThousandRecords_Benchmark()
+            throws RecordInsertionException
+    {
+        benchmarkQueryAllWorkoutSessionRecords(10_000);
+    }
+
+
+    /**
+     * Insert the given number of workout session records, then query all of them back with
+     * both record loading modes. The number of queries made and the latency of each mode are
+     * logged, and both modes must return the same records
+     *
+     * @param numberOfWorkoutSessions the number of workout session records to benchmark with
+     * */
+    private void benchmarkQueryAllWorkoutSessionRecords(int numberOfWorkoutSessions)
+            throws RecordInsertionException
+    {
+        for (int index = 0; index < numberOfWorkoutSessions; index++)
+        {
+            this.databaseHelper.insertWorkoutSessionRecord(getBenchmarkWorkoutSession(index));
+        }
+
+        //open the database before measuring so that the first mode does not pay for it
+        this.databaseHelper.getReadableDatabase();
+
+
+        this.numberOfQueriesMade = 0;
+        long perSessionStartTimeInNanoseconds = System.nanoTime();
+
+        List<IStoredWorkoutSession> perSessionResult =
+                this.databaseHelper.queryAllWorkoutSessionRecords(RecordLoadingMode.PER_SESSION);
+
+        long perSessionLatencyInMilliseconds =
+                (System.nanoTime() - perSessionStartTimeInNanoseconds) / 1_000_000;
+        int perSessionNumberOfQueries = this.numberOfQueriesMade;
+
+
+        this.numberOfQueriesMade = 0;
+        long batchedStartTimeInNanoseconds = System.nanoTime();
+
+        List<IStoredWorkoutSession> batchedResult =
+                this.databaseHelper.queryAllWorkoutSessionRecords(RecordLoadingMode.BATCHED);
+
+        long batchedLatencyInMilliseconds =
+                (System.nanoTime() - batchedStartTimeInNanoseconds) / 1_000_000;
+        int batchedNumberOfQueries = this.numberOfQueriesMade;
+
+
+        Log.i(BENCHMARK_TAG, String.format("%d sessions | PER_SESSION: %d queries, %d ms | " +
+                        "BATCHED: %d queries, %d ms", numberOfWorkoutSessions,
+                        perSessionNumberOfQueries, perSessionLatencyInMilliseconds,
+                        batchedNumberOfQueries, batchedLatencyInMilliseconds));
+
+
+        final int EXPECTED_PER_SESSION_NUMBER_OF_QUERIES = 1 + 2 * numberOfWorkoutSessions;
+        final int EXPECTED_BATCHED_NUMBER_OF_QUERIES = 3;
+
+        assertEquals(EXPECTED_PER_SESSION_NUMBER_OF_QUERIES, perSessionNumberOfQueries);
+        assertEquals(EXPECTED_BATCHED_NUMBER_OF_QUERIES, batchedNumberOfQueries);
+
+        assertEquals(numberOfWorkoutSessions, batchedResult.size());
+        assertEquals(perSessionResult, batchedResult);
+    }
+
+
+    /**
+     * Returns a workout session containing NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION
+     * GPSLocations with a pause in the middle, and one image path unique to the index
+     *
+     * @param index index of the workout session, used to vary its data
+     * */
+    private static WorkoutSession getBenchmarkWorkoutSession(int index)
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        final LocalDateTime BENCHMARK_START_DATE_TIME = LocalDateTime.of(2021, 1, 1, 7, 0, 0);
+
+        workoutSession.setActivityType(index % 2 == 0 ?
+                IWorkoutSession.ActivityType.WALKING : IWorkoutSession.ActivityType.RUNNING);
+        workoutSession.setStartDateTime(BENCHMARK_START_DATE_TIME.plusHours(index));
+        workoutSession.setDurationInSeconds(600 + index);
+        workoutSession.setNumberOfStepsTaken(1000 + index);
+
+        for (int pointIndex = 0; pointIndex < NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION;
+                                                                                pointIndex++)
+        {
+            if (pointIndex == NUMBER_OF_GPS_LOCATIONS_PER_WORKOUT_SESSION / 2)
+            {
+                workoutSession.addGPSLocation(null);
+            }
+
+            workoutSession.addGPSLocation(new GPSLocation(-32.0 + pointIndex * 0.0001,
+                                                          115.8 + index * 0.00001));
+        }
+
+        workoutSession.addImageTaken("/benchmark/workout_session_image_" + index + ".jpg");
+
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+}
@@ -0,0 +1,187 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionSummary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instrumented concurrency test of the WorkoutSessionDatabaseHelper class
+ *
+ * A workout session is saved on a background thread, and its transaction is held open while
+ * the history and the summary are loaded on another thread. The loads must complete without
+ * waiting for the save to commit
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionDatabaseHelperConcurrencyInstrumentedTest
+{
+    /**
+     * The maximum time to wait for the other thread. A load that is blocked by the save
+     * would take at least this long, as the save only commits once the load finishes or
+     * this time runs out
+     * */
+    private static final long MAXIMUM_WAITING_TIME_IN_SECONDS = 10;
+
+    Context context;
+    WorkoutSessionDatabaseHelper databaseHelper;
+
+
+    /**
+     * Setup the test before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        this.context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        this.databaseHelper = new WorkoutSessionDatabaseHelper(context);
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Remove all records created by the test
+     * */
+    @After
+    public void tearDownTest()
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Test that loading the history and the summary while a workout session is being saved
+     * on another thread completes before the save commits, and only returns the records that
+     * were committed before the save
+     * */
+    @Test
+    public void queryWhileSaving_SaveAndLoadOverlap_NoBlocking()
+            throws RecordInsertionException, InterruptedException
+    {
+        final int RANDOM_DAY_OF_COMMITTED_WORKOUT_SESSION = 1;
+        final int RANDOM_DAY_OF_SAVED_WORKOUT_SESSION = 2;
+
+        this.databaseHelper.insertWorkoutSessionRecord(
+                getRandomWorkoutSession(RANDOM_DAY_OF_COMMITTED_WORKOUT_SESSION));
+
+
+        CountDownLatch saveInProgressLatch = new CountDownLatch(1);
+        CountDownLatch loadFinishedLatch = new CountDownLatch(1);
+
+        AtomicBoolean isSaveCommitted = new AtomicBoolean(false);
+        AtomicReference<Throwable> saveFailure = new AtomicReference<>();
+
+        Thread savingThread = new Thread(() -> {
+            SQLiteDatabase sqLiteDatabase = this.databaseHelper.getWritableDatabase();
+
+            //the insertion joins this transaction, which stays open until the load finishes
+            sqLiteDatabase.beginTransactionNonExclusive();
+
+            try
+            {
+                this.databaseHelper.insertWorkoutSessionRecord(
+                        getRandomWorkoutSession(RANDOM_DAY_OF_SAVED_WORKOUT_SESSION));
+
+                saveInProgressLatch.countDown();
+
+                loadFinishedLatch.await(MAXIMUM_WAITING_TIME_IN_SECONDS, TimeUnit.SECONDS);
+
+                sqLiteDatabase.setTransactionSuccessful();
+            }
+            catch (Throwable throwable)
+            {
+                saveFailure.set(throwable);
+            }
+            finally
+            {
+                sqLiteDatabase.endTransaction();
+                isSaveCommitted.set(true);
+                saveInProgressLatch.countDown();
+            }
+        });
+
+        savingThread.start();
+
+        assertTrue(saveInProgressLatch.await(MAXIMUM_WAITING_TIME_IN_SECONDS, TimeUnit.SECONDS));
+
+
+        List<IStoredWorkoutSession> listOfStoredWorkoutSessions =
+                this.databaseHelper.queryAllWorkoutSessionRecords();
+
+        IWorkoutSessionSummary workoutSessionSummary =
+                this.databaseHelper.queryWorkoutSessionSummary(LocalDate.of(2021, 1, 1),
+                                                               LocalDate.of(2021, 2, 1));
+
+        boolean isLoadFinishedBeforeSaveCommitted = !isSaveCommitted.get();
+
+        loadFinishedLatch.countDown();
+        savingThread.join();
+
+
+        assertNull(saveFailure.get());
+        assertTrue(isLoadFinishedBeforeSaveCommitted);
+
+        //the workout session being saved is not visible until its transaction commits
+        final int EXPECTED_LIST_SIZE_DURING_SAVE = 1;
+        final int EXPECTED_LIST_SIZE_AFTER_SAVE = 2;
+
+        assertEquals(EXPECTED_LIST_SIZE_DURING_SAVE, listOfStoredWorkoutSessions.size());
+
+        assertEquals(getRandomWorkoutSession(RANDOM_DAY_OF_COMMITTED_WORKOUT_SESSION)
+                                                        .getNumberOfStepsTaken(),
+                     workoutSessionSummary.getTotalNumberOfStepsTaken());
+
+        assertEquals(EXPECTED_LIST_SIZE_AFTER_SAVE,
+                     this.databaseHelper.queryAllWorkoutSessionRecords().size());
+    }
+
+
+    /**
+     * Returns a workout session in January 2021 with a few GPSLocations
+     *
+     * @param dayOfMonth the day of the month of the workout session, used to vary its data
+     * */
+    private static WorkoutSession getRandomWorkoutSession(int dayOfMonth)
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+        workoutSession.setStartDateTime(LocalDateTime.of(2021, 1, dayOfMonth, 7, 0, 0));
+        workoutSession.setDurationInSeconds(600 * dayOfMonth);
+        workoutSession.setNumberOfStepsTaken(1000 * dayOfMonth);
+
+        workoutSession.addGPSLocation(new GPSLocation(-32.0, 115.8));
+        workoutSession.addGPSLocation(new GPSLocation(-32.001, 115.801));
+
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+}
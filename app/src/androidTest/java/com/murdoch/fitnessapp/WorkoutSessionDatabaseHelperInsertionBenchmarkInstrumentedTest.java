@@ -0,0 +1,208 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper.RecordInsertionMode;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Instrumented benchmark that compares the latency of
+ * insertWorkoutSessionRecord(IWorkoutSession, RecordInsertionMode) between the PER_ROW and
+ * COMPILED_STATEMENT record insertion modes, for a single workout session with a large
+ * number of GPSLocations
+ *
+ * Results are written to logcat under the tag BENCHMARK_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionDatabaseHelperInsertionBenchmarkInstrumentedTest
+{
+    private static final String BENCHMARK_TAG = "WorkoutSessionBenchmark";
+
+    /**
+     * A pause is added after every PAUSE_INTERVAL GPSLocations, so that null rows are
+     * inserted as well
+     * */
+    private static final int PAUSE_INTERVAL = 500;
+
+    private static final int NUMBER_OF_IMAGES_PER_WORKOUT_SESSION = 10;
+
+    Context context;
+    WorkoutSessionDatabaseHelper databaseHelper;
+
+
+    /**
+     * Setup the benchmark before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        this.context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        this.databaseHelper = new WorkoutSessionDatabaseHelper(context);
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Remove all records created by the benchmark
+     * */
+    @After
+    public void tearDownTest()
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    @Test
+    public void insertWorkoutSessionRecord_OneThousandGPSLocations_Benchmark()
+            throws RecordInsertionException
+    {
+        benchmarkInsertWorkoutSessionRecord(1_000);
+    }
+
+
+    @Test
+    public void insertWorkoutSessionRecord_TenThousandGPSLocations_Benchmark()
+            throws RecordInsertionException
+    {
+        benchmarkInsertWorkoutSessionRecord(10_000);
+    }
+
+
+    @Test
+    public void insertWorkoutSessionRecord_OneHundredThousandGPSLocations_Benchmark()
+            throws RecordInsertionException
+    {
+        benchmarkInsertWorkoutSessionRecord(100_000);
+    }
+
+
+    /**
+     * Insert a workout session with the given number of GPSLocations with each record
+     * insertion mode, and log the latency of each mode. The workout session queried back
+     * must be the same for both modes
+     *
+     * @param numberOfGPSLocations the number of GPSLocations to benchmark with
+     * */
+    private void benchmarkInsertWorkoutSessionRecord(int numberOfGPSLocations)
+            throws RecordInsertionException
+    {
+        //open the database before measuring so that the first mode does not pay for it
+        this.databaseHelper.getWritableDatabase();
+
+
+        long perRowLatencyInMilliseconds = measureInsertWorkoutSessionRecord(
+                numberOfGPSLocations, RecordInsertionMode.PER_ROW);
+
+        List<IStoredWorkoutSession> perRowResult =
+                this.databaseHelper.queryAllWorkoutSessionRecords();
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+
+        long compiledStatementLatencyInMilliseconds = measureInsertWorkoutSessionRecord(
+                numberOfGPSLocations, RecordInsertionMode.COMPILED_STATEMENT);
+
+        List<IStoredWorkoutSession> compiledStatementResult =
+                this.databaseHelper.queryAllWorkoutSessionRecords();
+
+
+        Log.i(BENCHMARK_TAG, String.format("%d GPSLocations | PER_ROW: %d ms | " +
+                        "COMPILED_STATEMENT: %d ms", numberOfGPSLocations,
+                        perRowLatencyInMilliseconds, compiledStatementLatencyInMilliseconds));
+
+
+        final int EXPECTED_LIST_SIZE = 1;
+
+        assertEquals(EXPECTED_LIST_SIZE, compiledStatementResult.size());
+
+        assertEquals(perRowResult.get(0).getListOfGPSLocations(),
+                     compiledStatementResult.get(0).getListOfGPSLocations());
+
+        assertEquals(perRowResult.get(0).getListOfImagesTaken(),
+                     compiledStatementResult.get(0).getListOfImagesTaken());
+    }
+
+
+    /**
+     * Insert a benchmark workout session with the given record insertion mode and return
+     * the latency of the insertion
+     *
+     * @param numberOfGPSLocations the number of GPSLocations of the workout session
+     * @param recordInsertionMode the record insertion mode to measure
+     *
+     * @return the latency of the insertion in milliseconds
+     * */
+    private long measureInsertWorkoutSessionRecord(int numberOfGPSLocations,
+                                                   RecordInsertionMode recordInsertionMode)
+            throws RecordInsertionException
+    {
+        WorkoutSession workoutSession = getBenchmarkWorkoutSession(numberOfGPSLocations);
+
+        long startTimeInNanoseconds = System.nanoTime();
+
+        this.databaseHelper.insertWorkoutSessionRecord(workoutSession, recordInsertionMode);
+
+        return (System.nanoTime() - startTimeInNanoseconds) / 1_000_000;
+    }
+
+
+    /**
+     * Returns a workout session containing the given number of GPSLocations, with a pause
+     * after every PAUSE_INTERVAL GPSLocations, and NUMBER_OF_IMAGES_PER_WORKOUT_SESSION
+     * image paths
+     *
+     * @param numberOfGPSLocations the number of GPSLocations of the workout session
+     * */
+    private static WorkoutSession getBenchmarkWorkoutSession(int numberOfGPSLocations)
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+        workoutSession.setStartDateTime(LocalDateTime.of(2021, 1, 1, 7, 0, 0));
+        workoutSession.setDurationInSeconds(7200);
+        workoutSession.setNumberOfStepsTaken(20000);
+
+        for (int index = 0; index < numberOfGPSLocations; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                workoutSession.addGPSLocation(null);
+            }
+
+            workoutSession.addGPSLocation(new GPSLocation(-32.0 + index * 0.000001,
+                                                          115.8 + index * 0.000001));
+        }
+
+        for (int index = 0; index < NUMBER_OF_IMAGES_PER_WORKOUT_SESSION; index++)
+        {
+            workoutSession.addImageTaken("/benchmark/insertion_image_" + index + ".jpg");
+        }
+
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+}
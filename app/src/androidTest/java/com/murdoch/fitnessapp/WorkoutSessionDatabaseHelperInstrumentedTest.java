@@ -15,15 +15,24 @@ import static org.junit.Assert.*;
 import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
 import com.murdoch.fitnessapp.databases.exceptions.RecordNotFoundException;
 import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.images.ImageRenditions;
 import com.murdoch.fitnessapp.models.implementations.StoredWorkoutSession;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSessionSummary;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionSummary;
 import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItemsPage;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionRecordsPage;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -354,6 +363,407 @@ public class WorkoutSessionDatabaseHelperInstrumentedTest
     }
 
 
+    /**
+     * Testing the method queryWorkoutSessionRecordsPage(long, int)
+     *
+     * Test that if 3 workout session records exist in the database, then querying pages
+     * of size 2 should return the two most recent records followed by a last page with
+     * the oldest record
+     * */
+    @Test
+    public void queryWorkoutSessionRecordsPage_QueryTwoPagesWhenThreeRecordsExist_NoException()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final IWorkoutSession RANDOM_WORKOUT_SESSION_1 = getRandomWorkoutSession1();
+        final IWorkoutSession RANDOM_WORKOUT_SESSION_2 = getRandomWorkoutSession2();
+        final IWorkoutSession RANDOM_WORKOUT_SESSION_3 = getRandomWorkoutSession3();
+
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_1);
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_2);
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_3);
+
+        final int PAGE_SIZE = 2;
+
+        IWorkoutSessionRecordsPage firstPage = this.databaseHelper.queryWorkoutSessionRecordsPage(
+                WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, firstPage.getListOfStoredWorkoutSessions().size());
+        assertTrue(firstPage.hasNextPage());
+
+        assertTrue(RANDOM_WORKOUT_SESSION_3.equals(
+                (WorkoutSession) firstPage.getListOfStoredWorkoutSessions().get(0)));
+        assertTrue(RANDOM_WORKOUT_SESSION_2.equals(
+                (WorkoutSession) firstPage.getListOfStoredWorkoutSessions().get(1)));
+
+
+        IWorkoutSessionRecordsPage secondPage = this.databaseHelper.queryWorkoutSessionRecordsPage(
+                firstPage.getNextPageBeforeSessionIdExclusive(), PAGE_SIZE);
+
+        final int EXPECTED_SECOND_PAGE_SIZE = 1;
+
+        assertEquals(EXPECTED_SECOND_PAGE_SIZE, secondPage.getListOfStoredWorkoutSessions().size());
+        assertFalse(secondPage.hasNextPage());
+
+        assertTrue(RANDOM_WORKOUT_SESSION_1.equals(
+                (WorkoutSession) secondPage.getListOfStoredWorkoutSessions().get(0)));
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionRecordsPage(long, int)
+     *
+     * Test that if no workout session records exist in the database, then querying
+     * the first page should return an empty last page
+     * */
+    @Test
+    public void queryWorkoutSessionRecordsPage_QueryWhenNoRecordsExist_NoException()
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final int PAGE_SIZE = 10;
+
+        IWorkoutSessionRecordsPage page = this.databaseHelper.queryWorkoutSessionRecordsPage(
+                WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE, PAGE_SIZE);
+
+        assertTrue(page.getListOfStoredWorkoutSessions().isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionListItemsPage(long, int)
+     *
+     * Test that the list items contain the details of the workout session records, along
+     * with the number of non-null GPSLocations and images, in descending order
+     * */
+    @Test
+    public void queryWorkoutSessionListItemsPage_QueryWhenTwoRecordsExist_NoException()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION_1 = getRandomWorkoutSession1();
+        final WorkoutSession RANDOM_WORKOUT_SESSION_2 = getRandomWorkoutSession2();
+
+        RANDOM_WORKOUT_SESSION_2.addGPSLocation(new GPSLocation(-32.0, 115.8));
+        RANDOM_WORKOUT_SESSION_2.addGPSLocation(null);
+        RANDOM_WORKOUT_SESSION_2.addGPSLocation(new GPSLocation(-32.001, 115.801));
+        RANDOM_WORKOUT_SESSION_2.addImageTaken("/list/item/image_1.jpg");
+
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_1);
+
+        IStoredWorkoutSession insertedWorkoutSession2 =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_2);
+
+        final int PAGE_SIZE = 10;
+
+        IWorkoutSessionListItemsPage page = this.databaseHelper.queryWorkoutSessionListItemsPage(
+                WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE, PAGE_SIZE);
+
+        final int EXPECTED_LIST_SIZE = 2;
+
+        assertEquals(EXPECTED_LIST_SIZE, page.getListOfWorkoutSessionListItems().size());
+        assertFalse(page.hasNextPage());
+
+
+        IWorkoutSessionListItem listItem2 = page.getListOfWorkoutSessionListItems().get(0);
+        IWorkoutSessionListItem listItem1 = page.getListOfWorkoutSessionListItems().get(1);
+
+        final double MAXIMUM_DELTA = 0;
+
+        assertEquals(insertedWorkoutSession2.getWorkoutSessionId(),
+                     listItem2.getWorkoutSessionId());
+        assertEquals(RANDOM_WORKOUT_SESSION_2.getActivityType(), listItem2.getActivityType());
+        assertEquals(RANDOM_WORKOUT_SESSION_2.getStartDateTime(), listItem2.getStartDateTime());
+        assertEquals(RANDOM_WORKOUT_SESSION_2.getDurationInSeconds(),
+                     listItem2.getDurationInSeconds());
+        assertEquals(RANDOM_WORKOUT_SESSION_2.getNumberOfStepsTaken(),
+                     listItem2.getNumberOfStepsTaken());
+        assertEquals(RANDOM_WORKOUT_SESSION_2.getCaloriesConsumed(),
+                     listItem2.getCaloriesConsumed(), MAXIMUM_DELTA);
+        assertEquals(RANDOM_WORKOUT_SESSION_2.getDistanceTravelledInKilometers(),
+                     listItem2.getDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+
+        //the pause is not counted
+        final int EXPECTED_NUMBER_OF_GPS_LOCATIONS_2 = 2;
+        final int EXPECTED_NUMBER_OF_IMAGES_TAKEN_2 = 1;
+
+        assertEquals(EXPECTED_NUMBER_OF_GPS_LOCATIONS_2, listItem2.getNumberOfGPSLocations());
+        assertEquals(EXPECTED_NUMBER_OF_IMAGES_TAKEN_2, listItem2.getNumberOfImagesTaken());
+
+        assertEquals(0, listItem1.getNumberOfGPSLocations());
+        assertEquals(0, listItem1.getNumberOfImagesTaken());
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionRecord(long)
+     *
+     * Test that querying a workout session record by its id returns the complete workout
+     * session, including its GPSLocations and images
+     * */
+    @Test
+    public void queryWorkoutSessionRecord_QueryExistingRecord_NoException()
+            throws RecordInsertionException, RecordNotFoundException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(-32.0, 115.8));
+        RANDOM_WORKOUT_SESSION.addGPSLocation(null);
+        RANDOM_WORKOUT_SESSION.addImageTaken("/record/image_1.jpg");
+
+        IStoredWorkoutSession insertedWorkoutSession =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        IStoredWorkoutSession queriedWorkoutSession =
+                this.databaseHelper.queryWorkoutSessionRecord(
+                        insertedWorkoutSession.getWorkoutSessionId());
+
+        assertTrue(RANDOM_WORKOUT_SESSION.equals((WorkoutSession) queriedWorkoutSession));
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionRecord(long)
+     *
+     * Test that querying a non-existent workout session record throws a
+     * RecordNotFoundException
+     * */
+    @Test
+    public void queryWorkoutSessionRecord_QueryNonExistentRecord_RecordNotFoundException()
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final long RANDOM_NON_EXISTENT_WORKOUT_SESSION_ID = 999999999;
+
+        assertThrows(RecordNotFoundException.class,
+                () -> this.databaseHelper.queryWorkoutSessionRecord(
+                                            RANDOM_NON_EXISTENT_WORKOUT_SESSION_ID));
+    }
+
+
+    /**
+     * Testing the method queryListOfImagePaths(long)
+     *
+     * Test that the image paths of a workout session record are queried in the order they
+     * were taken, and that a non-existent workout session record has no image paths
+     * */
+    @Test
+    public void queryListOfImagePaths_RecordWithImages_ImagePathsInOrder()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        RANDOM_WORKOUT_SESSION.addImageTaken("/record/image_2.jpg");
+        RANDOM_WORKOUT_SESSION.addImageTaken("/record/image_1.jpg");
+
+        IStoredWorkoutSession insertedWorkoutSession =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        List<String> listOfImagePaths = this.databaseHelper.queryListOfImagePaths(
+                                            insertedWorkoutSession.getWorkoutSessionId());
+
+        assertEquals(RANDOM_WORKOUT_SESSION.getListOfImagesTaken(), listOfImagePaths);
+
+        final long RANDOM_NON_EXISTENT_WORKOUT_SESSION_ID = 999999999;
+
+        assertTrue(this.databaseHelper.queryListOfImagePaths(
+                                        RANDOM_NON_EXISTENT_WORKOUT_SESSION_ID).isEmpty());
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionRecord(long)
+     *
+     * Test that the timestamps, accuracies, altitudes and speeds of the GPSLocations are
+     * stored along with their coordinates, when they have no more decimal places than their
+     * quantisation
+     * */
+    @Test
+    public void queryWorkoutSessionRecord_QueryRecordWithGPSLocationDetails_NoException()
+            throws RecordInsertionException, RecordNotFoundException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        GPSLocation gpsLocation = new GPSLocation(-32.0, 115.8);
+        gpsLocation.setTimestampInMilliseconds(1700000000123L);
+        gpsLocation.setAccuracyInMeters(4.5);
+        gpsLocation.setAltitudeInMeters(-12.3);
+        gpsLocation.setSpeedInMetersPerSecond(2.75);
+
+        RANDOM_WORKOUT_SESSION.addGPSLocation(gpsLocation);
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(-32.0001, 115.8001));
+
+        IStoredWorkoutSession insertedWorkoutSession =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        IStoredWorkoutSession queriedWorkoutSession =
+                this.databaseHelper.queryWorkoutSessionRecord(
+                        insertedWorkoutSession.getWorkoutSessionId());
+
+        assertEquals(RANDOM_WORKOUT_SESSION.getListOfGPSLocations(),
+                     queriedWorkoutSession.getListOfGPSLocations());
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the methods queryWorkoutSessionRecord(long) and
+     * queryAllWorkoutSessionRecords(RecordLoadingMode)
+     *
+     * Test that the splits and laps of a workout session are stored in their own table, and
+     * are queried back unchanged in each of the record loading modes, rather than being
+     * emitted again from the GPSLocations
+     * */
+    @Test
+    public void queryWorkoutSessionRecord_QueryRecordWithSplits_NoException()
+            throws RecordInsertionException, RecordNotFoundException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        //each step of 0.01 degrees of longitude along the equator is about 1.1 km
+        RANDOM_WORKOUT_SESSION.setDurationInSeconds(0);
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(0, 0));
+        RANDOM_WORKOUT_SESSION.addDurationInSeconds(300);
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(0, 0.01));
+        RANDOM_WORKOUT_SESSION.markLap();
+        RANDOM_WORKOUT_SESSION.addDurationInSeconds(300);
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(0, 0.02));
+
+        final List<ISplit> EXPECTED_LIST_OF_SPLITS = RANDOM_WORKOUT_SESSION.getListOfSplits();
+
+        assertEquals(3, EXPECTED_LIST_OF_SPLITS.size());
+
+        IStoredWorkoutSession insertedWorkoutSession =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        IStoredWorkoutSession queriedWorkoutSession =
+                this.databaseHelper.queryWorkoutSessionRecord(
+                        insertedWorkoutSession.getWorkoutSessionId());
+
+        assertEquals(EXPECTED_LIST_OF_SPLITS, queriedWorkoutSession.getListOfSplits());
+
+        for (WorkoutSessionDatabaseHelper.RecordLoadingMode recordLoadingMode :
+                WorkoutSessionDatabaseHelper.RecordLoadingMode.values())
+        {
+            List<IStoredWorkoutSession> listOfStoredWorkoutSessions =
+                    this.databaseHelper.queryAllWorkoutSessionRecords(recordLoadingMode);
+
+            assertEquals(EXPECTED_LIST_OF_SPLITS,
+                         listOfStoredWorkoutSessions.get(0).getListOfSplits());
+        }
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method queryAllWorkoutSessionRecords(RecordLoadingMode)
+     *
+     * Test that a workout session record without any split is queried with an empty list of
+     * splits in each of the record loading modes
+     * */
+    @Test
+    public void queryAllWorkoutSessionRecords_QueryRecordWithoutSplits_NoException()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession1());
+
+        for (WorkoutSessionDatabaseHelper.RecordLoadingMode recordLoadingMode :
+                WorkoutSessionDatabaseHelper.RecordLoadingMode.values())
+        {
+            List<IStoredWorkoutSession> listOfStoredWorkoutSessions =
+                    this.databaseHelper.queryAllWorkoutSessionRecords(recordLoadingMode);
+
+            assertTrue(listOfStoredWorkoutSessions.get(0).getListOfSplits().isEmpty());
+        }
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method queryAllWorkoutSessionRecords()
+     *
+     * Test that the calories consumed and distance travelled of the records are the values
+     * stored when the records were inserted, rather than values calculated again when
+     * the records are queried
+     * */
+    @Test
+    public void queryAllWorkoutSessionRecords_QueryRecordWithStoredValues_NoException()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        //distance travelled is not calculated again, so it remains at its stored value of 0
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(12.34, 56.78));
+        RANDOM_WORKOUT_SESSION.addGPSLocation(new GPSLocation(12.35, 56.79));
+
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+
+        List<IStoredWorkoutSession> listOfStoredWorkoutSessions =
+                this.databaseHelper.queryAllWorkoutSessionRecords();
+
+        final double EXPECTED_DISTANCE_TRAVELLED_IN_KILOMETERS = 0;
+        final double DELTA = 0;
+
+        assertEquals(EXPECTED_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                listOfStoredWorkoutSessions.get(0).getDistanceTravelledInKilometers(), DELTA);
+
+        assertEquals(RANDOM_WORKOUT_SESSION.getCaloriesConsumed(),
+                listOfStoredWorkoutSessions.get(0).getCaloriesConsumed(), DELTA);
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method recalculateOutdatedWorkoutSessionRecords()
+     *
+     * Test that records inserted with the current formula version are not recalculated
+     * */
+    @Test
+    public void recalculateOutdatedWorkoutSessionRecords_RecordsWithCurrentFormula_NoException()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession1());
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession2());
+
+        final int EXPECTED_NUMBER_OF_RECORDS_RECALCULATED = 0;
+
+        assertEquals(EXPECTED_NUMBER_OF_RECORDS_RECALCULATED,
+                this.databaseHelper.recalculateOutdatedWorkoutSessionRecords());
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
     /**
      * Testing the method deleteWorkoutSessionRecord(long)
      *
@@ -453,6 +863,224 @@ public class WorkoutSessionDatabaseHelperInstrumentedTest
     }
 
 
+    /**
+     * Testing the method queryWorkoutSessionSummary() after deleteWorkoutSessionRecord(long)
+     *
+     * Test that deleting a workout session record removes it from the workout session
+     * summary, and that the summary is back at default (zero) once every workout session
+     * record in the date range is deleted
+     * */
+    @Test
+    public void queryWorkoutSessionSummary_QueryAfterDeletingRecords_NoException()
+            throws RecordInsertionException, RecordNotFoundException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION_1 = getRandomWorkoutSession1();
+        final WorkoutSession RANDOM_WORKOUT_SESSION_2 = getRandomWorkoutSession2();
+
+        IStoredWorkoutSession insertedWorkoutSession1 =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_1);
+
+        IStoredWorkoutSession insertedWorkoutSession2 =
+                this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION_2);
+
+        LocalDate startDateInclusive = getStartDateInclusiveOfRandomWorkoutSession1And2();
+        LocalDate endDateExclusive = getEndDateExclusiveOfRandomWorkoutSession1And2();
+
+        final double MAXIMUM_DELTA = 0;
+
+
+        this.databaseHelper.deleteWorkoutSessionRecord(
+                insertedWorkoutSession2.getWorkoutSessionId());
+
+        IWorkoutSessionSummary queryResult =
+                this.databaseHelper.queryWorkoutSessionSummary(startDateInclusive, endDateExclusive);
+
+        assertEquals(RANDOM_WORKOUT_SESSION_1.getNumberOfStepsTaken(),
+                queryResult.getTotalNumberOfStepsTaken());
+
+        assertEquals(RANDOM_WORKOUT_SESSION_1.getDurationInSeconds(),
+                queryResult.getTotalDurationInSeconds());
+
+        assertEquals(RANDOM_WORKOUT_SESSION_1.getDistanceTravelledInKilometers(),
+                queryResult.getTotalDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+
+        assertEquals(RANDOM_WORKOUT_SESSION_1.getCaloriesConsumed(),
+                queryResult.getTotalCaloriesConsumed(), MAXIMUM_DELTA);
+
+
+        this.databaseHelper.deleteWorkoutSessionRecord(
+                insertedWorkoutSession1.getWorkoutSessionId());
+
+        queryResult =
+                this.databaseHelper.queryWorkoutSessionSummary(startDateInclusive, endDateExclusive);
+
+        assertEquals(new WorkoutSessionSummary(), queryResult);
+
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method rebuildDailyWorkoutRollups()
+     *
+     * Test that rebuilding the daily workout rollups creates one daily workout rollup per
+     * day with workout session records, and does not change the workout session summary
+     * */
+    @Test
+    public void rebuildDailyWorkoutRollups_RebuildWhenThreeRecordsExist_NoException()
+            throws RecordInsertionException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession1());
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession1());
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession2());
+
+        LocalDate startDateInclusive = getStartDateInclusiveOfRandomWorkoutSession1And2();
+        LocalDate endDateExclusive = getEndDateExclusiveOfRandomWorkoutSession1And2();
+
+        IWorkoutSessionSummary summaryBeforeRebuild =
+                this.databaseHelper.queryWorkoutSessionSummary(startDateInclusive, endDateExclusive);
+
+
+        //random workout session 1 is inserted twice, on the same day
+        final int EXPECTED_NUMBER_OF_DAILY_WORKOUT_ROLLUPS = 2;
+
+        assertEquals(EXPECTED_NUMBER_OF_DAILY_WORKOUT_ROLLUPS,
+                this.databaseHelper.rebuildDailyWorkoutRollups());
+
+
+        final double MAXIMUM_DELTA = 1e-9;
+
+        IWorkoutSessionSummary summaryAfterRebuild =
+                this.databaseHelper.queryWorkoutSessionSummary(startDateInclusive, endDateExclusive);
+
+        assertEquals(summaryBeforeRebuild.getTotalNumberOfStepsTaken(),
+                summaryAfterRebuild.getTotalNumberOfStepsTaken());
+
+        assertEquals(summaryBeforeRebuild.getTotalDurationInSeconds(),
+                summaryAfterRebuild.getTotalDurationInSeconds());
+
+        assertEquals(summaryBeforeRebuild.getTotalDistanceTravelledInKilometers(),
+                summaryAfterRebuild.getTotalDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+
+        assertEquals(summaryBeforeRebuild.getTotalCaloriesConsumed(),
+                summaryAfterRebuild.getTotalCaloriesConsumed(), MAXIMUM_DELTA);
+
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the methods queryImagePathsWithoutRenditions(),
+     * queryListOfImageRenditionPaths(String) and
+     * updateWorkoutSessionImageRenditions(String, String, String)
+     *
+     * Test that an image is inserted with the renditions that have already been written, that
+     * an image without renditions is returned for the backfill until its renditions are
+     * recorded, and that recording the renditions of a non-existent image throws a
+     * RecordNotFoundException
+     * */
+    @Test
+    public void updateWorkoutSessionImageRenditions_ImageWithoutRenditions_NoLongerQueried()
+            throws RecordInsertionException, RecordNotFoundException, IOException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        File imageWithRenditionsFile = new File(this.context.getCacheDir(), "rendered.jpg");
+        String imageWithRenditionsPath = imageWithRenditionsFile.getAbsolutePath();
+        String imageWithoutRenditionsPath =
+                new File(this.context.getCacheDir(), "not_rendered.jpg").getAbsolutePath();
+
+        File thumbnailFile = new File(ImageRenditions.getThumbnailPath(imageWithRenditionsPath));
+        File displayFile = new File(ImageRenditions.getDisplayPath(imageWithRenditionsPath));
+
+        assertTrue(thumbnailFile.createNewFile() || thumbnailFile.isFile());
+        assertTrue(displayFile.createNewFile() || displayFile.isFile());
+
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        RANDOM_WORKOUT_SESSION.addImageTaken(imageWithRenditionsPath);
+        RANDOM_WORKOUT_SESSION.addImageTaken(imageWithoutRenditionsPath);
+
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        List<String> listOfImagePathsWithoutRenditions =
+                this.databaseHelper.queryImagePathsWithoutRenditions();
+
+        assertEquals(1, listOfImagePathsWithoutRenditions.size());
+        assertEquals(imageWithoutRenditionsPath, listOfImagePathsWithoutRenditions.get(0));
+
+        assertEquals(Arrays.asList(thumbnailFile.getAbsolutePath(),
+                                   displayFile.getAbsolutePath()),
+                     this.databaseHelper.queryListOfImageRenditionPaths(
+                                                            imageWithRenditionsPath));
+        assertTrue(this.databaseHelper.queryListOfImageRenditionPaths(
+                                                imageWithoutRenditionsPath).isEmpty());
+
+
+        this.databaseHelper.updateWorkoutSessionImageRenditions(imageWithoutRenditionsPath,
+                ImageRenditions.getThumbnailPath(imageWithoutRenditionsPath),
+                ImageRenditions.getDisplayPath(imageWithoutRenditionsPath));
+
+        assertTrue(this.databaseHelper.queryImagePathsWithoutRenditions().isEmpty());
+
+        assertThrows(RecordNotFoundException.class, () ->
+                this.databaseHelper.updateWorkoutSessionImageRenditions("/missing/image.jpg",
+                        "/missing/image_thumbnail.jpg", "/missing/image_display.jpg"));
+
+
+        thumbnailFile.delete();
+        displayFile.delete();
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method markWorkoutSessionImageWithoutRenditions(String)
+     *
+     * Test that an image marked as without renditions is no longer returned for the backfill,
+     * and that marking a non-existent image throws a RecordNotFoundException
+     * */
+    @Test
+    public void markWorkoutSessionImageWithoutRenditions_ImageWithoutRenditions_NoLongerQueried()
+            throws RecordInsertionException, RecordNotFoundException
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        String missingImagePath =
+                new File(this.context.getCacheDir(), "missing.jpg").getAbsolutePath();
+
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession1();
+
+        RANDOM_WORKOUT_SESSION.addImageTaken(missingImagePath);
+
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        assertEquals(1, this.databaseHelper.queryImagePathsWithoutRenditions().size());
+
+
+        this.databaseHelper.markWorkoutSessionImageWithoutRenditions(missingImagePath);
+
+        assertTrue(this.databaseHelper.queryListOfImageRenditionPaths(
+                                                            missingImagePath).isEmpty());
+
+        assertTrue(this.databaseHelper.queryImagePathsWithoutRenditions().isEmpty());
+
+        assertThrows(RecordNotFoundException.class, () ->
+                this.databaseHelper.markWorkoutSessionImageWithoutRenditions(
+                                                                "/missing/image.jpg"));
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
     /**
      * Returns a random fixed workout session instance
      * */
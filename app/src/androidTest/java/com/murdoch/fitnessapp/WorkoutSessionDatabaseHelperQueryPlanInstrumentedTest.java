@@ -0,0 +1,252 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteCursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
+import com.murdoch.fitnessapp.databases.exceptions.RecordNotFoundException;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper.RecordLoadingMode;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instrumented query plan regression test of the WorkoutSessionDatabaseHelper class
+ *
+ * Every query made by the public query methods of WorkoutSessionDatabaseHelper is recorded
+ * through its cursor factory, and then run again with EXPLAIN QUERY PLAN. A query that
+ * filters its rows with a WHERE clause must be answered through an index or a primary key,
+ * so the test fails if the plan of such a query contains a full table scan.
+ *
+ * Queries without a WHERE clause read every row of the table by design, and are therefore
+ * allowed to scan the table.
+ *
+ * The query plans are written to logcat under the tag QUERY_PLAN_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionDatabaseHelperQueryPlanInstrumentedTest
+{
+    private static final String QUERY_PLAN_TAG = "WorkoutSessionQueryPlan";
+
+    private static final String SQLITE_QUERY_TO_STRING_PREFIX = "SQLiteQuery: ";
+
+    private static final String SELECTION_ARGUMENT_PLACEHOLDER = "?";
+    private static final String EXPLAIN_SELECTION_ARGUMENT = "0";
+
+    private static final String QUERY_PLAN_COLUMN_DETAIL = "detail";
+    private static final String QUERY_PLAN_FULL_SCAN_PREFIX = "SCAN ";
+    private static final String QUERY_PLAN_CONSTANT_ROW_SCAN = "SCAN CONSTANT ROW";
+
+    Context context;
+    WorkoutSessionDatabaseHelper databaseHelper;
+
+    /**
+     * The sql of every query made through the databaseHelper while isRecordingQueries is true
+     * */
+    final List<String> listOfRecordedQuerySql = new ArrayList<>();
+    boolean isRecordingQueries;
+
+
+    /**
+     * Setup the test before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        this.context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        SQLiteDatabase.CursorFactory queryRecordingCursorFactory =
+                (sqLiteDatabase, cursorDriver, editTable, query) -> {
+                    if (this.isRecordingQueries)
+                    {
+                        this.listOfRecordedQuerySql.add(
+                                query.toString().replace(SQLITE_QUERY_TO_STRING_PREFIX, ""));
+                    }
+
+                    return new SQLiteCursor(cursorDriver, editTable, query);
+                };
+
+        this.databaseHelper = new WorkoutSessionDatabaseHelper(context,
+                                                                queryRecordingCursorFactory);
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Remove all records created by the test
+     * */
+    @After
+    public void tearDownTest()
+    {
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Test that no query made by the public query methods with a WHERE clause performs
+     * a full table scan
+     * */
+    @Test
+    public void queryMethods_ExplainQueryPlanOfFilteredQueries_NoFullTableScan()
+            throws RecordInsertionException, RecordNotFoundException
+    {
+        final int RANDOM_NUMBER_OF_WORKOUT_SESSIONS = 3;
+        final int RANDOM_PAGE_SIZE = 2;
+
+        long lastInsertedWorkoutSessionId = 0;
+
+        for (int index = 0; index < RANDOM_NUMBER_OF_WORKOUT_SESSIONS; index++)
+        {
+            lastInsertedWorkoutSessionId = this.databaseHelper.insertWorkoutSessionRecord(
+                    getRandomWorkoutSession(index)).getWorkoutSessionId();
+        }
+
+
+        this.isRecordingQueries = true;
+
+        this.databaseHelper.queryWorkoutSessionSummary(LocalDate.of(2021, 1, 1),
+                                                       LocalDate.of(2021, 1, 8));
+        this.databaseHelper.queryAllWorkoutSessionRecords(RecordLoadingMode.PER_SESSION);
+        this.databaseHelper.queryAllWorkoutSessionRecords(RecordLoadingMode.BATCHED);
+        this.databaseHelper.queryWorkoutSessionRecordsPage(
+                WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE,
+                RANDOM_PAGE_SIZE);
+        this.databaseHelper.queryWorkoutSessionListItemsPage(
+                WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE,
+                RANDOM_PAGE_SIZE);
+        this.databaseHelper.queryWorkoutSessionRecord(lastInsertedWorkoutSessionId);
+        this.databaseHelper.queryListOfImagePaths(lastInsertedWorkoutSessionId);
+        this.databaseHelper.queryImagePathsWithoutRenditions();
+        this.databaseHelper.queryListOfImageRenditionPaths(
+                "/query_plan/workout_session_image_0.jpg");
+
+        this.isRecordingQueries = false;
+
+
+        assertFalse(this.listOfRecordedQuerySql.isEmpty());
+
+        SQLiteDatabase sqLiteDatabase = this.databaseHelper.getReadableDatabase();
+        List<String> listOfFullTableScans = new ArrayList<>();
+
+        for (String querySql : this.listOfRecordedQuerySql)
+        {
+            if (!hasWhereClause(querySql))
+            {
+                continue;
+            }
+
+            for (String queryPlanDetail : getQueryPlanDetails(sqLiteDatabase, querySql))
+            {
+                Log.i(QUERY_PLAN_TAG, querySql + " | " + queryPlanDetail);
+
+                if (queryPlanDetail.startsWith(QUERY_PLAN_FULL_SCAN_PREFIX) &&
+                        !queryPlanDetail.startsWith(QUERY_PLAN_CONSTANT_ROW_SCAN))
+                {
+                    listOfFullTableScans.add(querySql + " | " + queryPlanDetail);
+                }
+            }
+        }
+
+        assertTrue("Full table scans found: " + listOfFullTableScans,
+                   listOfFullTableScans.isEmpty());
+    }
+
+
+    /**
+     * Returns whether the sql given filters its rows with a WHERE clause
+     *
+     * @param querySql the sql of the query
+     * */
+    private static boolean hasWhereClause(String querySql)
+    {
+        return querySql.toUpperCase().contains(" WHERE ");
+    }
+
+
+    /**
+     * Run the sql given with EXPLAIN QUERY PLAN and returns the detail of every step of the
+     * query plan. Every selection argument is bound to EXPLAIN_SELECTION_ARGUMENT, as the
+     * values do not affect the choice of indexes
+     *
+     * @param sqLiteDatabase the sqliteDatabase handle used to explain the query
+     * @param querySql the sql of the query to be explained
+     * */
+    private static List<String> getQueryPlanDetails(SQLiteDatabase sqLiteDatabase,
+                                                    String querySql)
+    {
+        int numberOfSelectionArguments =
+                querySql.length() - querySql.replace(SELECTION_ARGUMENT_PLACEHOLDER, "").length();
+
+        String[] selectionArguments = new String[numberOfSelectionArguments];
+
+        for (int index = 0; index < numberOfSelectionArguments; index++)
+        {
+            selectionArguments[index] = EXPLAIN_SELECTION_ARGUMENT;
+        }
+
+
+        List<String> listOfQueryPlanDetails = new ArrayList<>();
+
+        try (Cursor cursor = sqLiteDatabase.rawQuery("EXPLAIN QUERY PLAN " + querySql,
+                                                     selectionArguments))
+        {
+            int detailColumnIndex = cursor.getColumnIndexOrThrow(QUERY_PLAN_COLUMN_DETAIL);
+
+            while (cursor.moveToNext())
+            {
+                listOfQueryPlanDetails.add(cursor.getString(detailColumnIndex));
+            }
+        }
+
+        return listOfQueryPlanDetails;
+    }
+
+
+    /**
+     * Returns a workout session with a few GPSLocations and an image path unique to the index
+     *
+     * @param index index of the workout session, used to vary its data
+     * */
+    private static WorkoutSession getRandomWorkoutSession(int index)
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.setActivityType(IWorkoutSession.ActivityType.WALKING);
+        workoutSession.setStartDateTime(LocalDateTime.of(2021, 1, 1 + index, 7, 0, 0));
+        workoutSession.setDurationInSeconds(600);
+        workoutSession.setNumberOfStepsTaken(1000);
+
+        workoutSession.addGPSLocation(new GPSLocation(-32.0, 115.8));
+        workoutSession.addGPSLocation(null);
+        workoutSession.addGPSLocation(new GPSLocation(-32.0001, 115.8001));
+
+        workoutSession.addImageTaken("/query_plan/workout_session_image_" + index + ".jpg");
+
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+}
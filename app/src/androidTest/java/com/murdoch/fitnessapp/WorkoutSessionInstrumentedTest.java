@@ -1,5 +1,6 @@
 package com.murdoch.fitnessapp;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import android.os.Parcel;
@@ -79,4 +80,143 @@ public class WorkoutSessionInstrumentedTest
     }
 
 
+    /**
+     * Test that a workout session with pauses and without a start date time is re-created
+     * from a Parcel with the same GPSLocations, pauses and values
+     * */
+    @Test
+    public void writeToParcel_and_StaticCreator_PausesAndNoStartDateTime_EqualWorkoutSession()
+    {
+        WorkoutSession originalWorkoutSession = new WorkoutSession();
+
+        originalWorkoutSession.addGPSLocation(null);
+        originalWorkoutSession.addGPSLocation(new GPSLocation(-32.06671234567, 115.83331234567));
+        originalWorkoutSession.addGPSLocation(new GPSLocation(-32.06681234567, 115.83341234567));
+        originalWorkoutSession.addGPSLocation(null);
+        originalWorkoutSession.addGPSLocation(null);
+        originalWorkoutSession.addGPSLocation(new GPSLocation(-32.0670, 115.8340));
+        originalWorkoutSession.addGPSLocation(null);
+        originalWorkoutSession.updateDistanceTravelled();
+
+        Parcel parcel = Parcel.obtain();
+
+        originalWorkoutSession.writeToParcel(parcel, originalWorkoutSession.describeContents());
+
+        parcel.setDataPosition(0);
+
+        WorkoutSession createdFromParcel = WorkoutSession.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        assertEquals(originalWorkoutSession, createdFromParcel);
+        assertEquals(originalWorkoutSession.getListOfGPSLocations(),
+                     createdFromParcel.getListOfGPSLocations());
+    }
+
+
+    /**
+     * Test that the timestamps, accuracies, altitudes and speeds of the GPSLocations are
+     * re-created from a Parcel without any loss
+     * */
+    @Test
+    public void writeToParcel_and_StaticCreator_GPSLocationsWithDetails_EqualGPSLocations()
+    {
+        WorkoutSession originalWorkoutSession = new WorkoutSession();
+
+        GPSLocation gpsLocation = new GPSLocation(-32.06671234567, 115.83331234567);
+        gpsLocation.setTimestampInMilliseconds(1700000000123L);
+        gpsLocation.setAccuracyInMeters(3.21f);
+        gpsLocation.setAltitudeInMeters(17.654321);
+        gpsLocation.setSpeedInMetersPerSecond(2.34f);
+
+        originalWorkoutSession.addGPSLocation(new GPSLocation(-32.0668, 115.8334));
+        originalWorkoutSession.addGPSLocation(gpsLocation);
+
+        Parcel parcel = Parcel.obtain();
+
+        originalWorkoutSession.writeToParcel(parcel, originalWorkoutSession.describeContents());
+
+        parcel.setDataPosition(0);
+
+        WorkoutSession createdFromParcel = WorkoutSession.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        assertEquals(originalWorkoutSession, createdFromParcel);
+        assertEquals(originalWorkoutSession.getListOfGPSLocations(),
+                     createdFromParcel.getListOfGPSLocations());
+    }
+
+
+    /**
+     * Test that the splits and laps of a workout session are re-created from a Parcel as
+     * they were written, and that later GPSLocations continue from the last split
+     * */
+    @Test
+    public void writeToParcel_and_StaticCreator_SplitsAndLaps_EqualSplits()
+    {
+        WorkoutSession originalWorkoutSession = new WorkoutSession();
+
+        originalWorkoutSession.addGPSLocation(new GPSLocation(0, 0));
+        originalWorkoutSession.addDurationInSeconds(330);
+        originalWorkoutSession.addGPSLocation(new GPSLocation(0, 0.01));
+        originalWorkoutSession.markLap();
+
+        Parcel parcel = Parcel.obtain();
+
+        originalWorkoutSession.writeToParcel(parcel, originalWorkoutSession.describeContents());
+
+        parcel.setDataPosition(0);
+
+        WorkoutSession createdFromParcel = WorkoutSession.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        assertEquals(originalWorkoutSession.getListOfSplits(),
+                     createdFromParcel.getListOfSplits());
+
+
+        originalWorkoutSession.addDurationInSeconds(330);
+        originalWorkoutSession.addGPSLocation(new GPSLocation(0, 0.02));
+
+        createdFromParcel.addDurationInSeconds(330);
+        createdFromParcel.addGPSLocation(new GPSLocation(0, 0.02));
+
+        assertEquals(originalWorkoutSession.getListOfSplits(),
+                     createdFromParcel.getListOfSplits());
+    }
+
+
+    /**
+     * Test that a workout session written in the legacy format, before the packed format was
+     * introduced, is still re-created by the static Creator
+     * */
+    @Test
+    public void staticCreator_LegacyFormat_EqualWorkoutSession()
+    {
+        WorkoutSession originalWorkoutSession = new WorkoutSession();
+
+        originalWorkoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+        originalWorkoutSession.setStartDateTime(LocalDateTime.of(2022, 3, 4, 5, 6, 7));
+        originalWorkoutSession.setDurationInSeconds(140);
+        originalWorkoutSession.setNumberOfStepsTaken(1234);
+        originalWorkoutSession.addGPSLocation(new GPSLocation(11.45, 43.2));
+        originalWorkoutSession.addGPSLocation(null);
+        originalWorkoutSession.addGPSLocation(new GPSLocation(33.44, 55.66));
+        originalWorkoutSession.addImageTaken("image1.png");
+        originalWorkoutSession.calculateCaloriesConsumed();
+        originalWorkoutSession.calculateDistanceTravelled();
+
+        Parcel parcel = Parcel.obtain();
+
+        LegacyWorkoutSessionParcel.writeToParcel(originalWorkoutSession, parcel);
+
+        parcel.setDataPosition(0);
+
+        WorkoutSession createdFromParcel = WorkoutSession.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        assertEquals(originalWorkoutSession, createdFromParcel);
+    }
 }
@@ -0,0 +1,156 @@
+package com.murdoch.fitnessapp;
+
+import android.os.Parcel;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+
+import java.time.LocalDateTime;
+
+/**
+ * Instrumented benchmark that compares the size and the round-trip time (writing into a
+ * Parcel and re-creating from it) of a WorkoutSession in the legacy Parcel format, with one
+ * ParcelableGPSLocation per GPSLocation, against the packed format
+ *
+ * Results are written to logcat under the tag BENCHMARK_TAG
+ * */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionParcelBenchmarkInstrumentedTest
+{
+    private static final String BENCHMARK_TAG = "WorkoutSessionBenchmark";
+
+    private static final int[] NUMBERS_OF_GPS_LOCATIONS = {1_000, 10_000, 50_000};
+
+    private static final int PAUSE_INTERVAL = 600;
+
+    private static final int NUMBER_OF_WARMUP_ITERATIONS = 5;
+    private static final int NUMBER_OF_MEASURED_ITERATIONS = 20;
+
+
+    @Test
+    public void writeToParcel_and_StaticCreator_LegacyAndPackedFormats_Benchmark()
+    {
+        for (int numberOfGPSLocations : NUMBERS_OF_GPS_LOCATIONS)
+        {
+            WorkoutSession workoutSession = createWorkoutSession(numberOfGPSLocations);
+
+            for (boolean isPacked : new boolean[]{false, true})
+            {
+                WorkoutSession createdFromParcel = null;
+
+                for (int iteration = 0; iteration < NUMBER_OF_WARMUP_ITERATIONS; iteration++)
+                {
+                    roundTrip(workoutSession, isPacked);
+                }
+
+                long startTimeInNanoseconds = System.nanoTime();
+
+                for (int iteration = 0; iteration < NUMBER_OF_MEASURED_ITERATIONS; iteration++)
+                {
+                    createdFromParcel = roundTrip(workoutSession, isPacked);
+                }
+
+                long timeInMicroseconds = (System.nanoTime() - startTimeInNanoseconds) /
+                                          1_000 / NUMBER_OF_MEASURED_ITERATIONS;
+
+                Parcel parcel = Parcel.obtain();
+
+                writeToParcel(workoutSession, parcel, isPacked);
+
+                int sizeInBytes = parcel.dataSize();
+
+                parcel.recycle();
+
+                Log.i(BENCHMARK_TAG, String.format("Parcel round trip of %d GPSLocations | " +
+                        "%s: %d bytes, %d us", numberOfGPSLocations,
+                        isPacked ? "PACKED" : "LEGACY", sizeInBytes, timeInMicroseconds));
+
+                assertEquals(workoutSession, createdFromParcel);
+            }
+        }
+    }
+
+
+    /**
+     * Write the workout session into a Parcel, in the packed or legacy format, and re-create
+     * it from the Parcel
+     * */
+    private static WorkoutSession roundTrip(WorkoutSession workoutSession, boolean isPacked)
+    {
+        Parcel parcel = Parcel.obtain();
+
+        writeToParcel(workoutSession, parcel, isPacked);
+
+        parcel.setDataPosition(0);
+
+        WorkoutSession createdFromParcel = WorkoutSession.CREATOR.createFromParcel(parcel);
+
+        parcel.recycle();
+
+        return createdFromParcel;
+    }
+
+
+    /**
+     * Write the workout session into the Parcel, in the packed or legacy format
+     * */
+    private static void writeToParcel(WorkoutSession workoutSession, Parcel parcel,
+                                      boolean isPacked)
+    {
+        if (isPacked)
+        {
+            workoutSession.writeToParcel(parcel, 0);
+        }
+        else
+        {
+            LegacyWorkoutSessionParcel.writeToParcel(workoutSession, parcel);
+        }
+    }
+
+
+    /**
+     * Returns a workout session with the number of GPSLocations given, a pause every
+     * PAUSE_INTERVAL GPSLocations, and a few images
+     * */
+    private static WorkoutSession createWorkoutSession(int numberOfGPSLocations)
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+        workoutSession.setStartDateTime(LocalDateTime.of(2022, 3, 4, 5, 6, 7));
+        workoutSession.setDurationInSeconds(numberOfGPSLocations);
+
+        for (int index = 0; index < numberOfGPSLocations; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                workoutSession.addGPSLocation(null);
+            }
+
+            workoutSession.addGPSLocation(new GPSLocation(
+                    -32.0 + index * 0.00004 + Math.sin(index / 50.0) * 0.0002,
+                    115.8 + index * 0.00003));
+        }
+
+        for (int index = 0; index < 5; index++)
+        {
+            workoutSession.addImageTaken("/storage/emulated/0/Pictures/image" + index + ".jpg");
+        }
+
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+}
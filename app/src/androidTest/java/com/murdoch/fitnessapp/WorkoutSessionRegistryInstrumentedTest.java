@@ -0,0 +1,261 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.databases.registries.WorkoutSessionRegistry;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instrumented test of the WorkoutSessionRegistry class
+ *
+ * The files are written on the calling thread, so that they exist as soon as persist(String)
+ * returns. A process death is simulated by resolving the handles with a new registry, whose
+ * in-memory workout sessions are empty, over the same directory
+ * */
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionRegistryInstrumentedTest
+{
+    private static final Executor CALLING_THREAD_EXECUTOR = Runnable::run;
+
+    File directory;
+    WorkoutSessionRegistry workoutSessionRegistry;
+
+
+    /**
+     * Setup the test before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        this.directory = new File(context.getCacheDir(), "workoutSessionRegistryTest");
+
+        deleteDirectory();
+
+        this.workoutSessionRegistry = createRegistryAfterProcessDeath();
+    }
+
+
+    /**
+     * Remove all files created by the test
+     * */
+    @After
+    public void cleanupTest()
+    {
+        deleteDirectory();
+    }
+
+
+    /**
+     * Test that a registered workout session is resolved into the very same instance
+     * */
+    @Test
+    public void resolve_RegisteredWorkoutSession_SameInstance()
+    {
+        WorkoutSession workoutSession = createWorkoutSession();
+
+        String handle = this.workoutSessionRegistry.register(workoutSession);
+
+        assertSame(workoutSession, this.workoutSessionRegistry.resolve(handle));
+    }
+
+
+    /**
+     * Test that a persisted workout session is resolved from its file after the process is
+     * killed, with the state it had when it was persisted
+     * */
+    @Test
+    public void resolve_PersistedWorkoutSessionAfterProcessDeath_EqualWorkoutSession()
+    {
+        WorkoutSession workoutSession = createWorkoutSession();
+
+        String handle = this.workoutSessionRegistry.register(workoutSession);
+
+        this.workoutSessionRegistry.persist(handle);
+
+        WorkoutSessionRegistry workoutSessionRegistryAfterProcessDeath =
+                                                        createRegistryAfterProcessDeath();
+
+        WorkoutSession resolvedWorkoutSession =
+                                    workoutSessionRegistryAfterProcessDeath.resolve(handle);
+
+        assertNotSame(workoutSession, resolvedWorkoutSession);
+        assertEquals(workoutSession, resolvedWorkoutSession);
+
+        //registered again, so no more files are read
+        assertSame(resolvedWorkoutSession, workoutSessionRegistryAfterProcessDeath.resolve(handle));
+    }
+
+
+    /**
+     * Test that a workout session that was never persisted cannot be resolved after the
+     * process is killed
+     * */
+    @Test
+    public void resolve_NotPersistedWorkoutSessionAfterProcessDeath_Null()
+    {
+        String handle = this.workoutSessionRegistry.register(createWorkoutSession());
+
+        assertNull(createRegistryAfterProcessDeath().resolve(handle));
+    }
+
+
+    /**
+     * Test that an unregistered workout session can no longer be resolved, neither from
+     * memory nor from its file
+     * */
+    @Test
+    public void unregister_PersistedWorkoutSession_CannotBeResolved()
+    {
+        String handle = this.workoutSessionRegistry.register(createWorkoutSession());
+
+        this.workoutSessionRegistry.persist(handle);
+        this.workoutSessionRegistry.unregister(handle);
+
+        assertNull(this.workoutSessionRegistry.resolve(handle));
+        assertNull(createRegistryAfterProcessDeath().resolve(handle));
+    }
+
+
+    /**
+     * Test that the files of handles that are no longer registered in memory are deleted
+     * once they are older than the maximum file age, while the recent files and the files
+     * of handles still registered in memory are kept, however old
+     * */
+    @Test
+    public void deleteStaleFiles_OldAndRecentFiles_OnlyOldUnregisteredFileDeleted()
+    {
+        String registeredHandle = this.workoutSessionRegistry.register(createWorkoutSession());
+
+        this.workoutSessionRegistry.persist(registeredHandle);
+
+        String oldHandle = this.workoutSessionRegistry.register(createWorkoutSession());
+        String recentHandle = this.workoutSessionRegistry.register(createWorkoutSession());
+
+        this.workoutSessionRegistry.persist(oldHandle);
+        this.workoutSessionRegistry.persist(recentHandle);
+
+        final long OLD_LAST_MODIFIED_TIME_IN_MILLISECONDS =
+                                    System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+
+        assertTrue(getFile(registeredHandle).setLastModified(
+                                                    OLD_LAST_MODIFIED_TIME_IN_MILLISECONDS));
+        assertTrue(getFile(oldHandle).setLastModified(OLD_LAST_MODIFIED_TIME_IN_MILLISECONDS));
+
+        //only the registered handle is still in memory after the process is killed
+        Map<String, WorkoutSession> workoutSessionsAfterProcessDeath = new ConcurrentHashMap<>();
+
+        WorkoutSessionRegistry workoutSessionRegistryAfterProcessDeath =
+                new WorkoutSessionRegistry(workoutSessionsAfterProcessDeath, this.directory,
+                                           CALLING_THREAD_EXECUTOR);
+
+        workoutSessionsAfterProcessDeath.put(registeredHandle,
+                                    this.workoutSessionRegistry.resolve(registeredHandle));
+
+        workoutSessionRegistryAfterProcessDeath.deleteStaleFiles();
+
+
+        assertTrue(getFile(registeredHandle).isFile());
+        assertFalse(getFile(oldHandle).isFile());
+        assertTrue(getFile(recentHandle).isFile());
+
+        assertNull(workoutSessionRegistryAfterProcessDeath.resolve(oldHandle));
+        assertNotNull(workoutSessionRegistryAfterProcessDeath.resolve(recentHandle));
+    }
+
+
+    /**
+     * Test that handles that could not have been returned by register(WorkoutSession) are
+     * not resolved
+     * */
+    @Test
+    public void resolve_InvalidHandles_Null()
+    {
+        assertNull(this.workoutSessionRegistry.resolve(null));
+        assertNull(this.workoutSessionRegistry.resolve(""));
+        assertNull(this.workoutSessionRegistry.resolve("../workoutSession"));
+    }
+
+
+    /**
+     * Returns a new registry over the same directory, with no workout session in memory
+     * */
+    private WorkoutSessionRegistry createRegistryAfterProcessDeath()
+    {
+        return new WorkoutSessionRegistry(new ConcurrentHashMap<>(), this.directory,
+                                          CALLING_THREAD_EXECUTOR);
+    }
+
+
+    /**
+     * Returns the file the workout session registered with the handle given is persisted into
+     * */
+    private File getFile(String handle)
+    {
+        return new File(this.directory, handle + ".parcel");
+    }
+
+
+    /**
+     * Returns a workout session with GPSLocations, a pause and images
+     * */
+    private static WorkoutSession createWorkoutSession()
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+        workoutSession.setStartDateTime(LocalDateTime.of(2022, 3, 4, 5, 6, 7));
+        workoutSession.setDurationInSeconds(1234);
+        workoutSession.setNumberOfStepsTaken(2345);
+        workoutSession.addGPSLocation(new GPSLocation(-32.0667, 115.8333));
+        workoutSession.addGPSLocation(new GPSLocation(-32.0668, 115.8334));
+        workoutSession.addGPSLocation(null);
+        workoutSession.addGPSLocation(new GPSLocation(-32.0670, 115.8340));
+        workoutSession.addImageTaken("image1.png");
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+
+
+    /**
+     * Delete the directory of the registry and all its files
+     * */
+    private void deleteDirectory()
+    {
+        File[] files = this.directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+
+        //noinspection ResultOfMethodCallIgnored
+        this.directory.delete();
+    }
+}
@@ -0,0 +1,701 @@
+package com.murdoch.fitnessapp;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
+import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
+import com.murdoch.fitnessapp.databases.exceptions.RecordNotFoundException;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.repositories.RepositoryTask;
+import com.murdoch.fitnessapp.databases.repositories.WorkoutSessionRepository;
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItemsPage;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionSummary;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instrumented test of the WorkoutSessionRepository class
+ *
+ * Every operation is submitted from the main thread, through a database helper that records
+ * the thread of every database access. No database access may happen on the main thread, and
+ * every result must be delivered on the main thread
+ * */
+@RunWith(AndroidJUnit4.class)
+public class WorkoutSessionRepositoryInstrumentedTest
+{
+    /**
+     * The maximum time to wait for the result of an operation
+     * */
+    private static final long MAXIMUM_WAITING_TIME_IN_SECONDS = 10;
+
+    Context context;
+    MainThreadRecordingDatabaseHelper databaseHelper;
+    ExecutorService backgroundExecutor;
+    WorkoutSessionRepository workoutSessionRepository;
+    TestLifecycleOwner lifecycleOwner;
+
+
+    /**
+     * Setup the test before running the various instrumented tests
+     * */
+    @Before
+    public void setupTest()
+    {
+        this.context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        this.databaseHelper = new MainThreadRecordingDatabaseHelper(context);
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+
+        //a single background thread runs the operations in the order they are submitted
+        this.backgroundExecutor = Executors.newSingleThreadExecutor();
+
+        this.workoutSessionRepository = new WorkoutSessionRepository(this.databaseHelper,
+                                                                     this.backgroundExecutor);
+
+        runOnMainThread(() -> this.lifecycleOwner = new TestLifecycleOwner());
+
+        this.databaseHelper.resetRecordedDatabaseAccesses();
+    }
+
+
+    /**
+     * Remove all records created by the test
+     * */
+    @After
+    public void tearDownTest()
+    {
+        runOnMainThread(() -> this.lifecycleOwner.destroy());
+
+        this.backgroundExecutor.shutdownNow();
+
+        this.databaseHelper.deleteAllWorkoutSessionRecords();
+    }
+
+
+    /**
+     * Testing the method insertWorkoutSessionRecordAsync(LifecycleOwner, IWorkoutSession,
+     * IRepositoryResultListener)
+     *
+     * Test that inserting a workout session from the main thread does not access the database
+     * on the main thread, and delivers the stored workout session on the main thread
+     * */
+    @Test
+    public void insertWorkoutSessionRecordAsync_InsertFromMainThread_NoDatabaseAccessOnMainThread()
+            throws Exception
+    {
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession(1);
+
+        RecordingResultListener<IStoredWorkoutSession> resultListener =
+                                                            new RecordingResultListener<>();
+
+        runOnMainThread(() -> this.workoutSessionRepository.insertWorkoutSessionRecordAsync(
+                                this.lifecycleOwner, RANDOM_WORKOUT_SESSION, resultListener));
+
+        IStoredWorkoutSession storedWorkoutSession = resultListener.awaitResult();
+
+        assertEquals(RANDOM_WORKOUT_SESSION.getNumberOfStepsTaken(),
+                     storedWorkoutSession.getNumberOfStepsTaken());
+
+        assertResultDeliveredOnMainThreadWithoutDatabaseAccessOnMainThread(resultListener);
+
+        final int EXPECTED_NUMBER_OF_RECORDS = 1;
+
+        assertEquals(EXPECTED_NUMBER_OF_RECORDS,
+                     this.databaseHelper.queryAllWorkoutSessionRecords().size());
+    }
+
+
+    /**
+     * Testing the method deleteWorkoutSessionRecordAsync(LifecycleOwner, long,
+     * IRepositoryResultListener)
+     *
+     * Test that deleting a workout session record from the main thread does not access the
+     * database on the main thread, and reports the deletion on the main thread
+     * */
+    @Test
+    public void deleteWorkoutSessionRecordAsync_DeleteFromMainThread_NoDatabaseAccessOnMainThread()
+            throws Exception
+    {
+        IStoredWorkoutSession storedWorkoutSession =
+                this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession(1));
+
+        this.databaseHelper.resetRecordedDatabaseAccesses();
+
+        RecordingResultListener<Void> resultListener = new RecordingResultListener<>();
+
+        runOnMainThread(() -> this.workoutSessionRepository.deleteWorkoutSessionRecordAsync(
+                                this.lifecycleOwner, storedWorkoutSession.getWorkoutSessionId(),
+                                resultListener));
+
+        resultListener.awaitResult();
+
+        assertResultDeliveredOnMainThreadWithoutDatabaseAccessOnMainThread(resultListener);
+
+        assertTrue(this.databaseHelper.queryAllWorkoutSessionRecords().isEmpty());
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionSummaryAsync(LifecycleOwner, LocalDate,
+     * LocalDate, IRepositoryResultListener)
+     *
+     * Test that querying the workout session summary from the main thread does not access
+     * the database on the main thread, and delivers the summary on the main thread
+     * */
+    @Test
+    public void queryWorkoutSessionSummaryAsync_QueryFromMainThread_NoDatabaseAccessOnMainThread()
+            throws Exception
+    {
+        final WorkoutSession RANDOM_WORKOUT_SESSION = getRandomWorkoutSession(1);
+
+        this.databaseHelper.insertWorkoutSessionRecord(RANDOM_WORKOUT_SESSION);
+
+        this.databaseHelper.resetRecordedDatabaseAccesses();
+
+        RecordingResultListener<IWorkoutSessionSummary> resultListener =
+                                                            new RecordingResultListener<>();
+
+        runOnMainThread(() -> this.workoutSessionRepository.queryWorkoutSessionSummaryAsync(
+                                this.lifecycleOwner, LocalDate.of(2021, 1, 1),
+                                LocalDate.of(2021, 2, 1), resultListener));
+
+        IWorkoutSessionSummary workoutSessionSummary = resultListener.awaitResult();
+
+        assertEquals(RANDOM_WORKOUT_SESSION.getNumberOfStepsTaken(),
+                     workoutSessionSummary.getTotalNumberOfStepsTaken());
+
+        assertResultDeliveredOnMainThreadWithoutDatabaseAccessOnMainThread(resultListener);
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionListItemsPageAsync(LifecycleOwner, long, int,
+     * IRepositoryResultListener)
+     *
+     * Test that querying a page of the workout session history from the main thread does not
+     * access the database on the main thread, and delivers the page on the main thread
+     * */
+    @Test
+    public void queryWorkoutSessionListItemsPageAsync_QueryFromMainThread_NoDatabaseAccessOnMainThread()
+            throws Exception
+    {
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession(1));
+        this.databaseHelper.insertWorkoutSessionRecord(getRandomWorkoutSession(2));
+
+        this.databaseHelper.resetRecordedDatabaseAccesses();
+
+        final int PAGE_SIZE = 20;
+
+        RecordingResultListener<IWorkoutSessionListItemsPage> resultListener =
+                                                            new RecordingResultListener<>();
+
+        runOnMainThread(() -> this.workoutSessionRepository.queryWorkoutSessionListItemsPageAsync(
+                                this.lifecycleOwner,
+                                WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE,
+                                PAGE_SIZE, resultListener));
+
+        IWorkoutSessionListItemsPage workoutSessionListItemsPage = resultListener.awaitResult();
+
+        final int EXPECTED_NUMBER_OF_LIST_ITEMS = 2;
+
+        assertEquals(EXPECTED_NUMBER_OF_LIST_ITEMS,
+                     workoutSessionListItemsPage.getListOfWorkoutSessionListItems().size());
+
+        assertFalse(workoutSessionListItemsPage.hasNextPage());
+
+        assertResultDeliveredOnMainThreadWithoutDatabaseAccessOnMainThread(resultListener);
+    }
+
+
+    /**
+     * Testing the method queryWorkoutSessionRecordAsync(LifecycleOwner, long,
+     * IRepositoryResultListener)
+     *
+     * Test that querying a workout session record that does not exist delivers a
+     * RecordNotFoundException on the main thread, without accessing the database on the
+     * main thread
+     * */
+    @Test
+    public void queryWorkoutSessionRecordAsync_QueryNonExistentRecord_RecordNotFoundException()
+            throws InterruptedException
+    {
+        final long NON_EXISTENT_WORKOUT_SESSION_ID = 1;
+
+        RecordingResultListener<IStoredWorkoutSession> resultListener =
+                                                            new RecordingResultListener<>();
+
+        runOnMainThread(() -> this.workoutSessionRepository.queryWorkoutSessionRecordAsync(
+                                this.lifecycleOwner, NON_EXISTENT_WORKOUT_SESSION_ID,
+                                resultListener));
+
+        assertThrows(RecordNotFoundException.class, resultListener::awaitResult);
+
+        assertResultDeliveredOnMainThreadWithoutDatabaseAccessOnMainThread(resultListener);
+    }
+
+
+    /**
+     * Test that an operation is skipped, and its result listener is not called, if the
+     * controller that submitted it is destroyed before the operation starts
+     * */
+    @Test
+    public void queryWorkoutSessionSummaryAsync_OwnerDestroyedBeforeStart_OperationSkipped()
+            throws InterruptedException
+    {
+        CountDownLatch releaseBackgroundThreadLatch = new CountDownLatch(1);
+
+        //keep the background thread busy, so that the operation cannot start yet
+        this.backgroundExecutor.execute(() -> awaitQuietly(releaseBackgroundThreadLatch));
+
+        RecordingResultListener<IWorkoutSessionSummary> resultListener =
+                                                            new RecordingResultListener<>();
+
+        AtomicReference<RepositoryTask<IWorkoutSessionSummary>> repositoryTask =
+                                                            new AtomicReference<>();
+
+        runOnMainThread(() -> repositoryTask.set(
+                this.workoutSessionRepository.queryWorkoutSessionSummaryAsync(
+                        this.lifecycleOwner, LocalDate.of(2021, 1, 1),
+                        LocalDate.of(2021, 2, 1), resultListener)));
+
+        runOnMainThread(() -> this.lifecycleOwner.destroy());
+
+        releaseBackgroundThreadLatch.countDown();
+
+        awaitAllSubmittedOperationsDelivered();
+
+
+        assertTrue(repositoryTask.get().isCancelled());
+        assertFalse(resultListener.isCalled());
+
+        final int EXPECTED_NUMBER_OF_DATABASE_ACCESSES = 0;
+
+        assertEquals(EXPECTED_NUMBER_OF_DATABASE_ACCESSES,
+                     this.databaseHelper.getNumberOfDatabaseAccessesOnBackgroundThreads());
+    }
+
+
+    /**
+     * Test that an insertion is still run, and only its result is discarded, if the
+     * controller that submitted it is destroyed before the insertion starts
+     * */
+    @Test
+    public void insertWorkoutSessionRecordAsync_OwnerDestroyedBeforeStart_RecordInserted()
+            throws InterruptedException
+    {
+        CountDownLatch releaseBackgroundThreadLatch = new CountDownLatch(1);
+
+        //keep the background thread busy, so that the insertion cannot start yet
+        this.backgroundExecutor.execute(() -> awaitQuietly(releaseBackgroundThreadLatch));
+
+        RecordingResultListener<IStoredWorkoutSession> resultListener =
+                                                            new RecordingResultListener<>();
+
+        AtomicReference<RepositoryTask<IStoredWorkoutSession>> repositoryTask =
+                                                            new AtomicReference<>();
+
+        runOnMainThread(() -> repositoryTask.set(
+                this.workoutSessionRepository.insertWorkoutSessionRecordAsync(
+                        this.lifecycleOwner, getRandomWorkoutSession(1), resultListener)));
+
+        runOnMainThread(() -> this.lifecycleOwner.destroy());
+
+        releaseBackgroundThreadLatch.countDown();
+
+        awaitAllSubmittedOperationsDelivered();
+
+
+        assertTrue(repositoryTask.get().isCancelled());
+        assertFalse(resultListener.isCalled());
+
+        final int EXPECTED_NUMBER_OF_RECORDS = 1;
+
+        assertEquals(EXPECTED_NUMBER_OF_RECORDS,
+                     this.databaseHelper.queryAllWorkoutSessionRecords().size());
+    }
+
+
+    /**
+     * Test that the result listener of an operation that has already started is not called,
+     * if the task is cancelled before the result is delivered
+     * */
+    @Test
+    public void queryWorkoutSessionSummaryAsync_CancelledWhileRunning_ResultDiscarded()
+            throws InterruptedException
+    {
+        RecordingResultListener<IWorkoutSessionSummary> resultListener =
+                                                            new RecordingResultListener<>();
+
+        AtomicReference<RepositoryTask<IWorkoutSessionSummary>> repositoryTask =
+                                                            new AtomicReference<>();
+
+        //the main thread is kept busy until the task is cancelled, so the result cannot be
+        //delivered before the cancellation even if the operation has already finished
+        runOnMainThread(() -> {
+            repositoryTask.set(this.workoutSessionRepository.queryWorkoutSessionSummaryAsync(
+                        this.lifecycleOwner, LocalDate.of(2021, 1, 1),
+                        LocalDate.of(2021, 2, 1), resultListener));
+
+            repositoryTask.get().cancel();
+        });
+
+        awaitAllSubmittedOperationsDelivered();
+
+
+        assertTrue(repositoryTask.get().isCancelled());
+        assertFalse(resultListener.isCalled());
+
+        final int EXPECTED_NUMBER_OF_DATABASE_ACCESSES_ON_MAIN_THREAD = 0;
+
+        assertEquals(EXPECTED_NUMBER_OF_DATABASE_ACCESSES_ON_MAIN_THREAD,
+                     this.databaseHelper.getNumberOfDatabaseAccessesOnMainThread());
+    }
+
+
+    /**
+     * Test that an operation submitted after the controller has been destroyed is not run
+     * at all
+     * */
+    @Test
+    public void queryWorkoutSessionSummaryAsync_OwnerAlreadyDestroyed_OperationNotRun()
+            throws InterruptedException
+    {
+        runOnMainThread(() -> this.lifecycleOwner.destroy());
+
+        RecordingResultListener<IWorkoutSessionSummary> resultListener =
+                                                            new RecordingResultListener<>();
+
+        AtomicReference<RepositoryTask<IWorkoutSessionSummary>> repositoryTask =
+                                                            new AtomicReference<>();
+
+        runOnMainThread(() -> repositoryTask.set(
+                this.workoutSessionRepository.queryWorkoutSessionSummaryAsync(
+                        this.lifecycleOwner, LocalDate.of(2021, 1, 1),
+                        LocalDate.of(2021, 2, 1), resultListener)));
+
+        awaitAllSubmittedOperationsDelivered();
+
+
+        assertTrue(repositoryTask.get().isCancelled());
+        assertFalse(resultListener.isCalled());
+
+        final int EXPECTED_NUMBER_OF_DATABASE_ACCESSES = 0;
+
+        assertEquals(EXPECTED_NUMBER_OF_DATABASE_ACCESSES,
+                     this.databaseHelper.getNumberOfDatabaseAccessesOnBackgroundThreads());
+    }
+
+
+    /**
+     * Assert that the result listener was called on the main thread, and that the database
+     * was accessed on a background thread but never on the main thread
+     *
+     * @param resultListener the result listener of the operation
+     * */
+    private void assertResultDeliveredOnMainThreadWithoutDatabaseAccessOnMainThread(
+                                                    RecordingResultListener<?> resultListener)
+    {
+        final int EXPECTED_NUMBER_OF_DATABASE_ACCESSES_ON_MAIN_THREAD = 0;
+
+        assertTrue(resultListener.isCalledOnMainThread());
+
+        assertEquals(EXPECTED_NUMBER_OF_DATABASE_ACCESSES_ON_MAIN_THREAD,
+                     this.databaseHelper.getNumberOfDatabaseAccessesOnMainThread());
+
+        assertTrue(this.databaseHelper.getNumberOfDatabaseAccessesOnBackgroundThreads() > 0);
+    }
+
+
+    /**
+     * Wait until every operation submitted so far has run, and its result (if any) has been
+     * posted to and handled by the main thread
+     *
+     * As the background executor has a single thread, a marker submitted after the operations
+     * runs after them, and the marker posted to the main thread is handled after their results
+     * */
+    private void awaitAllSubmittedOperationsDelivered() throws InterruptedException
+    {
+        CountDownLatch markerHandledLatch = new CountDownLatch(1);
+
+        Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
+        this.backgroundExecutor.execute(
+                () -> mainThreadHandler.post(markerHandledLatch::countDown));
+
+        assertTrue(markerHandledLatch.await(MAXIMUM_WAITING_TIME_IN_SECONDS, TimeUnit.SECONDS));
+    }
+
+
+    /**
+     * Run the runnable on the main thread, and wait for it to finish
+     *
+     * @param runnable the runnable to be run on the main thread
+     * */
+    private static void runOnMainThread(Runnable runnable)
+    {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+
+
+    /**
+     * Wait for the latch to count down, ignoring interruptions
+     *
+     * @param latch the latch of interest
+     * */
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(MAXIMUM_WAITING_TIME_IN_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Returns a workout session in January 2021 with a few GPSLocations
+     *
+     * @param dayOfMonth the day of the month of the workout session, used to vary its data
+     * */
+    private static WorkoutSession getRandomWorkoutSession(int dayOfMonth)
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+        workoutSession.setStartDateTime(LocalDateTime.of(2021, 1, dayOfMonth, 7, 0, 0));
+        workoutSession.setDurationInSeconds(600 * dayOfMonth);
+        workoutSession.setNumberOfStepsTaken(1000 * dayOfMonth);
+
+        workoutSession.addGPSLocation(new GPSLocation(-32.0, 115.8));
+        workoutSession.addGPSLocation(new GPSLocation(-32.001, 115.801));
+
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.calculateDistanceTravelled();
+
+        return workoutSession;
+    }
+
+
+    /**
+     * A WorkoutSessionDatabaseHelper that records whether each database access happens on
+     * the main thread. Every method of the helper accesses the database through either
+     * getReadableDatabase() or getWritableDatabase()
+     * */
+    private static class MainThreadRecordingDatabaseHelper extends WorkoutSessionDatabaseHelper
+    {
+        private final AtomicInteger numberOfDatabaseAccessesOnMainThread = new AtomicInteger(0);
+        private final AtomicInteger numberOfDatabaseAccessesOnBackgroundThreads =
+                                                                        new AtomicInteger(0);
+
+
+        MainThreadRecordingDatabaseHelper(Context context)
+        {
+            super(context);
+        }
+
+
+        @Override
+        public SQLiteDatabase getReadableDatabase()
+        {
+            recordDatabaseAccess();
+
+            return super.getReadableDatabase();
+        }
+
+
+        @Override
+        public SQLiteDatabase getWritableDatabase()
+        {
+            recordDatabaseAccess();
+
+            return super.getWritableDatabase();
+        }
+
+
+        @Override
+        public IStoredWorkoutSession insertWorkoutSessionRecord(IWorkoutSession workoutSession)
+                throws RecordInsertionException
+        {
+            recordDatabaseAccess();
+
+            return super.insertWorkoutSessionRecord(workoutSession);
+        }
+
+
+        @Override
+        public void deleteWorkoutSessionRecord(long workoutSessionId)
+                throws RecordNotFoundException
+        {
+            recordDatabaseAccess();
+
+            super.deleteWorkoutSessionRecord(workoutSessionId);
+        }
+
+
+        /**
+         * Record whether the database is accessed on the main thread or a background thread
+         * */
+        private void recordDatabaseAccess()
+        {
+            if (Looper.myLooper() == Looper.getMainLooper())
+            {
+                this.numberOfDatabaseAccessesOnMainThread.incrementAndGet();
+            }
+            else
+            {
+                this.numberOfDatabaseAccessesOnBackgroundThreads.incrementAndGet();
+            }
+        }
+
+
+        void resetRecordedDatabaseAccesses()
+        {
+            this.numberOfDatabaseAccessesOnMainThread.set(0);
+            this.numberOfDatabaseAccessesOnBackgroundThreads.set(0);
+        }
+
+
+        int getNumberOfDatabaseAccessesOnMainThread()
+        {
+            return this.numberOfDatabaseAccessesOnMainThread.get();
+        }
+
+
+        int getNumberOfDatabaseAccessesOnBackgroundThreads()
+        {
+            return this.numberOfDatabaseAccessesOnBackgroundThreads.get();
+        }
+    }
+
+
+    /**
+     * An IRepositoryResultListener that records its result, and whether it was called on
+     * the main thread
+     * */
+    private static class RecordingResultListener<T> implements IRepositoryResultListener<T>
+    {
+        private final CountDownLatch calledLatch = new CountDownLatch(1);
+
+        private volatile T result = null;
+        private volatile Exception exception = null;
+        private volatile boolean isCalledOnMainThread = false;
+
+
+        @Override
+        public void onSuccess(T result)
+        {
+            this.result = result;
+            recordCall();
+        }
+
+
+        @Override
+        public void onFailure(Exception exception)
+        {
+            this.exception = exception;
+            recordCall();
+        }
+
+
+        private void recordCall()
+        {
+            this.isCalledOnMainThread = Looper.myLooper() == Looper.getMainLooper();
+            this.calledLatch.countDown();
+        }
+
+
+        /**
+         * Wait for the result of the operation
+         *
+         * @throws Exception the exception delivered to onFailure(Exception), if any
+         *
+         * @return the result delivered to onSuccess(Object)
+         * */
+        T awaitResult() throws Exception
+        {
+            assertTrue(this.calledLatch.await(MAXIMUM_WAITING_TIME_IN_SECONDS, TimeUnit.SECONDS));
+
+            if (this.exception != null)
+            {
+                throw this.exception;
+            }
+
+            return this.result;
+        }
+
+
+        boolean isCalled()
+        {
+            return this.calledLatch.getCount() == 0;
+        }
+
+
+        boolean isCalledOnMainThread()
+        {
+            return this.isCalledOnMainThread;
+        }
+    }
+
+
+    /**
+     * A LifecycleOwner whose lifecycle is resumed upon creation, and can be destroyed on
+     * demand, standing in for the controller that submits the operations
+     *
+     * Note: Must be created and destroyed on the main thread
+     * */
+    private static class TestLifecycleOwner implements LifecycleOwner
+    {
+        private final LifecycleRegistry lifecycleRegistry = new LifecycleRegistry(this);
+
+
+        TestLifecycleOwner()
+        {
+            this.lifecycleRegistry.setCurrentState(Lifecycle.State.RESUMED);
+        }
+
+
+        void destroy()
+        {
+            this.lifecycleRegistry.setCurrentState(Lifecycle.State.DESTROYED);
+        }
+
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle()
+        {
+            return this.lifecycleRegistry;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.murdoch.fitnessapp.callbackinterfaces;
+
+/**
+ * A listener interface that receives the result of an asynchronous repository operation
+ *
+ * To be implemented by controllers that query or modify the database through a repository.
+ * Both methods are always called on the main thread, and only if the operation has not been
+ * cancelled
+ *
+ * @param <T> the type of the result of the operation
+ * */
+public interface IRepositoryResultListener<T>
+{
+    /**
+     * The method that is called when the operation has completed successfully
+     *
+     * @param result the result of the operation
+     * */
+    void onSuccess(T result);
+
+
+    /**
+     * The method that is called when the operation has failed
+     *
+     * @param exception the exception that caused the operation to fail
+     * */
+    void onFailure(Exception exception);
+}
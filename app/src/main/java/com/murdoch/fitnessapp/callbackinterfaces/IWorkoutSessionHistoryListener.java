@@ -0,0 +1,36 @@
+package com.murdoch.fitnessapp.callbackinterfaces;
+
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+
+/**
+ * A listener interface that receives the actions requested by the user on the workout
+ * sessions of the workout session history
+ *
+ * To be implemented by controllers that display a WorkoutSessionHistoryAdapter. All the
+ * methods are called on the main thread
+ * */
+public interface IWorkoutSessionHistoryListener
+{
+    /**
+     * The method that is called when the user clicks on a workout session
+     *
+     * @param workoutSession the workout session clicked
+     * */
+    void onWorkoutSessionClicked(IWorkoutSessionListItem workoutSession);
+
+
+    /**
+     * The method that is called when the user requests to share a workout session
+     *
+     * @param workoutSession the workout session to be shared
+     * */
+    void onShareWorkoutSessionRequested(IWorkoutSessionListItem workoutSession);
+
+
+    /**
+     * The method that is called when the user requests to delete a workout session
+     *
+     * @param workoutSession the workout session to be deleted
+     * */
+    void onDeleteWorkoutSessionRequested(IWorkoutSessionListItem workoutSession);
+}
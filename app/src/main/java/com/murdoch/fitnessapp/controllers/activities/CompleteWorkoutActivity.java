@@ -3,19 +3,27 @@ package com.murdoch.fitnessapp.controllers.activities;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.method.ScrollingMovementMethod;
+import android.view.View;
 import android.widget.ImageButton;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.murdoch.fitnessapp.R;
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
 import com.murdoch.fitnessapp.controllers.fragments.MapAndImageSlideshowFragment;
-import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.registries.WorkoutSessionRegistry;
+import com.murdoch.fitnessapp.databases.repositories.WorkoutSessionRepository;
+import com.murdoch.fitnessapp.images.ImageRenditions;
+import com.murdoch.fitnessapp.models.implementations.SplitsEngine;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
 
 import java.io.File;
@@ -34,11 +42,22 @@ import java.util.Locale;
  * */
 public class CompleteWorkoutActivity extends AppCompatActivity
 {
-    private IStoredWorkoutSession storedWorkoutSession;
+    private static final String EXTRAS_WORKOUT_SESSION_HANDLE_KEY = "workoutSessionHandle";
+
+    private static final String STATE_STORED_WORKOUT_SESSION_ID_KEY =
+                                                                "storedWorkoutSessionId";
+
+    private static final long NO_STORED_WORKOUT_SESSION_ID = -1;
+
+    private long storedWorkoutSessionId = NO_STORED_WORKOUT_SESSION_ID;
     private WorkoutSession workoutSession;
 
     private ImageButton deleteWorkoutSessionImageButton;
 
+    private WorkoutSessionRepository workoutSessionRepository;
+
+    private WorkoutSessionRegistry workoutSessionRegistry;
+    private String workoutSessionHandle;
 
 
     /**
@@ -46,6 +65,9 @@ public class CompleteWorkoutActivity extends AppCompatActivity
      * Intent.FLAG_ACTIVITY_NEW_TASK and Intent.FLAG_ACTIVITY_CLEAR_TASK flags
      * Intent.FLAG_ACTIVITY_NEW_TASK and Intent.FLAG_ACTIVITY_CLEAR_TASK flags
      *
+     * The workout session is registered in the WorkoutSessionRegistry, and the intent only
+     * carries its handle, so that the activity resolves the very same instance
+     *
      * @param packageContext context of the application package
      * @param workoutSession a WorkoutSession instance with the activity type and start date time
      *                      already set
@@ -59,12 +81,13 @@ public class CompleteWorkoutActivity extends AppCompatActivity
             throw new NullPointerException("Workout Session cannot be null");
         }
 
+        String workoutSessionHandle =
+                new WorkoutSessionRegistry(packageContext).register(workoutSession);
 
-        Intent intent = new Intent(packageContext, CompleteWorkoutActivity.class);
 
-        final String EXTRAS_WORKOUT_SESSION_KEY = "workoutSession";
+        Intent intent = new Intent(packageContext, CompleteWorkoutActivity.class);
 
-        intent.putExtra(EXTRAS_WORKOUT_SESSION_KEY, workoutSession);
+        intent.putExtra(EXTRAS_WORKOUT_SESSION_HANDLE_KEY, workoutSessionHandle);
 
         intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
 
@@ -78,25 +101,98 @@ public class CompleteWorkoutActivity extends AppCompatActivity
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_complete_workout);
 
+        this.workoutSessionRepository = new WorkoutSessionRepository(getApplicationContext());
+        this.workoutSessionRegistry = new WorkoutSessionRegistry(getApplicationContext());
 
-        initializeWorkoutSessionFromIntent();
+        if (!initializeWorkoutSessionFromIntent())
+        {
+            Toast.makeText(getApplicationContext(), "Cannot display the workout session. " +
+                    "It no longer exists", Toast.LENGTH_LONG).show();
+
+            finish();
+            return;
+        }
 
         initializeAllViews();
 
-        saveWorkoutSessionRecordToDatabase();
+        //the workout session is only saved once, as its insertion is completed even if the
+        //activity is recreated before the insertion starts
+        if (savedInstanceState == null)
+        {
+            saveWorkoutSessionRecordToDatabase();
+        }
+        else
+        {
+            restoreStoredWorkoutSessionId(savedInstanceState);
+        }
     }
 
 
+    /**
+     * Persist the workout session, so that it can still be resolved from the intent if the
+     * process is killed while the activity is in the background
+     * */
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState)
+    {
+        super.onSaveInstanceState(outState);
+
+        this.workoutSessionRegistry.persist(this.workoutSessionHandle);
+
+        outState.putLong(STATE_STORED_WORKOUT_SESSION_ID_KEY, this.storedWorkoutSessionId);
+    }
+
 
     /**
-     * Initialize the workout session instance variable that was passed to
-     * this activity via an intent
+     * Unregister the workout session once the activity is finished for good
      * */
-    private void initializeWorkoutSessionFromIntent()
+    @Override
+    protected void onDestroy()
     {
-        final String EXTRAS_WORKOUT_SESSION_KEY = "workoutSession";
+        super.onDestroy();
 
-        this.workoutSession = getIntent().getExtras().getParcelable(EXTRAS_WORKOUT_SESSION_KEY);
+        if (isFinishing())
+        {
+            this.workoutSessionRegistry.unregister(this.workoutSessionHandle);
+        }
+    }
+
+
+
+    /**
+     * Initialize the workout session instance variable by resolving the handle that was
+     * passed to this activity via an intent
+     *
+     * @return true if the workout session was resolved, and false if otherwise
+     * */
+    private boolean initializeWorkoutSessionFromIntent()
+    {
+        this.workoutSessionHandle =
+                getIntent().getStringExtra(EXTRAS_WORKOUT_SESSION_HANDLE_KEY);
+
+        this.workoutSession = this.workoutSessionRegistry.resolve(this.workoutSessionHandle);
+
+        return this.workoutSession != null;
+    }
+
+
+    /**
+     * Restore the id of the workout session record saved by the previous instance of the
+     * activity, and enable the delete button if it is known
+     *
+     * Note: The id is not known if the previous instance was destroyed before the record was
+     * saved. The record is still saved, but the delete button remains disabled, and the
+     * record can be deleted from the workout session history instead
+     *
+     * @param savedInstanceState the state saved by the previous instance of the activity
+     * */
+    private void restoreStoredWorkoutSessionId(Bundle savedInstanceState)
+    {
+        this.storedWorkoutSessionId = savedInstanceState.getLong(
+                            STATE_STORED_WORKOUT_SESSION_ID_KEY, NO_STORED_WORKOUT_SESSION_ID);
+
+        this.deleteWorkoutSessionImageButton.setEnabled(
+                            this.storedWorkoutSessionId != NO_STORED_WORKOUT_SESSION_ID);
     }
 
 
@@ -120,7 +216,7 @@ public class CompleteWorkoutActivity extends AppCompatActivity
     private void initializeFragmentContainerView()
     {
         MapAndImageSlideshowFragment mapAndImageSlideshowFragment =
-                            MapAndImageSlideshowFragment.newInstance(this.workoutSession);
+                            MapAndImageSlideshowFragment.newInstance(this.workoutSessionHandle);
 
         FragmentManager fragmentManager = getSupportFragmentManager();
 
@@ -146,6 +242,7 @@ public class CompleteWorkoutActivity extends AppCompatActivity
         initializeNumberOfStepsTakenTextView();
         initializeCaloriesConsumedTextView();
 
+        initializeSplitsTextView();
     }
 
 
@@ -218,6 +315,90 @@ public class CompleteWorkoutActivity extends AppCompatActivity
     }
 
 
+    /**
+     * Initialize the text view that displays the splits, one per line. The text view is
+     * only shown if the workout session has any split
+     *
+     * The splits were emitted as the GPSLocations were added, so the GPSLocations do not
+     * need to be traversed again
+     *
+     * Note: The this.workoutSession instance variable needs to be initialized
+     *      * before calling this method
+     * */
+    private void initializeSplitsTextView()
+    {
+        List<ISplit> listOfSplits = this.workoutSession.getListOfSplits();
+
+        if (listOfSplits.isEmpty())
+        {
+            return;
+        }
+
+        TextView splitsTextView = findViewById(R.id.splitsTextView);
+
+        splitsTextView.setText(getSplitsString(listOfSplits));
+        splitsTextView.setMovementMethod(new ScrollingMovementMethod());
+        splitsTextView.setVisibility(View.VISIBLE);
+    }
+
+
+    /**
+     * Returns the splits as a string with one line per split, containing the number of the
+     * kilometer (or mile) or lap, the distance of a lap, and the duration of the split
+     *
+     * E.g. "1 km   00:05:32" or "Lap 1   0.84 km   00:04:50"
+     *
+     * Note: This is also used by the MapAndImageSlideshowWrapperActivity, to display the
+     * splits of a stored workout session
+     *
+     * @param listOfSplits the splits, in the order that they occurred
+     * */
+    static String getSplitsString(List<ISplit> listOfSplits)
+    {
+        double[] durationsInSeconds =
+                            SplitsEngine.calculateDurationsOfSplitsInSeconds(listOfSplits);
+        double[] distancesInKilometers =
+                            SplitsEngine.calculateDistancesOfSplitsInKilometers(listOfSplits);
+
+        StringBuilder splitsStringBuilder = new StringBuilder();
+
+        int numberOfDistanceSplits = 0;
+        int numberOfLaps = 0;
+
+        for (int index = 0; index < listOfSplits.size(); index++)
+        {
+            if (index > 0)
+            {
+                splitsStringBuilder.append('\n');
+            }
+
+            String durationString = getWorkoutDurationStringInHoursMinutesSeconds(
+                                            (int) Math.round(durationsInSeconds[index]));
+
+            ISplit.SplitType splitType = listOfSplits.get(index).getSplitType();
+
+            if (splitType == ISplit.SplitType.LAP)
+            {
+                numberOfLaps++;
+
+                splitsStringBuilder.append(String.format(Locale.ENGLISH, "Lap %d   %.2f km   %s",
+                        numberOfLaps, distancesInKilometers[index], durationString));
+            }
+            else
+            {
+                numberOfDistanceSplits++;
+
+                String unitString = splitType == ISplit.SplitType.MILE ? "mi" : "km";
+
+                splitsStringBuilder.append(String.format(Locale.ENGLISH, "%d %s   %s",
+                        numberOfDistanceSplits, unitString, durationString));
+            }
+        }
+
+        return splitsStringBuilder.toString();
+    }
+
+
     /**
      * Initialize the delete workout session image button
      *
@@ -260,37 +441,47 @@ public class CompleteWorkoutActivity extends AppCompatActivity
 
 
     /**
-     * Save the workout session record to the device database
+     * Save the workout session record to the device database on a background thread
      *
-     * If successfully saved, then the this.storedWorkoutSession instance
-     * will contain the instance of the saved workout session
+     * If successfully saved, then the this.storedWorkoutSessionId instance
+     * will contain the id of the saved workout session
      *
-     * If unsuccessful, the delete button will be disabled
+     * The delete button is disabled until the workout session is saved, and remains
+     * disabled if unsuccessful
      *
      *
      * Note: The delete button need to be initialized before calling this method
      * */
     private void saveWorkoutSessionRecordToDatabase()
     {
-        WorkoutSessionDatabaseHelper helper =
-                new WorkoutSessionDatabaseHelper(getApplicationContext());
+        this.deleteWorkoutSessionImageButton.setEnabled(false);
 
-        try
-        {
-            this.storedWorkoutSession = helper.insertWorkoutSessionRecord(this.workoutSession);
-
-            Toast.makeText(getApplicationContext(), "Workout session data successfully saved",
-                    Toast.LENGTH_LONG).show();
-        }
-        catch (Exception e)
-        {
-            this.storedWorkoutSession = null;
-
-            this.deleteWorkoutSessionImageButton.setEnabled(false);
-
-            Toast.makeText(getApplicationContext(), "Failed to save workout session data ",
-                    Toast.LENGTH_LONG).show();
-        }
+        this.workoutSessionRepository.insertWorkoutSessionRecordAsync(this, this.workoutSession,
+                new IRepositoryResultListener<IStoredWorkoutSession>()
+                {
+                    @Override
+                    public void onSuccess(IStoredWorkoutSession storedWorkoutSession)
+                    {
+                        CompleteWorkoutActivity.this.storedWorkoutSessionId =
+                                                storedWorkoutSession.getWorkoutSessionId();
+
+                        CompleteWorkoutActivity.this.deleteWorkoutSessionImageButton
+                                                                    .setEnabled(true);
+
+                        Toast.makeText(getApplicationContext(), "Workout session data " +
+                                        "successfully saved", Toast.LENGTH_LONG).show();
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        CompleteWorkoutActivity.this.storedWorkoutSessionId =
+                                                NO_STORED_WORKOUT_SESSION_ID;
+
+                        Toast.makeText(getApplicationContext(), "Failed to save workout " +
+                                        "session data ", Toast.LENGTH_LONG).show();
+                    }
+                });
 
     }
 
@@ -331,38 +522,61 @@ public class CompleteWorkoutActivity extends AppCompatActivity
      * */
     private void deleteWorkoutSession()
     {
+        //prevent the deletion from being requested again while it is in progress
+        this.deleteWorkoutSessionImageButton.setEnabled(false);
+
         deleteWorkoutSessionFromDatabase();
-        deleteWorkoutSessionImageFiles();
-        startActivity(HomePageActivity.createIntent(getApplicationContext()));
     }
 
 
     /**
-     * Delete the workout session record from the database
+     * Delete the workout session record from the database on a background thread
+     *
+     * Once the deletion has completed (whether successfully or not), delete the image files
+     * and redirect the user back to the app home page
      * */
     private void deleteWorkoutSessionFromDatabase()
     {
-        WorkoutSessionDatabaseHelper databaseHelper =
-                    new WorkoutSessionDatabaseHelper(getApplicationContext());
+        long workoutSessionId = this.storedWorkoutSessionId;
 
-        try
-        {
-            long workoutSessionId = this.storedWorkoutSession.getWorkoutSessionId();
-            databaseHelper.deleteWorkoutSessionRecord(workoutSessionId);
-            Toast.makeText(getApplicationContext(),"Workout session deleted",
-                    Toast.LENGTH_LONG).show();
-        }
-        catch (Exception e)
-        {
-            Toast.makeText(getApplicationContext(),"Error occurred while trying" +
-                            "to delete workout Session", Toast.LENGTH_LONG).show();
+        this.workoutSessionRepository.deleteWorkoutSessionRecordAsync(this, workoutSessionId,
+                new IRepositoryResultListener<Void>()
+                {
+                    @Override
+                    public void onSuccess(Void result)
+                    {
+                        Toast.makeText(getApplicationContext(),"Workout session deleted",
+                                Toast.LENGTH_LONG).show();
+
+                        deleteWorkoutSessionImageFilesAndReturnToHomePage();
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        Toast.makeText(getApplicationContext(),"Error occurred while trying" +
+                                "to delete workout Session", Toast.LENGTH_LONG).show();
+
+                        deleteWorkoutSessionImageFilesAndReturnToHomePage();
+                    }
+                });
+    }
 
-        }
+
+    /**
+     * Delete the image files associated with the workout from the app directory, and
+     * redirect the user back to the app home page
+     * */
+    private void deleteWorkoutSessionImageFilesAndReturnToHomePage()
+    {
+        deleteWorkoutSessionImageFiles();
+        startActivity(HomePageActivity.createIntent(getApplicationContext()));
     }
 
 
     /**
-     * Delete the image files associated with the workout from the app directory
+     * Delete the image files associated with the workout, along with their renditions,
+     * from the app directory
      * */
     private void deleteWorkoutSessionImageFiles()
     {
@@ -378,6 +592,9 @@ public class CompleteWorkoutActivity extends AppCompatActivity
             {
                 File imageFileToDelete = new File(imagePath);
 
+                //the renditions are derived from the image, so they are of no use without it
+                ImageRenditions.deleteImageRenditions(imagePath);
+
                 boolean deletionSuccessful = imageFileToDelete.delete();
 
                 if (!deletionSuccessful)
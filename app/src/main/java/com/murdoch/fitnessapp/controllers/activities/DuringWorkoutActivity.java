@@ -41,11 +41,16 @@ import com.google.android.gms.location.LocationResult;
 import com.google.android.gms.location.LocationServices;
 import com.murdoch.fitnessapp.R;
 import com.murdoch.fitnessapp.callbackinterfaces.IFragmentReadyListener;
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
 import com.murdoch.fitnessapp.controllers.fragments.DuringWorkoutInfoFragment;
 import com.murdoch.fitnessapp.controllers.fragments.DuringWorkoutMapFragment;
+import com.murdoch.fitnessapp.databases.registries.WorkoutSessionRegistry;
+import com.murdoch.fitnessapp.databases.repositories.ImageRepository;
 import com.murdoch.fitnessapp.models.implementations.GPSLocation;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionSnapshot;
 import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 
 import java.io.File;
 import java.io.IOException;
@@ -68,6 +73,8 @@ public class DuringWorkoutActivity extends AppCompatActivity
     private static final int REQUEST_ACTIVITY_RECOGNITION_PERMISSION_CODE = 2;
     private static final int REQUEST_READ_WRITE_EXTERNAL_STORAGE_PERMISSION_CODE = 3;
 
+    private static final String EXTRAS_WORKOUT_SESSION_HANDLE_KEY = "workoutSessionHandle";
+
 
     private DuringWorkoutMapFragment duringWorkoutMapFragment;
     private DuringWorkoutInfoFragment duringWorkoutInfoFragment;
@@ -92,6 +99,8 @@ public class DuringWorkoutActivity extends AppCompatActivity
     private ActivityResultLauncher<Intent> takePhotoIntentResultLauncher;
     private String currentPhotoPath;
 
+    private ImageRepository imageRepository;
+
 
     private enum WorkoutSessionMode {
         PLAY, PAUSE
@@ -107,11 +116,17 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
     private WorkoutSession workoutSession;
 
+    private WorkoutSessionRegistry workoutSessionRegistry;
+    private String workoutSessionHandle;
+
 
 
     /**
      * Create an intent to start the DuringWorkoutActivity
      *
+     * The workout session is registered in the WorkoutSessionRegistry, and the intent only
+     * carries its handle, so that the activity resolves the very same instance
+     *
      * @param packageContext context of the application package
      * @param workoutSession a WorkoutSession instance with the activity type and start date time
      *                      already set
@@ -125,11 +140,12 @@ public class DuringWorkoutActivity extends AppCompatActivity
             throw new NullPointerException("WorkoutSession cannot be null");
         }
 
-        final String EXTRAS_WORKOUT_SESSION_KEY = "workoutSession";
+        String workoutSessionHandle =
+                new WorkoutSessionRegistry(packageContext).register(workoutSession);
 
         Intent intent = new Intent(packageContext, DuringWorkoutActivity.class);
 
-        intent.putExtra(EXTRAS_WORKOUT_SESSION_KEY, workoutSession);
+        intent.putExtra(EXTRAS_WORKOUT_SESSION_HANDLE_KEY, workoutSessionHandle);
 
         return intent;
     }
@@ -142,8 +158,17 @@ public class DuringWorkoutActivity extends AppCompatActivity
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_during_workout);
 
+        this.workoutSessionRegistry = new WorkoutSessionRegistry(getApplicationContext());
+        this.imageRepository = new ImageRepository();
 
-        initializeWorkoutSessionFromIntent();
+        if (!initializeWorkoutSessionFromIntent())
+        {
+            Toast.makeText(getApplicationContext(), "Cannot continue the workout session. " +
+                    "It no longer exists", Toast.LENGTH_LONG).show();
+
+            finish();
+            return;
+        }
 
         initializeAllViews();
         initializeTakePhotoIntentResultLauncher();
@@ -152,15 +177,47 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
 
     /**
-     * Initialize the workout session instance variable that was passed to
-     * this activity via an intent
+     * Persist the workout session, so that it can still be resolved from the intent if the
+     * process is killed while the activity is in the background
+     * */
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState)
+    {
+        super.onSaveInstanceState(outState);
+
+        this.workoutSessionRegistry.persist(this.workoutSessionHandle);
+    }
+
+
+    /**
+     * Unregister the workout session once the activity is finished for good
+     * */
+    @Override
+    protected void onDestroy()
+    {
+        super.onDestroy();
+
+        if (isFinishing())
+        {
+            this.workoutSessionRegistry.unregister(this.workoutSessionHandle);
+        }
+    }
+
+
+    /**
+     * Initialize the workout session instance variable by resolving the handle that was
+     * passed to this activity via an intent
+     *
+     * @return true if the workout session was resolved, and false if otherwise
      * */
-    private void initializeWorkoutSessionFromIntent()
+    private boolean initializeWorkoutSessionFromIntent()
     {
-        final String EXTRAS_WORKOUT_SESSION_KEY = "workoutSession";
+        this.workoutSessionHandle =
+                getIntent().getStringExtra(EXTRAS_WORKOUT_SESSION_HANDLE_KEY);
 
-        this.workoutSession = getIntent().getExtras().
-                getParcelable(EXTRAS_WORKOUT_SESSION_KEY);
+        this.workoutSession = this.workoutSessionRegistry.resolve(this.workoutSessionHandle);
+
+        return this.workoutSession != null;
     }
 
 
@@ -175,6 +232,7 @@ public class DuringWorkoutActivity extends AppCompatActivity
         initializePauseOrContinueImageButtonAndTextView();
         initializeFinishImageButton();
         initializeTakePhotoImageButton();
+        initializeLapImageButton();
         initializeInfoModeOrMapModeImageButtonAndTextView();
     }
 
@@ -272,6 +330,37 @@ public class DuringWorkoutActivity extends AppCompatActivity
     }
 
 
+    /**
+     * Initialize the image button that marks a lap when it is clicked
+     *
+     * The lap is marked at the last GPSLocation received, with the current duration of the
+     * workout session, and the number of the lap is displayed (toast)
+     * */
+    private void initializeLapImageButton()
+    {
+        ImageButton lapImageButton = findViewById(R.id.lapImageButton);
+
+        lapImageButton.setOnClickListener(view ->
+        {
+            DuringWorkoutActivity.this.workoutSession.markLap();
+            DuringWorkoutActivity.this.workoutSession.publishSnapshot();
+
+            int numberOfLaps = 0;
+
+            for (ISplit split : DuringWorkoutActivity.this.workoutSession.getListOfSplits())
+            {
+                if (split.getSplitType() == ISplit.SplitType.LAP)
+                {
+                    numberOfLaps++;
+                }
+            }
+
+            Toast.makeText(getApplicationContext(), "Lap " + numberOfLaps + " marked",
+                    Toast.LENGTH_SHORT).show();
+        });
+    }
+
+
     /**
      * Initialize the button and text view that helps user to toggle between
      * info view and map view
@@ -440,7 +529,7 @@ public class DuringWorkoutActivity extends AppCompatActivity
      * Define and return a callback method that performs the following actions
      * whenever a location update is received
      *      (a) Add a gpslocation to the this.workoutSession instance
-     *      (b) Update the this.duringWorkoutMapFragment map by adding a new map marker
+     *      (b) Update the this.duringWorkoutMapFragment map by extending the route drawn
      *
      * @return a location request (part of FusedLocationProviderClient API
      * */
@@ -453,10 +542,10 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
                 Location lastLocation = locationResult.getLastLocation();
 
-                GPSLocation gpsLocation = new GPSLocation(lastLocation.getLatitude(),
-                        lastLocation.getLongitude());
+                GPSLocation gpsLocation = convertLocationToGPSLocation(lastLocation);
 
                 DuringWorkoutActivity.this.workoutSession.addGPSLocation(gpsLocation);
+                DuringWorkoutActivity.this.workoutSession.publishSnapshot();
 
                 DuringWorkoutActivity.this.duringWorkoutMapFragment.addMapMarker(gpsLocation);
 
@@ -465,6 +554,38 @@ public class DuringWorkoutActivity extends AppCompatActivity
     }
 
 
+    /**
+     * Convert a location given by the FusedLocationProviderClient into a GPSLocation, along
+     * with its time, and its accuracy, altitude and speed if the location has them
+     *
+     * @param location the location to be converted
+     * */
+    private static GPSLocation convertLocationToGPSLocation(Location location)
+    {
+        GPSLocation gpsLocation = new GPSLocation(location.getLatitude(),
+                                                  location.getLongitude());
+
+        gpsLocation.setTimestampInMilliseconds(location.getTime());
+
+        if (location.hasAccuracy())
+        {
+            gpsLocation.setAccuracyInMeters(location.getAccuracy());
+        }
+
+        if (location.hasAltitude())
+        {
+            gpsLocation.setAltitudeInMeters(location.getAltitude());
+        }
+
+        if (location.hasSpeed())
+        {
+            gpsLocation.setSpeedInMetersPerSecond(location.getSpeed());
+        }
+
+        return gpsLocation;
+    }
+
+
     /**
      * Initialize the step count sensor
      *
@@ -568,6 +689,7 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
 
         this.workoutSession.addNumberOfStepsTaken((int) currentNumberOfStepsTaken);
+        this.workoutSession.publishSnapshot();
 
         this.previousTotalStepCountSinceBoot = totalStepCountSinceBoot;
     }
@@ -587,14 +709,19 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
             DuringWorkoutActivity.this.workoutSession.addDurationInSeconds(ONE_SECOND_IN_SECONDS);
             DuringWorkoutActivity.this.workoutSession.calculateCaloriesConsumed();
-            DuringWorkoutActivity.this.workoutSession.calculateDistanceTravelled();
+            DuringWorkoutActivity.this.workoutSession.updateDistanceTravelled();
+
+            //published once the whole second has been added, so that no reader sees the
+            //duration without the calories consumed calculated from it
+            WorkoutSessionSnapshot workoutSessionSnapshot =
+                    DuringWorkoutActivity.this.workoutSession.publishSnapshot();
 
             DuringWorkoutActivity.this.repeatEverySecondHandler.postDelayed(
                     DuringWorkoutActivity.this.repeatEverySecondRunnable,
                     ONE_SECOND_IN_MILLISECONDS);
 
             DuringWorkoutActivity.this.duringWorkoutInfoFragment.displayWorkoutSessionDetails(
-                    DuringWorkoutActivity.this.workoutSession);
+                    workoutSessionSnapshot);
         });
 
         this.repeatEverySecondHandler = new Handler();
@@ -742,13 +869,31 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
     /**
      * Adds the path of the image taken by the camera to the this.workoutSession
-     * instance
+     * instance, and writes the renditions of the image on a background thread
      *
      * The method that is called whenever the launched camera has completed
      * */
     private void handleOnCameraActivityCompleted()
     {
         this.workoutSession.addImageTaken(this.currentPhotoPath);
+        this.workoutSession.publishSnapshot();
+
+        this.imageRepository.writeImageRenditionsAsync(this, this.currentPhotoPath,
+                new IRepositoryResultListener<Void>()
+                {
+                    @Override
+                    public void onSuccess(Void result)
+                    {
+
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        //the image is displayed from the image file itself until its
+                        //renditions are written by the backfill
+                    }
+                });
 
         Toast.makeText(getApplicationContext(), "Image saved to device",
                 Toast.LENGTH_LONG).show();
@@ -918,6 +1063,9 @@ public class DuringWorkoutActivity extends AppCompatActivity
 
             //so that will not take previous marker and next marker into distance calculation
             this.workoutSession.addGPSLocation(EMPTY_MARKER);
+            this.workoutSession.publishSnapshot();
+
+            this.duringWorkoutMapFragment.addPause();
         }
 
 
@@ -4,7 +4,10 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import com.murdoch.fitnessapp.R;
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
 import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.repositories.ImageRepository;
+import com.murdoch.fitnessapp.databases.repositories.WorkoutSessionRepository;
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionSummary;
 
 import android.content.Context;
@@ -12,6 +15,7 @@ import android.content.Intent;
 import android.os.Bundle;
 import android.widget.ImageButton;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import java.time.LocalDate;
 import java.util.Locale;
@@ -29,6 +33,8 @@ public class HomePageActivity extends AppCompatActivity
 
     private ActivityResultLauncher<Intent> viewPastWorkoutActivityIntentLauncher;
 
+    private WorkoutSessionRepository workoutSessionRepository;
+
     /**
      * Create an intent to start the HomePageActivity. The intent contains the
      * Intent.FLAG_ACTIVITY_NEW_TASK and Intent.FLAG_ACTIVITY_CLEAR_TASK flags
@@ -53,9 +59,46 @@ public class HomePageActivity extends AppCompatActivity
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_home_page);
 
+        this.workoutSessionRepository = new WorkoutSessionRepository(getApplicationContext());
+
         initializeViewPastWorkoutActivityIntentLauncher();
         initializeAllViews();
 
+        //only once per launch of the app, not again whenever the activity is re-created
+        if (savedInstanceState == null)
+        {
+            backfillImageRenditions();
+        }
+
+    }
+
+
+    /**
+     * Writes the renditions of the workout session images that do not have them yet on a
+     * background thread, e.g. the images taken before renditions were introduced
+     *
+     * @see ImageRepository#backfillImageRenditionsAsync(androidx.lifecycle.LifecycleOwner,
+     * WorkoutSessionDatabaseHelper, IRepositoryResultListener)
+     * */
+    private void backfillImageRenditions()
+    {
+        new ImageRepository().backfillImageRenditionsAsync(this,
+                new WorkoutSessionDatabaseHelper(getApplicationContext()),
+                new IRepositoryResultListener<Integer>()
+                {
+                    @Override
+                    public void onSuccess(Integer numberOfImagesBackfilled)
+                    {
+
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        //the images without renditions are displayed from the image files
+                        //themselves, and the backfill is tried again on the next launch
+                    }
+                });
     }
 
 
@@ -94,26 +137,48 @@ public class HomePageActivity extends AppCompatActivity
 
     /**
      * Initializes the workout summary data for the last 7 days
+     *
+     * The workout summary is queried on a background thread, and the views are updated once
+     * it has been queried
      * */
     private void initializeOrUpdateWorkoutSummaryForTheLastSevenDays()
     {
-        WorkoutSessionDatabaseHelper databaseHelper =
-                new WorkoutSessionDatabaseHelper(getApplicationContext());
-
         LocalDate sixDaysAgoDateStartDateInclusive = getSixDaysAgoDateStartDateInclusive();
         LocalDate tomorrowsDateEndDateExclusive = getTomorrowsDateEndDateExclusive();
 
         //query workout session summary data for the last 7 days including today
         //and excluding tmr
-        IWorkoutSessionSummary workoutSessionSummary =
-                databaseHelper.queryWorkoutSessionSummary(sixDaysAgoDateStartDateInclusive,
-                                                          tomorrowsDateEndDateExclusive);
+        this.workoutSessionRepository.queryWorkoutSessionSummaryAsync(this,
+                sixDaysAgoDateStartDateInclusive, tomorrowsDateEndDateExclusive,
+                new IRepositoryResultListener<IWorkoutSessionSummary>()
+                {
+                    @Override
+                    public void onSuccess(IWorkoutSessionSummary workoutSessionSummary)
+                    {
+                        initializeWorkoutSummaryViews(workoutSessionSummary);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        Toast.makeText(getApplicationContext(), "Failed to load workout " +
+                                        "summary", Toast.LENGTH_LONG).show();
+                    }
+                });
+    }
 
+
+    /**
+     * Initializes the textviews that display the workout summary data for the last 7 days
+     *
+     * @param workoutSessionSummary workout summary for the last 7 days
+     * */
+    private void initializeWorkoutSummaryViews(IWorkoutSessionSummary workoutSessionSummary)
+    {
         this.initializeDistanceTravelledTextView(workoutSessionSummary);
         this.initializeWorkoutDurationTextView(workoutSessionSummary);
         this.initializeNumberOfStepsTextView(workoutSessionSummary);
         this.initializeCaloriesBurntTextView(workoutSessionSummary);
-
     }
 
     /**
@@ -5,7 +5,10 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
+import android.text.method.ScrollingMovementMethod;
+import android.view.View;
 import android.widget.ImageButton;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
@@ -15,42 +18,58 @@ import androidx.fragment.app.FragmentManager;
 import androidx.fragment.app.FragmentTransaction;
 
 import com.murdoch.fitnessapp.R;
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
 import com.murdoch.fitnessapp.controllers.fragments.MapAndImageSlideshowFragment;
+import com.murdoch.fitnessapp.databases.registries.WorkoutSessionRegistry;
+import com.murdoch.fitnessapp.databases.repositories.WorkoutSessionRepository;
+import com.murdoch.fitnessapp.models.implementations.StoredWorkoutSession;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
 
+import java.util.List;
 
 /**
  * A class that acts as the wrapper for the fragment MapAndImageSlideshowFragment
  *
  * It contains two extra additions:
- *      (a) a "close" button that allows the user to close the activity
+ *      (a) a "close" button that allows the user to close the activity, and the
+ *              splits of the workout session displayed over the fragment
  *      (b) requests for "READ_EXTERNAL_STORAGE" permissions on behalf of the
  *              MapAndImageSlideshowFragment, as the fragment needs this
  *              permission
+ *
+ * The activity is started with the id of a stored workout session, and only queries the
+ * complete workout session record (including its GPSLocations and images) once it is opened.
+ * The record is queried on a background thread, and the views are initialized once it has
+ * been queried. The workout session queried is then kept in the WorkoutSessionRegistry, so
+ * that it is not queried again when the activity is recreated
  * */
 public class MapAndImageSlideshowWrapperActivity extends AppCompatActivity
 {
-    private static final String EXTRAS_WORKOUT_SESSION_KEY = "workoutSession";
+    private static final String EXTRAS_WORKOUT_SESSION_ID_KEY = "workoutSessionId";
+
+    private static final String STATE_WORKOUT_SESSION_HANDLE_KEY = "workoutSessionHandle";
 
     private static final int REQUEST_READ_EXTERNAL_STORAGE_PERMISSION_CODE = 1;
 
     private WorkoutSession workoutSession;
 
+    private WorkoutSessionRegistry workoutSessionRegistry;
+    private String workoutSessionHandle;
+
 
     /**
      * Create an intent to start the MapAndImageSlideshowWrapperActivity
      *
      * @param packageContext context of the application package
-     * @param workoutSession a WorkoutSession instance with all the various details regarding
-     *                       the workout session stored within the instance
-     *
-     * @throws NullPointerException if the argument 'workoutSession' is null
+     * @param workoutSessionId the id of the stored workout session to be displayed
      * */
-    public static Intent createIntent(Context packageContext, WorkoutSession workoutSession)
+    public static Intent createIntent(Context packageContext, long workoutSessionId)
     {
         Intent intent = new Intent(packageContext, MapAndImageSlideshowWrapperActivity.class);
 
-        intent.putExtra(EXTRAS_WORKOUT_SESSION_KEY, workoutSession);
+        intent.putExtra(EXTRAS_WORKOUT_SESSION_ID_KEY, workoutSessionId);
 
         return intent;
     }
@@ -63,20 +82,105 @@ public class MapAndImageSlideshowWrapperActivity extends AppCompatActivity
 
         setContentView(R.layout.activity_map_and_image_slideshow_wrapper);
 
-        initializeWorkoutSessionFromIntent();
+        this.workoutSessionRegistry = new WorkoutSessionRegistry(getApplicationContext());
+
+        if (savedInstanceState != null)
+        {
+            //the workout session queried before the activity was recreated can be reused
+            this.workoutSessionHandle =
+                    savedInstanceState.getString(STATE_WORKOUT_SESSION_HANDLE_KEY);
+
+            this.workoutSession = this.workoutSessionRegistry.resolve(this.workoutSessionHandle);
+
+            if (this.workoutSession != null)
+            {
+                initializeAllViews();
+
+                return;
+            }
+        }
 
-        initializeAllViews();
+        initializeWorkoutSessionFromIntentAndInitializeAllViews();
     }
 
 
     /**
-     * Initialize the workout session instance variable that was passed to
-     * this activity via an intent
+     * Keep the handle of the workout session across the recreation of the activity, and
+     * persist the workout session so that the handle can still be resolved if the process is
+     * killed
      * */
-    private void initializeWorkoutSessionFromIntent()
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState)
     {
+        super.onSaveInstanceState(outState);
+
+        outState.putString(STATE_WORKOUT_SESSION_HANDLE_KEY, this.workoutSessionHandle);
+
+        this.workoutSessionRegistry.persist(this.workoutSessionHandle);
+    }
+
+
+    /**
+     * Unregister the workout session once the activity is finished for good
+     * */
+    @Override
+    protected void onDestroy()
+    {
+        super.onDestroy();
+
+        if (isFinishing())
+        {
+            this.workoutSessionRegistry.unregister(this.workoutSessionHandle);
+        }
+    }
+
 
-        this.workoutSession = getIntent().getExtras().getParcelable(EXTRAS_WORKOUT_SESSION_KEY);
+    /**
+     * Initialize the workout session instance variable by querying the database for the
+     * workout session whose id was passed to this activity via an intent, and then
+     * initialize all the views
+     *
+     * The workout session queried is registered in the WorkoutSessionRegistry, so that the
+     * MapAndImageSlideshowFragment can resolve it by its handle
+     *
+     * If the workout session cannot be found, display an error message (toast) and finish()
+     * the activity
+     * */
+    private void initializeWorkoutSessionFromIntentAndInitializeAllViews()
+    {
+        final long NO_WORKOUT_SESSION_ID = -1;
+
+        long workoutSessionId = getIntent().getLongExtra(EXTRAS_WORKOUT_SESSION_ID_KEY,
+                                                         NO_WORKOUT_SESSION_ID);
+
+        WorkoutSessionRepository workoutSessionRepository =
+                                    new WorkoutSessionRepository(getApplicationContext());
+
+        workoutSessionRepository.queryWorkoutSessionRecordAsync(this, workoutSessionId,
+                new IRepositoryResultListener<IStoredWorkoutSession>()
+                {
+                    @Override
+                    public void onSuccess(IStoredWorkoutSession storedWorkoutSession)
+                    {
+                        MapAndImageSlideshowWrapperActivity.this.workoutSession =
+                                                    (StoredWorkoutSession) storedWorkoutSession;
+
+                        MapAndImageSlideshowWrapperActivity.this.workoutSessionHandle =
+                                MapAndImageSlideshowWrapperActivity.this.workoutSessionRegistry
+                                .register(MapAndImageSlideshowWrapperActivity.this.workoutSession);
+
+                        initializeAllViews();
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        Toast.makeText(getApplicationContext(), "Cannot launch slideshow. " +
+                                "The workout session no longer exists", Toast.LENGTH_LONG).show();
+
+                        finish();
+                    }
+                });
     }
 
 
@@ -89,10 +193,38 @@ public class MapAndImageSlideshowWrapperActivity extends AppCompatActivity
     private void initializeAllViews()
     {
         initializeCloseButton();
+        initializeSplitsTextView();
         initializeMapAndImageSlideshowFragmentContainerView();
     }
 
 
+    /**
+     * Initialize the text view that displays the splits over the map and image slideshow.
+     * The text view is only shown if the workout session has any split
+     *
+     * The splits are queried from their own table along with the workout session, so the
+     * GPSLocations do not need to be traversed again
+     *
+     * Note: The this.workoutSession instance variable should be initialized
+     * before calling this method
+     * */
+    private void initializeSplitsTextView()
+    {
+        List<ISplit> listOfSplits = this.workoutSession.getListOfSplits();
+
+        if (listOfSplits.isEmpty())
+        {
+            return;
+        }
+
+        TextView splitsTextView = findViewById(R.id.splitsTextView);
+
+        splitsTextView.setText(CompleteWorkoutActivity.getSplitsString(listOfSplits));
+        splitsTextView.setMovementMethod(new ScrollingMovementMethod());
+        splitsTextView.setVisibility(View.VISIBLE);
+    }
+
+
 
 
     private void initializeMapAndImageSlideshowFragmentContainerView()
@@ -105,7 +237,8 @@ public class MapAndImageSlideshowWrapperActivity extends AppCompatActivity
         }
 
         MapAndImageSlideshowFragment mapAndImageSlideshowFragment =
-                                    MapAndImageSlideshowFragment.newInstance(this.workoutSession);
+                                    MapAndImageSlideshowFragment.newInstance(
+                                                                this.workoutSessionHandle);
 
         FragmentManager fragmentManager = getSupportFragmentManager();
 
@@ -114,7 +247,10 @@ public class MapAndImageSlideshowWrapperActivity extends AppCompatActivity
         fragmentTransaction.replace(R.id.mapAndImageSlideshowFragmentContainerView,
                                     mapAndImageSlideshowFragment);
 
-        fragmentTransaction.commit();
+        //the workout session may be queried after the activity state is saved. The state
+        //does not need to keep the fragment, as the workout session is queried again
+        //whenever the activity is recreated
+        fragmentTransaction.commitAllowingStateLoss();
     }
 
 
@@ -4,34 +4,36 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
-import android.view.Gravity;
-import android.view.LayoutInflater;
 import android.view.View;
-import android.view.ViewGroup;
 import android.widget.ImageButton;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
-import android.widget.PopupMenu;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.murdoch.fitnessapp.R;
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
+import com.murdoch.fitnessapp.callbackinterfaces.IWorkoutSessionHistoryListener;
+import com.murdoch.fitnessapp.controllers.adapters.WorkoutSessionHistoryAdapter;
 import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
-import com.murdoch.fitnessapp.models.implementations.StoredWorkoutSession;
-import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
-import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
-import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.databases.repositories.WorkoutSessionRepository;
+import com.murdoch.fitnessapp.images.ImageRenditions;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionHistoryRow;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItemsPage;
 
 import java.io.File;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * UI controller for the activity_view_past_workout.xml layout
@@ -39,6 +41,10 @@ import java.util.Locale;
  * Provides an activity that allows user to view details regarding
  * the workout sessions that were previously tracked
  *
+ * The workout session records are loaded one page at a time as the user scrolls, and are
+ * displayed in a RecyclerView grouped by their dates, so that only the views of the records
+ * on screen exist
+ *
  * The activity result code of this activity has two possible values:
  *      (a) RESULT_HAS_NOT_DELETED_WORKOUT_SESSION_RECORDS
  *              if the user has not deleted any workout session records
@@ -46,9 +52,39 @@ import java.util.Locale;
  *      (b) RESULT_HAS_DELETED_WORKOUT_SESSION_RECORDS
  *              if the user has deleted one or more workout session records
  * */
-public class ViewPastWorkoutActivity extends AppCompatActivity {
+public class ViewPastWorkoutActivity extends AppCompatActivity
+        implements IWorkoutSessionHistoryListener
+{
+
+    private static final int WORKOUT_SESSION_RECORDS_PAGE_SIZE = 20;
+
+    /**
+     * The next page of workout session records is loaded once the last row displayed is
+     * within this number of rows from the end of the rows loaded, so that it is usually
+     * loaded before the user reaches the end
+     * */
+    private static final int NUMBER_OF_ROWS_BEFORE_END_TO_LOAD_NEXT_PAGE = 10;
 
-    private LinearLayout pastWorkoutSessionsRootContainer;
+    private RecyclerView pastWorkoutSessionsRecyclerView;
+    private LinearLayoutManager pastWorkoutSessionsLayoutManager;
+    private WorkoutSessionHistoryAdapter workoutSessionHistoryAdapter;
+
+    private WorkoutSessionRepository workoutSessionRepository;
+
+    private boolean isLoadingNextPageOfWorkoutSessionRecords = false;
+    private boolean hasNextPageOfWorkoutSessionRecords = true;
+    private long nextPageBeforeSessionIdExclusive =
+                            WorkoutSessionDatabaseHelper.FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE;
+
+    /**
+     * The workout session records loaded so far, in the order that they are displayed, and
+     * the workout session ids of those that are being deleted. The rows displayed are
+     * created from both whenever either changes
+     *
+     * @see #updateDisplayedRows()
+     * */
+    private final List<IWorkoutSessionListItem> listOfLoadedWorkoutSessions = new ArrayList<>();
+    private final Set<Long> setOfWorkoutSessionIdsBeingDeleted = new HashSet<>();
 
     /**
      * Activity result code if the user has not deleted any workout records
@@ -82,6 +118,8 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_view_past_workout);
 
+        this.workoutSessionRepository = new WorkoutSessionRepository(getApplicationContext());
+
         initializeActivityResultCode();
         initializeAllViews();
 
@@ -107,7 +145,7 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
     private void initializeAllViews()
     {
         initializeBackArrowNavigationImageButton();
-        initializePastWorkoutSessionsRootContainer();
+        initializePastWorkoutSessionsRecyclerView();
 
         //hide the "No records available" message if there is at least one text
         initializeOrUpdateNoWorkoutRecordsAvailableTextView();
@@ -130,486 +168,192 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
 
 
     /**
-     * Initialize the past workout sessions root container to display a list of past workout
-     * session records
+     * Initialize the recycler view to display the first page of past workout session
+     * records. Further pages are displayed as the user scrolls towards the end of the
+     * records
      * */
-    private void initializePastWorkoutSessionsRootContainer()
+    private void initializePastWorkoutSessionsRecyclerView()
     {
-        this.pastWorkoutSessionsRootContainer =
-                                findViewById(R.id.pastWorkoutSessionsRootContainer);
+        this.pastWorkoutSessionsRecyclerView =
+                                findViewById(R.id.pastWorkoutSessionsRecyclerView);
 
-        List<IStoredWorkoutSession> listOfPastWorkoutSessions =
-                                    queryAndGetListOfPastWorkoutSessions();
-
-        displayListOfWorkoutSessions(listOfPastWorkoutSessions);
-    }
+        this.pastWorkoutSessionsLayoutManager = new LinearLayoutManager(this);
+        this.workoutSessionHistoryAdapter = new WorkoutSessionHistoryAdapter(this);
 
+        this.pastWorkoutSessionsRecyclerView.setLayoutManager(
+                                                    this.pastWorkoutSessionsLayoutManager);
+        this.pastWorkoutSessionsRecyclerView.setAdapter(this.workoutSessionHistoryAdapter);
 
+        this.pastWorkoutSessionsRecyclerView.addOnScrollListener(
+                new RecyclerView.OnScrollListener()
+                {
+                    @Override
+                    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy)
+                    {
+                        displayNextPageIfEndOfRecordsIsNear();
+                    }
+                });
 
-    /**
-     * Query the database to get a list of all past workout session records
-     *
-     * @return list of all past workout session records
-     * */
-    private List<IStoredWorkoutSession> queryAndGetListOfPastWorkoutSessions()
-    {
-        WorkoutSessionDatabaseHelper databaseHelper =
-                                    new WorkoutSessionDatabaseHelper(getApplicationContext());
-
-        return databaseHelper.queryAllWorkoutSessionRecords();
+        displayNextPageOfPastWorkoutSessions();
     }
 
 
     /**
-     * Display a list of past workout sessions records. The workout session records are grouped
-     * together by their dates
+     * Display the next page of past workout session records if the last row displayed is
+     * within NUMBER_OF_ROWS_BEFORE_END_TO_LOAD_NEXT_PAGE rows from the end of the rows
+     * loaded, including when the rows loaded do not fill up the screen
      * */
-    private void displayListOfWorkoutSessions(List<IStoredWorkoutSession> listOfPastWorkoutSessionRecords)
+    private void displayNextPageIfEndOfRecordsIsNear()
     {
+        int lastVisibleRowPosition =
+                    this.pastWorkoutSessionsLayoutManager.findLastVisibleItemPosition();
 
-        LocalDate previousWorkoutSessionDate = null;
-        LinearLayout groupOfSameDateWorkoutSessionsParentView = null;
-
-        for (IStoredWorkoutSession workoutSession : listOfPastWorkoutSessionRecords)
+        if (lastVisibleRowPosition >= this.workoutSessionHistoryAdapter.getItemCount() -
+                                            NUMBER_OF_ROWS_BEFORE_END_TO_LOAD_NEXT_PAGE)
         {
-            LocalDate currentWorkoutSessionDate = workoutSession.getStartDateTime().toLocalDate();
-
-            if (previousWorkoutSessionDate == null  ||
-                    !previousWorkoutSessionDate.equals(currentWorkoutSessionDate))
-            {
-                groupOfSameDateWorkoutSessionsParentView = getLinearLayoutWithDateSubHeader(currentWorkoutSessionDate);
-
-                this.pastWorkoutSessionsRootContainer.addView(groupOfSameDateWorkoutSessionsParentView);
-            }
-
-
-            createWorkoutSessionViewAndAddToParentView(
-                        groupOfSameDateWorkoutSessionsParentView, workoutSession);
-
-            previousWorkoutSessionDate = currentWorkoutSessionDate;
+            displayNextPageOfPastWorkoutSessions();
         }
-
-
     }
 
 
     /**
-     * Get a linear layout (vertical orientation) with a textview as a single child
+     * Query and display the next page of past workout session records, if there is one
+     * and it is not already being queried
      *
-     * The textview contains a date designed as a sub-header
+     * The page is queried on a background thread. If the end of the records is still near
+     * once the page is displayed, e.g. the page does not fill up the screen, the page after
+     * it is displayed too
      * */
-    private LinearLayout getLinearLayoutWithDateSubHeader(LocalDate localDate)
+    private void displayNextPageOfPastWorkoutSessions()
     {
-        LinearLayout linearLayout = getEmptyLinearLayoutWithVerticalOrientation();
-        TextView dateSubHeaderTextView = getDateSubHeaderTextView(localDate);
-
-        linearLayout.addView(dateSubHeaderTextView);
-
-        return linearLayout;
-    }
-
-
-    /**
-     * Return a linear layout with vertical orientation, along with
-     * center + top gravity
-     * */
-    private LinearLayout getEmptyLinearLayoutWithVerticalOrientation()
-    {
-        LinearLayout linearLayout = new LinearLayout(getApplicationContext());
-        linearLayout.setOrientation(LinearLayout.VERTICAL);
-        linearLayout.setGravity(Gravity.CENTER | Gravity.TOP);
-
-        return linearLayout;
-    }
-
-
-
-    /**
-     * Return a text view containing a date. This text view will act as a subheader
-     *
-     * @param localDate date of interest
-     * */
-    private TextView getDateSubHeaderTextView(LocalDate localDate)
-    {
-        LayoutInflater layoutInflater =
-                (LayoutInflater) getApplicationContext().getSystemService(
-                                                        Context.LAYOUT_INFLATER_SERVICE);
-
-        final ViewGroup NO_PARENT_ROOT = null;
-
-        //had to inflate an xml layout as it is too difficult to create one programmatically
-        TextView textView = (TextView) layoutInflater.inflate(
-                                        R.layout.custom_subheader_title_text_view, NO_PARENT_ROOT);
-
-
-        String localDateString = localDate.format(DateTimeFormatter.ofPattern("dd MMM yyyy"));
-
-        textView.setText(localDateString);
-
-        return textView;
-    }
-
-
-
-    /**
-     * Create and initialize the view that displays a single workout session view. The view
-     * is then add to the parent view
-     *
-     * @param groupOfSameDateWorkoutSessionsParentView the parent view containing the workout
-     *                                                 session view. This parent view is used
-     *                                                 to store a list of workout session views
-     *                                                 with the same dates
-     *
-     * @param workoutSession the workout session instance containing the workout session data
-     *                       to be displayed
-     * */
-    private void createWorkoutSessionViewAndAddToParentView(LinearLayout groupOfSameDateWorkoutSessionsParentView,
-                                                            IStoredWorkoutSession workoutSession)
-    {
-        LinearLayout workoutSessionView = getUninitializedWorkoutSessionView();
-
-
-        initializeStartTimeTextView(workoutSessionView, workoutSession);
-        initializeActivityTypeImageViewAndTextView(workoutSessionView,workoutSession);
-
-        initializeWorkoutDurationTextView(workoutSessionView, workoutSession);
-        initializeDistanceTravelledTextView(workoutSessionView, workoutSession);
-
-        initializeNumberOfStepsTakenTextView(workoutSessionView, workoutSession);
-        initializeCaloriesConsumedTextView(workoutSessionView, workoutSession);
-
-        initializeMapIconImageView(workoutSessionView, workoutSession);
-        initializePhotoIconImageView(workoutSessionView, workoutSession);
-
-        initializeTripleDotMoreImageButton(workoutSessionView, groupOfSameDateWorkoutSessionsParentView, workoutSession);
-        initializeWorkoutSessionViewOnClickEventHandler(workoutSessionView, workoutSession);
-
-
-        groupOfSameDateWorkoutSessionsParentView.addView(workoutSessionView);
-    }
-
-
-    /**
-     * Return a view of a workout session record, where the view has not yet been initialized
-     * */
-    private LinearLayout getUninitializedWorkoutSessionView()
-    {
-        LayoutInflater layoutInflater =
-                (LayoutInflater) getApplicationContext().getSystemService(
-                        Context.LAYOUT_INFLATER_SERVICE);
-
-        final ViewGroup NO_PARENT_ROOT = null;
-
-        return (LinearLayout) layoutInflater.inflate(
-                R.layout.linear_layout_single_workout_record, NO_PARENT_ROOT);
-    }
-
-
-    /**
-     * Initialize the textview displaying the start time travelled of the
-     * workout session record
-     *
-     * @param workoutSessionView the view representing a single workout session
-     * @param workoutSession the workout session of interest
-     * */
-    private void initializeStartTimeTextView(LinearLayout workoutSessionView,
-                                             IStoredWorkoutSession workoutSession)
-    {
-        LocalDateTime startDateTime = workoutSession.getStartDateTime();
-
-        LocalTime startTime = startDateTime.toLocalTime();
-
-        String startTimeString = convertLocalTimeToString(startTime);
-
-        TextView startTimeTextView = workoutSessionView.findViewById(R.id.startTimeTextView);
-
-        startTimeTextView.setText(startTimeString);
-
-    }
-
-
-    /**
-     * Initialize the textview and image view displaying the activity type of
-     * the workout session record
-     * */
-    private void initializeActivityTypeImageViewAndTextView(LinearLayout workoutSessionView,
-                                                            IStoredWorkoutSession workoutSession)
-    {
-        TextView activityTypeTextView = workoutSessionView.findViewById(R.id.activityTypeTextView);
-        ImageView activityTypeImageView = workoutSessionView.findViewById(
-                                                                    R.id.activityTypeImageView);
-
-        if (workoutSession.getActivityType() == IWorkoutSession.ActivityType.WALKING)
-        {
-            activityTypeTextView.setText(R.string.linear_layout_single_workout_record_walk_text);
-            activityTypeImageView.setImageResource(R.drawable.walking_icon);
-        }
-        else
+        if (!this.hasNextPageOfWorkoutSessionRecords ||
+                this.isLoadingNextPageOfWorkoutSessionRecords)
         {
-            activityTypeTextView.setText(R.string.linear_layout_single_workout_record_run_text);
-            activityTypeImageView.setImageResource(R.drawable.running_icon);
+            return;
         }
-    }
-
-
-    /**
-     * Extract the time within the LocalDateTime instance and convert it
-     * to time with the format of "hh:mm aa"
-     *
-     * e.g. a string such as "12:16 AM"
-     * */
-    private String convertLocalTimeToString(LocalTime localTime)
-    {
-
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-
-        return localTime.format(dateTimeFormatter);
-    }
 
+        this.isLoadingNextPageOfWorkoutSessionRecords = true;
 
+        queryNextPageOfPastWorkoutSessions(
+                new IRepositoryResultListener<IWorkoutSessionListItemsPage>()
+                {
+                    @Override
+                    public void onSuccess(IWorkoutSessionListItemsPage workoutSessionListItemsPage)
+                    {
+                        isLoadingNextPageOfWorkoutSessionRecords = false;
 
-    /**
-     * Initialize the textview displaying the distance travelled of the
-     * workout session record
-     *
-     * @param workoutSessionView the view representing a single workout session
-     * @param workoutSession the workout session of interest
-     * */
-    private void initializeDistanceTravelledTextView(LinearLayout workoutSessionView,
-                                                     IStoredWorkoutSession workoutSession)
-    {
-        double distanceTravelledInKilometers =
-                                        workoutSession.getDistanceTravelledInKilometers();
+                        displayPageOfPastWorkoutSessions(workoutSessionListItemsPage);
+                    }
 
-        String distanceTravelledInKilometersString =
-                    String.format(Locale.ENGLISH, "%.2f km", distanceTravelledInKilometers);
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        isLoadingNextPageOfWorkoutSessionRecords = false;
 
+                        //stop querying further pages, as they would most likely fail too
+                        hasNextPageOfWorkoutSessionRecords = false;
 
-        TextView distanceTravelledTextView = workoutSessionView.findViewById(
-                                                    R.id.distanceTravelledTextView);
+                        initializeOrUpdateNoWorkoutRecordsAvailableTextView();
 
-        distanceTravelledTextView.setText(distanceTravelledInKilometersString);
+                        Toast.makeText(getApplicationContext(), "Failed to load workout " +
+                                        "session records", Toast.LENGTH_LONG).show();
+                    }
+                });
     }
 
 
-
     /**
-     * Initialize the textview displaying the workout duration of the
-     * workout session record
+     * Display a page of past workout session records after the records that are already
+     * displayed, and display the page after it if the end of the records is still near
      *
-     * @param workoutSessionView the view representing a single workout session
-     * @param workoutSession the workout session of interest
+     * @param workoutSessionListItemsPage the page of past workout session records
      * */
-    private void initializeWorkoutDurationTextView(LinearLayout workoutSessionView,
-                                                   IStoredWorkoutSession workoutSession)
+    private void displayPageOfPastWorkoutSessions(
+                                        IWorkoutSessionListItemsPage workoutSessionListItemsPage)
     {
-        int workoutDurationInSeconds = workoutSession.getDurationInSeconds();
-
-        String workoutDurationInHourMinuteSeconds =
-                                    convertSecondsToHourMinuteSecond(workoutDurationInSeconds);
+        this.hasNextPageOfWorkoutSessionRecords = workoutSessionListItemsPage.hasNextPage();
+        this.nextPageBeforeSessionIdExclusive =
+                            workoutSessionListItemsPage.getNextPageBeforeSessionIdExclusive();
 
-        TextView durationTextView = workoutSessionView.findViewById(R.id.workoutDurationTextView);
+        this.listOfLoadedWorkoutSessions.addAll(
+                            workoutSessionListItemsPage.getListOfWorkoutSessionListItems());
 
-        durationTextView.setText(workoutDurationInHourMinuteSeconds);
+        updateDisplayedRows();
     }
 
 
-    /**
-     * Initialize the textview displaying the number of steps taken for the particular
-     * workout session record
-     *
-     * @param workoutSessionView the view representing a single workout session
-     * @param workoutSession the workout session of interest
-     * */
-    private void initializeNumberOfStepsTakenTextView(LinearLayout workoutSessionView,
-                                                      IStoredWorkoutSession workoutSession)
-    {
-
-        int numberOfStepsTaken = workoutSession.getNumberOfStepsTaken();
-
-        String numberOfStepsTakenString = String.valueOf(numberOfStepsTaken);
-
-
-        TextView stepsTakenTextView = workoutSessionView.findViewById(R.id.numberOfStepsTakenTextView);
-
-        stepsTakenTextView.setText(numberOfStepsTakenString);
-
-    }
-
 
     /**
-     * Initialize the textview displaying the calories consumed for the particular
-     * workout session record
+     * Query the database on a background thread to get the next page of past workout
+     * session records. Only the details displayed in the list are queried, not the
+     * GPSLocations and images
      *
-     * @param workoutSessionView the view representing a single workout session
-     * @param workoutSession the workout session of interest
+     * @param resultListener receives the next page of past workout session records
      * */
-    private void initializeCaloriesConsumedTextView(LinearLayout workoutSessionView,
-                                                    IStoredWorkoutSession workoutSession)
+    private void queryNextPageOfPastWorkoutSessions(
+                    IRepositoryResultListener<IWorkoutSessionListItemsPage> resultListener)
     {
-        double caloriesConsumed = workoutSession.getCaloriesConsumed();
-
-        String caloriesConsumedString = String.format(Locale.ENGLISH, "%.0f",
-                                                      caloriesConsumed);
-
-        TextView caloriesConsumedTextView = workoutSessionView.findViewById(
-                                                                R.id.caloriesConsumedTextView);
-
-        caloriesConsumedTextView.setText(caloriesConsumedString);
+        this.workoutSessionRepository.queryWorkoutSessionListItemsPageAsync(this,
+                        this.nextPageBeforeSessionIdExclusive, WORKOUT_SESSION_RECORDS_PAGE_SIZE,
+                        resultListener);
     }
 
 
-
     /**
-     * Initialize and display the map icon image view only if the workout session
-     * has at least one non-null coordinates (location) in it
+     * Create the rows of the past workout session records loaded, grouped by their dates,
+     * and submit them to the adapter, which displays only the rows that have changed
      *
-     * Note: WorkoutSessions are allowed to contain null coordinates to signify a pause
-     *      in the workout session
+     * Once the rows are displayed, the "No records available" message is updated, and the
+     * next page is displayed if the end of the records is near, as the rows may not fill up
+     * the screen
      *
-     * @param workoutSessionView the view representing a single workout session
-     * @param workoutSession the workout session of interest
+     * @see WorkoutSessionHistoryRow#createListOfRows(List, Set)
      * */
-    private void initializeMapIconImageView(LinearLayout workoutSessionView,
-                                            IStoredWorkoutSession workoutSession)
+    private void updateDisplayedRows()
     {
-        ImageView mapIconImageView = workoutSessionView.findViewById(R.id.mapIconImageView);
-
+        List<WorkoutSessionHistoryRow> listOfRows = WorkoutSessionHistoryRow.createListOfRows(
+                this.listOfLoadedWorkoutSessions, this.setOfWorkoutSessionIdsBeingDeleted);
 
-        int numberOfNonNullMapLocations = countNumberOfNonNullMapLocations(workoutSession);
+        this.workoutSessionHistoryAdapter.submitList(listOfRows, () -> {
+            initializeOrUpdateNoWorkoutRecordsAvailableTextView();
 
-        if (numberOfNonNullMapLocations == 0)
-        {
-            mapIconImageView.setVisibility(View.GONE);
-        }
-        else
-        {
-            mapIconImageView.setVisibility(View.VISIBLE);
-        }
+            this.pastWorkoutSessionsRecyclerView.post(this::displayNextPageIfEndOfRecordsIsNear);
+        });
     }
 
 
     /**
-     * Count and return the number of non-null map locations (coordinates) stored within
-     * the workout session
+     * Display the map-and-image slideshow of the workout session clicked
      *
-     * @param workoutSession the workout session of interest
-     * */
-    private int countNumberOfNonNullMapLocations(IStoredWorkoutSession workoutSession)
-    {
-        int count = 0;
-
-        for (IGPSLocation gpsLocation: workoutSession.getListOfGPSLocations())
-        {
-            if (gpsLocation != null)
-            {
-                count++;
-            }
-        }
-
-        return count;
-    }
-
-
-    /**
-     * Initialize and display the photo icon image view only if the workout session
-     * has photos associated with the workout session
+     * The slideshow displays
+     *      (a) a map showing the path of where the user has travelled in a workout session
+     *      (b) photos taken during the workout session (if any)
+     *
+     * The complete workout session record is only queried by the slideshow once it is opened
      *
-     * @param workoutSessionView the view representing a single workout session
      * @param workoutSession the workout session of interest
      * */
-    private void initializePhotoIconImageView(LinearLayout workoutSessionView,
-                                              IStoredWorkoutSession workoutSession)
+    @Override
+    public void onWorkoutSessionClicked(IWorkoutSessionListItem workoutSession)
     {
-        ImageView photoIconImageView = workoutSessionView.findViewById(R.id.photoIconImageView);
+        Intent intent = MapAndImageSlideshowWrapperActivity.createIntent(
+                this, workoutSession.getWorkoutSessionId());
 
-        if (workoutSession.getListOfImagesTaken().isEmpty())
-        {
-            photoIconImageView.setVisibility(View.GONE);
-        }
-        else
-        {
-            photoIconImageView.setVisibility(View.VISIBLE);
-        }
+        startActivity(intent);
     }
 
 
-
-    /**
-     * Initialize the triple dot image button that creates a pop-up menu.
-     *
-     * The pop-up menu will allow users to
-     *      (a) Share the workout session record
-     *      (b) Delete the workout session record
-     *
-     *
-     * @param workoutSessionView the view containing the workout session record
-     * @param groupOfSameDateWorkoutSessionsParentView the parent view containing the workout
-     *                                                       session view. This parent view is used
-     *                                                      to store a list of workout session views
-     *                                                       with the same dates
-     * @param workoutSession the workout session to be deleted
-     * */
-    private void initializeTripleDotMoreImageButton(LinearLayout workoutSessionView,
-                                            LinearLayout groupOfSameDateWorkoutSessionsParentView,
-                                            IStoredWorkoutSession workoutSession)
+    @Override
+    public void onShareWorkoutSessionRequested(IWorkoutSessionListItem workoutSession)
     {
-
-        ImageButton tripleDotMoreImageButton = workoutSessionView.findViewById(
-                                            R.id.tripleDotMoreImageButton);
-
-
-        tripleDotMoreImageButton.setOnClickListener(view -> {
-
-            PopupMenu popupMenu = new PopupMenu(ViewPastWorkoutActivity.this,
-                                                tripleDotMoreImageButton);
-
-            popupMenu.getMenuInflater().inflate(R.menu.past_workout_record_popup_menu,
-                                                popupMenu.getMenu());
-
-            popupMenu.setOnMenuItemClickListener(menuItem -> {
-
-                if (menuItem.getItemId() == R.id.shareWorkoutRecordMenuItem)
-                {
-                    shareWorkoutSessionWithOtherApps(workoutSession);
-                    return true;
-                }
-                else if (menuItem.getItemId() == R.id.deleteWorkoutRecordMenuItem)
-                {
-                    promptDeleteWorkoutSessionConfirmation(workoutSessionView,
-                            groupOfSameDateWorkoutSessionsParentView, workoutSession);
-                    return true;
-                }
-
-                return false;
-            });
-
-            popupMenu.show();
-        });
+        shareWorkoutSessionWithOtherApps(workoutSession);
     }
 
 
-    /**
-     * Initialize the click event for the workout session view to display the
-     * map-and-image slideshow
-     *
-     * The slideshow displays
-     *      (a) a map showing the path of where the user has travelled in a workout session
-     *      (b) photos taken during the workout session (if any)
-     *
-     *  @param workoutSessionView the view representing a single workout session
-     *  @param workoutSession the workout session of interest
-     * */
-    private void initializeWorkoutSessionViewOnClickEventHandler(LinearLayout workoutSessionView,
-                                                                 IStoredWorkoutSession workoutSession)
+    @Override
+    public void onDeleteWorkoutSessionRequested(IWorkoutSessionListItem workoutSession)
     {
-        workoutSessionView.setOnClickListener(
-                view -> {
-                    Intent intent = MapAndImageSlideshowWrapperActivity.createIntent(
-                            this, (StoredWorkoutSession) workoutSession);
-
-                    startActivity(intent);
-                });
+        promptDeleteWorkoutSessionConfirmation(workoutSession);
     }
 
 
@@ -619,7 +363,7 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
      * As many apps lack the ability to properly access images, this application
      * will only share plain text with other apps
      * */
-    private void shareWorkoutSessionWithOtherApps(IStoredWorkoutSession workoutSession)
+    private void shareWorkoutSessionWithOtherApps(IWorkoutSessionListItem workoutSession)
     {
         Intent intent = new Intent();
         intent.setAction(Intent.ACTION_SEND);
@@ -640,7 +384,7 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
      * Note: The this.workoutSession instance variable must first be initialized
      *
      * */
-    private String getShareTextString(IStoredWorkoutSession workoutSession)
+    private String getShareTextString(IWorkoutSessionListItem workoutSession)
     {
         String startDateTimeString = getFormattedDateTimeString(
                 workoutSession.getStartDateTime());
@@ -649,7 +393,8 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
                 "%.2f km", workoutSession.getDistanceTravelledInKilometers());
 
         String workoutDurationInHoursMinutesSeconds =
-                convertSecondsToHourMinuteSecond(workoutSession.getDurationInSeconds());
+                WorkoutSessionHistoryAdapter.convertSecondsToHourMinuteSecond(
+                                            workoutSession.getDurationInSeconds());
 
         String caloriesConsumedString = String.format(Locale.ENGLISH,
                 "%.0f cal", workoutSession.getCaloriesConsumed());
@@ -685,49 +430,15 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
     }
 
 
-    /**
-     * Convert duration in seconds to a string that is in the format of "HH:MM:SS"
-     * (hour:minute:seconds)
-     *
-     * @param durationInSeconds duration in seconds
-     *
-     * @return a string in format of "HH:MM:SS"
-     * */
-    private String convertSecondsToHourMinuteSecond(int durationInSeconds)
-    {
-        int numberOfHours = durationInSeconds/3600;
-
-        int numberOfRemainingSeconds = durationInSeconds - numberOfHours* 3600;
-
-        int numberOfMinutes = numberOfRemainingSeconds/60;
-
-        numberOfRemainingSeconds = numberOfRemainingSeconds - numberOfMinutes * 60;
-
-        int numberOfSeconds = numberOfRemainingSeconds;
-
-        return String.format(Locale.ENGLISH, "%02d:%02d:%02d", numberOfHours,
-                numberOfMinutes, numberOfSeconds);
-    }
-
-
     /**
      * Display a dialog to prompt the user whether the user truly wishes to delete the
      * workout session record
      *
      * If so, then delete the workout session record and update the view
      *
-     * @param workoutSessionView the view containing the workout session record
-     *
-     * @param groupOfSameDateWorkoutSessionsParentView the parent view containing the workout
-*    *                                                session view. This parent view is used
-     *                                                 to store a list of workout session views
-     *                                                 with the same dates
-     *
      * @param workoutSession the workout session to be deleted
      * */
-    private void promptDeleteWorkoutSessionConfirmation(LinearLayout workoutSessionView,
-                                            LinearLayout groupOfSameDateWorkoutSessionsParentView,
-                                            IStoredWorkoutSession workoutSession)
+    private void promptDeleteWorkoutSessionConfirmation(IWorkoutSessionListItem workoutSession)
     {
         AlertDialog.Builder alertDialogBuilder = new AlertDialog.Builder(this);
 
@@ -743,9 +454,7 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
 
 
         alertDialogBuilder.setPositiveButton(R.string.activity_view_past_workout_yes_text,
-                (dialogInterface, i) ->
-                                deleteWorkoutSession(workoutSessionView,
-                                        groupOfSameDateWorkoutSessionsParentView, workoutSession));
+                (dialogInterface, i) -> deleteWorkoutSession(workoutSession));
 
 
         alertDialogBuilder.show();
@@ -755,81 +464,151 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
 
     /**
      * Delete the workout session from the database. The corresponding workout session
-     * view will also be removed from the display
-     *
-     * @param workoutSessionView the view containing the workout session record
-     *
-     * @param groupOfSameDateWorkoutSessionsParentView the parent view containing the workout
-     *                                                  session view. This parent view is used
-     *                                                  to store a list of workout session views
-     *                                                  with the same dates
+     * row will also be removed from the display
      *
      * @param workoutSession the workout session to be deleted
      * */
-    private void deleteWorkoutSession(LinearLayout workoutSessionView,
-                                      LinearLayout groupOfSameDateWorkoutSessionsParentView,
-                                      IStoredWorkoutSession workoutSession)
+    private void deleteWorkoutSession(IWorkoutSessionListItem workoutSession)
     {
+        //prevent the deletion from being requested again while it is in progress
+        if (!this.setOfWorkoutSessionIdsBeingDeleted.add(workoutSession.getWorkoutSessionId()))
+        {
+            return;
+        }
 
-        deleteWorkoutSessionFromDatabase(workoutSession);
-        deleteWorkoutSessionImageFiles(workoutSession);
-        removeWorkoutSessionViewFromParentView(workoutSessionView, groupOfSameDateWorkoutSessionsParentView);
-        initializeOrUpdateNoWorkoutRecordsAvailableTextView();
+        updateDisplayedRows();
 
+        //the image paths can no longer be queried once the workout session record is deleted
+        queryListOfImagesTaken(workoutSession, new IRepositoryResultListener<List<String>>()
+        {
+            @Override
+            public void onSuccess(List<String> listOfImagesTaken)
+            {
+                deleteWorkoutSessionFromDatabase(workoutSession, listOfImagesTaken);
+            }
 
-        setResult(RESULT_HAS_DELETED_WORKOUT_SESSION_RECORDS);
+            @Override
+            public void onFailure(Exception exception)
+            {
+                //the image files are left behind, but the record is still deleted
+                deleteWorkoutSessionFromDatabase(workoutSession, new ArrayList<>());
+            }
+        });
+    }
 
+
+    /**
+     * Query the database on a background thread for the image paths of the workout session,
+     * as the list items displayed only contain the number of images
+     *
+     * If the workout session has no images, the database is not queried and the result
+     * listener receives an empty list immediately
+     *
+     * @param workoutSession the workout session of interest
+     * @param resultListener receives the image paths of the workout session
+     * */
+    private void queryListOfImagesTaken(IWorkoutSessionListItem workoutSession,
+                                        IRepositoryResultListener<List<String>> resultListener)
+    {
+        if (workoutSession.getNumberOfImagesTaken() == 0)
+        {
+            resultListener.onSuccess(new ArrayList<>());
+
+            return;
+        }
+
+        this.workoutSessionRepository.queryListOfImagePathsAsync(this,
+                workoutSession.getWorkoutSessionId(), resultListener);
     }
 
 
     /**
-     * Delete the workout session record from the database
+     * Delete the workout session record from the database on a background thread
+     *
+     * Once the deletion has completed (whether successfully or not), delete the image files
+     * and remove the workout session row from the display
      *
      * @param workoutSession the workout session to be deleted from the database
+     * @param listOfImagesTaken the image paths of the workout session
      * */
-    private void deleteWorkoutSessionFromDatabase(IStoredWorkoutSession workoutSession)
+    private void deleteWorkoutSessionFromDatabase(IWorkoutSessionListItem workoutSession,
+                                                  List<String> listOfImagesTaken)
     {
-        WorkoutSessionDatabaseHelper databaseHelper =
-                            new WorkoutSessionDatabaseHelper(getApplicationContext());
+        long workoutSessionId = workoutSession.getWorkoutSessionId();
 
-        try
-        {
-            long workoutSessionId = workoutSession.getWorkoutSessionId();
-            databaseHelper.deleteWorkoutSessionRecord(workoutSessionId);
-            Toast.makeText(getApplicationContext(),"Workout session deleted",
-                    Toast.LENGTH_LONG).show();
-        }
-        catch (Exception e)
-        {
-            Toast.makeText(getApplicationContext(),"Error occurred while trying" +
-                    "to delete workout session", Toast.LENGTH_LONG).show();
+        this.workoutSessionRepository.deleteWorkoutSessionRecordAsync(this, workoutSessionId,
+                new IRepositoryResultListener<Void>()
+                {
+                    @Override
+                    public void onSuccess(Void result)
+                    {
+                        Toast.makeText(getApplicationContext(),"Workout session deleted",
+                                Toast.LENGTH_LONG).show();
+
+                        onWorkoutSessionDeletedFromDatabase(workoutSession, listOfImagesTaken);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        Toast.makeText(getApplicationContext(),"Error occurred while trying" +
+                                "to delete workout session", Toast.LENGTH_LONG).show();
+
+                        onWorkoutSessionDeletedFromDatabase(workoutSession, listOfImagesTaken);
+                    }
+                });
 
-        }
+    }
+
+
+    /**
+     * Delete the image files of the workout session and remove its row from the display,
+     * once its record has been deleted from the database
+     *
+     * The rows are created again without the workout session, and the adapter removes its
+     * row, along with its date header if no other workout session has the same date
+     *
+     * @param workoutSession the workout session deleted from the database
+     * @param listOfImagesTaken the image paths of the workout session
+     * */
+    private void onWorkoutSessionDeletedFromDatabase(IWorkoutSessionListItem workoutSession,
+                                                     List<String> listOfImagesTaken)
+    {
+        deleteWorkoutSessionImageFiles(listOfImagesTaken);
+
+        this.listOfLoadedWorkoutSessions.remove(workoutSession);
+        this.setOfWorkoutSessionIdsBeingDeleted.remove(workoutSession.getWorkoutSessionId());
+
+        //the removed row may have made the end of the records near
+        updateDisplayedRows();
 
+
+        setResult(RESULT_HAS_DELETED_WORKOUT_SESSION_RECORDS);
     }
 
 
     /**
-     * Delete the image files associated with the workout from the app directory
+     * Delete the image files associated with the workout, along with their renditions,
+     * from the app directory
      *
-     * @param workoutSession the workout session of interest, whose images are to
-     *                       to be deleted from the app directory
+     * @param listOfImages the image paths of the workout session of interest, whose images
+     *                     are to be deleted from the app directory
      * */
-    private void deleteWorkoutSessionImageFiles(IStoredWorkoutSession workoutSession)
+    private void deleteWorkoutSessionImageFiles(List<String> listOfImages)
     {
-        if (workoutSession.getListOfImagesTaken().isEmpty())
+        if (listOfImages.isEmpty())
         {
             return;
         }
 
-        //list of image paths of images
-        List<String> listOfImages =  workoutSession.getListOfImagesTaken();
-
         try {
             for (String imagePath: listOfImages)
             {
                 File imageFileToDelete = new File(imagePath);
 
+                //the renditions are derived from the image, so they are of no use without it
+                ImageRenditions.deleteImageRenditions(imagePath);
+
                 boolean deletionSuccessful = imageFileToDelete.delete();
 
                 if (!deletionSuccessful)
@@ -850,59 +629,12 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
     }
 
 
-    /**
-     * Removes the workout session view from the parent view. If the workout session view
-     * is the very last view in the parent view, then also remove the parent view
-     * from the root container
-     *
-     * @param workoutSessionView the view containing the workout session record
-     * @param groupOfSameDateWorkoutSessionsParentView the parent view containing the workout
-     *                                                 session view. This parent view is used
-     *                                                 to store a list of workout session views
-     *                                                 with the same dates
-     * */
-    private void removeWorkoutSessionViewFromParentView(LinearLayout workoutSessionView,
-                                            LinearLayout groupOfSameDateWorkoutSessionsParentView)
-    {
-        groupOfSameDateWorkoutSessionsParentView.removeView(workoutSessionView);
-
-        int numberOfRemainingWorkoutSessionViewsInParent =
-                getNumberOfWorkoutSessionViewsInParent(groupOfSameDateWorkoutSessionsParentView);
-
-
-        if (numberOfRemainingWorkoutSessionViewsInParent == 0)
-        {
-            this.pastWorkoutSessionsRootContainer.removeView(groupOfSameDateWorkoutSessionsParentView);
-        }
-    }
-
-
-
-    /**
-     * Returns the number of workout session views (number of children) within thin this
-     * parent view, excluding the date sub-header
-     *
-     * @param groupOfSameDateWorkoutSessionsParentView the parent view containing the workout
-     *                                               a list of workout session views
-     *                                               with the same dates
-     *
-     * @return the number of workout session views within the parent view
-     * */
-    private int getNumberOfWorkoutSessionViewsInParent(LinearLayout
-                                                           groupOfSameDateWorkoutSessionsParentView)
-    {
-        //The parent will contain the date subheader as a child,
-        // along with other workout session views
-        // minus 1 to not include the date subheader
-
-        return groupOfSameDateWorkoutSessionsParentView.getChildCount() - 1;
-    }
-
-
     /**
      * Initialize the "No Workout Records Available" message by showing or
      * hiding it whether there are workout session records available
      *
+     * The message is hidden while a page of workout session records is being queried
+     *
      * Note: Must be called after the all the workout session records
      * have been displayed
      * */
@@ -911,7 +643,8 @@ public class ViewPastWorkoutActivity extends AppCompatActivity {
         TextView noWorkoutRecordsMessageTextView =
                         findViewById(R.id.noWorkoutRecordsAvailableTextView);
 
-        if (this.pastWorkoutSessionsRootContainer.getChildCount() == 0)
+        if (this.listOfLoadedWorkoutSessions.isEmpty() &&
+                !this.isLoadingNextPageOfWorkoutSessionRecords)
         {
             noWorkoutRecordsMessageTextView.setVisibility(View.VISIBLE);
         }
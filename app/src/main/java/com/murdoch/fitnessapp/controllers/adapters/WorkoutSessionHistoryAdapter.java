@@ -0,0 +1,437 @@
+package com.murdoch.fitnessapp.controllers.adapters;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.PopupMenu;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.murdoch.fitnessapp.R;
+import com.murdoch.fitnessapp.callbackinterfaces.IWorkoutSessionHistoryListener;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionHistoryRow;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+
+/**
+ * An adapter that displays the rows of the workout session history in a RecyclerView, so
+ * that only the views of the rows on screen exist, however many workout sessions are loaded
+ *
+ * The date header rows and the workout session rows are displayed with different view
+ * types, and every row has a stable id. A new list of rows is submitted with submitList(List),
+ * which compares it with the list displayed on a background thread (DiffUtil), so that only
+ * the rows inserted, removed or changed are displayed again
+ *
+ * @see WorkoutSessionHistoryRow
+ * */
+public class WorkoutSessionHistoryAdapter
+        extends ListAdapter<WorkoutSessionHistoryRow, RecyclerView.ViewHolder>
+{
+    private static final int VIEW_TYPE_DATE_HEADER = 0;
+    private static final int VIEW_TYPE_WORKOUT_SESSION = 1;
+
+    private static final DateTimeFormatter DATE_HEADER_FORMATTER =
+                                                    DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    private static final DateTimeFormatter START_TIME_FORMATTER =
+                                                    DateTimeFormatter.ofPattern("hh:mm a");
+
+
+    /**
+     * Compares the rows by their row ids, and their contents by
+     * WorkoutSessionHistoryRow.hasSameContentsAs(WorkoutSessionHistoryRow)
+     * */
+    private static final DiffUtil.ItemCallback<WorkoutSessionHistoryRow> ROW_DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<WorkoutSessionHistoryRow>()
+            {
+                @Override
+                public boolean areItemsTheSame(@NonNull WorkoutSessionHistoryRow oldRow,
+                                               @NonNull WorkoutSessionHistoryRow newRow)
+                {
+                    return oldRow.getRowId() == newRow.getRowId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull WorkoutSessionHistoryRow oldRow,
+                                                  @NonNull WorkoutSessionHistoryRow newRow)
+                {
+                    return oldRow.hasSameContentsAs(newRow);
+                }
+            };
+
+
+    private final IWorkoutSessionHistoryListener workoutSessionHistoryListener;
+
+
+    /**
+     * Create an instance of WorkoutSessionHistoryAdapter with no rows
+     *
+     * @param workoutSessionHistoryListener receives the actions requested by the user on the
+     *                                      workout sessions
+     *
+     * @throws NullPointerException if the listener is null
+     * */
+    public WorkoutSessionHistoryAdapter(
+                                IWorkoutSessionHistoryListener workoutSessionHistoryListener)
+    {
+        super(ROW_DIFF_CALLBACK);
+
+        if (workoutSessionHistoryListener == null)
+        {
+            throw new NullPointerException("Workout session history listener cannot be null");
+        }
+
+        this.workoutSessionHistoryListener = workoutSessionHistoryListener;
+
+        setHasStableIds(true);
+    }
+
+
+    @Override
+    public long getItemId(int position)
+    {
+        return getItem(position).getRowId();
+    }
+
+
+    @Override
+    public int getItemViewType(int position)
+    {
+        if (getItem(position).getRowType() == WorkoutSessionHistoryRow.RowType.DATE_HEADER)
+        {
+            return VIEW_TYPE_DATE_HEADER;
+        }
+
+        return VIEW_TYPE_WORKOUT_SESSION;
+    }
+
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType)
+    {
+        LayoutInflater layoutInflater = LayoutInflater.from(parent.getContext());
+
+        final boolean DO_NOT_ATTACH_TO_ROOT = false;
+
+        if (viewType == VIEW_TYPE_DATE_HEADER)
+        {
+            return new DateHeaderViewHolder(layoutInflater.inflate(
+                    R.layout.custom_subheader_title_text_view, parent, DO_NOT_ATTACH_TO_ROOT));
+        }
+
+        return new WorkoutSessionViewHolder(layoutInflater.inflate(
+                R.layout.linear_layout_single_workout_record, parent, DO_NOT_ATTACH_TO_ROOT));
+    }
+
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder viewHolder, int position)
+    {
+        WorkoutSessionHistoryRow row = getItem(position);
+
+        if (viewHolder instanceof DateHeaderViewHolder)
+        {
+            ((DateHeaderViewHolder) viewHolder).bind(row.getDate());
+        }
+        else
+        {
+            ((WorkoutSessionViewHolder) viewHolder).bind(row.getWorkoutSessionListItem(),
+                                                         row.isBeingDeleted());
+        }
+    }
+
+
+    /**
+     * Convert duration in seconds to a string that is in the format of "HH:MM:SS"
+     * (hour:minute:seconds)
+     *
+     * @param durationInSeconds duration in seconds
+     *
+     * @return a string in format of "HH:MM:SS"
+     * */
+    public static String convertSecondsToHourMinuteSecond(int durationInSeconds)
+    {
+        int numberOfHours = durationInSeconds/3600;
+
+        int numberOfRemainingSeconds = durationInSeconds - numberOfHours* 3600;
+
+        int numberOfMinutes = numberOfRemainingSeconds/60;
+
+        numberOfRemainingSeconds = numberOfRemainingSeconds - numberOfMinutes * 60;
+
+        int numberOfSeconds = numberOfRemainingSeconds;
+
+        return String.format(Locale.ENGLISH, "%02d:%02d:%02d", numberOfHours,
+                numberOfMinutes, numberOfSeconds);
+    }
+
+
+    /**
+     * Holds the text view displaying the date of a date header row
+     * */
+    private static class DateHeaderViewHolder extends RecyclerView.ViewHolder
+    {
+        private final TextView dateSubHeaderTextView;
+
+
+        DateHeaderViewHolder(View itemView)
+        {
+            super(itemView);
+
+            this.dateSubHeaderTextView = (TextView) itemView;
+        }
+
+
+        /**
+         * Display the date of the date header row
+         *
+         * @param date date of interest
+         * */
+        void bind(LocalDate date)
+        {
+            this.dateSubHeaderTextView.setText(date.format(DATE_HEADER_FORMATTER));
+        }
+    }
+
+
+    /**
+     * Holds the views displaying the details of a workout session row, which are looked up
+     * only once when the view is created, rather than whenever it is bound to another row
+     * */
+    private class WorkoutSessionViewHolder extends RecyclerView.ViewHolder
+    {
+        private final TextView startTimeTextView;
+        private final TextView activityTypeTextView;
+        private final ImageView activityTypeImageView;
+        private final TextView workoutDurationTextView;
+        private final TextView distanceTravelledTextView;
+        private final TextView numberOfStepsTakenTextView;
+        private final TextView caloriesConsumedTextView;
+        private final ImageView mapIconImageView;
+        private final ImageView photoIconImageView;
+        private final ImageButton tripleDotMoreImageButton;
+
+        private IWorkoutSessionListItem workoutSession;
+
+
+        WorkoutSessionViewHolder(View itemView)
+        {
+            super(itemView);
+
+            this.startTimeTextView = itemView.findViewById(R.id.startTimeTextView);
+            this.activityTypeTextView = itemView.findViewById(R.id.activityTypeTextView);
+            this.activityTypeImageView = itemView.findViewById(R.id.activityTypeImageView);
+            this.workoutDurationTextView = itemView.findViewById(R.id.workoutDurationTextView);
+            this.distanceTravelledTextView =
+                                    itemView.findViewById(R.id.distanceTravelledTextView);
+            this.numberOfStepsTakenTextView =
+                                    itemView.findViewById(R.id.numberOfStepsTakenTextView);
+            this.caloriesConsumedTextView = itemView.findViewById(R.id.caloriesConsumedTextView);
+            this.mapIconImageView = itemView.findViewById(R.id.mapIconImageView);
+            this.photoIconImageView = itemView.findViewById(R.id.photoIconImageView);
+            this.tripleDotMoreImageButton = itemView.findViewById(R.id.tripleDotMoreImageButton);
+
+            initializeWorkoutSessionViewOnClickEventHandler();
+            initializeTripleDotMoreImageButton();
+        }
+
+
+        /**
+         * Display the details of the workout session
+         *
+         * @param workoutSessionValue the workout session of interest
+         * @param isBeingDeleted whether the workout session is being deleted, in which case
+         *                       it can no longer be clicked
+         * */
+        void bind(IWorkoutSessionListItem workoutSessionValue, boolean isBeingDeleted)
+        {
+            this.workoutSession = workoutSessionValue;
+
+            initializeStartTimeTextView();
+            initializeActivityTypeImageViewAndTextView();
+
+            initializeWorkoutDurationTextView();
+            initializeDistanceTravelledTextView();
+
+            initializeNumberOfStepsTakenTextView();
+            initializeCaloriesConsumedTextView();
+
+            initializeMapIconImageView();
+            initializePhotoIconImageView();
+
+            //prevent the deletion from being requested again while it is in progress
+            this.itemView.setEnabled(!isBeingDeleted);
+            this.tripleDotMoreImageButton.setEnabled(!isBeingDeleted);
+        }
+
+
+        /**
+         * Initialize the textview displaying the start time of the workout session record,
+         * in the format of "hh:mm aa", e.g. "12:16 AM"
+         * */
+        private void initializeStartTimeTextView()
+        {
+            LocalTime startTime = this.workoutSession.getStartDateTime().toLocalTime();
+
+            this.startTimeTextView.setText(startTime.format(START_TIME_FORMATTER));
+        }
+
+
+        /**
+         * Initialize the textview and image view displaying the activity type of
+         * the workout session record
+         * */
+        private void initializeActivityTypeImageViewAndTextView()
+        {
+            if (this.workoutSession.getActivityType() == IWorkoutSession.ActivityType.WALKING)
+            {
+                this.activityTypeTextView.setText(
+                                    R.string.linear_layout_single_workout_record_walk_text);
+                this.activityTypeImageView.setImageResource(R.drawable.walking_icon);
+            }
+            else
+            {
+                this.activityTypeTextView.setText(
+                                    R.string.linear_layout_single_workout_record_run_text);
+                this.activityTypeImageView.setImageResource(R.drawable.running_icon);
+            }
+        }
+
+
+        /**
+         * Initialize the textview displaying the workout duration of the
+         * workout session record
+         * */
+        private void initializeWorkoutDurationTextView()
+        {
+            this.workoutDurationTextView.setText(convertSecondsToHourMinuteSecond(
+                                            this.workoutSession.getDurationInSeconds()));
+        }
+
+
+        /**
+         * Initialize the textview displaying the distance travelled of the
+         * workout session record
+         * */
+        private void initializeDistanceTravelledTextView()
+        {
+            this.distanceTravelledTextView.setText(String.format(Locale.ENGLISH, "%.2f km",
+                                this.workoutSession.getDistanceTravelledInKilometers()));
+        }
+
+
+        /**
+         * Initialize the textview displaying the number of steps taken for the particular
+         * workout session record
+         * */
+        private void initializeNumberOfStepsTakenTextView()
+        {
+            this.numberOfStepsTakenTextView.setText(
+                            String.valueOf(this.workoutSession.getNumberOfStepsTaken()));
+        }
+
+
+        /**
+         * Initialize the textview displaying the calories consumed for the particular
+         * workout session record
+         * */
+        private void initializeCaloriesConsumedTextView()
+        {
+            this.caloriesConsumedTextView.setText(String.format(Locale.ENGLISH, "%.0f",
+                                            this.workoutSession.getCaloriesConsumed()));
+        }
+
+
+        /**
+         * Initialize and display the map icon image view only if the workout session
+         * has at least one non-null coordinates (location) in it
+         *
+         * Note: WorkoutSessions are allowed to contain null coordinates to signify a pause
+         *      in the workout session
+         * */
+        private void initializeMapIconImageView()
+        {
+            this.mapIconImageView.setVisibility(
+                    this.workoutSession.getNumberOfGPSLocations() == 0 ? View.GONE : View.VISIBLE);
+        }
+
+
+        /**
+         * Initialize and display the photo icon image view only if the workout session
+         * has photos associated with the workout session
+         * */
+        private void initializePhotoIconImageView()
+        {
+            this.photoIconImageView.setVisibility(
+                    this.workoutSession.getNumberOfImagesTaken() == 0 ? View.GONE : View.VISIBLE);
+        }
+
+
+        /**
+         * Initialize the click event for the workout session view, which is passed on to
+         * the listener with the workout session currently bound to the view
+         * */
+        private void initializeWorkoutSessionViewOnClickEventHandler()
+        {
+            this.itemView.setOnClickListener(view ->
+                    workoutSessionHistoryListener.onWorkoutSessionClicked(this.workoutSession));
+        }
+
+
+        /**
+         * Initialize the triple dot image button that creates a pop-up menu.
+         *
+         * The pop-up menu will allow users to
+         *      (a) Share the workout session record
+         *      (b) Delete the workout session record
+         * */
+        private void initializeTripleDotMoreImageButton()
+        {
+            this.tripleDotMoreImageButton.setOnClickListener(view -> {
+
+                //the workout session bound when the menu is opened, as the view may be
+                //bound to another row by the time a menu item is clicked
+                IWorkoutSessionListItem workoutSessionOfMenu = this.workoutSession;
+
+                PopupMenu popupMenu = new PopupMenu(view.getContext(),
+                                                    this.tripleDotMoreImageButton);
+
+                popupMenu.getMenuInflater().inflate(R.menu.past_workout_record_popup_menu,
+                                                    popupMenu.getMenu());
+
+                popupMenu.setOnMenuItemClickListener(menuItem -> {
+
+                    if (menuItem.getItemId() == R.id.shareWorkoutRecordMenuItem)
+                    {
+                        workoutSessionHistoryListener.onShareWorkoutSessionRequested(
+                                                                    workoutSessionOfMenu);
+                        return true;
+                    }
+                    else if (menuItem.getItemId() == R.id.deleteWorkoutRecordMenuItem)
+                    {
+                        workoutSessionHistoryListener.onDeleteWorkoutSessionRequested(
+                                                                    workoutSessionOfMenu);
+                        return true;
+                    }
+
+                    return false;
+                });
+
+                popupMenu.show();
+            });
+        }
+    }
+}
@@ -13,7 +13,7 @@ import android.widget.TextView;
 
 import com.murdoch.fitnessapp.R;
 import com.murdoch.fitnessapp.callbackinterfaces.IFragmentReadyListener;
-import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionSnapshot;
 
 import java.util.Locale;
 
@@ -113,10 +113,18 @@ public class DuringWorkoutInfoFragment extends Fragment
 
 
     /**
+     * Displays the duration, distance travelled, calories consumed and number of steps of a
+     * snapshot of the workout session, so that the values displayed are always from the
+     * same point in time
      *
-     * Note: Only call this method when
+     * Note: Only call this method when the view of the fragment has been created, and from
+     * the main thread
+     *
+     * @param workoutSession snapshot of the workout session of the user is engaged in
+     *
+     * @see WorkoutSessionSnapshot
      * */
-    public void displayWorkoutSessionDetails(WorkoutSession workoutSession)
+    public void displayWorkoutSessionDetails(WorkoutSessionSnapshot workoutSession)
     {
         this.displayWorkoutDuration(workoutSession);
 
@@ -133,9 +141,9 @@ public class DuringWorkoutInfoFragment extends Fragment
      * Displays the workout duration (how long the user has engaged in the
      * workout session)
      *
-     * @param workoutSession workout session of the user is engaged in
+     * @param workoutSession snapshot of the workout session of the user is engaged in
      * */
-    private void displayWorkoutDuration(WorkoutSession workoutSession)
+    private void displayWorkoutDuration(WorkoutSessionSnapshot workoutSession)
     {
         String workoutDurationString = convertSecondsToHourMinuteSeconds(
                                         workoutSession.getDurationInSeconds());
@@ -148,9 +156,9 @@ public class DuringWorkoutInfoFragment extends Fragment
     /**
      * Displays the distance that the user has travelled
      *
-     * @param workoutSession workout session of the user is engaged in
+     * @param workoutSession snapshot of the workout session of the user is engaged in
      * */
-    private void displayDistanceTravelled(WorkoutSession workoutSession)
+    private void displayDistanceTravelled(WorkoutSessionSnapshot workoutSession)
     {
         String distanceTravelledString = String.format(Locale.ENGLISH,
                 "%.2f km", workoutSession.getDistanceTravelledInKilometers());
@@ -162,9 +170,9 @@ public class DuringWorkoutInfoFragment extends Fragment
     /**
      * Displays the amount of calories that the user has consumed
      *
-     * @param workoutSession workout session of the user is engaged in
+     * @param workoutSession snapshot of the workout session of the user is engaged in
      * */
-    private void displayCaloriesConsumed(WorkoutSession workoutSession)
+    private void displayCaloriesConsumed(WorkoutSessionSnapshot workoutSession)
     {
         String caloriesConsumedString = String.format(Locale.ENGLISH, "%.0f",
                                         workoutSession.getCaloriesConsumed());
@@ -176,9 +184,9 @@ public class DuringWorkoutInfoFragment extends Fragment
     /**
      * Displays the number of steps that the user has taken
      *
-     * @param workoutSession workout session of the user is engaged in
+     * @param workoutSession snapshot of the workout session of the user is engaged in
      * */
-    private void displayNumberOfSteps(WorkoutSession workoutSession)
+    private void displayNumberOfSteps(WorkoutSessionSnapshot workoutSession)
     {
         String numberOfStepsString = String.valueOf(workoutSession.getNumberOfStepsTaken());
 
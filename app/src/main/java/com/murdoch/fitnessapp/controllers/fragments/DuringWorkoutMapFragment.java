@@ -2,11 +2,13 @@ package com.murdoch.fitnessapp.controllers.fragments;
 
 import android.content.Context;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.gms.maps.CameraUpdateFactory;
@@ -17,15 +19,24 @@ import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
 import com.murdoch.fitnessapp.R;
 import com.murdoch.fitnessapp.callbackinterfaces.IFragmentReadyListener;
 import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * A fragment that displays the locations that the user has
  * travelled/ or where the user is currently at during a workout session
  *
+ * The route travelled is drawn as polylines, which are extended as each location is added,
+ * along with a starting point marker and a current point marker, instead of one marker per
+ * location
+ *
  * Note: The calling activity must implement IFragmentReadyListener interface
  *
  * Use the {@link DuringWorkoutMapFragment#newInstance} factory method to
@@ -40,9 +51,34 @@ public class DuringWorkoutMapFragment extends Fragment
     private MapView mapView;
     private GoogleMap googleMap;
 
-    private Marker previousMarker;
+    /**
+     * The maximum number of points of a polyline, after which the route is continued in a
+     * new polyline, so that extending the route does not get slower as the workout goes on
+     * (a polyline can only be extended by setting all of its points again)
+     * */
+    private static final int MAXIMUM_NUMBER_OF_POINTS_PER_POLYLINE = 100;
+
+    /**
+     * The minimum time between two camera updates that follow the current location, unless
+     * the current location is outside of the area visible on the map
+     * */
+    private static final long MINIMUM_CAMERA_UPDATE_INTERVAL_IN_MILLISECONDS = 10000;
+
+    private static final float ROUTE_POLYLINE_WIDTH = 12;
+
+    private Marker currentMarker;
     private Marker firstMarker;
 
+    //created once the google map has been loaded, and then reused for every marker
+    private BitmapDescriptor startingPointMapMarkerIcon;
+    private BitmapDescriptor currentPointMapMarkerIcon;
+
+    private Polyline routePolyline;
+    private final List<LatLng> routePolylinePoints = new ArrayList<>();
+    private boolean isRoutePaused = false;
+
+    private long lastCameraUpdateTimeInMilliseconds = 0;
+
     public DuringWorkoutMapFragment()
     {
         // Required empty public constructor
@@ -140,6 +176,9 @@ public class DuringWorkoutMapFragment extends Fragment
         this.googleMap = googleMap;
         this.googleMap.setMinZoomPreference(MIN_ZOOM_PREFERENCE);
 
+        this.startingPointMapMarkerIcon = getMapMarkerIcon("STARTING_POINT");
+        this.currentPointMapMarkerIcon = getMapMarkerIcon("CURRENT_POINT");
+
         this.fragmentReadyListener.onFragmentReady(DuringWorkoutMapFragment.this);
 
     }
@@ -232,14 +271,20 @@ public class DuringWorkoutMapFragment extends Fragment
 
 
     /**
-     * Adds a map marker to the google map canvas.
+     * Adds a location to the route drawn on the google map canvas.
      *
-     * (a) If this is the very first marker that is added, it adds the "Starting Point"
+     * (a) If this is the very first location that is added, it adds the "Starting Point"
      * marker to the map
      *
-     * (b) If this is the non-first marker that is added, it adds the "Current"/ "You are here"
-     * marker to the map. At the same time, it changes the previous non-first marker to
-     * the default violet map marker
+     * (b) If this is the non-first location that is added, it adds the "Current"/
+     * "You are here" marker to the map, or moves it if it has already been added
+     *
+     * (c) The location is added to the end of the route polyline, or starts a new polyline
+     * if the workout session was paused since the previous location
+     *
+     * The camera is moved to the location if it is the first location, if the location is
+     * outside of the area visible on the map, or if the camera has not been moved for
+     * MINIMUM_CAMERA_UPDATE_INTERVAL_IN_MILLISECONDS
      *
      * Ensure that this method is only called after the OnFragmentReady(Fragment)
      * event listener is fired
@@ -248,11 +293,10 @@ public class DuringWorkoutMapFragment extends Fragment
      * @param gpsLocation the location to be plotted to the map
      *
      * @see IFragmentReadyListener#onFragmentReady(Fragment)
+     * @see #addPause()
      * */
     public void addMapMarker(IGPSLocation gpsLocation)
     {
-        final float ZOOM_LEVEL = 18;
-
         LatLng latLng = convertGPSLocationToLatLng(gpsLocation);
 
 
@@ -262,11 +306,24 @@ public class DuringWorkoutMapFragment extends Fragment
         }
         else
         {
-            this.changePreviousMapMarkerToDefaultMapMarker();
-            this.addCurrentPointMapMarker(latLng);
+            this.addOrMoveCurrentPointMapMarker(latLng);
         }
 
-        this.googleMap.moveCamera(CameraUpdateFactory.newLatLngZoom(latLng,ZOOM_LEVEL));
+        this.addPointToRoutePolyline(latLng);
+
+        this.followCurrentLocation(latLng);
+    }
+
+
+    /**
+     * Pauses the route drawn, so that the location added before the pause is not joined to
+     * the location added after it
+     *
+     * Can be called before the OnFragmentReady(Fragment) event listener is fired
+     * */
+    public void addPause()
+    {
+        this.isRoutePaused = true;
     }
 
 
@@ -284,7 +341,7 @@ public class DuringWorkoutMapFragment extends Fragment
 
         markerOptions.position(latLng);
 
-        markerOptions.icon(getMapMarkerIcon("STARTING_POINT"));
+        markerOptions.icon(this.startingPointMapMarkerIcon);
 
         this.firstMarker = this.googleMap.addMarker(markerOptions);
     }
@@ -292,36 +349,107 @@ public class DuringWorkoutMapFragment extends Fragment
 
 
     /**
-     * Add a marker representing the current user position to the map
+     * Add a marker representing the current user position to the map, or move it to the
+     * position if it has already been added
      *
-     * Also, this method sets the value of the this.previousMarker instance
+     * Also, this method sets the value of the this.currentMarker instance
      * variable to the added marker
      *
      * @param latLng the position to add/plot the marker
      * */
-    private void addCurrentPointMapMarker(LatLng latLng)
+    private void addOrMoveCurrentPointMapMarker(LatLng latLng)
     {
+        if (this.currentMarker != null)
+        {
+            this.currentMarker.setPosition(latLng);
+            return;
+        }
+
         MarkerOptions markerOptions = new MarkerOptions();
 
         markerOptions.position(latLng);
 
-        markerOptions.icon(getMapMarkerIcon("CURRENT_POINT"));
+        markerOptions.icon(this.currentPointMapMarkerIcon);
+
+        this.currentMarker = this.googleMap.addMarker(markerOptions);
+    }
+
+
+
+    /**
+     * Add a point to the end of the route polyline
+     *
+     * A new polyline is started if there is no polyline yet, if the route was paused, or
+     * if the polyline has MAXIMUM_NUMBER_OF_POINTS_PER_POLYLINE points. In the last case,
+     * the new polyline starts at the last point of the previous one, so that the route
+     * stays joined
+     *
+     * @param latLng the point to add to the route
+     * */
+    private void addPointToRoutePolyline(LatLng latLng)
+    {
+        boolean isRoutePolylineFull =
+                this.routePolylinePoints.size() >= MAXIMUM_NUMBER_OF_POINTS_PER_POLYLINE;
+
+        if (this.routePolyline == null || this.isRoutePaused || isRoutePolylineFull)
+        {
+            LatLng previousLatLng = isRoutePolylineFull && !this.isRoutePaused ?
+                    this.routePolylinePoints.get(this.routePolylinePoints.size() - 1) : null;
+
+            this.routePolylinePoints.clear();
+
+            if (previousLatLng != null)
+            {
+                this.routePolylinePoints.add(previousLatLng);
+            }
+
+            PolylineOptions polylineOptions = new PolylineOptions();
+
+            polylineOptions.width(ROUTE_POLYLINE_WIDTH);
+            polylineOptions.color(ContextCompat.getColor(requireContext(), R.color.purple_500));
+
+            this.routePolyline = this.googleMap.addPolyline(polylineOptions);
+            this.isRoutePaused = false;
+        }
 
-        this.previousMarker = this.googleMap.addMarker(markerOptions);
+        this.routePolylinePoints.add(latLng);
+        this.routePolyline.setPoints(this.routePolylinePoints);
     }
 
 
 
     /**
-     * Changes the previous marker from a "CURRENT_POINT" map marker to
-     * the default map marker
+     * Move the camera to the current location, at most once every
+     * MINIMUM_CAMERA_UPDATE_INTERVAL_IN_MILLISECONDS, unless it is the first location or
+     * the current location is outside of the area visible on the map
+     *
+     * The zoom level is only set on the first camera update, so that the user can zoom in
+     * or out during the workout
+     *
+     * @param latLng the current location
      * */
-    private void changePreviousMapMarkerToDefaultMapMarker()
+    private void followCurrentLocation(LatLng latLng)
     {
-        if (this.previousMarker != null)
+        final float ZOOM_LEVEL = 18;
+
+        long currentTimeInMilliseconds = SystemClock.elapsedRealtime();
+
+        if (this.lastCameraUpdateTimeInMilliseconds == 0)
+        {
+            this.googleMap.moveCamera(CameraUpdateFactory.newLatLngZoom(latLng, ZOOM_LEVEL));
+        }
+        else if (currentTimeInMilliseconds - this.lastCameraUpdateTimeInMilliseconds >=
+                        MINIMUM_CAMERA_UPDATE_INTERVAL_IN_MILLISECONDS ||
+                !this.googleMap.getProjection().getVisibleRegion().latLngBounds.contains(latLng))
         {
-            this.previousMarker.setIcon(getMapMarkerIcon("DEFAULT"));
+            this.googleMap.moveCamera(CameraUpdateFactory.newLatLng(latLng));
         }
+        else
+        {
+            return;
+        }
+
+        this.lastCameraUpdateTimeInMilliseconds = currentTimeInMilliseconds;
     }
 
 
@@ -329,11 +457,15 @@ public class DuringWorkoutMapFragment extends Fragment
     /**
      * Returns a Map Marker icon based on the argument
      *
+     * Note: Only call this method once the google map has been loaded. The icons are
+     * cached by the caller instead of being created for every marker
+     *
      * @param mapMarkerType a string describing the type of map marker.
-     *                      There are three acceptable values:
+     *                      There are two acceptable values:
      *                      (a) "STARTING_POINT" - the starting point icon
      *                      (b) "CURRENT_POINT" - the current point (You are here) icon
-     *                      (c) "DEFAULT" - the default violet icon
+     *
+     * @throws IllegalArgumentException if the argument is not an acceptable value
      * */
     private static BitmapDescriptor getMapMarkerIcon(String mapMarkerType)
     {
@@ -350,10 +482,8 @@ public class DuringWorkoutMapFragment extends Fragment
                 mapMarkerIcon = BitmapDescriptorFactory.fromResource(R.drawable.you_are_here_icon);
                 break;
 
-            case "DEFAULT":
             default:
-                mapMarkerIcon = BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_VIOLET);
-                break;
+                throw new IllegalArgumentException("Unknown map marker type: " + mapMarkerType);
         }
 
 
@@ -1,8 +1,10 @@
 package com.murdoch.fitnessapp.controllers.fragments;
 
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.os.Bundle;
+import android.util.DisplayMetrics;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,6 +13,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 
 import com.google.android.gms.maps.CameraUpdate;
@@ -19,17 +22,29 @@ import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
 import com.murdoch.fitnessapp.R;
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.databases.registries.WorkoutSessionRegistry;
+import com.murdoch.fitnessapp.databases.repositories.ImageRepository;
+import com.murdoch.fitnessapp.databases.repositories.RepositoryTask;
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackLevelsOfDetail;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
-import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -38,6 +53,10 @@ import java.util.List;
  *
  * The user can go to next/previous slides by clicking on the left/right buttons
  *
+ * The images are decoded on a background thread, sub-sampled to the size of the image view,
+ * and only for the current slide and its neighbouring slides (prefetched), so that the
+ * images of a workout session are never all held in memory at once
+ *
  * Note: This fragment assumes that it has READ_EXTERNAL_STORAGE permission. The
  *        calling activity should check and request for this permission
  *        before using this fragment, if the workout session has images involved.
@@ -51,6 +70,22 @@ import java.util.List;
 
 public class MapAndImageSlideshowFragment extends Fragment
 {
+    private static final String WORKOUT_SESSION_HANDLE_BUNDLE_KEY = "workoutSessionHandle";
+
+    private static final float ROUTE_POLYLINE_WIDTH = 12;
+
+    /**
+     * The length of the equator in meters divided by the width of the map in pixels at zoom
+     * level 0, i.e. the size of a (density-independent) pixel at the equator at zoom level 0
+     * */
+    private static final double METERS_PER_PIXEL_AT_ZOOM_LEVEL_ZERO = 156543.03392;
+
+    /**
+     * The number of images on either side of the current slide that are decoded in advance,
+     * so that they can be displayed immediately when the user moves to them
+     * */
+    private static final int NUMBER_OF_PREFETCHED_IMAGES_ON_EACH_SIDE = 1;
+
     private WorkoutSession workoutSession;
 
     private int currentSlideIndex = 0;
@@ -66,7 +101,26 @@ public class MapAndImageSlideshowFragment extends Fragment
     private ImageView imageView;
 
     private GoogleMap googleMap;
-    private List<Bitmap> listOfBitmaps;
+    private List<String> listOfImagePaths;
+
+    private ImageRepository imageRepository;
+
+    //read by the image repository for the renditions recorded for each image
+    private WorkoutSessionDatabaseHelper databaseHelper;
+
+    //the size that the images are decoded at, which is 0 until the image view is laid out
+    private int requiredImageWidth = 0;
+    private int requiredImageHeight = 0;
+
+    //the tasks of the images being decoded, by the index of the image
+    private final Map<Integer, RepositoryTask<Bitmap>> imageLoadingTasks = new HashMap<>();
+
+    //the level of detail of the route drawn, and the polylines drawing it (one per segment),
+    //along with the dots drawing the segments of a single GPSLocation
+    private GPSTrack drawnGPSTrack;
+    private final List<Polyline> listOfRoutePolylines = new ArrayList<>();
+    private final List<Marker> listOfRouteDotMarkers = new ArrayList<>();
+    private BitmapDescriptor routeDotIcon;
 
 
     public MapAndImageSlideshowFragment() {
@@ -85,25 +139,27 @@ public class MapAndImageSlideshowFragment extends Fragment
      *          If no images are taken during the workout session, then
      *          READ_EXTERNAL_STORAGE permission is not required.
      *
-     * @param workoutSession the workout session containing all the details regarding the
-     *                       completed workout session
+     * @param workoutSessionHandle the handle of the workout session containing all the
+     *                             details regarding the completed workout session, as
+     *                             registered in the WorkoutSessionRegistry by the calling
+     *                             activity
      *
      * @return A new instance of fragment MapAndImageSlideshowFragment.
+     *
+     * @see WorkoutSessionRegistry#register(WorkoutSession)
      */
-    public static MapAndImageSlideshowFragment newInstance(WorkoutSession workoutSession)
+    public static MapAndImageSlideshowFragment newInstance(String workoutSessionHandle)
     {
-        if (workoutSession == null)
+        if (workoutSessionHandle == null)
         {
-            throw new NullPointerException("WorkoutSession cannot be null");
+            throw new NullPointerException("WorkoutSession handle cannot be null");
         }
 
-        final String WORKOUT_SESSION_BUNDLE_KEY = "workoutSession";
-
 
         MapAndImageSlideshowFragment fragment = new MapAndImageSlideshowFragment();
         Bundle args = new Bundle();
 
-        args.putParcelable(WORKOUT_SESSION_BUNDLE_KEY, workoutSession);
+        args.putString(WORKOUT_SESSION_HANDLE_BUNDLE_KEY, workoutSessionHandle);
         fragment.setArguments(args);
 
         return fragment;
@@ -123,20 +179,33 @@ public class MapAndImageSlideshowFragment extends Fragment
 
 
     /**
-     * Initialize the instance variable this.workoutSession from the
+     * Initialize the instance variable this.workoutSession by resolving the handle in the
      * arguments of this fragment
+     *
+     * Note: The calling activity owns the handle, and persists it whenever its state is
+     * saved, so the handle can still be resolved when the fragment is restored
      * */
     private void initializeWorkoutSessionFromArguments()
     {
-        final String WORKOUT_SESSION_BUNDLE_KEY = "workoutSession";
+        String workoutSessionHandle =
+                        getArguments().getString(WORKOUT_SESSION_HANDLE_BUNDLE_KEY);
 
-        this.workoutSession = getArguments().getParcelable(WORKOUT_SESSION_BUNDLE_KEY);
+        this.workoutSession = new WorkoutSessionRegistry(requireContext())
+                                                    .resolve(workoutSessionHandle);
     }
 
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
+        if (this.workoutSession == null)
+        {
+            //the workout session no longer exists, therefore there is nothing to display.
+            //No map view is created either, so the lifecycle methods below only forward
+            //to the map view when it exists
+            return null;
+        }
+
         // Inflate the layout for this fragment
         return inflater.inflate(R.layout.fragment_map_and_image_slideshow, container, false);
     }
@@ -149,7 +218,7 @@ public class MapAndImageSlideshowFragment extends Fragment
     {
         super.onViewCreated(view, savedInstanceState);
 
-        initializeListOfBitmaps();
+        initializeListOfImagePaths();
         initializeNumberOfImages_IsMapShown_TotalNumberOfSlides();
         initializeAllViews(savedInstanceState);
 
@@ -157,24 +226,27 @@ public class MapAndImageSlideshowFragment extends Fragment
 
 
     /**
-     * Initialize the list of bitmaps (images files) from the list of images taken during the workout
-     * (converting image paths to bitmaps)
+     * Initialize the list of image paths from the list of images taken during the workout,
+     * leaving out the images whose files no longer exist
+     *
+     * Note: The images are not decoded here. They are decoded on a background thread when
+     * their slide (or a neighbouring slide) is displayed
      *
-     * Output: the this.listOfBitMaps will contain the list of bitmaps
+     * Output: the this.listOfImagePaths will contain the list of image paths
      * */
-    private void initializeListOfBitmaps()
+    private void initializeListOfImagePaths()
     {
-        this.listOfBitmaps = new ArrayList<>();
+        this.listOfImagePaths = new ArrayList<>();
+        this.imageRepository = new ImageRepository();
+        this.databaseHelper = new WorkoutSessionDatabaseHelper(
+                                            requireContext().getApplicationContext());
 
         for(String imagePath: this.workoutSession.getListOfImagesTaken())
         {
-
-            Bitmap bitmap = BitmapFactory.decodeFile(new File(imagePath).getAbsolutePath());
-
-            if (bitmap != null)
+            if (new File(imagePath).isFile())
             {
                 //if image is present
-                this.listOfBitmaps.add(bitmap);
+                this.listOfImagePaths.add(imagePath);
             }
 
         }
@@ -186,7 +258,7 @@ public class MapAndImageSlideshowFragment extends Fragment
      *  (a) this.numberOfImages --> number of images to be displayed
      *
      *  (b) this.isMapShownInSlideshow --> whether the map will be shown in slideshow or not
-     *      (if there are no GPSLocations [coordinates] in the list of gpslocations,
+     *      (if there are no GPSLocations [coordinates] in the GPSTrack,
      *      then it will be the only reason that map will not be shown, otherwise map
      *      is always shown)
      *
@@ -194,15 +266,16 @@ public class MapAndImageSlideshowFragment extends Fragment
      *          the sum of this.numberOfImages + 1 if map is shown, or
      *          equals to this.numberOfImages if map is not shown
      *
-     * Note: This method must be called after initializeListOfBitMaps
+     * Note: This method must be called after initializeListOfImagePaths
      * */
     private void initializeNumberOfImages_IsMapShown_TotalNumberOfSlides()
     {
-        int numberOfNonNullMapCoordinates = getNumberOfNonNullGPSLocations();
+        int numberOfNonNullMapCoordinates =
+                        this.workoutSession.getGPSTrack().getNumberOfGPSLocations();
 
         this.isMapShownInSlideshow = (numberOfNonNullMapCoordinates != 0);
 
-        this.numberOfImages = this.listOfBitmaps.size();
+        this.numberOfImages = this.listOfImagePaths.size();
 
         if (this.isMapShownInSlideshow)
         {
@@ -216,29 +289,6 @@ public class MapAndImageSlideshowFragment extends Fragment
 
 
 
-    /**
-     * Count and return the number of non-null gps locations in workout session
-     *
-     * Note: GPSLocations may contain null-references to indicate a pause/break
-     * during the workout session, so as to not take distance calculation
-     * into consideration during the pause
-     * */
-    private int getNumberOfNonNullGPSLocations()
-    {
-        int numberOfNonNullMapMarkers = 0;
-
-        for (IGPSLocation gpsLocation: this.workoutSession.getListOfGPSLocations())
-        {
-            if (gpsLocation != null)
-            {
-                numberOfNonNullMapMarkers++;
-            }
-        }
-
-        return numberOfNonNullMapMarkers;
-    }
-
-
     /**
      * Initialize all the various views within the fragment
      *
@@ -350,15 +400,15 @@ public class MapAndImageSlideshowFragment extends Fragment
         {
             this.mapView.setVisibility(View.GONE);
             this.imageView.setVisibility(View.VISIBLE);
-            this.imageView.setImageBitmap(this.listOfBitmaps.get(this.currentSlideIndex));
         }
         else if (this.currentSlideIndex > 0 && this.isMapShownInSlideshow && this.numberOfImages >= 1)
         {
             this.mapView.setVisibility(View.GONE);
             this.imageView.setVisibility(View.VISIBLE);
-            this.imageView.setImageBitmap(this.listOfBitmaps.get(this.currentSlideIndex - 1));
         }
 
+        displayImageOfCurrentSlide();
+
     }
 
 
@@ -437,9 +487,189 @@ public class MapAndImageSlideshowFragment extends Fragment
         }
         else
         {
-            this.imageView.setImageBitmap(this.listOfBitmaps.get(0));
+            //the size of the image view is only known once it has been laid out
+            this.imageView.post(() -> {
+
+                if (getView() == null)
+                {
+                    //the view has been destroyed before being laid out
+                    return;
+                }
+
+                initializeRequiredImageSize();
+                displayImageOfCurrentSlide();
+            });
+        }
+
+    }
+
+
+    /**
+     * Initialize the size that the images are decoded at to the size of the image view, or
+     * to the size of the screen if the image view has no size (e.g. it is hidden by the map)
+     * */
+    private void initializeRequiredImageSize()
+    {
+        DisplayMetrics displayMetrics = getResources().getDisplayMetrics();
+
+        this.requiredImageWidth = this.imageView.getWidth() > 0 ?
+                                  this.imageView.getWidth() : displayMetrics.widthPixels;
+        this.requiredImageHeight = this.imageView.getHeight() > 0 ?
+                                   this.imageView.getHeight() : displayMetrics.heightPixels;
+    }
+
+
+    /**
+     * Returns the index of the image of the current slide, which is -1 if the current slide
+     * is the map
+     * */
+    private int getCurrentImageIndex()
+    {
+        return this.isMapShownInSlideshow ? this.currentSlideIndex - 1 : this.currentSlideIndex;
+    }
+
+
+    /**
+     * Display the image of the current slide, if it is an image slide, and prefetch the
+     * images of the neighbouring slides
+     *
+     * The image is displayed immediately if it is in the memory cache, and otherwise once it
+     * has been decoded. The decoding of any image that is no longer the current image or a
+     * neighbour is cancelled, e.g. when the user skips ahead through several slides
+     * */
+    private void displayImageOfCurrentSlide()
+    {
+        if (this.requiredImageWidth == 0)
+        {
+            //the image view has not been laid out yet
+            return;
+        }
+
+        int currentImageIndex = getCurrentImageIndex();
+
+        cancelImageLoadingTasksOutsideOf(
+                currentImageIndex - NUMBER_OF_PREFETCHED_IMAGES_ON_EACH_SIDE,
+                currentImageIndex + NUMBER_OF_PREFETCHED_IMAGES_ON_EACH_SIDE);
+
+        if (currentImageIndex >= 0)
+        {
+            Bitmap cachedBitmap = this.imageRepository.getCachedBitmap(
+                                        this.listOfImagePaths.get(currentImageIndex),
+                                        this.requiredImageWidth, this.requiredImageHeight);
+
+            //cleared instead of showing the previous image while the image is decoded
+            this.imageView.setImageBitmap(cachedBitmap);
+
+            if (cachedBitmap == null)
+            {
+                loadImage(currentImageIndex);
+            }
+        }
+
+        for (int offset = 1; offset <= NUMBER_OF_PREFETCHED_IMAGES_ON_EACH_SIDE; offset++)
+        {
+            prefetchImage(currentImageIndex + offset);
+            prefetchImage(currentImageIndex - offset);
+        }
+    }
+
+
+    /**
+     * Decode the image in advance, unless it does not exist, is in the memory cache, or is
+     * already being decoded
+     *
+     * @param imageIndex the index of the image, which may be out of range
+     * */
+    private void prefetchImage(int imageIndex)
+    {
+        if (imageIndex < 0 || imageIndex >= this.numberOfImages)
+        {
+            return;
+        }
+
+        Bitmap cachedBitmap = this.imageRepository.getCachedBitmap(
+                                        this.listOfImagePaths.get(imageIndex),
+                                        this.requiredImageWidth, this.requiredImageHeight);
+
+        if (cachedBitmap == null)
+        {
+            loadImage(imageIndex);
+        }
+    }
+
+
+    /**
+     * Decode the image on a background thread, unless it is already being decoded, and
+     * display it once decoded if it is still the image of the current slide
+     *
+     * If the image cannot be decoded, its slide is left blank
+     *
+     * @param imageIndex the index of the image
+     * */
+    private void loadImage(int imageIndex)
+    {
+        if (this.imageLoadingTasks.containsKey(imageIndex))
+        {
+            return;
+        }
+
+        RepositoryTask<Bitmap> imageLoadingTask = this.imageRepository.loadBitmapAsync(
+                getViewLifecycleOwner(), this.databaseHelper,
+                this.listOfImagePaths.get(imageIndex),
+                this.requiredImageWidth, this.requiredImageHeight,
+                new IRepositoryResultListener<Bitmap>()
+                {
+                    @Override
+                    public void onSuccess(Bitmap bitmap)
+                    {
+                        MapAndImageSlideshowFragment.this.imageLoadingTasks.remove(imageIndex);
+
+                        if (imageIndex == getCurrentImageIndex())
+                        {
+                            MapAndImageSlideshowFragment.this.imageView.setImageBitmap(bitmap);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception)
+                    {
+                        MapAndImageSlideshowFragment.this.imageLoadingTasks.remove(imageIndex);
+                    }
+                });
+
+        if (!imageLoadingTask.isCancelled())
+        {
+            this.imageLoadingTasks.put(imageIndex, imageLoadingTask);
         }
+    }
 
+
+    /**
+     * Cancel the decoding of every image whose index is outside of the range given
+     *
+     * Note: An image whose decoding has already started is still decoded and kept in the
+     * memory cache, but is not displayed
+     *
+     * @param firstImageIndexInclusive the first index of the images to keep decoding
+     * @param lastImageIndexInclusive the last index of the images to keep decoding
+     * */
+    private void cancelImageLoadingTasksOutsideOf(int firstImageIndexInclusive,
+                                                  int lastImageIndexInclusive)
+    {
+        Iterator<Map.Entry<Integer, RepositoryTask<Bitmap>>> iterator =
+                                                this.imageLoadingTasks.entrySet().iterator();
+
+        while (iterator.hasNext())
+        {
+            Map.Entry<Integer, RepositoryTask<Bitmap>> imageLoadingTask = iterator.next();
+
+            if (imageLoadingTask.getKey() < firstImageIndexInclusive ||
+                    imageLoadingTask.getKey() > lastImageIndexInclusive)
+            {
+                imageLoadingTask.getValue().cancel();
+                iterator.remove();
+            }
+        }
     }
 
 
@@ -470,108 +700,190 @@ public class MapAndImageSlideshowFragment extends Fragment
             MapAndImageSlideshowFragment.this.googleMap = googleMap;
 
             googleMap.setOnMapLoadedCallback(
-                    MapAndImageSlideshowFragment.this::plotAllMarkersOnMap);
+                    MapAndImageSlideshowFragment.this::plotRouteOnMap);
 
         });
     }
 
 
     /**
-     * Plots all the markers on the map, with all markers visible within the mapView
+     * Plots the route on the map, with the whole route visible within the mapView
+     *
+     * The route is drawn with a starting point and a finishing point marker, and as one
+     * polyline per segment (the GPSLocations between two pauses), simplified to the level of
+     * detail that fits the zoom level of the map
+     *
+     * @see #drawRouteForCurrentZoomLevel()
      * */
-    private void plotAllMarkersOnMap()
+    private void plotRouteOnMap()
     {
-        List <LatLng> listOfLatLng = convertListOfGPSLocationsToListOfLatLng();
+        GPSTrack gpsTrack = this.workoutSession.getGPSTrack();
 
-        if (listOfLatLng.isEmpty())
+        if (gpsTrack.getNumberOfGPSLocations() == 0)
         {
             return;
         }
 
-        List<MarkerOptions> listOfMarkerOptions = convertListOfLatLngToListOfMarkerOptions(listOfLatLng);
+        plotStartingAndFinishingPointMarkers(gpsTrack);
 
-        List<Marker> listOfPlottedMarkers = plotMarkersOnMapAndGetListOfMarkers(listOfMarkerOptions);
+        adjustMapZoomWithWholeRouteVisibleToUser(getLatLngBoundsOfGPSTrack(gpsTrack));
 
-        LatLngBounds latLngBounds = getLatLngBoundsOfPlottedMarkers(listOfPlottedMarkers);
+        drawRouteForCurrentZoomLevel();
 
-        adjustMapZoomWithAllMarkersVisibleToUser(latLngBounds);
+        this.googleMap.setOnCameraIdleListener(
+                MapAndImageSlideshowFragment.this::drawRouteForCurrentZoomLevel);
     }
 
 
     /**
-     * Convert a list of GPSLocations to list of LatLng (Google Play's API representation
-     * of location information)
+     * Plot the starting point marker at the first GPSLocation of the route, and the
+     * finishing point marker at the last GPSLocation of the route
      *
-     * Filters the list to remove any null references in the list of GPSLocations
+     * @param gpsTrack the route, which has at least one GPSLocation
      * */
-    private List<LatLng> convertListOfGPSLocationsToListOfLatLng()
+    private void plotStartingAndFinishingPointMarkers(GPSTrack gpsTrack)
     {
-        List<IGPSLocation> listOfGPSLocations = this.workoutSession.getListOfGPSLocations();
+        int lastGPSLocationIndex = gpsTrack.getNumberOfGPSLocations() - 1;
 
-        ArrayList <LatLng> listOfLatLng = new ArrayList<>();
+        this.googleMap.addMarker(getMarkerOptions(
+                new LatLng(gpsTrack.getLatitude(0), gpsTrack.getLongitude(0)),
+                "STARTING_POINT"));
 
-        for (IGPSLocation gpsLocation: listOfGPSLocations)
+        if (lastGPSLocationIndex > 0)
         {
-            if (gpsLocation != null) {
-
-                LatLng latLng = convertGPSLocationToLatLng(gpsLocation);
-
-                listOfLatLng.add(latLng);
-            }
+            this.googleMap.addMarker(getMarkerOptions(
+                    new LatLng(gpsTrack.getLatitude(lastGPSLocationIndex),
+                               gpsTrack.getLongitude(lastGPSLocationIndex)),
+                    "FINISHING_POINT"));
         }
-
-        return listOfLatLng;
     }
 
 
     /**
-     * Converts GPSLocation to Google Maps's LatLng
+     * Draw the route simplified to the coarsest level of detail whose tolerance is at most
+     * the size of a pixel at the current zoom level, so that the route looks the same as if
+     * every GPSLocation was drawn
+     *
+     * The route is only drawn again if the level of detail has changed since it was last
+     * drawn, e.g. after zooming in or out
      *
-     * @param gpsLocation geo-location data
+     * A segment of a single GPSLocation, e.g. a single GPS fix between two pauses, has no
+     * line to draw, and is drawn as a dot as wide as the polylines instead
      *
-     * @return a corresponding LatLng instance also containing geo-location data
+     * @see GPSTrackLevelsOfDetail#getGPSTrackForTolerance(double)
      * */
-    private static LatLng convertGPSLocationToLatLng(IGPSLocation gpsLocation)
+    private void drawRouteForCurrentZoomLevel()
     {
-        return new LatLng(gpsLocation.getLatitude(), gpsLocation.getLongitude());
-    }
+        double metersPerPixel = calculateMetersPerPixel(this.googleMap.getCameraPosition());
 
+        GPSTrack gpsTrack = this.workoutSession.getGPSTrackLevelsOfDetail()
+                                               .getGPSTrackForTolerance(metersPerPixel);
 
+        if (gpsTrack == this.drawnGPSTrack)
+        {
+            return;
+        }
 
-    /**
-     * Converts a list of latLng to marker options. MarkerOptions contains information for
-     * plotting markers on the map
-     *
-     * @param listOfLatLng list of positions to be plotted onto the map
-     * */
-    private List<MarkerOptions> convertListOfLatLngToListOfMarkerOptions(List<LatLng> listOfLatLng)
-    {
-        List<MarkerOptions> listOfMarkerOptions = new ArrayList<>();
+        for (Polyline routePolyline : this.listOfRoutePolylines)
+        {
+            routePolyline.remove();
+        }
 
+        this.listOfRoutePolylines.clear();
 
-        for(int index=0; index < listOfLatLng.size(); index++)
+        for (Marker routeDotMarker : this.listOfRouteDotMarkers)
         {
-            LatLng currentLatLng = listOfLatLng.get(index);
+            routeDotMarker.remove();
+        }
 
-            MarkerOptions markerOptions;
+        this.listOfRouteDotMarkers.clear();
 
-            if (index == 0) {
 
-                markerOptions = getMarkerOptions(currentLatLng, "STARTING_POINT");
+        int routeColor = ContextCompat.getColor(requireContext(), R.color.purple_500);
+        int segmentStartIndex = 0;
 
-            } else if (index == listOfLatLng.size() - 1) {
+        for (int pauseIndex = 0; pauseIndex <= gpsTrack.getNumberOfPauses(); pauseIndex++)
+        {
+            int segmentEndIndex = pauseIndex < gpsTrack.getNumberOfPauses() ?
+                        gpsTrack.getSegmentStartIndex(pauseIndex) :
+                        gpsTrack.getNumberOfGPSLocations();
 
-                markerOptions = getMarkerOptions(currentLatLng, "FINISHING_POINT");
+            if (segmentEndIndex - segmentStartIndex == 1)
+            {
+                this.listOfRouteDotMarkers.add(this.googleMap.addMarker(
+                        getRouteDotMarkerOptions(
+                                new LatLng(gpsTrack.getLatitude(segmentStartIndex),
+                                           gpsTrack.getLongitude(segmentStartIndex)),
+                                routeColor)));
             }
-            else {
-                markerOptions = getMarkerOptions(currentLatLng, "DEFAULT");
+            else if (segmentEndIndex - segmentStartIndex >= 2)
+            {
+                PolylineOptions polylineOptions = new PolylineOptions();
+
+                polylineOptions.width(ROUTE_POLYLINE_WIDTH);
+                polylineOptions.color(routeColor);
+
+                for (int index = segmentStartIndex; index < segmentEndIndex; index++)
+                {
+                    polylineOptions.add(new LatLng(gpsTrack.getLatitude(index),
+                                                   gpsTrack.getLongitude(index)));
+                }
+
+                this.listOfRoutePolylines.add(this.googleMap.addPolyline(polylineOptions));
             }
 
-            listOfMarkerOptions.add(markerOptions);
+            segmentStartIndex = segmentEndIndex;
+        }
+
+        this.drawnGPSTrack = gpsTrack;
+    }
+
+
+    /**
+     * Returns a MarkerOptions drawing a dot of the route color at the position given, centered
+     * on the position and as wide as the polylines of the route
+     *
+     * @param latLng the position of the dot
+     * @param routeColor the color of the route
+     * */
+    private MarkerOptions getRouteDotMarkerOptions(LatLng latLng, int routeColor)
+    {
+        if (this.routeDotIcon == null)
+        {
+            int diameter = Math.round(ROUTE_POLYLINE_WIDTH);
+
+            Bitmap dotBitmap = Bitmap.createBitmap(diameter, diameter, Bitmap.Config.ARGB_8888);
+
+            Paint dotPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            dotPaint.setColor(routeColor);
+
+            new Canvas(dotBitmap).drawCircle(diameter / 2f, diameter / 2f, diameter / 2f,
+                                             dotPaint);
+
+            this.routeDotIcon = BitmapDescriptorFactory.fromBitmap(dotBitmap);
         }
 
+        final float CENTER_ANCHOR = 0.5f;
 
-        return listOfMarkerOptions;
+        return new MarkerOptions().position(latLng)
+                                  .icon(this.routeDotIcon)
+                                  .anchor(CENTER_ANCHOR, CENTER_ANCHOR);
+    }
+
+
+    /**
+     * Calculate the size of a pixel of the screen in meters, at the center of the camera
+     * position given
+     *
+     * @param cameraPosition the camera position of the map
+     * */
+    private double calculateMetersPerPixel(CameraPosition cameraPosition)
+    {
+        double metersPerDensityIndependentPixel = METERS_PER_PIXEL_AT_ZOOM_LEVEL_ZERO *
+                Math.cos(Math.toRadians(cameraPosition.target.latitude)) /
+                Math.pow(2, cameraPosition.zoom);
+
+        return metersPerDensityIndependentPixel / getResources().getDisplayMetrics().density;
     }
 
 
@@ -581,10 +893,11 @@ public class MapAndImageSlideshowFragment extends Fragment
      * @param latLng the position of the marker
      *
      * @param mapMarkerIconType a string describing the type of map marker icon.
-     *                      There are three acceptable values:
+     *                      There are two acceptable values:
      *                      (a) "STARTING_POINT" - the starting point icon
      *                      (b) "FINISHING_POINT" - the finishing point
-     *                      (c) "DEFAULT" - the default red icon
+     *
+     * @throws IllegalArgumentException if mapMarkerIconType is not an acceptable value
      * */
     private static MarkerOptions getMarkerOptions(LatLng latLng, String mapMarkerIconType)
     {
@@ -604,10 +917,9 @@ public class MapAndImageSlideshowFragment extends Fragment
                         R.drawable.small_finishing_point_icon);
                 break;
 
-            case "DEFAULT":
             default:
-                mapMarkerIcon = BitmapDescriptorFactory.defaultMarker();
-                break;
+                throw new IllegalArgumentException("Unknown map marker icon type: " +
+                                                   mapMarkerIconType);
         }
 
         return new MarkerOptions().position(latLng).icon(mapMarkerIcon);
@@ -615,58 +927,32 @@ public class MapAndImageSlideshowFragment extends Fragment
 
 
 
-
     /**
-     * Plot the markers on the map and return the list of markers that have been plotted
+     * Get the bounds of the route (to be used later for dynamically determining the zoom
+     * level of the map, so that the whole route is visible within the map)
      *
-     * @param listOfMarkerOptions a list of MarkerOptions (a marker option corresponds to
-     *                            information pf a marker that is going to be plotted)
-     *
-     * @return a list of plotted Markers
-     * */
-    private List<Marker> plotMarkersOnMapAndGetListOfMarkers(List<MarkerOptions> listOfMarkerOptions)
-    {
-        List<Marker> listOfMarkers = new ArrayList<>();
-
-        for (MarkerOptions markerOptions: listOfMarkerOptions)
-        {
-            Marker plottedMarker = this.googleMap.addMarker(markerOptions);
-            listOfMarkers.add(plottedMarker);
-        }
-
-        return listOfMarkers;
-    }
-
-
-
-    /**
-     * Get the bounds of all plotted markers (to be used later for dynamically determining
-     * the zoom level of the map, so that all markers are encompassed visible within the map)
+     * Note: The bounding box is kept by the GPSTrack as the GPSLocations are added, so the
+     * GPSLocations do not need to be gone through again
      *
-     * @param listOfPlottedMarkers list of markers that have been plotted on the map
+     * @param gpsTrack the route, which has at least one GPSLocation
      *
-     * @return boundary information of the markers
+     * @return boundary information of the route
      * */
-    private static LatLngBounds getLatLngBoundsOfPlottedMarkers(List<Marker> listOfPlottedMarkers)
+    private static LatLngBounds getLatLngBoundsOfGPSTrack(GPSTrack gpsTrack)
     {
-        LatLngBounds.Builder builder = new LatLngBounds.Builder();
-
-        for (Marker marker: listOfPlottedMarkers)
-        {
-            builder.include(marker.getPosition());
-        }
-
-        return builder.build();
+        return new LatLngBounds(
+                new LatLng(gpsTrack.getMinimumLatitude(), gpsTrack.getMinimumLongitude()),
+                new LatLng(gpsTrack.getMaximumLatitude(), gpsTrack.getMaximumLongitude()));
     }
 
 
 
     /**
-     * Adjust the map zoom so that all plotted markers on the map are visible to the user
+     * Adjust the map zoom so that the whole route is visible to the user
      *
-     * @param latLngBounds contains the boundary information of the markers
+     * @param latLngBounds contains the boundary information of the route
      * */
-    private void adjustMapZoomWithAllMarkersVisibleToUser(LatLngBounds latLngBounds)
+    private void adjustMapZoomWithWholeRouteVisibleToUser(LatLngBounds latLngBounds)
     {
         final int PADDING = 200;
 
@@ -690,7 +976,10 @@ public class MapAndImageSlideshowFragment extends Fragment
     public void onStart()
     {
         super.onStart();
-        this.mapView.onStart();
+        if (this.mapView != null)
+        {
+            this.mapView.onStart();
+        }
     }
 
 
@@ -702,7 +991,10 @@ public class MapAndImageSlideshowFragment extends Fragment
     public void onResume()
     {
         super.onResume();
-        this.mapView.onResume();
+        if (this.mapView != null)
+        {
+            this.mapView.onResume();
+        }
     }
 
 
@@ -715,7 +1007,10 @@ public class MapAndImageSlideshowFragment extends Fragment
     public void onPause()
     {
         super.onPause();
-        this.mapView.onPause();
+        if (this.mapView != null)
+        {
+            this.mapView.onPause();
+        }
     }
 
 
@@ -728,11 +1023,28 @@ public class MapAndImageSlideshowFragment extends Fragment
     public void onStop()
     {
         super.onStop();
-        this.mapView.onStop();
+        if (this.mapView != null)
+        {
+            this.mapView.onStop();
+        }
     }
 
 
 
+    /**
+     * The decoding of the images is cancelled along with the view, as it is bound to the
+     * lifecycle of the view
+     * */
+    @Override
+    public void onDestroyView()
+    {
+        super.onDestroyView();
+        this.imageLoadingTasks.clear();
+        this.requiredImageWidth = 0;
+        this.requiredImageHeight = 0;
+    }
+
+
     /**
      * Note: As stated by Google Map Android documentation, the fragment/activity
      * must forward the onDestroy() lifecycle method to mapView.onDestroy()
@@ -741,7 +1053,10 @@ public class MapAndImageSlideshowFragment extends Fragment
     public void onDestroy()
     {
         super.onDestroy();
-        this.mapView.onDestroy();
+        if (this.mapView != null)
+        {
+            this.mapView.onDestroy();
+        }
     }
 
 
@@ -753,7 +1068,10 @@ public class MapAndImageSlideshowFragment extends Fragment
     public void onLowMemory()
     {
         super.onLowMemory();
-        this.mapView.onLowMemory();
+        if (this.mapView != null)
+        {
+            this.mapView.onLowMemory();
+        }
     }
 
 
@@ -766,7 +1084,10 @@ public class MapAndImageSlideshowFragment extends Fragment
     {
         super.onSaveInstanceState(outState);
 
-        this.mapView.onSaveInstanceState(outState);
+        if (this.mapView != null)
+        {
+            this.mapView.onSaveInstanceState(outState);
+        }
     }
 
 }
\ No newline at end of file
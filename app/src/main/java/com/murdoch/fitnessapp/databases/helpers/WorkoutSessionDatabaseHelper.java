@@ -3,25 +3,43 @@ package com.murdoch.fitnessapp.databases.helpers;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 
 import com.murdoch.fitnessapp.databases.exceptions.RecordInsertionException;
 import com.murdoch.fitnessapp.databases.exceptions.RecordNotFoundException;
+import com.murdoch.fitnessapp.images.ImageRenditions;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSessionSummary;
 import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackEncoding;
+import com.murdoch.fitnessapp.models.implementations.Split;
 import com.murdoch.fitnessapp.models.implementations.StoredWorkoutSession;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionListItemsPage;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionRecordsPage;
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionSummary;
 import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
 import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItemsPage;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionRecordsPage;
 
+import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -32,7 +50,67 @@ import java.util.List;
 public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
 {
     private static final String DATABASE_NAME = "WORKOUT_DB.db";
-    private static final int VERSION_NUMBER = 3;
+    private static final int VERSION_NUMBER = 10;
+
+    /**
+     * The oldest database version that can be migrated to the current version while keeping
+     * its records. Databases older than this version are dropped and re-created
+     * */
+    private static final int OLDEST_MIGRATABLE_VERSION_NUMBER = 3;
+
+    /**
+     * The database version that introduced the secondary indexes
+     *
+     * @see #createSecondaryIndexes(SQLiteDatabase)
+     * */
+    private static final int SECONDARY_INDEXES_VERSION_NUMBER = 4;
+
+    /**
+     * The database version that introduced the column
+     * WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION
+     *
+     * @see #WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION
+     * */
+    private static final int METRICS_FORMULA_VERSION_COLUMN_VERSION_NUMBER = 5;
+
+    /**
+     * The database version that replaced the table WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME
+     * with the table WORKOUT_SESSION_GPS_TRACK_TABLE_NAME
+     *
+     * @see #migrateWorkoutSessionGPSLocationsToGPSTracks(SQLiteDatabase)
+     * */
+    private static final int GPS_TRACK_VERSION_NUMBER = 6;
+
+    /**
+     * The database version that introduced the table DAILY_WORKOUT_ROLLUP_TABLE_NAME
+     *
+     * @see #rebuildDailyWorkoutRollups(SQLiteDatabase)
+     * */
+    private static final int DAILY_WORKOUT_ROLLUP_VERSION_NUMBER = 7;
+
+    /**
+     * The database version that introduced the columns
+     * WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS and
+     * WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN
+     *
+     * @see #addAndBackfillListItemCountColumns(SQLiteDatabase)
+     * */
+    private static final int LIST_ITEM_COUNT_COLUMNS_VERSION_NUMBER = 8;
+
+    /**
+     * The database version that introduced the table WORKOUT_SESSION_SPLIT_TABLE_NAME
+     *
+     * @see #createWorkoutSessionSplitTable(SQLiteDatabase)
+     * */
+    private static final int WORKOUT_SESSION_SPLIT_VERSION_NUMBER = 9;
+
+    /**
+     * The database version that introduced the columns
+     * WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH and WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH
+     *
+     * @see #addImageRenditionColumns(SQLiteDatabase)
+     * */
+    private static final int IMAGE_RENDITION_COLUMNS_VERSION_NUMBER = 10;
 
     private static final String WORKOUT_SESSION_TABLE_NAME = "WorkoutSession";
     private static final String WORKOUT_SESSION_COLUMN_SESSION_ID = "sessionId";
@@ -42,10 +120,39 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
     private static final String WORKOUT_SESSION_COLUMN_START_DATE_TIME = "startDateTime";
     private static final String WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS = "durationInSeconds";
     private static final String WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED = "caloriesConsumed";
+    /**
+     * The WorkoutSession.METRICS_FORMULA_VERSION used to calculate the values of the columns
+     * WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED and
+     * WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS of the record. Records created
+     * before this column was introduced have the version UNKNOWN_METRICS_FORMULA_VERSION
+     *
+     * @see WorkoutSession#METRICS_FORMULA_VERSION
+     * */
+    private static final String WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION =
+                                                                    "metricsFormulaVersion";
+    private static final int UNKNOWN_METRICS_FORMULA_VERSION = 0;
     private static final String WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS
                                                                             = "distanceTravelled";
+    /**
+     * The number of non-null GPSLocations and the number of images of the workout session,
+     * stored along with the record so that a list of workout sessions can be displayed
+     * without reading the tables WORKOUT_SESSION_GPS_TRACK_TABLE_NAME and
+     * WORKOUT_SESSION_IMAGE_TABLE_NAME
+     *
+     * @see #queryWorkoutSessionListItemsPage(long, int)
+     * */
+    private static final String WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS =
+                                                                    "numberOfGPSLocations";
+    private static final String WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN =
+                                                                    "numberOfImagesTaken";
 
 
+    /**
+     * The table storing one record per GPSLocation, used before GPS_TRACK_VERSION_NUMBER.
+     * It is only read when migrating older databases
+     *
+     * @see #migrateWorkoutSessionGPSLocationsToGPSTracks(SQLiteDatabase)
+     * */
     private static final String WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME
             = "WorkoutSessionGPSLocation";
     private static final String WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID
@@ -57,12 +164,103 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
     private static final String WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE = "longitude";
 
 
+    /**
+     * The table storing the GPSLocations of every workout session as a single track encoded
+     * by GPSTrackEncoding
+     *
+     * The timestamp, accuracy, altitude and speed of every GPSLocation are encoded in the
+     * same track from GPSTrackEncoding.FORMAT_VERSION 2. The tracks of the existing records,
+     * encoded with format version 1, are still decoded (without those details), so they are
+     * left as they are and the table itself did not need to change
+     *
+     * @see GPSTrackEncoding
+     * */
+    private static final String WORKOUT_SESSION_GPS_TRACK_TABLE_NAME = "WorkoutSessionGPSTrack";
+    private static final String WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID
+            = WORKOUT_SESSION_COLUMN_SESSION_ID;
+    private static final String WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK = "encodedTrack";
+
+
     private static final String WORKOUT_SESSION_IMAGE_TABLE_NAME = "WorkoutSessionImage";
     private static final String WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH = "imagePath";
     private static final String WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX = "imagePathIndex";
     private static final String WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID
                                                         = WORKOUT_SESSION_COLUMN_SESSION_ID;
 
+    /**
+     * The paths of the renditions of the image, which are null until the renditions have
+     * been written, or NO_RENDITION_PATH if they cannot be written. Both paths are always
+     * recorded together, so either both are null or neither is
+     *
+     * @see ImageRenditions
+     * */
+    private static final String WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH = "thumbnailPath";
+    private static final String WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH = "displayPath";
+
+    /**
+     * The rendition path of an image whose renditions cannot be written, e.g. because its
+     * file no longer exists or cannot be decoded, so that the image is not returned by
+     * queryImagePathsWithoutRenditions() again
+     *
+     * @see #markWorkoutSessionImageWithoutRenditions(String)
+     * */
+    private static final String NO_RENDITION_PATH = "";
+
+
+    /**
+     * The table storing the splits of every workout session, one record per split, so that
+     * they can be displayed without calculating them again from the GPSLocations
+     *
+     * @see IWorkoutSession#getListOfSplits()
+     * */
+    private static final String WORKOUT_SESSION_SPLIT_TABLE_NAME = "WorkoutSessionSplit";
+    private static final String WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID
+                                                        = WORKOUT_SESSION_COLUMN_SESSION_ID;
+    private static final String WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX = "splitIndex";
+    private static final String WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_TYPE = "splitType";
+    private static final String WORKOUT_SESSION_SPLIT_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS
+                                                        = "distanceTravelledInKilometers";
+    private static final String WORKOUT_SESSION_SPLIT_COLUMN_ELAPSED_DURATION_IN_SECONDS
+                                                        = "elapsedDurationInSeconds";
+
+
+
+    /**
+     * The table storing the totals of the workout session records of every local date
+     * that has at least one workout session record, so that workout session summaries
+     * read at most one record per day of the date range rather than every workout session
+     * record in it. A record is kept in step with the table WORKOUT_SESSION_TABLE_NAME
+     * whenever a workout session record is inserted, deleted or recalculated
+     *
+     * The date of a record is the local date of the start date time of its workout
+     * sessions, stored as an epoch day
+     *
+     * @see #rebuildDailyWorkoutRollups()
+     * */
+    private static final String DAILY_WORKOUT_ROLLUP_TABLE_NAME = "DailyWorkoutRollup";
+    private static final String DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY = "epochDay";
+    private static final String DAILY_WORKOUT_ROLLUP_COLUMN_NUMBER_OF_WORKOUT_SESSIONS =
+                                                                    "numberOfWorkoutSessions";
+    private static final String DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_NUMBER_OF_STEPS_TAKEN =
+                                                                    "totalNumberOfStepsTaken";
+    private static final String DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DURATION_IN_SECONDS =
+                                                                    "totalDurationInSeconds";
+    private static final String DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_CALORIES_CONSUMED =
+                                                                    "totalCaloriesConsumed";
+    private static final String DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DISTANCE_TRAVELLED =
+                                                                    "totalDistanceTravelled";
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+
+
+    private static final String WORKOUT_SESSION_START_DATE_TIME_INDEX_NAME =
+                                                        "WorkoutSessionStartDateTimeIndex";
+    private static final String WORKOUT_SESSION_IMAGE_SESSION_ID_INDEX_NAME =
+                                                        "WorkoutSessionImageSessionIdIndex";
+    private static final String WORKOUT_SESSION_IMAGE_PENDING_RENDITIONS_INDEX_NAME =
+                                                "WorkoutSessionImagePendingRenditionsIndex";
+
 
 
     private static final String COLUMN_ALIAS_TOTAL_NUMBER_OF_STEPS_TAKEN = "totalNumberOfStepsTaken";
@@ -71,6 +269,62 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
     private static final String COLUMN_ALIAS_TOTAL_DISTANCE_TRAVELLED = "totalDistanceTravelled";
 
 
+    /**
+     * The continuation token to pass to queryWorkoutSessionRecordsPage(long, int) in order
+     * to query the first page of workout session records
+     *
+     * @see #queryWorkoutSessionRecordsPage(long, int)
+     * */
+    public static final long FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE = Long.MAX_VALUE;
+
+
+    /**
+     * The strategies available for loading the GPSLocations and images that belong to the
+     * workout session records returned by queryAllWorkoutSessionRecords(RecordLoadingMode)
+     *
+     * @see #queryAllWorkoutSessionRecords(RecordLoadingMode)
+     * */
+    public enum RecordLoadingMode
+    {
+        /**
+         * Makes one query on each child table for every workout session record loaded,
+         * i.e. 1 + 3N queries for N workout session records
+         * */
+        PER_SESSION,
+
+        /**
+         * Makes a single ordered query on each child table covering all of the workout
+         * session records loaded, and stitches the rows onto their workout sessions,
+         * i.e. 4 queries regardless of the number of workout session records
+         * */
+        BATCHED
+    }
+
+
+    /**
+     * The strategies available for inserting the GPSLocations and images that belong to a
+     * workout session record inserted by
+     * insertWorkoutSessionRecord(IWorkoutSession, RecordInsertionMode)
+     *
+     * @see #insertWorkoutSessionRecord(IWorkoutSession, RecordInsertionMode)
+     * */
+    public enum RecordInsertionMode
+    {
+        /**
+         * Converts every row into ContentValues and inserts it with
+         * SQLiteDatabase.insertOrThrow(String, String, ContentValues), which compiles the
+         * insert statement again for every row
+         * */
+        PER_ROW,
+
+        /**
+         * Compiles one insert statement per child table, and re-binds and executes it for
+         * every row
+         * */
+        COMPILED_STATEMENT
+    }
+
+
     /**
      * Create an instance of WorkoutSessionDatabaseHelper
      *
@@ -79,13 +333,34 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
      * */
     public WorkoutSessionDatabaseHelper(Context context)
     {
-        super(context, DATABASE_NAME, null, VERSION_NUMBER);
+        this(context, null);
+    }
+
+
+    /**
+     * Create an instance of WorkoutSessionDatabaseHelper that creates its cursors through
+     * the given cursor factory, which is useful for observing the queries made by the helper
+     *
+     * @param context The context used for locating paths to the database.
+     *                May be null
+     * @param cursorFactory the factory used for creating cursor objects, or null for
+     *                      the default factory
+     * */
+    public WorkoutSessionDatabaseHelper(Context context,
+                                        SQLiteDatabase.CursorFactory cursorFactory)
+    {
+        super(context, DATABASE_NAME, cursorFactory, VERSION_NUMBER);
     }
 
 
     /**
      * Foreign key constraints are not enabled by default, therefore
      * need to set them during the onConfigure() phase
+     *
+     * Write-ahead logging is also enabled here, so that reads do not wait for writes (and
+     * writes do not wait for reads). Each read sees the last committed state of the
+     * database, and a workout session being saved only becomes visible once its transaction
+     * commits
      * */
     @Override
     public void onConfigure(SQLiteDatabase db) {
@@ -93,6 +368,8 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
 
         db.setForeignKeyConstraintsEnabled(true);
 
+        db.enableWriteAheadLogging();
+
     }
 
 
@@ -106,8 +383,11 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
     public void onCreate(SQLiteDatabase sqLiteDatabase)
     {
         this.createWorkoutSessionTable(sqLiteDatabase);
-        this.createWorkoutSessionGPSLocationTable(sqLiteDatabase);
+        this.createWorkoutSessionGPSTrackTable(sqLiteDatabase);
         this.createWorkoutSessionImageTable(sqLiteDatabase);
+        this.createWorkoutSessionSplitTable(sqLiteDatabase);
+        this.createDailyWorkoutRollupTable(sqLiteDatabase);
+        this.createSecondaryIndexes(sqLiteDatabase);
 
     }
 
@@ -115,1123 +395,3238 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
     /**
      * Called when the database needs to be upgraded
      *
+     * The database is migrated one version at a time, so that the records are kept.
+     * Databases older than OLDEST_MIGRATABLE_VERSION_NUMBER are dropped and re-created
+     * instead.
+     *
      * Note: This method executes within a transaction. If an exception is thrown,
      * all changes will automatically be rolled back.
      *
      * @param sqLiteDatabase   The database handle
      * @param oldVersionNumber the old database version number
      * @param newVersionNumber the new database version number
+     *
+     * @see #OLDEST_MIGRATABLE_VERSION_NUMBER
      */
     @Override
     public void onUpgrade(SQLiteDatabase sqLiteDatabase, int oldVersionNumber,
                           int newVersionNumber) {
-        this.dropAllTables(sqLiteDatabase);
 
-        this.onCreate(sqLiteDatabase);
+        if (oldVersionNumber < OLDEST_MIGRATABLE_VERSION_NUMBER)
+        {
+            this.dropAllTables(sqLiteDatabase);
 
-    }
+            this.onCreate(sqLiteDatabase);
 
+            return;
+        }
 
-    /**
-     * Called when the database needs to be downgraded
-     * <p>
-     * Note: This method executes within a transaction. If an exception is thrown,
-     * all changes will automatically be rolled back.
-     *
-     * @param sqLiteDatabase   The database handle
-     * @param oldVersionNumber the old database version number
-     * @param newVersionNumber the new database version number
-     */
-    @Override
-    public void onDowngrade(SQLiteDatabase sqLiteDatabase, int oldVersionNumber,
-                            int newVersionNumber)
-    {
-        this.dropAllTables(sqLiteDatabase);
 
-        this.onCreate(sqLiteDatabase);
+        if (oldVersionNumber < SECONDARY_INDEXES_VERSION_NUMBER)
+        {
+            this.createSecondaryIndexes(sqLiteDatabase);
+        }
 
-    }
+        if (oldVersionNumber < METRICS_FORMULA_VERSION_COLUMN_VERSION_NUMBER)
+        {
+            this.addMetricsFormulaVersionColumn(sqLiteDatabase);
+        }
 
+        if (oldVersionNumber < GPS_TRACK_VERSION_NUMBER)
+        {
+            this.migrateWorkoutSessionGPSLocationsToGPSTracks(sqLiteDatabase);
+        }
 
-    /**
-     * Drop all existing tables if they exists
-     *
-     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
-     */
-    private void dropAllTables(SQLiteDatabase sqLiteDatabase)
-    {
-        String dropWorkoutSessionTableQuery =
-                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_TABLE_NAME;
+        if (oldVersionNumber < DAILY_WORKOUT_ROLLUP_VERSION_NUMBER)
+        {
+            this.createDailyWorkoutRollupTable(sqLiteDatabase);
 
-        String dropWorkoutSessionImageTableQuery =
-                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_IMAGE_TABLE_NAME;
+            rebuildDailyWorkoutRollups(sqLiteDatabase);
+        }
 
-        String dropWorkoutSessionGPSLocationTableQuery =
-                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME;
+        if (oldVersionNumber < LIST_ITEM_COUNT_COLUMNS_VERSION_NUMBER)
+        {
+            this.addAndBackfillListItemCountColumns(sqLiteDatabase);
+        }
+
+        //the durations at which the GPSLocations of the existing records were added were
+        //never stored, so their splits cannot be calculated and the table starts empty
+        if (oldVersionNumber < WORKOUT_SESSION_SPLIT_VERSION_NUMBER)
+        {
+            this.createWorkoutSessionSplitTable(sqLiteDatabase);
+        }
+
+        //the renditions of the existing images are written by backfillImageRenditions()
+        //of ImageRepository, as writing them is too slow for a database upgrade
+        if (oldVersionNumber < IMAGE_RENDITION_COLUMNS_VERSION_NUMBER)
+        {
+            this.addImageRenditionColumns(sqLiteDatabase);
+        }
+
+
+        //the formulas may have changed along with the database version
+        recalculateOutdatedWorkoutSessionRecords(sqLiteDatabase);
 
-        sqLiteDatabase.execSQL(dropWorkoutSessionImageTableQuery);
-        sqLiteDatabase.execSQL(dropWorkoutSessionGPSLocationTableQuery);
-        sqLiteDatabase.execSQL(dropWorkoutSessionTableQuery);
     }
 
 
     /**
-     * Create a table various details regarding the workout session
-     * (WORKOUT_SESSION table)
+     * Add the column WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION to the table
+     * WORKOUT_SESSION_TABLE_NAME. The existing records are given the version
+     * UNKNOWN_METRICS_FORMULA_VERSION, so that they will be recalculated
      *
-     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
+     * @param sqLiteDatabase the sqliteDatabase handle used to alter the table
+     *
+     * @see #recalculateOutdatedWorkoutSessionRecords(SQLiteDatabase)
      */
-    private void createWorkoutSessionTable(SQLiteDatabase sqLiteDatabase)
+    private void addMetricsFormulaVersionColumn(SQLiteDatabase sqLiteDatabase)
     {
-        String createTableString =
-                "CREATE TABLE " + WORKOUT_SESSION_TABLE_NAME + " ( " +
-                        WORKOUT_SESSION_COLUMN_SESSION_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                        WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE + " TEXT NOT NULL, " +
-                        WORKOUT_SESSION_COLUMN_START_DATE_TIME + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED + " REAL NOT NULL, " +
-                        WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS + " REAL NOT NULL );";
+        String alterTableString =
+                "ALTER TABLE " + WORKOUT_SESSION_TABLE_NAME + " ADD COLUMN " +
+                        getMetricsFormulaVersionColumnDefinition() + ";";
 
-        sqLiteDatabase.execSQL(createTableString);
+        sqLiteDatabase.execSQL(alterTableString);
     }
 
 
     /**
-     * Create a table storing lists of gps locations representing the geo-coordinates
-     * of the places travelled
-     * <p>
-     * This table can only be created after WORKOUT_SESSION table is created, therefore
-     * must call the method createWorkoutSessionTable(SQLiteDatabase) first
+     * Add the columns WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH and
+     * WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH to the table WORKOUT_SESSION_IMAGE_TABLE_NAME.
+     * The existing records are left without renditions
      *
-     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
-     * @see #createWorkoutSessionTable(SQLiteDatabase)
+     * @param sqLiteDatabase the sqliteDatabase handle used to alter the table
      */
-    private void createWorkoutSessionGPSLocationTable(SQLiteDatabase sqLiteDatabase)
+    private void addImageRenditionColumns(SQLiteDatabase sqLiteDatabase)
     {
-        String createTableString =
-                "CREATE TABLE " + WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME + " ( " +
-                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LOCATION_INDEX + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE + " REAL, " +
-                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE + " REAL, " +
-                        "PRIMARY KEY ( " + WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID +
-                        ", " + WORKOUT_SESSION_GPS_LOCATION_COLUMN_LOCATION_INDEX + " ), " +
-                        "FOREIGN KEY ( " + WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID +
-                        " ) REFERENCES " + WORKOUT_SESSION_TABLE_NAME +
-                        " ( " + WORKOUT_SESSION_COLUMN_SESSION_ID + " ) " +
-                        "ON UPDATE NO ACTION ON DELETE CASCADE);";
+        sqLiteDatabase.execSQL("ALTER TABLE " + WORKOUT_SESSION_IMAGE_TABLE_NAME +
+                " ADD COLUMN " + WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH + " TEXT;");
 
-        sqLiteDatabase.execSQL(createTableString);
+        sqLiteDatabase.execSQL("ALTER TABLE " + WORKOUT_SESSION_IMAGE_TABLE_NAME +
+                " ADD COLUMN " + WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH + " TEXT;");
+
+        this.createWorkoutSessionImagePendingRenditionsIndex(sqLiteDatabase);
     }
 
 
     /**
-     * Create a table storing lists of images taken during each workout session
+     * Create a partial index of the WORKOUT_SESSION_IMAGE_TABLE_NAME table that only holds
+     * the images whose renditions have not been recorded, used by the backfill of the
+     * renditions every time the app is launched. As the index only holds the images still
+     * waiting for the backfill, it stays small however many images have been taken, and the
+     * backfill does not need to scan the whole table
      * <p>
-     * This table can only be created after WORKOUT_SESSION table is created, therefore
-     * must call the method createWorkoutSessionTable(SQLiteDatabase) first
+     * This index can only be created after the rendition columns are added
      *
-     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
-     * @see #createWorkoutSessionTable(SQLiteDatabase)
+     * @param sqLiteDatabase the sqliteDatabase handle used to create the index
+     *
+     * @see #queryImagePathsWithoutRenditions()
      */
-    private void createWorkoutSessionImageTable(SQLiteDatabase sqLiteDatabase)
+    private void createWorkoutSessionImagePendingRenditionsIndex(SQLiteDatabase sqLiteDatabase)
     {
-
-        String createTableString =
-                "CREATE TABLE " + WORKOUT_SESSION_IMAGE_TABLE_NAME + " ( " +
-                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH + " TEXT PRIMARY KEY, " +
-                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + " INTEGER NOT NULL, " +
-                        WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + " INTEGER NOT NULL, " +
-                        "FOREIGN KEY ( " + WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID +
-                        " ) REFERENCES " + WORKOUT_SESSION_TABLE_NAME +
-                        " ( " + WORKOUT_SESSION_COLUMN_SESSION_ID + " ) " +
-                        " ON UPDATE NO ACTION ON DELETE CASCADE);";
-
-        sqLiteDatabase.execSQL(createTableString);
+        sqLiteDatabase.execSQL("CREATE INDEX IF NOT EXISTS " +
+                WORKOUT_SESSION_IMAGE_PENDING_RENDITIONS_INDEX_NAME +
+                " ON " + WORKOUT_SESSION_IMAGE_TABLE_NAME +
+                " ( " + WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH + ", " +
+                WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH + " )" +
+                " WHERE " + WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH + " IS NULL;");
     }
 
 
-
-
-
     /**
-     * Inserts the workout session as a record into the database
+     * Add the columns WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS and
+     * WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN to the table WORKOUT_SESSION_TABLE_NAME,
+     * and fill them in for the existing records
      *
-     * @param workoutSession the workout session to be inserted into the database
+     * The number of images is counted in SQL. The number of GPSLocations requires decoding
+     * every encoded track, which is done one workout session at a time
      *
-     * @throws NullPointerException if the argument workoutSession is null
-     * @throws RecordInsertionException if the workout session fails to be inserted into
-     * the database
-     * */
-    public IStoredWorkoutSession insertWorkoutSessionRecord(IWorkoutSession workoutSession)
-            throws RecordInsertionException
+     * @param sqLiteDatabase the sqliteDatabase handle used to alter the table
+     */
+    private void addAndBackfillListItemCountColumns(SQLiteDatabase sqLiteDatabase)
     {
-        if (workoutSession == null)
-        {
-            throw new NullPointerException("Workout session cannot be null");
-        }
+        sqLiteDatabase.execSQL("ALTER TABLE " + WORKOUT_SESSION_TABLE_NAME + " ADD COLUMN " +
+                getCountColumnDefinition(WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS) + ";");
 
-        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+        sqLiteDatabase.execSQL("ALTER TABLE " + WORKOUT_SESSION_TABLE_NAME + " ADD COLUMN " +
+                getCountColumnDefinition(WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN) + ";");
 
-        sqLiteDatabase.beginTransaction();
 
+        String backfillNumberOfImagesTakenString =
+                "UPDATE " + WORKOUT_SESSION_TABLE_NAME + " SET " +
+                        WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN + " = ( " +
+                        "SELECT COUNT( * ) FROM " + WORKOUT_SESSION_IMAGE_TABLE_NAME +
+                        " WHERE " + WORKOUT_SESSION_IMAGE_TABLE_NAME + "." +
+                        WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + " = " +
+                        WORKOUT_SESSION_TABLE_NAME + "." + WORKOUT_SESSION_COLUMN_SESSION_ID +
+                        " );";
 
-        //throws RecordInsertionException if failure
-        long sessionId = insertWorkoutSessionRecordAndGetSessionId(workoutSession, sqLiteDatabase);
+        sqLiteDatabase.execSQL(backfillNumberOfImagesTakenString);
 
-        //throws RecordInsertionException if failure
-        insertListOfWorkoutSessionGPSLocations(workoutSession.getListOfGPSLocations(),
-                sessionId, sqLiteDatabase);
 
-        //throws RecordInsertionException if failure
-        insertListOfWorkoutSessionImagePaths(workoutSession.getListOfImagesTaken(), sessionId,
-                sqLiteDatabase);
+        String [] columns = new String[]{
+                                        WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID,
+                                        WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK};
 
-        IStoredWorkoutSession storedWorkoutSession =
-                convertWorkoutSessionToStoredWorkoutSession(sessionId, workoutSession);
+        final String NO_SELECTION_CLAUSE = null;
+        final String [] NO_SELECTION_ARGS = null;
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
 
-        sqLiteDatabase.setTransactionSuccessful();
-        sqLiteDatabase.endTransaction();
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_GPS_TRACK_TABLE_NAME,
+                                columns, NO_SELECTION_CLAUSE, NO_SELECTION_ARGS,
+                                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
 
+        String whereClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " = ?";
 
-        return storedWorkoutSession;
-    }
+        while (resultCursor.moveToNext())
+        {
+            List<IGPSLocation> listOfGPSLocations = GPSTrackEncoding.decode(
+                    resultCursor.getBlob(resultCursor.getColumnIndexOrThrow(
+                            WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK)));
+
+            ContentValues contentValues = new ContentValues();
+
+            contentValues.put(WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS,
+                    countNumberOfNonNullGPSLocations(listOfGPSLocations));
 
+            String [] whereArgs = new String[]{
+                    Long.toString(resultCursor.getLong(resultCursor.getColumnIndexOrThrow(
+                            WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID)))};
 
+            sqLiteDatabase.update(WORKOUT_SESSION_TABLE_NAME, contentValues,
+                                  whereClause, whereArgs);
+        }
+
+        resultCursor.close();
+    }
 
 
     /**
-     * Inserts a workout session record and returns the workout session id of the record
-     *
-     * @param workoutSession the workout session to be inserted into the database
-     * @param sqLiteDatabase the database handle with write permission, which is
-     *                       part of a transaction
+     * Returns the definition of a column of the table WORKOUT_SESSION_TABLE_NAME that counts
+     * the GPSLocations or images of the workout session, which is shared by the creation of
+     * the table and the migration that adds the column
      *
-     * @throws RecordInsertionException if the database fails to insert the record
+     * @param columnName the name of the column
      * */
-    private static long insertWorkoutSessionRecordAndGetSessionId(IWorkoutSession workoutSession,
-                                                           SQLiteDatabase sqLiteDatabase)
-            throws RecordInsertionException
+    private static String getCountColumnDefinition(String columnName)
     {
-        ContentValues contentValues = convertIWorkoutSessionToContentValues(workoutSession);
+        return columnName + " INTEGER NOT NULL DEFAULT 0";
+    }
 
-        final String NO_NULL_COLUMN_HACK = null;
 
-        long sessionId = sqLiteDatabase.insert(WORKOUT_SESSION_TABLE_NAME,
-                NO_NULL_COLUMN_HACK, contentValues);
+    /**
+     * Count and return the number of non-null GPSLocations in a list of GPSLocations, i.e.
+     * excluding the null elements that represent a pause
+     *
+     * @param listOfGPSLocations the list of GPSLocations of a workout session
+     * */
+    private static int countNumberOfNonNullGPSLocations(List<IGPSLocation> listOfGPSLocations)
+    {
+        int count = 0;
 
-        if (sessionId == -1)
+        for (IGPSLocation gpsLocation : listOfGPSLocations)
         {
-            throw new RecordInsertionException("Failed to insert WorkoutSession Record");
+            if (gpsLocation != null)
+            {
+                count++;
+            }
         }
 
-
-        return sessionId;
+        return count;
     }
 
 
     /**
-     * Convert a IWorkoutSession instance into ContentValues (key-value pairs)
+     * Convert the GPSLocations stored in the table WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME
+     * (one record per GPSLocation) into one encoded track per workout session in the table
+     * WORKOUT_SESSION_GPS_TRACK_TABLE_NAME, and then drop the former table
      *
-     * @param workoutSession workout session to be converted
-     * @return ContentValues the corresponding ContentValues
+     * The records are read in order of workout session id and location index, so only the
+     * GPSLocations of one workout session are held in memory at a time
+     *
+     * @param sqLiteDatabase the sqliteDatabase handle used to migrate the tables
      */
-    private static ContentValues convertIWorkoutSessionToContentValues(
-            IWorkoutSession workoutSession)
+    private void migrateWorkoutSessionGPSLocationsToGPSTracks(SQLiteDatabase sqLiteDatabase)
     {
-        ContentValues contentValues = new ContentValues();
+        this.createWorkoutSessionGPSTrackTable(sqLiteDatabase);
 
 
-        contentValues.put(WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE,
-                workoutSession.getActivityType().name());
+        String [] columns = new String[]{
+                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID,
+                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL,
+                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE,
+                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE};
 
-        contentValues.put(WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN,
-                workoutSession.getNumberOfStepsTaken());
+        final String NO_SELECTION_CLAUSE = null;
+        final String [] NO_SELECTION_ARGS = null;
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
 
-        contentValues.put(WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS,
-                workoutSession.getDurationInSeconds());
+        String orderByClause = WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID + " ASC, " +
+                                WORKOUT_SESSION_GPS_LOCATION_COLUMN_LOCATION_INDEX + " ASC";
 
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME,
+                                columns, NO_SELECTION_CLAUSE, NO_SELECTION_ARGS,
+                                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
 
-        contentValues.put(WORKOUT_SESSION_COLUMN_START_DATE_TIME,
-                workoutSession.getStartDateTime().toEpochSecond(ZoneOffset.UTC));
+        int sessionIdColumnIndex = resultCursor.getColumnIndexOrThrow(
+                                            WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID);
 
-        contentValues.put(WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED,
-                workoutSession.getCaloriesConsumed());
+        final long NO_SESSION_ID = -1;
 
-        contentValues.put(WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS,
-                workoutSession.getDistanceTravelledInKilometers());
+        long currentSessionId = NO_SESSION_ID;
+        List<IGPSLocation> currentListOfGPSLocations = new ArrayList<>();
 
-        return contentValues;
-    }
+        while (resultCursor.moveToNext())
+        {
+            long sessionId = resultCursor.getLong(sessionIdColumnIndex);
 
+            if (sessionId != currentSessionId)
+            {
+                if (currentSessionId != NO_SESSION_ID)
+                {
+                    insertMigratedWorkoutSessionGPSTrack(sqLiteDatabase, currentSessionId,
+                                                         currentListOfGPSLocations);
+                }
+
+                currentSessionId = sessionId;
+                currentListOfGPSLocations.clear();
+            }
 
-    /**
-     * Convert a IWorkoutSession instance into a IStoredWorkoutSession instance
-     *
-     * @param workoutSessionId the id of the workout session
-     * @param workoutSession   the workout session
-     * @return a corresponding IStoredWorkoutSession instance
-     */
-    private static IStoredWorkoutSession convertWorkoutSessionToStoredWorkoutSession(
-            long workoutSessionId,
-            IWorkoutSession workoutSession)
-    {
-        IStoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+            currentListOfGPSLocations.add(convertCursorToGPSLocation(resultCursor));
+        }
 
-        storedWorkoutSession.setWorkoutSessionId(workoutSessionId);
-        storedWorkoutSession.setActivityType(workoutSession.getActivityType());
+        if (currentSessionId != NO_SESSION_ID)
+        {
+            insertMigratedWorkoutSessionGPSTrack(sqLiteDatabase, currentSessionId,
+                                                 currentListOfGPSLocations);
+        }
 
-        storedWorkoutSession.setNumberOfStepsTaken(workoutSession.getNumberOfStepsTaken());
-        storedWorkoutSession.setStartDateTime(workoutSession.getStartDateTime());
-        storedWorkoutSession.setDurationInSeconds(workoutSession.getDurationInSeconds());
+        resultCursor.close();
 
-        storedWorkoutSession.calculateCaloriesConsumed();
-        storedWorkoutSession.calculateDistanceTravelled();
 
-        return storedWorkoutSession;
+        String dropWorkoutSessionGPSLocationTableQuery =
+                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME;
+
+        sqLiteDatabase.execSQL(dropWorkoutSessionGPSLocationTableQuery);
     }
 
 
     /**
-     * Insert a list of GPSLocations associated with the workout session into the
-     * table WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME
+     * Insert the encoded track of a workout session migrated from the table
+     * WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME
      *
-     * @param listOfGPSLocations list of GPSLocations
-     * @param workoutSessionId   the id of the workout session
-     * @param sqLiteDatabase     the sqliteDatabase, which is part of a transaction
+     * @param sqLiteDatabase the sqliteDatabase handle used to migrate the tables
+     * @param workoutSessionId the id of the workout session
+     * @param listOfGPSLocations the GPSLocations of the workout session, in order
+     *
+     * @throws android.database.SQLException if the encoded track fails to be inserted, so
+     * that the migration is rolled back
      */
-    private static void insertListOfWorkoutSessionGPSLocations(List<IGPSLocation> listOfGPSLocations,
+    private static void insertMigratedWorkoutSessionGPSTrack(SQLiteDatabase sqLiteDatabase,
                                                         long workoutSessionId,
-                                                        SQLiteDatabase sqLiteDatabase)
-            throws RecordInsertionException {
-
+                                                        List<IGPSLocation> listOfGPSLocations)
+    {
         final String NO_NULL_COLUMN_HACK = null;
 
-        try {
-            for (int index = 0; index < listOfGPSLocations.size(); index++) {
-                IGPSLocation currentGPSLocation = listOfGPSLocations.get(index);
-
-                ContentValues contentValues = convertIGPSLocationToContentValues(
-                        currentGPSLocation, index, workoutSessionId);
+        sqLiteDatabase.insertOrThrow(WORKOUT_SESSION_GPS_TRACK_TABLE_NAME, NO_NULL_COLUMN_HACK,
+                convertEncodedTrackToContentValues(GPSTrackEncoding.encode(listOfGPSLocations),
+                                                   workoutSessionId));
+    }
 
-                sqLiteDatabase.insertOrThrow(WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME,
-                        NO_NULL_COLUMN_HACK, contentValues);
 
-            }
-        } catch (Exception exception)
-        {
-            throw new RecordInsertionException("Failed to insert WorkoutSessionGPSLocation Record");
-        }
+    /**
+     * Returns the definition of the column WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION,
+     * which is shared by the creation of the table WORKOUT_SESSION_TABLE_NAME and the
+     * migration that adds the column
+     * */
+    private static String getMetricsFormulaVersionColumnDefinition()
+    {
+        return WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION + " INTEGER NOT NULL DEFAULT " +
+                UNKNOWN_METRICS_FORMULA_VERSION;
     }
 
 
     /**
-     * Convert a IGPSLocation instance into ContentValues (key-value pairs)
+     * Called when the database needs to be downgraded
+     * <p>
+     * Note: This method executes within a transaction. If an exception is thrown,
+     * all changes will automatically be rolled back.
      *
-     * @param gpsLocation              GPSLocation instance to be converted
-     * @param indexOfGPSLocationInList index of the GPSLocation instance within a list
-     * @param workoutSessionId         the id of the workout session record
-     * @return ContentValues the corresponding ContentValues
+     * @param sqLiteDatabase   The database handle
+     * @param oldVersionNumber the old database version number
+     * @param newVersionNumber the new database version number
      */
-    private static ContentValues convertIGPSLocationToContentValues(IGPSLocation gpsLocation,
-                                                                    int indexOfGPSLocationInList,
-                                                                    long workoutSessionId) {
-        ContentValues contentValues = new ContentValues();
-
-        contentValues.put(WORKOUT_SESSION_GPS_LOCATION_COLUMN_SESSION_ID,
-                workoutSessionId);
+    @Override
+    public void onDowngrade(SQLiteDatabase sqLiteDatabase, int oldVersionNumber,
+                            int newVersionNumber)
+    {
+        this.dropAllTables(sqLiteDatabase);
 
-        contentValues.put(WORKOUT_SESSION_GPS_LOCATION_COLUMN_LOCATION_INDEX,
-                indexOfGPSLocationInList);
+        this.onCreate(sqLiteDatabase);
 
-        final int TRUE = 1;
-        final int FALSE = 0;
+    }
 
-        //gps may be null as null is used to represent a pause during a workout session
-        if (gpsLocation != null)
-        {
-            contentValues.put(WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL, TRUE);
 
-            contentValues.put(WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE,
-                    gpsLocation.getLatitude());
+    /**
+     * Drop all existing tables if they exists
+     *
+     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
+     */
+    private void dropAllTables(SQLiteDatabase sqLiteDatabase)
+    {
+        String dropWorkoutSessionTableQuery =
+                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_TABLE_NAME;
 
-            contentValues.put(WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE,
-                    gpsLocation.getLongitude());
-        }
-        else
-        {
-            contentValues.put(WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL, FALSE);
+        String dropWorkoutSessionImageTableQuery =
+                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_IMAGE_TABLE_NAME;
 
-            contentValues.putNull(WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE);
+        String dropWorkoutSessionGPSLocationTableQuery =
+                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME;
 
-            contentValues.putNull(WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE);
-        }
+        String dropWorkoutSessionGPSTrackTableQuery =
+                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_GPS_TRACK_TABLE_NAME;
 
+        String dropWorkoutSessionSplitTableQuery =
+                "DROP TABLE IF EXISTS " + WORKOUT_SESSION_SPLIT_TABLE_NAME;
 
+        String dropDailyWorkoutRollupTableQuery =
+                "DROP TABLE IF EXISTS " + DAILY_WORKOUT_ROLLUP_TABLE_NAME;
 
-        return contentValues;
+        sqLiteDatabase.execSQL(dropDailyWorkoutRollupTableQuery);
+        sqLiteDatabase.execSQL(dropWorkoutSessionImageTableQuery);
+        sqLiteDatabase.execSQL(dropWorkoutSessionGPSLocationTableQuery);
+        sqLiteDatabase.execSQL(dropWorkoutSessionGPSTrackTableQuery);
+        sqLiteDatabase.execSQL(dropWorkoutSessionSplitTableQuery);
+        sqLiteDatabase.execSQL(dropWorkoutSessionTableQuery);
     }
 
 
     /**
-     * Insert a list of image paths associated with the workout session into the
-     * table WORKOUT_SESSION_IMAGE_TABLE_NAME
+     * Create a table various details regarding the workout session
+     * (WORKOUT_SESSION table)
      *
-     * @param listOfImagePaths list of image paths
-     * @param workoutSessionId the id of the workout session
-     * @param sqLiteDatabase   the sqliteDatabase, which is part of a transaction
+     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
      */
-    private void insertListOfWorkoutSessionImagePaths(List<String> listOfImagePaths,
-                                                      long workoutSessionId,
-                                                      SQLiteDatabase sqLiteDatabase)
-            throws RecordInsertionException
+    private void createWorkoutSessionTable(SQLiteDatabase sqLiteDatabase)
     {
+        String createTableString =
+                "CREATE TABLE " + WORKOUT_SESSION_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_COLUMN_SESSION_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE + " TEXT NOT NULL, " +
+                        WORKOUT_SESSION_COLUMN_START_DATE_TIME + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED + " REAL NOT NULL, " +
+                        WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS + " REAL NOT NULL, " +
+                        getMetricsFormulaVersionColumnDefinition() + ", " +
+                        getCountColumnDefinition(WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS) +
+                        ", " +
+                        getCountColumnDefinition(WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN) +
+                        " );";
 
-        final String NO_NULL_COLUMN_HACK = null;
-
-        try {
-            for (int index = 0; index < listOfImagePaths.size(); index++) {
-                String imagePath = listOfImagePaths.get(index);
-
-                ContentValues contentValues = convertImagePathToContentValues(imagePath,
-                        index, workoutSessionId);
-
-                sqLiteDatabase.insertOrThrow(WORKOUT_SESSION_IMAGE_TABLE_NAME,
-                        NO_NULL_COLUMN_HACK, contentValues);
-
-            }
-        } catch (Exception exception) {
-            throw new RecordInsertionException("Failed to insert WorkoutSessionImage Record");
-        }
+        sqLiteDatabase.execSQL(createTableString);
     }
 
 
     /**
-     * Convert an image path into ContentValues (key-value pairs)
+     * Create a table storing the gps locations representing the geo-coordinates
+     * of the places travelled, as one encoded track per workout session
+     * <p>
+     * This table can only be created after WORKOUT_SESSION table is created, therefore
+     * must call the method createWorkoutSessionTable(SQLiteDatabase) first
      *
-     * @param imagePath              image path of the image
-     * @param indexOfImagePathInList index of the image path within a list
-     * @param workoutSessionId       the id of the workout session record
-     * @return ContentValues the corresponding ContentValues
+     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
+     * @see #createWorkoutSessionTable(SQLiteDatabase)
+     * @see GPSTrackEncoding
      */
-    private static ContentValues convertImagePathToContentValues(String imagePath,
-                                                                 int indexOfImagePathInList,
-                                                                 long workoutSessionId) {
-        ContentValues contentValues = new ContentValues();
-
-        contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH, imagePath);
-        contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX, indexOfImagePathInList);
-        contentValues.put(WORKOUT_SESSION_COLUMN_SESSION_ID, workoutSessionId);
+    private void createWorkoutSessionGPSTrackTable(SQLiteDatabase sqLiteDatabase)
+    {
+        String createTableString =
+                "CREATE TABLE " + WORKOUT_SESSION_GPS_TRACK_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID + " INTEGER PRIMARY KEY, " +
+                        WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK + " BLOB NOT NULL, " +
+                        "FOREIGN KEY ( " + WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID +
+                        " ) REFERENCES " + WORKOUT_SESSION_TABLE_NAME +
+                        " ( " + WORKOUT_SESSION_COLUMN_SESSION_ID + " ) " +
+                        "ON UPDATE NO ACTION ON DELETE CASCADE);";
 
-        return contentValues;
+        sqLiteDatabase.execSQL(createTableString);
     }
 
 
-
     /**
-     * Returns a summary of the overall aggregated workout session summary based on
-     * the date range give
-     *
-     * @param startDateInclusive  the start date inclusive of the date range of interest
-     * @param endDateExclusive the end date exclusive of the date range of interest
-     *
-     * @throws NullPointerException if either of the arguments startDateInclusive or
-     * endDateExclusive are null
+     * Create a table storing lists of images taken during each workout session
+     * <p>
+     * This table can only be created after WORKOUT_SESSION table is created, therefore
+     * must call the method createWorkoutSessionTable(SQLiteDatabase) first
      *
-     * @return a IWorkoutSessionSummary instance containing the aggregated workout session
-     * data
-     * */
-    public IWorkoutSessionSummary queryWorkoutSessionSummary(LocalDate startDateInclusive,
-                                                             LocalDate endDateExclusive)
+     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
+     * @see #createWorkoutSessionTable(SQLiteDatabase)
+     */
+    private void createWorkoutSessionImageTable(SQLiteDatabase sqLiteDatabase)
     {
-        if (startDateInclusive == null || endDateExclusive == null)
-        {
-            throw new NullPointerException(
-                    "Start date inclusive or end date exclusive cannot be null");
-        }
 
-        long startDateTimeInclusiveEpochSeconds =
-                convertLocalDateToEpochSeconds(startDateInclusive);
-
-        long endDateTimeExclusiveEpochSeconds =
-                convertLocalDateToEpochSeconds(endDateExclusive);
-
-
-        Cursor resultCursor = queryWorkoutSessionSummaryAndGetCursor(
-                startDateTimeInclusiveEpochSeconds, endDateTimeExclusiveEpochSeconds);
+        String createTableString =
+                "CREATE TABLE " + WORKOUT_SESSION_IMAGE_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH + " TEXT PRIMARY KEY, " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH + " TEXT, " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH + " TEXT, " +
+                        "FOREIGN KEY ( " + WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID +
+                        " ) REFERENCES " + WORKOUT_SESSION_TABLE_NAME +
+                        " ( " + WORKOUT_SESSION_COLUMN_SESSION_ID + " ) " +
+                        " ON UPDATE NO ACTION ON DELETE CASCADE);";
 
-        return convertCursorToWorkoutSessionSummary(resultCursor);
+        sqLiteDatabase.execSQL(createTableString);
 
+        this.createWorkoutSessionImagePendingRenditionsIndex(sqLiteDatabase);
     }
 
 
     /**
-     * Convert a LocalDate instance to epoch seconds
-     *
-     * @param localDate the LocalDate instance to be converted
+     * Create a table storing the splits of each workout session
+     * <p>
+     * Its primary key is the workout session id followed by the index of the split, so the
+     * splits of a workout session (or a range of workout sessions) are read in order as a
+     * range of the primary key, and it does not need a secondary index
+     * <p>
+     * This table can only be created after WORKOUT_SESSION table is created, therefore
+     * must call the method createWorkoutSessionTable(SQLiteDatabase) first
      *
-     * @return the equivalent of the argument in epoch seconds
-     * */
-    private static long convertLocalDateToEpochSeconds(LocalDate localDate)
+     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
+     * @see #createWorkoutSessionTable(SQLiteDatabase)
+     */
+    private void createWorkoutSessionSplitTable(SQLiteDatabase sqLiteDatabase)
     {
-        LocalDateTime localDateTime =
-                LocalDateTime.of(localDate, getMidnightLocalTime());
+        String createTableString =
+                "CREATE TABLE " + WORKOUT_SESSION_SPLIT_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX + " INTEGER NOT NULL, " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_TYPE + " TEXT NOT NULL, " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS +
+                                                                    " REAL NOT NULL, " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_ELAPSED_DURATION_IN_SECONDS +
+                                                                    " REAL NOT NULL, " +
+                        "PRIMARY KEY ( " + WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID + ", " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX + " ), " +
+                        "FOREIGN KEY ( " + WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID +
+                        " ) REFERENCES " + WORKOUT_SESSION_TABLE_NAME +
+                        " ( " + WORKOUT_SESSION_COLUMN_SESSION_ID + " ) " +
+                        "ON UPDATE NO ACTION ON DELETE CASCADE);";
 
-        return localDateTime.toEpochSecond(ZoneOffset.UTC);
+        sqLiteDatabase.execSQL(createTableString);
     }
 
 
     /**
-     * Return a LocalDate instance representing midnight time
-     * */
-    private static LocalTime getMidnightLocalTime()
+     * Create a table storing the totals of the workout session records of every local date
+     * (DAILY_WORKOUT_ROLLUP table). Its primary key is the epoch day, so a date range is
+     * read as a range of the primary key
+     * <p>
+     * The records of this table are derived from the WORKOUT_SESSION table, and do not
+     * reference it
+     *
+     * @param sqLiteDatabase the sqliteDatabase handle used to create a table
+     * @see #rebuildDailyWorkoutRollups(SQLiteDatabase)
+     */
+    private void createDailyWorkoutRollupTable(SQLiteDatabase sqLiteDatabase)
     {
-        final int HOUR = 0;
-        final int MINUTE = 0;
-        final int SECOND = 0;
+        String createTableString =
+                "CREATE TABLE " + DAILY_WORKOUT_ROLLUP_TABLE_NAME + " ( " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + " INTEGER PRIMARY KEY, " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_NUMBER_OF_WORKOUT_SESSIONS +
+                                                            " INTEGER NOT NULL, " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_NUMBER_OF_STEPS_TAKEN +
+                                                            " INTEGER NOT NULL, " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DURATION_IN_SECONDS +
+                                                            " INTEGER NOT NULL, " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_CALORIES_CONSUMED +
+                                                            " REAL NOT NULL, " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DISTANCE_TRAVELLED +
+                                                            " REAL NOT NULL );";
 
-        return LocalTime.of(HOUR, MINUTE, SECOND);
+        sqLiteDatabase.execSQL(createTableString);
     }
 
 
-
     /**
-     * Makes an aggregate query that queries the table WORKOUT_SESSION_TABLE_NAME for
-     * a workout session summary. This method then returns a cursor.
+     * Create the secondary indexes of the tables, so that queries filtering on columns
+     * other than the primary keys do not need to scan the whole table:
+     *      (a) WORKOUT_SESSION_TABLE_NAME on start date time, used by queries over a
+     *          range of start date times
+     *      (b) WORKOUT_SESSION_IMAGE_TABLE_NAME on workout session id and image path index,
+     *          used when querying the images of workout sessions and when cascading the
+     *          deletion of workout sessions
+     * <p>
+     * The WORKOUT_SESSION_GPS_TRACK_TABLE_NAME and WORKOUT_SESSION_SPLIT_TABLE_NAME tables
+     * do not need a secondary index, as their primary keys begin with the workout session id
+     * <p>
+     * This method can only be called after all the tables are created
      *
-     * @param startDateTimeInclusiveEpochSeconds the start date time inclusive of the
-     *                                           range of interest in epoch seconds
+     * @param sqLiteDatabase the sqliteDatabase handle used to create the indexes
+     */
+    private void createSecondaryIndexes(SQLiteDatabase sqLiteDatabase)
+    {
+        String createWorkoutSessionStartDateTimeIndexString =
+                "CREATE INDEX IF NOT EXISTS " + WORKOUT_SESSION_START_DATE_TIME_INDEX_NAME +
+                        " ON " + WORKOUT_SESSION_TABLE_NAME +
+                        " ( " + WORKOUT_SESSION_COLUMN_START_DATE_TIME + " );";
+
+        String createWorkoutSessionImageSessionIdIndexString =
+                "CREATE INDEX IF NOT EXISTS " + WORKOUT_SESSION_IMAGE_SESSION_ID_INDEX_NAME +
+                        " ON " + WORKOUT_SESSION_IMAGE_TABLE_NAME +
+                        " ( " + WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + ", " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + " );";
+
+        sqLiteDatabase.execSQL(createWorkoutSessionStartDateTimeIndexString);
+        sqLiteDatabase.execSQL(createWorkoutSessionImageSessionIdIndexString);
+    }
+
+
+
+
+
+    /**
+     * Inserts the workout session as a record into the database
+     *
+     * The GPSLocations and images of the workout session are inserted with
+     * RecordInsertionMode.COMPILED_STATEMENT
+     *
+     * @param workoutSession the workout session to be inserted into the database
+     *
+     * @throws NullPointerException if the argument workoutSession is null
+     * @throws RecordInsertionException if the workout session fails to be inserted into
+     * the database
+     *
+     * @see #insertWorkoutSessionRecord(IWorkoutSession, RecordInsertionMode)
+     * */
+    public IStoredWorkoutSession insertWorkoutSessionRecord(IWorkoutSession workoutSession)
+            throws RecordInsertionException
+    {
+        return insertWorkoutSessionRecord(workoutSession, RecordInsertionMode.COMPILED_STATEMENT);
+    }
+
+
+    /**
+     * Inserts the workout session as a record into the database
+     *
+     * @param workoutSession the workout session to be inserted into the database
+     * @param recordInsertionMode the strategy used for inserting the GPSLocations and images
+     *                            of the workout session
+     *
+     * @throws NullPointerException if either of the arguments workoutSession or
+     * recordInsertionMode are null
+     * @throws RecordInsertionException if the workout session fails to be inserted into
+     * the database
+     * */
+    public IStoredWorkoutSession insertWorkoutSessionRecord(IWorkoutSession workoutSession,
+                                                    RecordInsertionMode recordInsertionMode)
+            throws RecordInsertionException
+    {
+        if (workoutSession == null)
+        {
+            throw new NullPointerException("Workout session cannot be null");
+        }
+
+        if (recordInsertionMode == null)
+        {
+            throw new NullPointerException("Record insertion mode cannot be null");
+        }
+
+        //the files are checked before the transaction begins, so that no other writer waits
+        //on the file system
+        Set<String> setOfImagePathsWithRenditions = getImagePathsWithWrittenRenditions(
+                                                    workoutSession.getListOfImagesTaken());
+
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+
+        sqLiteDatabase.beginTransactionNonExclusive();
+
+
+        //throws RecordInsertionException if failure
+        long sessionId = insertWorkoutSessionRecordAndGetSessionId(workoutSession, sqLiteDatabase);
+
+        addWorkoutSessionToDailyWorkoutRollup(sqLiteDatabase, workoutSession);
+
+        if (recordInsertionMode == RecordInsertionMode.COMPILED_STATEMENT)
+        {
+            //throws RecordInsertionException if failure
+            insertWorkoutSessionGPSTrackWithCompiledStatement(
+                    workoutSession.getListOfGPSLocations(), sessionId, sqLiteDatabase);
+
+            //throws RecordInsertionException if failure
+            insertListOfWorkoutSessionImagePathsWithCompiledStatement(
+                    workoutSession.getListOfImagesTaken(), setOfImagePathsWithRenditions,
+                    sessionId, sqLiteDatabase);
+
+            //throws RecordInsertionException if failure
+            insertListOfWorkoutSessionSplitsWithCompiledStatement(
+                    workoutSession.getListOfSplits(), sessionId, sqLiteDatabase);
+        }
+        else
+        {
+            //throws RecordInsertionException if failure
+            insertWorkoutSessionGPSTrack(workoutSession.getListOfGPSLocations(),
+                    sessionId, sqLiteDatabase);
+
+            //throws RecordInsertionException if failure
+            insertListOfWorkoutSessionImagePaths(workoutSession.getListOfImagesTaken(),
+                    setOfImagePathsWithRenditions, sessionId, sqLiteDatabase);
+
+            //throws RecordInsertionException if failure
+            insertListOfWorkoutSessionSplits(workoutSession.getListOfSplits(), sessionId,
+                    sqLiteDatabase);
+        }
+
+        IStoredWorkoutSession storedWorkoutSession =
+                convertWorkoutSessionToStoredWorkoutSession(sessionId, workoutSession);
+
+        sqLiteDatabase.setTransactionSuccessful();
+        sqLiteDatabase.endTransaction();
+
+
+        return storedWorkoutSession;
+    }
+
+
+
+
+    /**
+     * Inserts a workout session record and returns the workout session id of the record
+     *
+     * @param workoutSession the workout session to be inserted into the database
+     * @param sqLiteDatabase the database handle with write permission, which is
+     *                       part of a transaction
+     *
+     * @throws RecordInsertionException if the database fails to insert the record
+     * */
+    private static long insertWorkoutSessionRecordAndGetSessionId(IWorkoutSession workoutSession,
+                                                           SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException
+    {
+        ContentValues contentValues = convertIWorkoutSessionToContentValues(workoutSession);
+
+        final String NO_NULL_COLUMN_HACK = null;
+
+        long sessionId = sqLiteDatabase.insert(WORKOUT_SESSION_TABLE_NAME,
+                NO_NULL_COLUMN_HACK, contentValues);
+
+        if (sessionId == -1)
+        {
+            throw new RecordInsertionException("Failed to insert WorkoutSession Record");
+        }
+
+
+        return sessionId;
+    }
+
+
+    /**
+     * Convert a IWorkoutSession instance into ContentValues (key-value pairs)
+     *
+     * @param workoutSession workout session to be converted
+     * @return ContentValues the corresponding ContentValues
+     */
+    private static ContentValues convertIWorkoutSessionToContentValues(
+            IWorkoutSession workoutSession)
+    {
+        ContentValues contentValues = new ContentValues();
+
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE,
+                workoutSession.getActivityType().name());
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN,
+                workoutSession.getNumberOfStepsTaken());
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS,
+                workoutSession.getDurationInSeconds());
+
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_START_DATE_TIME,
+                workoutSession.getStartDateTime().toEpochSecond(ZoneOffset.UTC));
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED,
+                workoutSession.getCaloriesConsumed());
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                workoutSession.getDistanceTravelledInKilometers());
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION,
+                WorkoutSession.METRICS_FORMULA_VERSION);
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS,
+                countNumberOfNonNullGPSLocations(workoutSession.getListOfGPSLocations()));
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN,
+                workoutSession.getListOfImagesTaken().size());
+
+        return contentValues;
+    }
+
+
+    /**
+     * Convert a IWorkoutSession instance into a IStoredWorkoutSession instance
+     *
+     * @param workoutSessionId the id of the workout session
+     * @param workoutSession   the workout session
+     * @return a corresponding IStoredWorkoutSession instance
+     */
+    private static IStoredWorkoutSession convertWorkoutSessionToStoredWorkoutSession(
+            long workoutSessionId,
+            IWorkoutSession workoutSession)
+    {
+        IStoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+
+        storedWorkoutSession.setWorkoutSessionId(workoutSessionId);
+        storedWorkoutSession.setActivityType(workoutSession.getActivityType());
+
+        storedWorkoutSession.setNumberOfStepsTaken(workoutSession.getNumberOfStepsTaken());
+        storedWorkoutSession.setStartDateTime(workoutSession.getStartDateTime());
+        storedWorkoutSession.setDurationInSeconds(workoutSession.getDurationInSeconds());
+
+        storedWorkoutSession.setCaloriesConsumed(workoutSession.getCaloriesConsumed());
+        storedWorkoutSession.setDistanceTravelledInKilometers(
+                                        workoutSession.getDistanceTravelledInKilometers());
+
+        return storedWorkoutSession;
+    }
+
+
+    /**
+     * Encode a list of GPSLocations associated with the workout session and insert it
+     * into the table WORKOUT_SESSION_GPS_TRACK_TABLE_NAME
+     *
+     * @param listOfGPSLocations list of GPSLocations
+     * @param workoutSessionId   the id of the workout session
+     * @param sqLiteDatabase     the sqliteDatabase, which is part of a transaction
+     *
+     * @see GPSTrackEncoding#encode(List)
+     */
+    private static void insertWorkoutSessionGPSTrack(List<IGPSLocation> listOfGPSLocations,
+                                                     long workoutSessionId,
+                                                     SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException {
+
+        final String NO_NULL_COLUMN_HACK = null;
+
+        try {
+            ContentValues contentValues = convertEncodedTrackToContentValues(
+                    GPSTrackEncoding.encode(listOfGPSLocations), workoutSessionId);
+
+            sqLiteDatabase.insertOrThrow(WORKOUT_SESSION_GPS_TRACK_TABLE_NAME,
+                    NO_NULL_COLUMN_HACK, contentValues);
+
+        } catch (Exception exception)
+        {
+            throw new RecordInsertionException("Failed to insert WorkoutSessionGPSTrack Record");
+        }
+    }
+
+
+    /**
+     * Encode a list of GPSLocations associated with the workout session and insert it
+     * into the table WORKOUT_SESSION_GPS_TRACK_TABLE_NAME
+     *
+     * Unlike insertWorkoutSessionGPSTrack(List, long, SQLiteDatabase), the encoded track is
+     * bound to a compiled insert statement instead of being converted into ContentValues
+     *
+     * @param listOfGPSLocations list of GPSLocations
+     * @param workoutSessionId   the id of the workout session
+     * @param sqLiteDatabase     the sqliteDatabase, which is part of a transaction
+     *
+     * @see #insertWorkoutSessionGPSTrack(List, long, SQLiteDatabase)
+     */
+    private static void insertWorkoutSessionGPSTrackWithCompiledStatement(
+                                                        List<IGPSLocation> listOfGPSLocations,
+                                                        long workoutSessionId,
+                                                        SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException
+    {
+        String insertStatementString =
+                "INSERT INTO " + WORKOUT_SESSION_GPS_TRACK_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID + ", " +
+                        WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK +
+                        " ) VALUES ( ?, ? );";
+
+        final int SESSION_ID_BIND_INDEX = 1;
+        final int ENCODED_TRACK_BIND_INDEX = 2;
+
+        final long INSERTION_FAILURE_ROW_ID = -1;
+
+        try (SQLiteStatement insertStatement =
+                     sqLiteDatabase.compileStatement(insertStatementString))
+        {
+            insertStatement.bindLong(SESSION_ID_BIND_INDEX, workoutSessionId);
+            insertStatement.bindBlob(ENCODED_TRACK_BIND_INDEX,
+                                     GPSTrackEncoding.encode(listOfGPSLocations));
+
+            if (insertStatement.executeInsert() == INSERTION_FAILURE_ROW_ID)
+            {
+                throw new RecordInsertionException(
+                        "Failed to insert WorkoutSessionGPSTrack Record");
+            }
+        }
+        catch (SQLException exception)
+        {
+            throw new RecordInsertionException("Failed to insert WorkoutSessionGPSTrack Record");
+        }
+    }
+
+
+    /**
+     * Convert an encoded track into ContentValues (key-value pairs)
+     *
+     * @param encodedTrack     the track encoded by GPSTrackEncoding
+     * @param workoutSessionId the id of the workout session record
+     * @return ContentValues the corresponding ContentValues
+     */
+    private static ContentValues convertEncodedTrackToContentValues(byte[] encodedTrack,
+                                                                    long workoutSessionId)
+    {
+        ContentValues contentValues = new ContentValues();
+
+        contentValues.put(WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID, workoutSessionId);
+        contentValues.put(WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK, encodedTrack);
+
+        return contentValues;
+    }
+
+
+    /**
+     * Insert a list of image paths associated with the workout session into the
+     * table WORKOUT_SESSION_IMAGE_TABLE_NAME
+     *
+     * The paths of the renditions that have already been written are inserted along with
+     * each image path
+     *
+     * @param listOfImagePaths list of image paths
+     * @param setOfImagePathsWithRenditions the image paths whose renditions have been
+     *                                      written, as returned by
+     *                                      getImagePathsWithWrittenRenditions(List)
+     * @param workoutSessionId the id of the workout session
+     * @param sqLiteDatabase   the sqliteDatabase, which is part of a transaction
+     *
+     * @see #getImagePathsWithWrittenRenditions(List)
+     */
+    private void insertListOfWorkoutSessionImagePaths(List<String> listOfImagePaths,
+                                                      Set<String> setOfImagePathsWithRenditions,
+                                                      long workoutSessionId,
+                                                      SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException
+    {
+
+        final String NO_NULL_COLUMN_HACK = null;
+
+        try {
+            for (int index = 0; index < listOfImagePaths.size(); index++) {
+                String imagePath = listOfImagePaths.get(index);
+
+                ContentValues contentValues = convertImagePathToContentValues(imagePath,
+                        index, workoutSessionId,
+                        setOfImagePathsWithRenditions.contains(imagePath));
+
+                sqLiteDatabase.insertOrThrow(WORKOUT_SESSION_IMAGE_TABLE_NAME,
+                        NO_NULL_COLUMN_HACK, contentValues);
+
+            }
+        } catch (Exception exception) {
+            throw new RecordInsertionException("Failed to insert WorkoutSessionImage Record");
+        }
+    }
+
+
+    /**
+     * Insert a list of image paths associated with the workout session into the
+     * table WORKOUT_SESSION_IMAGE_TABLE_NAME
+     *
+     * Unlike insertListOfWorkoutSessionImagePaths(List, Set, long, SQLiteDatabase), the insert
+     * statement is compiled only once, and is re-bound and executed for every image path
+     *
+     * The paths of the renditions that have already been written are inserted along with
+     * each image path
+     *
+     * @param listOfImagePaths list of image paths
+     * @param setOfImagePathsWithRenditions the image paths whose renditions have been
+     *                                      written, as returned by
+     *                                      getImagePathsWithWrittenRenditions(List)
+     * @param workoutSessionId the id of the workout session
+     * @param sqLiteDatabase   the sqliteDatabase, which is part of a transaction
+     *
+     * @see #insertListOfWorkoutSessionImagePaths(List, Set, long, SQLiteDatabase)
+     * @see #getImagePathsWithWrittenRenditions(List)
+     */
+    private static void insertListOfWorkoutSessionImagePathsWithCompiledStatement(
+                                                        List<String> listOfImagePaths,
+                                                        Set<String> setOfImagePathsWithRenditions,
+                                                        long workoutSessionId,
+                                                        SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException
+    {
+        String insertStatementString =
+                "INSERT INTO " + WORKOUT_SESSION_IMAGE_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + ", " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + ", " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH + ", " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH + ", " +
+                        WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH +
+                        " ) VALUES ( ?, ?, ?, ?, ? );";
+
+        final int SESSION_ID_BIND_INDEX = 1;
+        final int IMAGE_PATH_INDEX_BIND_INDEX = 2;
+        final int IMAGE_PATH_BIND_INDEX = 3;
+        final int THUMBNAIL_PATH_BIND_INDEX = 4;
+        final int DISPLAY_PATH_BIND_INDEX = 5;
+
+        final long INSERTION_FAILURE_ROW_ID = -1;
+
+        try (SQLiteStatement insertStatement =
+                     sqLiteDatabase.compileStatement(insertStatementString))
+        {
+            insertStatement.bindLong(SESSION_ID_BIND_INDEX, workoutSessionId);
+
+            for (int index = 0; index < listOfImagePaths.size(); index++)
+            {
+                String imagePath = listOfImagePaths.get(index);
+
+                insertStatement.bindLong(IMAGE_PATH_INDEX_BIND_INDEX, index);
+                insertStatement.bindString(IMAGE_PATH_BIND_INDEX, imagePath);
+
+                if (setOfImagePathsWithRenditions.contains(imagePath))
+                {
+                    insertStatement.bindString(THUMBNAIL_PATH_BIND_INDEX,
+                                               ImageRenditions.getThumbnailPath(imagePath));
+                    insertStatement.bindString(DISPLAY_PATH_BIND_INDEX,
+                                               ImageRenditions.getDisplayPath(imagePath));
+                }
+                else
+                {
+                    insertStatement.bindNull(THUMBNAIL_PATH_BIND_INDEX);
+                    insertStatement.bindNull(DISPLAY_PATH_BIND_INDEX);
+                }
+
+                if (insertStatement.executeInsert() == INSERTION_FAILURE_ROW_ID)
+                {
+                    throw new RecordInsertionException(
+                            "Failed to insert WorkoutSessionImage Record");
+                }
+            }
+        }
+        catch (SQLException exception)
+        {
+            throw new RecordInsertionException("Failed to insert WorkoutSessionImage Record");
+        }
+    }
+
+
+    /**
+     * Convert an image path into ContentValues (key-value pairs)
+     *
+     * @param imagePath              image path of the image
+     * @param indexOfImagePathInList index of the image path within a list
+     * @param workoutSessionId       the id of the workout session record
+     * @param areRenditionsWritten   whether the renditions of the image have been written,
+     *                               so that their paths are recorded
+     * @return ContentValues the corresponding ContentValues
+     */
+    private static ContentValues convertImagePathToContentValues(String imagePath,
+                                                                 int indexOfImagePathInList,
+                                                                 long workoutSessionId,
+                                                                 boolean areRenditionsWritten) {
+        ContentValues contentValues = new ContentValues();
+
+        contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH, imagePath);
+        contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX, indexOfImagePathInList);
+        contentValues.put(WORKOUT_SESSION_COLUMN_SESSION_ID, workoutSessionId);
+
+        if (areRenditionsWritten)
+        {
+            contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH,
+                              ImageRenditions.getThumbnailPath(imagePath));
+            contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH,
+                              ImageRenditions.getDisplayPath(imagePath));
+        }
+        else
+        {
+            contentValues.putNull(WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH);
+            contentValues.putNull(WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH);
+        }
+
+        return contentValues;
+    }
+
+
+    /**
+     * Returns the image paths whose thumbnail and display rendition have both been written,
+     * so that their paths can be recorded when the images are inserted. The renditions of
+     * the other images are recorded by the next backfill instead
+     *
+     * As a rendition is only renamed to its path once it has been written completely, a
+     * rendition that is still being written is treated as not written
+     *
+     * Note: This checks the file system, therefore it must be called before the transaction
+     * inserting the images begins
+     *
+     * @param listOfImagePaths list of image paths
+     *
+     * @see ImageRenditions#writeImageRenditions(String)
+     * */
+    private static Set<String> getImagePathsWithWrittenRenditions(List<String> listOfImagePaths)
+    {
+        Set<String> setOfImagePathsWithRenditions = new HashSet<>();
+
+        for (String imagePath : listOfImagePaths)
+        {
+            if (new File(ImageRenditions.getThumbnailPath(imagePath)).isFile() &&
+                    new File(ImageRenditions.getDisplayPath(imagePath)).isFile())
+            {
+                setOfImagePathsWithRenditions.add(imagePath);
+            }
+        }
+
+        return setOfImagePathsWithRenditions;
+    }
+
+
+
+    /**
+     * Insert a list of splits associated with the workout session into the
+     * table WORKOUT_SESSION_SPLIT_TABLE_NAME
+     *
+     * @param listOfSplits     list of splits, in the order that they occurred
+     * @param workoutSessionId the id of the workout session
+     * @param sqLiteDatabase   the sqliteDatabase, which is part of a transaction
+     */
+    private static void insertListOfWorkoutSessionSplits(List<ISplit> listOfSplits,
+                                                         long workoutSessionId,
+                                                         SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException
+    {
+        final String NO_NULL_COLUMN_HACK = null;
+
+        try {
+            for (int index = 0; index < listOfSplits.size(); index++) {
+                ContentValues contentValues = convertSplitToContentValues(
+                        listOfSplits.get(index), index, workoutSessionId);
+
+                sqLiteDatabase.insertOrThrow(WORKOUT_SESSION_SPLIT_TABLE_NAME,
+                        NO_NULL_COLUMN_HACK, contentValues);
+            }
+        } catch (Exception exception) {
+            throw new RecordInsertionException("Failed to insert WorkoutSessionSplit Record");
+        }
+    }
+
+
+    /**
+     * Insert a list of splits associated with the workout session into the
+     * table WORKOUT_SESSION_SPLIT_TABLE_NAME
+     *
+     * Unlike insertListOfWorkoutSessionSplits(List, long, SQLiteDatabase), the insert
+     * statement is compiled only once, and is re-bound and executed for every split
+     *
+     * @param listOfSplits     list of splits, in the order that they occurred
+     * @param workoutSessionId the id of the workout session
+     * @param sqLiteDatabase   the sqliteDatabase, which is part of a transaction
+     *
+     * @see #insertListOfWorkoutSessionSplits(List, long, SQLiteDatabase)
+     */
+    private static void insertListOfWorkoutSessionSplitsWithCompiledStatement(
+                                                        List<ISplit> listOfSplits,
+                                                        long workoutSessionId,
+                                                        SQLiteDatabase sqLiteDatabase)
+            throws RecordInsertionException
+    {
+        String insertStatementString =
+                "INSERT INTO " + WORKOUT_SESSION_SPLIT_TABLE_NAME + " ( " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID + ", " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX + ", " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_TYPE + ", " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS + ", " +
+                        WORKOUT_SESSION_SPLIT_COLUMN_ELAPSED_DURATION_IN_SECONDS +
+                        " ) VALUES ( ?, ?, ?, ?, ? );";
+
+        final int SESSION_ID_BIND_INDEX = 1;
+        final int SPLIT_INDEX_BIND_INDEX = 2;
+        final int SPLIT_TYPE_BIND_INDEX = 3;
+        final int DISTANCE_TRAVELLED_BIND_INDEX = 4;
+        final int ELAPSED_DURATION_BIND_INDEX = 5;
+
+        final long INSERTION_FAILURE_ROW_ID = -1;
+
+        try (SQLiteStatement insertStatement =
+                     sqLiteDatabase.compileStatement(insertStatementString))
+        {
+            insertStatement.bindLong(SESSION_ID_BIND_INDEX, workoutSessionId);
+
+            for (int index = 0; index < listOfSplits.size(); index++)
+            {
+                ISplit split = listOfSplits.get(index);
+
+                insertStatement.bindLong(SPLIT_INDEX_BIND_INDEX, index);
+                insertStatement.bindString(SPLIT_TYPE_BIND_INDEX, split.getSplitType().name());
+                insertStatement.bindDouble(DISTANCE_TRAVELLED_BIND_INDEX,
+                                           split.getDistanceTravelledInKilometers());
+                insertStatement.bindDouble(ELAPSED_DURATION_BIND_INDEX,
+                                           split.getElapsedDurationInSeconds());
+
+                if (insertStatement.executeInsert() == INSERTION_FAILURE_ROW_ID)
+                {
+                    throw new RecordInsertionException(
+                            "Failed to insert WorkoutSessionSplit Record");
+                }
+            }
+        }
+        catch (SQLException exception)
+        {
+            throw new RecordInsertionException("Failed to insert WorkoutSessionSplit Record");
+        }
+    }
+
+
+    /**
+     * Convert a split into ContentValues (key-value pairs)
+     *
+     * @param split              the split
+     * @param indexOfSplitInList index of the split within a list
+     * @param workoutSessionId   the id of the workout session record
+     * @return ContentValues the corresponding ContentValues
+     */
+    private static ContentValues convertSplitToContentValues(ISplit split,
+                                                             int indexOfSplitInList,
+                                                             long workoutSessionId)
+    {
+        ContentValues contentValues = new ContentValues();
+
+        contentValues.put(WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID, workoutSessionId);
+        contentValues.put(WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX, indexOfSplitInList);
+        contentValues.put(WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_TYPE, split.getSplitType().name());
+        contentValues.put(WORKOUT_SESSION_SPLIT_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                          split.getDistanceTravelledInKilometers());
+        contentValues.put(WORKOUT_SESSION_SPLIT_COLUMN_ELAPSED_DURATION_IN_SECONDS,
+                          split.getElapsedDurationInSeconds());
+
+        return contentValues;
+    }
+
+
+
+    /**
+     * Returns a summary of the overall aggregated workout session summary based on
+     * the date range give
+     *
+     * @param startDateInclusive  the start date inclusive of the date range of interest
+     * @param endDateExclusive the end date exclusive of the date range of interest
+     *
+     * @throws NullPointerException if either of the arguments startDateInclusive or
+     * endDateExclusive are null
+     *
+     * @return a IWorkoutSessionSummary instance containing the aggregated workout session
+     * data
+     * */
+    public IWorkoutSessionSummary queryWorkoutSessionSummary(LocalDate startDateInclusive,
+                                                             LocalDate endDateExclusive)
+    {
+        if (startDateInclusive == null || endDateExclusive == null)
+        {
+            throw new NullPointerException(
+                    "Start date inclusive or end date exclusive cannot be null");
+        }
+
+        Cursor resultCursor = queryWorkoutSessionSummaryAndGetCursor(
+                startDateInclusive.toEpochDay(), endDateExclusive.toEpochDay());
+
+        return convertCursorToWorkoutSessionSummary(resultCursor);
+
+    }
+
+
+    /**
+     * Convert a LocalDateTime instance to the epoch day of its local date, which is the
+     * key of the table DAILY_WORKOUT_ROLLUP_TABLE_NAME
+     *
+     * @param localDateTime the LocalDateTime instance to be converted
+     *
+     * @return the epoch day of the local date of the argument
+     * */
+    private static long convertLocalDateTimeToEpochDay(LocalDateTime localDateTime)
+    {
+        return localDateTime.toLocalDate().toEpochDay();
+    }
+
+
+    /**
+     * Returns an SQL expression converting the column WORKOUT_SESSION_COLUMN_START_DATE_TIME
+     * to the epoch day of its local date, i.e. the same value as
+     * convertLocalDateTimeToEpochDay(LocalDateTime). The remainder is adjusted so that start
+     * date times before 1970 are rounded down as well
+     *
+     * @see #convertLocalDateTimeToEpochDay(LocalDateTime)
+     * */
+    private static String getStartDateTimeEpochDayExpression()
+    {
+        return "( " + WORKOUT_SESSION_COLUMN_START_DATE_TIME + " - ( ( " +
+                WORKOUT_SESSION_COLUMN_START_DATE_TIME + " % " + SECONDS_PER_DAY + " + " +
+                SECONDS_PER_DAY + " ) % " + SECONDS_PER_DAY + " ) ) / " + SECONDS_PER_DAY;
+    }
+
+
+
+    /**
+     * Makes an aggregate query that queries the table DAILY_WORKOUT_ROLLUP_TABLE_NAME for
+     * a workout session summary. This method then returns a cursor.
+     *
+     * As the table has at most one record per day, at most one record is read for every
+     * day of the range of interest, regardless of the number of workout session records
+     *
+     * @param startEpochDayInclusive the start date inclusive of the range of interest
+     *                               as an epoch day
+     *
+     * @param endEpochDayExclusive the end date exclusive of the range of interest
+     *                             as an epoch day
+     *
+     * @return a cursor of the SQLiteDatabase query
+     * */
+    private Cursor queryWorkoutSessionSummaryAndGetCursor(
+            long startEpochDayInclusive, long endEpochDayExclusive)
+    {
+        String[] columns = new String[]{
+                "SUM( " + DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_NUMBER_OF_STEPS_TAKEN + " ) AS "
+                                    + COLUMN_ALIAS_TOTAL_NUMBER_OF_STEPS_TAKEN,
+
+                "SUM( " + DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DURATION_IN_SECONDS + " ) AS "
+                                    + COLUMN_ALIAS_TOTAL_DURATION_IN_SECONDS,
+
+                "SUM( " + DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_CALORIES_CONSUMED + " ) AS "
+                                    + COLUMN_ALIAS_TOTAL_CALORIES_CONSUMED,
+
+                "SUM( " + DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DISTANCE_TRAVELLED + " ) AS "
+                                    + COLUMN_ALIAS_TOTAL_DISTANCE_TRAVELLED
+        };
+
+        String selection =
+                DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + " >= ? AND " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + " < ?";
+
+        String[] selectionArgs = new String[]{
+                String.valueOf(startEpochDayInclusive),
+                String.valueOf(endEpochDayExclusive),
+        };
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
+
+        SQLiteDatabase sqLiteDatabase = getReadableDatabase();
+
+        return sqLiteDatabase.query(DAILY_WORKOUT_ROLLUP_TABLE_NAME,
+                columns, selection, selectionArgs, NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE,
+                NO_ORDER_BY_CLAUSE);
+    }
+
+
+
+
+    /**
+     * Reads through the data pointed by the cursor and returns a corresponding
+     * IWorkoutSessionSummary instance containing the data retrieved
+     *
+     * Note: This method moves the position of the cursor only once
+     *
+     * @param resultCursor the cursor of the result from an aggregate query of the
+     *                     DAILY_WORKOUT_ROLLUP_TABLE_NAME table
+     *
+     * @return a corresponding IStoredWorkoutSession instance based on the data retrieved
+     * from the record pointed by the cursor
+     * */
+    private static IWorkoutSessionSummary convertCursorToWorkoutSessionSummary(Cursor resultCursor)
+    {
+        IWorkoutSessionSummary workoutSessionSummary = new WorkoutSessionSummary();
+
+        //if no records are found, return the  default summary instance with all values set to 0
+        if (!resultCursor.moveToNext())
+        {
+            return workoutSessionSummary;
+        }
+
+        setTotalNumberOfStepsTakenFromCursor(resultCursor, workoutSessionSummary);
+        setTotalDurationInSecondsFromCursor(resultCursor, workoutSessionSummary);
+        setTotalCaloriesConsumedFromCursor(resultCursor, workoutSessionSummary);
+        setTotalDistanceTravelledInKilometersFromCursor(resultCursor, workoutSessionSummary);
+
+
+        resultCursor.close();
+
+        return workoutSessionSummary;
+    }
+
+
+
+    /**
+     * Sets the total number of steps taken of the workout session summary based on the record
+     * currently pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from an aggregate query of the
+     *                      DAILY_WORKOUT_ROLLUP_TABLE_NAME table
+     *
+     * @param workoutSessionSummary This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the total
+     *                            number of steps taken from the record pointed by the cursor.
+     *                              Cannot be null.
+     * */
+    private static void setTotalNumberOfStepsTakenFromCursor(Cursor resultCursor,
+                                             IWorkoutSessionSummary workoutSessionSummary)
+    {
+        int totalNumberOfStepsTaken = resultCursor.getInt(
+                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_NUMBER_OF_STEPS_TAKEN));
+
+        workoutSessionSummary.setTotalNumberOfStepsTaken(totalNumberOfStepsTaken);
+    }
+
+
+
+    /**
+     * Sets the total exercise duration of the workout session summary based on the record
+     * currently pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from an aggregate query of the
+     *                      DAILY_WORKOUT_ROLLUP_TABLE_NAME table
+     *
+     * @param workoutSessionSummary This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the total
+     *                             exercise duration from the record pointed by the cursor.
+     *                              Cannot be null.
+     * */
+    private static void setTotalDurationInSecondsFromCursor(Cursor resultCursor,
+                                           IWorkoutSessionSummary workoutSessionSummary)
+    {
+        int totalDurationInSeconds = resultCursor.getInt(
+                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_DURATION_IN_SECONDS));
+
+        workoutSessionSummary.setTotalDurationInSeconds(totalDurationInSeconds);
+    }
+
+
+    /**
+     * Sets the total calories consumed of the workout session summary based on the record
+     * currently pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from an aggregate query of the
+     *                      DAILY_WORKOUT_ROLLUP_TABLE_NAME table
+     *
+     * @param workoutSessionSummary This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the workout
+     *                             total calories consumed from the record pointed by the cursor.
+     *                              Cannot be null.
+     * */
+    private static void setTotalCaloriesConsumedFromCursor(Cursor resultCursor,
+                                           IWorkoutSessionSummary workoutSessionSummary)
+    {
+        double totalCaloriesConsumed = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_CALORIES_CONSUMED));
+
+        workoutSessionSummary.setTotalCaloriesConsumed(totalCaloriesConsumed);
+    }
+
+
+
+    /**
+     * Sets the total distance travelled of the workout session summary based on the record
+     * currently pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from an aggregate query of the
+     *                      DAILY_WORKOUT_ROLLUP_TABLE_NAME table
+     *
+     * @param workoutSessionSummary This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the workout
+     *                             total distance travelled from the record pointed by the cursor.
+     *                              Cannot be null.
+     * */
+    private static void setTotalDistanceTravelledInKilometersFromCursor(Cursor resultCursor,
+                                            IWorkoutSessionSummary workoutSessionSummary)
+    {
+        double totalDistanceTravelledInKilometers = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_DISTANCE_TRAVELLED));
+
+
+        workoutSessionSummary.setTotalDistanceTravelledInKilometers(
+                                                totalDistanceTravelledInKilometers);
+    }
+
+
+
+    /**
+     * Returns a list of all workout session records stored in the database, order in descending
+     * order according to start date time. This means the the list begins with the most recent
+     * record and ends with the oldest record.
+     *
+     * The GPSLocations and images of the workout session records are loaded in batches
+     * (RecordLoadingMode.BATCHED)
+     *
+     * @return a list containing all workout session records
+     *
+     * @see #queryAllWorkoutSessionRecords(RecordLoadingMode)
+     * */
+    public List<IStoredWorkoutSession> queryAllWorkoutSessionRecords()
+    {
+        return queryAllWorkoutSessionRecords(RecordLoadingMode.BATCHED);
+    }
+
+
+    /**
+     * Returns a list of all workout session records stored in the database, order in descending
+     * order according to start date time. This means the the list begins with the most recent
+     * record and ends with the oldest record.
+     *
+     * The queries are not wrapped in a transaction, so they can run while a workout session
+     * is being saved on another thread. As the child tables are only queried for the range of
+     * workout session ids already read, a workout session saved in the meantime is never
+     * returned partially loaded
+     *
+     * @param recordLoadingMode the strategy used for loading the GPSLocations and images of
+     *                          the workout session records
+     *
+     * @throws NullPointerException if the argument recordLoadingMode is null
+     *
+     * @return a list containing all workout session records
+     * */
+    public List<IStoredWorkoutSession> queryAllWorkoutSessionRecords(
+                                                        RecordLoadingMode recordLoadingMode)
+    {
+        if (recordLoadingMode == null)
+        {
+            throw new NullPointerException("Record loading mode cannot be null");
+        }
+
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+
+        //not wrapped in a transaction, so that it does not hold the connection used for
+        // writing and block a workout session from being saved concurrently
+        Cursor resultCursor = queryAllWorkoutSessionRecordsAndGetCursor(sqLiteDatabase);
+
+        List<IStoredWorkoutSession> listOfStoredWorkSessions;
+
+        if (recordLoadingMode == RecordLoadingMode.BATCHED)
+        {
+            final int NO_MAXIMUM_NUMBER_OF_RECORDS = Integer.MAX_VALUE;
+
+            listOfStoredWorkSessions =
+                    iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessionsInBatch(
+                                                        sqLiteDatabase,
+                                                        resultCursor,
+                                                        NO_MAXIMUM_NUMBER_OF_RECORDS);
+        }
+        else
+        {
+            listOfStoredWorkSessions =
+                    iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessions(
+                                                        sqLiteDatabase,
+                                                        resultCursor);
+        }
+
+        resultCursor.close();
+
+
+        return listOfStoredWorkSessions;
+
+    }
+
+
+    /**
+     * Returns a page of at most pageSize workout session records whose ids come before the
+     * given workout session id, in descending order according to workout session id. This
+     * means that the page begins with the most recent record within the page.
+     *
+     * The page uses keyset pagination: to query the next page, pass the continuation token
+     * from IWorkoutSessionRecordsPage.getNextPageBeforeSessionIdExclusive() as the argument
+     * beforeSessionIdExclusive. To query the first page, pass
+     * FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE.
+     *
+     * The GPSLocations and images of the workout session records are loaded in batches
+     * (RecordLoadingMode.BATCHED)
+     *
+     * @param beforeSessionIdExclusive the workout session id (exclusive) that the workout
+     *                                 session records in the page come before
+     * @param pageSize the maximum number of workout session records in the page
+     *
+     * @throws IllegalArgumentException if the argument pageSize is not a positive number
+     *
+     * @return a page of workout session records, along with the continuation token of the
+     * next page
+     *
+     * @see #FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE
+     * */
+    public IWorkoutSessionRecordsPage queryWorkoutSessionRecordsPage(long beforeSessionIdExclusive,
+                                                                     int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Page size must be a positive number");
+        }
+
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+
+        //not wrapped in a transaction, see queryAllWorkoutSessionRecords(RecordLoadingMode)
+        //query one extra record to find out whether there is a next page
+        Cursor resultCursor = queryWorkoutSessionRecordsPageAndGetCursor(sqLiteDatabase,
+                                                        getWorkoutSessionRecordColumns(),
+                                                        beforeSessionIdExclusive, pageSize + 1);
+
+        List<IStoredWorkoutSession> listOfStoredWorkSessions =
+                iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessionsInBatch(
+                                                        sqLiteDatabase,
+                                                        resultCursor,
+                                                        pageSize);
+
+        boolean hasNextPage = resultCursor.moveToNext();
+
+        resultCursor.close();
+
+
+        long nextPageBeforeSessionIdExclusive = listOfStoredWorkSessions.isEmpty() ?
+                beforeSessionIdExclusive :
+                listOfStoredWorkSessions.get(listOfStoredWorkSessions.size() - 1)
+                                        .getWorkoutSessionId();
+
+        return new WorkoutSessionRecordsPage(listOfStoredWorkSessions, hasNextPage,
+                                             nextPageBeforeSessionIdExclusive);
+    }
+
+
+    /**
+     * Returns a page of at most pageSize workout session list items whose ids come before
+     * the given workout session id, in descending order according to workout session id.
+     *
+     * Unlike queryWorkoutSessionRecordsPage(long, int), only the table
+     * WORKOUT_SESSION_TABLE_NAME is queried. The GPSLocations and images are not loaded,
+     * only the number of them stored along with each record. The complete workout session
+     * record can then be queried with queryWorkoutSessionRecord(long) when it is needed
+     *
+     * @param beforeSessionIdExclusive the workout session id (exclusive) that the workout
+     *                                 session list items in the page come before
+     * @param pageSize the maximum number of workout session list items in the page
+     *
+     * @throws IllegalArgumentException if the argument pageSize is not a positive number
+     *
+     * @return a page of workout session list items, along with the continuation token of
+     * the next page
+     *
+     * @see #FIRST_PAGE_BEFORE_SESSION_ID_EXCLUSIVE
+     * @see #queryWorkoutSessionRecordsPage(long, int)
+     * */
+    public IWorkoutSessionListItemsPage queryWorkoutSessionListItemsPage(
+                                                        long beforeSessionIdExclusive,
+                                                        int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Page size must be a positive number");
+        }
+
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+
+        //query one extra record to find out whether there is a next page
+        Cursor resultCursor = queryWorkoutSessionRecordsPageAndGetCursor(sqLiteDatabase,
+                                                        getWorkoutSessionListItemColumns(),
+                                                        beforeSessionIdExclusive, pageSize + 1);
+
+        List<IWorkoutSessionListItem> listOfWorkoutSessionListItems = new ArrayList<>();
+
+        while (listOfWorkoutSessionListItems.size() < pageSize && resultCursor.moveToNext())
+        {
+            listOfWorkoutSessionListItems.add(convertCursorToWorkoutSessionListItem(resultCursor));
+        }
+
+        boolean hasNextPage = resultCursor.moveToNext();
+
+        resultCursor.close();
+
+
+        long nextPageBeforeSessionIdExclusive = listOfWorkoutSessionListItems.isEmpty() ?
+                beforeSessionIdExclusive :
+                listOfWorkoutSessionListItems.get(listOfWorkoutSessionListItems.size() - 1)
+                                             .getWorkoutSessionId();
+
+        return new WorkoutSessionListItemsPage(listOfWorkoutSessionListItems, hasNextPage,
+                                               nextPageBeforeSessionIdExclusive);
+    }
+
+
+    /**
+     * Returns the complete workout session record with the given id, including its
+     * GPSLocations and images
+     *
+     * @param workoutSessionId the id of the workout session record
+     *
+     * @throws RecordNotFoundException if the workout session record does not exist
+     *
+     * @return the workout session record
+     * */
+    public IStoredWorkoutSession queryWorkoutSessionRecord(long workoutSessionId)
+            throws RecordNotFoundException
+    {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+
+        String selectionClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " = ?";
+
+        String [] selectionArgs = new String[]{Long.toString(workoutSessionId)};
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
+
+        //not wrapped in a transaction, see queryAllWorkoutSessionRecords(RecordLoadingMode)
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
+                getWorkoutSessionRecordColumns(), selectionClause, selectionArgs,
+                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
+
+        if (!resultCursor.moveToNext())
+        {
+            resultCursor.close();
+
+            throw new RecordNotFoundException("WorkoutSessionRecord not found");
+        }
+
+        IStoredWorkoutSession storedWorkoutSession =
+                convertCursorToStoredWorkoutSession(resultCursor);
+
+        resultCursor.close();
+
+
+        queryListOfWorkoutSessionImage(sqLiteDatabase, storedWorkoutSession);
+        queryListOfWorkoutSessionGPSLocation(sqLiteDatabase, storedWorkoutSession);
+
+        //the splits are restored along with the running total of the distance travelled,
+        //which is only kept once the GPSTrack is set, so they must be queried after it
+        queryListOfWorkoutSessionSplit(sqLiteDatabase, storedWorkoutSession);
+
+        return storedWorkoutSession;
+    }
+
+
+    /**
+     * Queries the image paths of the workout session record with the given id, in the order
+     * they were taken, without reading the workout session record itself, its GPSLocations
+     * or its splits
+     *
+     * This is all that is needed of a workout session record before deleting it, as its
+     * image files are not deleted along with it
+     *
+     * @param workoutSessionId the id of the workout session record
+     *
+     * @return the image paths of the workout session record, or an empty list if it has no
+     * images or does not exist
+     * */
+    public List<String> queryListOfImagePaths(long workoutSessionId)
+    {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+
+        Cursor resultCursor = queryWorkoutSessionImageAndGetCursor(sqLiteDatabase,
+                                                                   workoutSessionId);
+
+        List<String> listOfImagePaths = new ArrayList<>(resultCursor.getCount());
+
+        while (resultCursor.moveToNext())
+        {
+            listOfImagePaths.add(resultCursor.getString(resultCursor.getColumnIndexOrThrow(
+                                                    WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH)));
+        }
+
+        resultCursor.close();
+
+
+        return listOfImagePaths;
+    }
+
+
+    /**
+     * Makes a query that queries the table WORKOUT_SESSION_TABLE_NAME for
+     * all workout session records (in descending order according to start date time).
+     * This method then returns a cursor.
+     *
+     * @param sqLiteDatabase the database handle with read access permission. May be part of
+     *                       a transaction
+     *
+     * @return a cursor of the SQLiteDatabase query
+     * */
+    private static Cursor queryAllWorkoutSessionRecordsAndGetCursor(SQLiteDatabase sqLiteDatabase)
+    {
+
+
+        String[] columns = getWorkoutSessionRecordColumns();
+
+        final String NO_SELECTION = null;
+        final String[] NO_SELECTION_ARGS = null;
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+
+        String orderByClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " DESC";
+
+        return sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
+                columns, NO_SELECTION, NO_SELECTION_ARGS,
+                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
+
+    }
+
+
+    /**
+     * Makes a query that queries the table WORKOUT_SESSION_TABLE_NAME for the workout session
+     * records whose ids come before the given workout session id (in descending order
+     * according to workout session id). This method then returns a cursor.
+     *
+     * The query seeks directly to the given workout session id through the primary key,
+     * so the cost of the query does not grow with the number of pages before it
+     *
+     * @param sqLiteDatabase the database handle with read access permission. May be part of
+     *                       a transaction
+     * @param columns the columns of the table WORKOUT_SESSION_TABLE_NAME to be queried
+     * @param beforeSessionIdExclusive the workout session id (exclusive) that the workout
+     *                                 session records come before
+     * @param maximumNumberOfRecords the maximum number of records returned by the query
+     *
+     * @return a cursor of the SQLiteDatabase query
+     * */
+    private static Cursor queryWorkoutSessionRecordsPageAndGetCursor(SQLiteDatabase sqLiteDatabase,
+                                                                String [] columns,
+                                                                long beforeSessionIdExclusive,
+                                                                int maximumNumberOfRecords)
+    {
+        String selectionClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " < ?";
+
+        String [] selectionArgs = new String[]{Long.toString(beforeSessionIdExclusive)};
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+
+        String orderByClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " DESC";
+
+        String limitClause = Integer.toString(maximumNumberOfRecords);
+
+        return sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
+                columns, selectionClause, selectionArgs,
+                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause, limitClause);
+    }
+
+
+    /**
+     * Returns the columns of the WORKOUT_SESSION_TABLE_NAME table that are read when
+     * converting a record into a IStoredWorkoutSession instance
+     *
+     * @see #convertCursorToStoredWorkoutSession(Cursor)
+     * */
+    private static String [] getWorkoutSessionRecordColumns()
+    {
+        return new String[]{
+                WORKOUT_SESSION_COLUMN_SESSION_ID,
+                WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE,
+                WORKOUT_SESSION_COLUMN_START_DATE_TIME,
+                WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN,
+                WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS,
+                WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED,
+                WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS
+        };
+    }
+
+
+    /**
+     * Returns the columns of the WORKOUT_SESSION_TABLE_NAME table that are read when
+     * converting a record into a IWorkoutSessionListItem instance
+     *
+     * @see #convertCursorToWorkoutSessionListItem(Cursor)
+     * */
+    private static String [] getWorkoutSessionListItemColumns()
+    {
+        return new String[]{
+                WORKOUT_SESSION_COLUMN_SESSION_ID,
+                WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE,
+                WORKOUT_SESSION_COLUMN_START_DATE_TIME,
+                WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN,
+                WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS,
+                WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED,
+                WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS,
+                WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN
+        };
+    }
+
+
+    /**
+     * Reads through the data pointed by the cursor and returns a corresponding
+     * IWorkoutSessionListItem instance containing the data retrieved
+     *
+     * Note: This method does not move the position of the cursor. It merely reads
+     * through the data pointed by the cursor's current position
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                     WORKOUT_SESSION_TABLE_NAME table, with the columns returned by
+     *                     getWorkoutSessionListItemColumns()
+     *
+     * @return a corresponding IWorkoutSessionListItem instance based on the data retrieved
+     * from the record pointed by the cursor
+     * */
+    private static IWorkoutSessionListItem convertCursorToWorkoutSessionListItem(
+                                                                        Cursor resultCursor)
+    {
+        //the scalar columns are shared with IStoredWorkoutSession, so they are read the
+        // same way
+        IStoredWorkoutSession storedWorkoutSession =
+                convertCursorToStoredWorkoutSession(resultCursor);
+
+        int numberOfGPSLocations = resultCursor.getInt(resultCursor.getColumnIndexOrThrow(
+                WORKOUT_SESSION_COLUMN_NUMBER_OF_GPS_LOCATIONS));
+
+        int numberOfImagesTaken = resultCursor.getInt(resultCursor.getColumnIndexOrThrow(
+                WORKOUT_SESSION_COLUMN_NUMBER_OF_IMAGES_TAKEN));
+
+        return new WorkoutSessionListItem(storedWorkoutSession.getWorkoutSessionId(),
+                storedWorkoutSession.getActivityType(),
+                storedWorkoutSession.getStartDateTime(),
+                storedWorkoutSession.getDurationInSeconds(),
+                storedWorkoutSession.getNumberOfStepsTaken(),
+                storedWorkoutSession.getCaloriesConsumed(),
+                storedWorkoutSession.getDistanceTravelledInKilometers(),
+                numberOfGPSLocations,
+                numberOfImagesTaken);
+    }
+
+
+    /**
+     * Iterate through a cursor that queries the WORKOUT_SESSION_TABLE_NAME table,
+     * and convert the resulting that into a list of workout sessions
+     *
+     * Note: This method will make further queries to access related data from other tables.
+     *
+     * @param sqLiteDatabase database handle with read permission. May be part of a transaction.
+     *
+     * @param resultCursor a cursor pointing to the results from a query of the
+     *              WORKOUT_SESSION_TABLE_NAME table, with read-access
+     *
+     * */
+    private static List<IStoredWorkoutSession> iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessions(
+                                                        SQLiteDatabase sqLiteDatabase,
+                                                        Cursor resultCursor)
+    {
+        List<IStoredWorkoutSession> listOfStoredWorkSessions = new ArrayList<>();
+
+        while (resultCursor.moveToNext())
+        {
+
+            IStoredWorkoutSession storedWorkoutSession =
+                    convertCursorToStoredWorkoutSession(resultCursor);
+
+            queryListOfWorkoutSessionImage(sqLiteDatabase, storedWorkoutSession);
+            queryListOfWorkoutSessionGPSLocation(sqLiteDatabase, storedWorkoutSession);
+            queryListOfWorkoutSessionSplit(sqLiteDatabase, storedWorkoutSession);
+
+            listOfStoredWorkSessions.add(storedWorkoutSession);
+        }
+
+        return listOfStoredWorkSessions;
+    }
+
+
+    /**
+     * Iterate through a cursor that queries the WORKOUT_SESSION_TABLE_NAME table,
+     * and convert the resulting that into a list of workout sessions
+     *
+     * Unlike iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessions(SQLiteDatabase,
+     * Cursor), the images and GPSLocations of all the workout sessions are retrieved with
+     * only one query per table, instead of one query per table for every workout session
+     *
+     * Note: At most maximumNumberOfRecords records are read, leaving the cursor positioned at
+     * the last record read, so that the caller can check whether further records remain
+     *
+     * @param sqLiteDatabase database handle with read permission. May be part of a transaction.
+     *
+     * @param resultCursor a cursor pointing to the results from a query of the
+     *              WORKOUT_SESSION_TABLE_NAME table, with read-access
+     *
+     * @param maximumNumberOfRecords the maximum number of records to read from the cursor
+     *
+     * @see #iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessions(SQLiteDatabase, Cursor)
+     * */
+    private static List<IStoredWorkoutSession>
+                    iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessionsInBatch(
+                                                        SQLiteDatabase sqLiteDatabase,
+                                                        Cursor resultCursor,
+                                                        int maximumNumberOfRecords)
+    {
+        List<IStoredWorkoutSession> listOfStoredWorkSessions = new ArrayList<>();
+
+        Map<Long, IStoredWorkoutSession> mapOfSessionIdToStoredWorkoutSession = new HashMap<>();
+
+        long lowestSessionId = Long.MAX_VALUE;
+        long highestSessionId = Long.MIN_VALUE;
+
+        while (listOfStoredWorkSessions.size() < maximumNumberOfRecords &&
+                resultCursor.moveToNext())
+        {
+            IStoredWorkoutSession storedWorkoutSession =
+                    convertCursorToStoredWorkoutSession(resultCursor);
+
+            long sessionId = storedWorkoutSession.getWorkoutSessionId();
+
+            lowestSessionId = Math.min(lowestSessionId, sessionId);
+            highestSessionId = Math.max(highestSessionId, sessionId);
+
+            mapOfSessionIdToStoredWorkoutSession.put(sessionId, storedWorkoutSession);
+            listOfStoredWorkSessions.add(storedWorkoutSession);
+        }
+
+
+        if (listOfStoredWorkSessions.isEmpty())
+        {
+            return listOfStoredWorkSessions;
+        }
+
+        queryListsOfWorkoutSessionImageInBatch(sqLiteDatabase, lowestSessionId,
+                        highestSessionId, mapOfSessionIdToStoredWorkoutSession);
+
+        queryListsOfWorkoutSessionGPSLocationInBatch(sqLiteDatabase, lowestSessionId,
+                        highestSessionId, mapOfSessionIdToStoredWorkoutSession);
+
+        //the splits are restored along with the running total of the distance travelled,
+        //which is only kept once the GPSTrack is set, so they must be queried after it
+        queryListsOfWorkoutSessionSplitInBatch(sqLiteDatabase, lowestSessionId,
+                        highestSessionId, mapOfSessionIdToStoredWorkoutSession);
+
+        return listOfStoredWorkSessions;
+    }
+
+
+
+
+
+
+    /**
+     * Reads through the data pointed by the cursor and returns a corresponding
+     * IStoredWorkoutSession instance containing the data retrieved
+     *
+     * Note: This method does not move the position of the cursor. It merely reads
+     * through the data pointed by the cursor's current position
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                     WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @return a corresponding IStoredWorkoutSession instance based on the data retrieved
+     * from the record pointed by the cursor
+     * */
+    private static IStoredWorkoutSession convertCursorToStoredWorkoutSession(Cursor resultCursor)
+    {
+        IStoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+
+
+        setWorkoutSessionIdFromCursor(resultCursor, storedWorkoutSession);
+        setWorkoutActivityTypeFromCursor(resultCursor, storedWorkoutSession);
+        setStartDateTimeFromCursor(resultCursor, storedWorkoutSession);
+
+        setNumberOfStepsTakenFromCursor(resultCursor, storedWorkoutSession);
+        setDurationInSecondsFromCursor(resultCursor, storedWorkoutSession);
+
+        setCaloriesConsumedFromCursor(resultCursor, storedWorkoutSession);
+        setDistanceTravelledFromCursor(resultCursor, storedWorkoutSession);
+
+
+        return storedWorkoutSession;
+    }
+
+
+
+    /**
+     * Sets the workout session id of the workout session based on the record currently
+     * pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the workout
+     *                             session id from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setWorkoutSessionIdFromCursor(Cursor resultCursor,
+                                              IStoredWorkoutSession storedWorkoutSession)
+    {
+        long sessionId = resultCursor.getLong(resultCursor.getColumnIndexOrThrow(
+                WORKOUT_SESSION_COLUMN_SESSION_ID));
+
+        storedWorkoutSession.setWorkoutSessionId(sessionId);
+    }
+
+
+
+    /**
+     * Sets the workout activity type of the workout session based on the record currently
+     * pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the workout
+     *                             activity type from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setWorkoutActivityTypeFromCursor(Cursor resultCursor,
+                                                     IStoredWorkoutSession storedWorkoutSession)
+    {
+        String activityTypeString = resultCursor.getString(resultCursor.getColumnIndexOrThrow(
+                WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE));
+
+
+        switch (activityTypeString) {
+            case "WALKING":
+                storedWorkoutSession.setActivityType(IWorkoutSession.ActivityType.WALKING);
+                break;
+
+            case "RUNNING":
+                storedWorkoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
+                break;
+        }
+
+    }
+
+
+
+    /**
+     * Sets the number of steps of the workout session based on the record currently
+     * pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the number of
+     *                            steps from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setNumberOfStepsTakenFromCursor(Cursor resultCursor,
+                                                    IStoredWorkoutSession storedWorkoutSession)
+    {
+        int numberOfSteps = resultCursor.getInt(resultCursor.getColumnIndexOrThrow(
+                                            WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN));
+
+        storedWorkoutSession.setNumberOfStepsTaken(numberOfSteps);
+    }
+
+
+
+    /**
+     * Sets the workout duration of the workout session based on the record currently
+     * pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the workout
+     *                            duration from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setDurationInSecondsFromCursor(Cursor resultCursor,
+                                                   IStoredWorkoutSession storedWorkoutSession)
+    {
+        int durationInSeconds = resultCursor.getInt(
+                resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS));
+
+        storedWorkoutSession.setDurationInSeconds(durationInSeconds);
+    }
+
+
+
+    /**
+     * Sets the calories consumed of the workout session based on the record currently
+     * pointed by the cursor, instead of calculating it again. This method does not move
+     * the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the calories
+     *                            consumed from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setCaloriesConsumedFromCursor(Cursor resultCursor,
+                                                  IStoredWorkoutSession storedWorkoutSession)
+    {
+        double caloriesConsumed = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED));
+
+        storedWorkoutSession.setCaloriesConsumed(caloriesConsumed);
+    }
+
+
+
+    /**
+     * Sets the distance travelled of the workout session based on the record currently
+     * pointed by the cursor, instead of calculating it again from the GPSLocations. This
+     * method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the distance
+     *                            travelled from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setDistanceTravelledFromCursor(Cursor resultCursor,
+                                                   IStoredWorkoutSession storedWorkoutSession)
+    {
+        double distanceTravelledInKilometers = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(
+                        WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS));
+
+        storedWorkoutSession.setDistanceTravelledInKilometers(distanceTravelledInKilometers);
+    }
+
+
+
+    /**
+     * Sets the start date time of the workout session based on the record currently
+     * pointed by the cursor. This method does not move the position of the cursor
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                      WORKOUT_SESSION_TABLE_NAME table
+     *
+     * @param storedWorkoutSession This is the return value of the method. When this method
+     *                             finishes executing, this argument will contain the workout
+     *                            start date time from the record pointed by the cursor. Cannot be
+     *                             null.
+     * */
+    private static void setStartDateTimeFromCursor(Cursor resultCursor,
+                                            IStoredWorkoutSession storedWorkoutSession)
+    {
+        long startDateTimeEpochSecond = resultCursor.getLong(
+                resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_COLUMN_START_DATE_TIME));
+
+
+        final int ZERO_NANO_SECONDS = 0;
+
+        LocalDateTime startDateTime = LocalDateTime.ofEpochSecond(startDateTimeEpochSecond,
+                                        ZERO_NANO_SECONDS, ZoneOffset.UTC);
+
+        storedWorkoutSession.setStartDateTime(startDateTime);
+    }
+
+
+
+    /**
+     * Queries the database for list of images associated with the stored workout session
+     *
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param storedWorkoutSession the stored workout session instance to store the list of
+     *                             images. This is the return value of the method.
+     *
+     *                              Note: This argument must already contain the workout
+     *                             session id
+     *
+     * */
+    private static void queryListOfWorkoutSessionImage(SQLiteDatabase sqLiteDatabase,
+                                                IStoredWorkoutSession storedWorkoutSession)
+    {
+        Cursor resultCursor = queryWorkoutSessionImageAndGetCursor(sqLiteDatabase,
+                                                storedWorkoutSession.getWorkoutSessionId());
+
+        iterateThroughWorkoutSessionImageCursorAndAddListOfImages(resultCursor,storedWorkoutSession );
+    }
+
+
+
+    /**
+     * Makes a query that queries the table WORKOUT_SESSION_IMAGE_TABLE_NAME for the image
+     * paths of a workout session, in the order they were taken. This method then returns
+     * a cursor.
      *
-     * @param endDateTimeExclusiveEpochSeconds the end date time exclusive of the
-     *                                         range of interest in epoch seconds
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param workoutSessionId the id of the workout session of interest
      *
      * @return a cursor of the SQLiteDatabase query
      * */
-    private Cursor queryWorkoutSessionSummaryAndGetCursor(
-            long startDateTimeInclusiveEpochSeconds, long endDateTimeExclusiveEpochSeconds)
+    private static Cursor queryWorkoutSessionImageAndGetCursor(SQLiteDatabase sqLiteDatabase,
+                                                               long workoutSessionId)
     {
-        String[] columns = new String[]{
-                "SUM( " + WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN + " ) AS "
-                                    + COLUMN_ALIAS_TOTAL_NUMBER_OF_STEPS_TAKEN,
+        String [] columns = new String[]{WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH};
 
-                "SUM( " + WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS + " ) AS "
-                                    + COLUMN_ALIAS_TOTAL_DURATION_IN_SECONDS,
+        String selectionClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " = ?";
 
-                "SUM( " + WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED + " ) AS "
-                                    + COLUMN_ALIAS_TOTAL_CALORIES_CONSUMED,
+        String sessionIdString = Long.toString(workoutSessionId);
+        String [] selectionArgs = new String[]{sessionIdString};
 
-                "SUM( " + WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS + " ) AS "
-                                    + COLUMN_ALIAS_TOTAL_DISTANCE_TRAVELLED
-        };
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
 
-        String selection =
-                WORKOUT_SESSION_COLUMN_START_DATE_TIME + " >= ? AND " +
-                        WORKOUT_SESSION_COLUMN_START_DATE_TIME + " < ?";
+        String orderByClause = WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + " ASC";
 
-        String[] selectionArgs = new String[]{
-                String.valueOf(startDateTimeInclusiveEpochSeconds),
-                String.valueOf(endDateTimeExclusiveEpochSeconds),
+        return sqLiteDatabase.query(WORKOUT_SESSION_IMAGE_TABLE_NAME,
+                            columns, selectionClause, selectionArgs,
+                            NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
+    }
+
+
+
+    /**
+     * Iterate through a cursor that queries the WORKOUT_SESSION_IMAGE_TABLE_NAME table,
+     * and convert the resulting that into a list of image paths.
+     *
+     * Each of these image paths will be added to the storedWorkoutSession argument
+     *
+     * Note: Expects each record pointed by the cursor to contain the following attributes:
+     *      (a) WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE
+     *      (b) WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE
+     *
+     *
+     * @param resultCursor a cursor pointing to the results from a query of the
+     *              WORKOUT_SESSION_GPS_LOCATION table, with read-access
+     *
+     * @param storedWorkoutSession a instance of storedWorkoutSession to stored the results
+     *                             from the cursor. Cannot be null
+     * */
+    private static void iterateThroughWorkoutSessionImageCursorAndAddListOfImages(
+                                                    Cursor resultCursor,
+                                                    IStoredWorkoutSession storedWorkoutSession)
+    {
+        String currentImagePath;
+
+        while(resultCursor.moveToNext())
+        {
+            currentImagePath = resultCursor.getString(
+                    resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH));
+
+            storedWorkoutSession.addImageTaken(currentImagePath);
+        }
+
+        resultCursor.close();
+    }
+
+
+
+    /**
+     * Queries the database for list of GPSLocations (coordinates) associated with the
+     * stored workout session
+     *
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param storedWorkoutSession the stored workout session instance to store the list of
+     *                             GPSLocations. This is the return value of the method.
+     *
+     *                              Note: This argument must already contain the workout
+     *                             session id
+     *
+     * */
+    private static void queryListOfWorkoutSessionGPSLocation(SQLiteDatabase sqLiteDatabase,
+                                                IStoredWorkoutSession storedWorkoutSession )
+    {
+        long sessionId = storedWorkoutSession.getWorkoutSessionId();
+
+
+        String [] columns = new String[]{WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK};
+
+
+        String selectionClause = WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID + " = ?";
+
+        String sessionIdString = Long.toString(sessionId);
+        String [] selectionArgs = new String[]{sessionIdString};
+
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
+
+        Cursor cursor = sqLiteDatabase.query(WORKOUT_SESSION_GPS_TRACK_TABLE_NAME,
+                                columns, selectionClause, selectionArgs, NO_GROUP_BY_CLAUSE,
+                                NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
+
+        if (cursor.moveToNext())
+        {
+            addEncodedTrackToStoredWorkoutSession(cursor.getBlob(0), storedWorkoutSession);
+        }
+
+        cursor.close();
+
+    }
+
+
+    /**
+     * Queries the database for the list of splits associated with the stored workout
+     * session, and sets them as its splits
+     *
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param storedWorkoutSession the stored workout session instance to store the list of
+     *                             splits. This is the return value of the method.
+     *
+     *                              Note: This argument must already contain the workout
+     *                             session id and GPSLocations
+     *
+     * */
+    private static void queryListOfWorkoutSessionSplit(SQLiteDatabase sqLiteDatabase,
+                                                IStoredWorkoutSession storedWorkoutSession)
+    {
+        String [] columns = getWorkoutSessionSplitColumns();
+
+        String selectionClause = WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID + " = ?";
+
+        String sessionIdString = Long.toString(storedWorkoutSession.getWorkoutSessionId());
+        String [] selectionArgs = new String[]{sessionIdString};
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+
+        String orderByClause = WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX + " ASC";
+
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_SPLIT_TABLE_NAME,
+                            columns, selectionClause, selectionArgs,
+                            NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
+
+        List<ISplit> listOfSplits = new ArrayList<>();
+
+        while (resultCursor.moveToNext())
+        {
+            listOfSplits.add(convertCursorToSplit(resultCursor));
+        }
+
+        resultCursor.close();
+
+        storedWorkoutSession.setListOfSplits(listOfSplits);
+    }
+
+
+    /**
+     * Returns the columns of the table WORKOUT_SESSION_SPLIT_TABLE_NAME that are read by
+     * convertCursorToSplit(Cursor)
+     *
+     * @see #convertCursorToSplit(Cursor)
+     * */
+    private static String [] getWorkoutSessionSplitColumns()
+    {
+        return new String[]{
+                WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID,
+                WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_TYPE,
+                WORKOUT_SESSION_SPLIT_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                WORKOUT_SESSION_SPLIT_COLUMN_ELAPSED_DURATION_IN_SECONDS
         };
+    }
+
+
+    /**
+     * Reads through the data pointed by the cursor and returns a corresponding Split
+     * instance
+     *
+     * Note: This method does not move the position of the cursor. It merely reads
+     * through the data pointed by the cursor's current position
+     *
+     * @param resultCursor the cursor of the result from a query of the
+     *                     WORKOUT_SESSION_SPLIT_TABLE_NAME table, with the columns from
+     *                     getWorkoutSessionSplitColumns()
+     *
+     * @return a corresponding Split instance
+     * */
+    private static ISplit convertCursorToSplit(Cursor resultCursor)
+    {
+        ISplit.SplitType splitType = ISplit.SplitType.valueOf(resultCursor.getString(
+                resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_TYPE)));
 
-        final String NO_GROUP_BY_CLAUSE = null;
-        final String NO_HAVING_CLAUSE = null;
-        final String NO_ORDER_BY_CLAUSE = null;
+        double distanceTravelledInKilometers = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(
+                        WORKOUT_SESSION_SPLIT_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS));
 
-        SQLiteDatabase sqLiteDatabase = getReadableDatabase();
+        double elapsedDurationInSeconds = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(
+                        WORKOUT_SESSION_SPLIT_COLUMN_ELAPSED_DURATION_IN_SECONDS));
 
-        return sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
-                columns, selection, selectionArgs, NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE,
-                NO_ORDER_BY_CLAUSE);
+        return new Split(splitType, distanceTravelledInKilometers, elapsedDurationInSeconds);
     }
 
 
+    /**
+     * Decode an encoded track directly into a GPSTrack (including the pauses during the
+     * workout session), and set it as the GPSTrack of the stored workout session
+     *
+     * Note: The GPSLocations are not added one at a time, so the distance travelled and the
+     * splits stored in the database are not calculated again. The distance travelled must
+     * already be set, as it is taken as the running total of the distance travelled
+     *
+     * @param encodedTrack the track encoded by GPSTrackEncoding
+     * @param storedWorkoutSession a instance of storedWorkoutSession to stored the
+     *                             GPSTrack. Cannot be null
+     *
+     * @see GPSTrackEncoding#decodeToGPSTrack(byte[])
+     * */
+    private static void addEncodedTrackToStoredWorkoutSession(byte[] encodedTrack,
+                                                IStoredWorkoutSession storedWorkoutSession)
+    {
+        storedWorkoutSession.setGPSTrack(GPSTrackEncoding.decodeToGPSTrack(encodedTrack));
+    }
 
 
     /**
      * Reads through the data pointed by the cursor and returns a corresponding
-     * IWorkoutSessionSummary instance containing the data retrieved
+     * GPSLocation instance, or null if the record represents a pause during the
+     * workout session
      *
-     * Note: This method moves the position of the cursor only once
+     * Note: This is only used to migrate the table WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME
      *
-     * @param resultCursor the cursor of the result from an aggregate query of the
-     *                     WORKOUT_SESSION_TABLE_NAME table
+     * Note: This method does not move the position of the cursor. It merely reads
+     * through the data pointed by the cursor's current position
      *
-     * @return a corresponding IStoredWorkoutSession instance based on the data retrieved
-     * from the record pointed by the cursor
+     * @param resultCursor the cursor of the result from a query of the
+     *                     WORKOUT_SESSION_GPS_LOCATION table
+     *
+     * @return a corresponding GPSLocation instance, or null to represent a pause
      * */
-    private static IWorkoutSessionSummary convertCursorToWorkoutSessionSummary(Cursor resultCursor)
+    private static GPSLocation convertCursorToGPSLocation(Cursor resultCursor)
     {
-        IWorkoutSessionSummary workoutSessionSummary = new WorkoutSessionSummary();
+        final GPSLocation EMPTY_MARKER = null;
 
-        //if no records are found, return the  default summary instance with all values set to 0
-        if (!resultCursor.moveToNext())
+        final long TRUE = 1;
+
+        //check if latitude and longitude is null
+        //it is acceptable to have null latitude and longitude to represent
+        // a pause during the workout session
+        long isLocationNull = resultCursor.getLong(
+                    resultCursor.getColumnIndexOrThrow(
+                            WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL));
+
+        if (isLocationNull != TRUE)
         {
-            return workoutSessionSummary;
+            return EMPTY_MARKER;
         }
 
-        setTotalNumberOfStepsTakenFromCursor(resultCursor, workoutSessionSummary);
-        setTotalDurationInSecondsFromCursor(resultCursor, workoutSessionSummary);
-        setTotalCaloriesConsumedFromCursor(resultCursor, workoutSessionSummary);
-        setTotalDistanceTravelledInKilometersFromCursor(resultCursor, workoutSessionSummary);
-
+        double currentLatitude = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(
+                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE));
 
-        resultCursor.close();
+        double currentLongitude = resultCursor.getDouble(
+                resultCursor.getColumnIndexOrThrow(
+                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE));
 
-        return workoutSessionSummary;
+        return new GPSLocation(currentLatitude, currentLongitude);
     }
 
 
 
     /**
-     * Sets the total number of steps taken of the workout session summary based on the record
-     * currently pointed by the cursor. This method does not move the position of the cursor
-     *
-     * @param resultCursor the cursor of the result from an aggregate query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
+     * Returns the selection arguments for a "sessionId BETWEEN ? AND ?" selection clause,
+     * which selects the records of a child table (WORKOUT_SESSION_IMAGE_TABLE_NAME,
+     * WORKOUT_SESSION_GPS_TRACK_TABLE_NAME or WORKOUT_SESSION_SPLIT_TABLE_NAME) belonging to
+     * a range of workout session ids
      *
-     * @param workoutSessionSummary This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the total
-     *                            number of steps taken from the record pointed by the cursor.
-     *                              Cannot be null.
+     * @param lowestSessionIdInclusive the lowest workout session id of the range
+     * @param highestSessionIdInclusive the highest workout session id of the range
      * */
-    private static void setTotalNumberOfStepsTakenFromCursor(Cursor resultCursor,
-                                             IWorkoutSessionSummary workoutSessionSummary)
+    private static String [] getSessionIdRangeSelectionArgs(long lowestSessionIdInclusive,
+                                                            long highestSessionIdInclusive)
     {
-        int totalNumberOfStepsTaken = resultCursor.getInt(
-                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_NUMBER_OF_STEPS_TAKEN));
-
-        workoutSessionSummary.setTotalNumberOfStepsTaken(totalNumberOfStepsTaken);
+        return new String[]{
+                Long.toString(lowestSessionIdInclusive),
+                Long.toString(highestSessionIdInclusive)
+        };
     }
 
 
-
     /**
-     * Sets the total exercise duration of the workout session summary based on the record
-     * currently pointed by the cursor. This method does not move the position of the cursor
-     *
-     * @param resultCursor the cursor of the result from an aggregate query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
-     *
-     * @param workoutSessionSummary This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the total
-     *                             exercise duration from the record pointed by the cursor.
-     *                              Cannot be null.
+     * Queries the database for the list of images associated with every workout session in
+     * the map, using only one query. The images are added to their workout sessions
+     *
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param lowestSessionIdInclusive the lowest workout session id within the map
+     * @param highestSessionIdInclusive the highest workout session id within the map
+     * @param mapOfSessionIdToStoredWorkoutSession the stored workout sessions to store the
+     *                                             lists of images, keyed by their workout
+     *                                             session ids. This is the return value of
+     *                                             the method.
      * */
-    private static void setTotalDurationInSecondsFromCursor(Cursor resultCursor,
-                                           IWorkoutSessionSummary workoutSessionSummary)
+    private static void queryListsOfWorkoutSessionImageInBatch(SQLiteDatabase sqLiteDatabase,
+                            long lowestSessionIdInclusive, long highestSessionIdInclusive,
+                            Map<Long, IStoredWorkoutSession> mapOfSessionIdToStoredWorkoutSession)
     {
-        int totalDurationInSeconds = resultCursor.getInt(
-                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_DURATION_IN_SECONDS));
+        String [] columns = new String[]{
+                                        WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID,
+                                        WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH};
 
-        workoutSessionSummary.setTotalDurationInSeconds(totalDurationInSeconds);
+        String selectionClause = WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + " BETWEEN ? AND ?";
+
+        String [] selectionArgs = getSessionIdRangeSelectionArgs(lowestSessionIdInclusive,
+                                                                 highestSessionIdInclusive);
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+
+        String orderByClause = WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID + " ASC, " +
+                                WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + " ASC";
+
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_IMAGE_TABLE_NAME,
+                            columns, selectionClause, selectionArgs,
+                            NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
+
+        int sessionIdColumnIndex = resultCursor.getColumnIndexOrThrow(
+                                                WORKOUT_SESSION_IMAGE_COLUMN_SESSION_ID);
+        int imagePathColumnIndex = resultCursor.getColumnIndexOrThrow(
+                                                WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH);
+
+        while (resultCursor.moveToNext())
+        {
+            IStoredWorkoutSession storedWorkoutSession = mapOfSessionIdToStoredWorkoutSession.get(
+                                                    resultCursor.getLong(sessionIdColumnIndex));
+
+            if (storedWorkoutSession != null)
+            {
+                storedWorkoutSession.addImageTaken(resultCursor.getString(imagePathColumnIndex));
+            }
+        }
+
+        resultCursor.close();
     }
 
 
     /**
-     * Sets the total calories consumed of the workout session summary based on the record
-     * currently pointed by the cursor. This method does not move the position of the cursor
-     *
-     * @param resultCursor the cursor of the result from an aggregate query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
-     *
-     * @param workoutSessionSummary This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the workout
-     *                             total calories consumed from the record pointed by the cursor.
-     *                              Cannot be null.
+     * Queries the database for the list of GPSLocations (coordinates) associated with every
+     * workout session in the map, using only one query. The GPSLocations are added to their
+     * workout sessions
+     *
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param lowestSessionIdInclusive the lowest workout session id within the map
+     * @param highestSessionIdInclusive the highest workout session id within the map
+     * @param mapOfSessionIdToStoredWorkoutSession the stored workout sessions to store the
+     *                                             lists of GPSLocations, keyed by their workout
+     *                                             session ids. This is the return value of
+     *                                             the method.
      * */
-    private static void setTotalCaloriesConsumedFromCursor(Cursor resultCursor,
-                                           IWorkoutSessionSummary workoutSessionSummary)
+    private static void queryListsOfWorkoutSessionGPSLocationInBatch(
+                            SQLiteDatabase sqLiteDatabase,
+                            long lowestSessionIdInclusive, long highestSessionIdInclusive,
+                            Map<Long, IStoredWorkoutSession> mapOfSessionIdToStoredWorkoutSession)
     {
-        double totalCaloriesConsumed = resultCursor.getDouble(
-                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_CALORIES_CONSUMED));
+        String [] columns = new String[]{
+                                        WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID,
+                                        WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK};
 
-        workoutSessionSummary.setTotalCaloriesConsumed(totalCaloriesConsumed);
-    }
+        String selectionClause =
+                WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID + " BETWEEN ? AND ?";
 
+        String [] selectionArgs = getSessionIdRangeSelectionArgs(lowestSessionIdInclusive,
+                                                                 highestSessionIdInclusive);
 
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
 
-    /**
-     * Sets the total distance travelled of the workout session summary based on the record
-     * currently pointed by the cursor. This method does not move the position of the cursor
-     *
-     * @param resultCursor the cursor of the result from an aggregate query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
-     *
-     * @param workoutSessionSummary This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the workout
-     *                             total distance travelled from the record pointed by the cursor.
-     *                              Cannot be null.
-     * */
-    private static void setTotalDistanceTravelledInKilometersFromCursor(Cursor resultCursor,
-                                            IWorkoutSessionSummary workoutSessionSummary)
-    {
-        double totalDistanceTravelledInKilometers = resultCursor.getDouble(
-                resultCursor.getColumnIndexOrThrow(COLUMN_ALIAS_TOTAL_DISTANCE_TRAVELLED));
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_GPS_TRACK_TABLE_NAME,
+                                columns, selectionClause, selectionArgs, NO_GROUP_BY_CLAUSE,
+                                NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
 
+        int sessionIdColumnIndex = resultCursor.getColumnIndexOrThrow(
+                                            WORKOUT_SESSION_GPS_TRACK_COLUMN_SESSION_ID);
+        int encodedTrackColumnIndex = resultCursor.getColumnIndexOrThrow(
+                                            WORKOUT_SESSION_GPS_TRACK_COLUMN_ENCODED_TRACK);
 
-        workoutSessionSummary.setTotalDistanceTravelledInKilometers(
-                                                totalDistanceTravelledInKilometers);
-    }
+        while (resultCursor.moveToNext())
+        {
+            IStoredWorkoutSession storedWorkoutSession = mapOfSessionIdToStoredWorkoutSession.get(
+                                                    resultCursor.getLong(sessionIdColumnIndex));
 
+            if (storedWorkoutSession != null)
+            {
+                addEncodedTrackToStoredWorkoutSession(
+                        resultCursor.getBlob(encodedTrackColumnIndex), storedWorkoutSession);
+            }
+        }
+
+        resultCursor.close();
+    }
 
 
     /**
-     * Returns a list of all workout session records stored in the database, order in descending
-     * order according to start date time. This means the the list begins with the most recent
-     * record and ends with the oldest record.
-     *
-     * @return a list containing all workout session records
+     * Queries the database for the list of splits associated with every workout session in
+     * the map, using only one query. The splits are set as the splits of their workout
+     * sessions, including an empty list for the workout sessions without any split
+     *
+     * @param sqLiteDatabase the database handle with read permission. May be part of a transaction
+     * @param lowestSessionIdInclusive the lowest workout session id within the map
+     * @param highestSessionIdInclusive the highest workout session id within the map
+     * @param mapOfSessionIdToStoredWorkoutSession the stored workout sessions to store the
+     *                                             lists of splits, keyed by their workout
+     *                                             session ids. Their GPSLocations must
+     *                                             already be added. This is the return value
+     *                                             of the method.
      * */
-    public List<IStoredWorkoutSession> queryAllWorkoutSessionRecords()
+    private static void queryListsOfWorkoutSessionSplitInBatch(
+                            SQLiteDatabase sqLiteDatabase,
+                            long lowestSessionIdInclusive, long highestSessionIdInclusive,
+                            Map<Long, IStoredWorkoutSession> mapOfSessionIdToStoredWorkoutSession)
     {
-        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
+        String [] columns = getWorkoutSessionSplitColumns();
 
-        sqLiteDatabase.beginTransaction();
+        String selectionClause =
+                WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID + " BETWEEN ? AND ?";
 
-        Cursor resultCursor = queryAllWorkoutSessionRecordsAndGetCursor(sqLiteDatabase);
+        String [] selectionArgs = getSessionIdRangeSelectionArgs(lowestSessionIdInclusive,
+                                                                 highestSessionIdInclusive);
 
-        List<IStoredWorkoutSession> listOfStoredWorkSessions =
-                    iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessions(
-                                                        sqLiteDatabase,
-                                                        resultCursor);
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+
+        String orderByClause = WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID + " ASC, " +
+                                WORKOUT_SESSION_SPLIT_COLUMN_SPLIT_INDEX + " ASC";
+
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_SPLIT_TABLE_NAME,
+                            columns, selectionClause, selectionArgs,
+                            NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
+
+        int sessionIdColumnIndex = resultCursor.getColumnIndexOrThrow(
+                                                WORKOUT_SESSION_SPLIT_COLUMN_SESSION_ID);
+
+        Map<Long, List<ISplit>> mapOfSessionIdToListOfSplits = new HashMap<>();
+
+        while (resultCursor.moveToNext())
+        {
+            long sessionId = resultCursor.getLong(sessionIdColumnIndex);
+
+            List<ISplit> listOfSplits = mapOfSessionIdToListOfSplits.get(sessionId);
+
+            if (listOfSplits == null)
+            {
+                listOfSplits = new ArrayList<>();
+                mapOfSessionIdToListOfSplits.put(sessionId, listOfSplits);
+            }
+
+            listOfSplits.add(convertCursorToSplit(resultCursor));
+        }
 
         resultCursor.close();
-        sqLiteDatabase.setTransactionSuccessful();
-        sqLiteDatabase.endTransaction();
 
 
-        return listOfStoredWorkSessions;
+        final List<ISplit> NO_SPLITS = new ArrayList<>();
+
+        for (Map.Entry<Long, IStoredWorkoutSession> entry :
+                                            mapOfSessionIdToStoredWorkoutSession.entrySet())
+        {
+            List<ISplit> listOfSplits = mapOfSessionIdToListOfSplits.get(entry.getKey());
 
+            entry.getValue().setListOfSplits(listOfSplits != null ? listOfSplits : NO_SPLITS);
+        }
     }
 
 
     /**
-     * Makes a query that queries the table WORKOUT_SESSION_TABLE_NAME for
-     * all workout session records (in descending order according to start date time).
-     * This method then returns a cursor.
+     * Recalculates the calories consumed and distance travelled of the workout session
+     * records that were calculated with a formula older than
+     * WorkoutSession.METRICS_FORMULA_VERSION, and stores the recalculated values.
      *
-     * @param sqLiteDatabase the database handle with read access permission.Part of
-     *                       a transaction
+     * Workout session records are loaded with their stored values, so this is the only
+     * method that recalculates them. This is done automatically when the database is
+     * upgraded, therefore VERSION_NUMBER should be incremented along with
+     * WorkoutSession.METRICS_FORMULA_VERSION
      *
-     * @return a cursor of the SQLiteDatabase query
+     * @return the number of workout session records recalculated
+     *
+     * @see WorkoutSession#METRICS_FORMULA_VERSION
      * */
-    private static Cursor queryAllWorkoutSessionRecordsAndGetCursor(SQLiteDatabase sqLiteDatabase)
+    public int recalculateOutdatedWorkoutSessionRecords()
     {
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
 
+        sqLiteDatabase.beginTransactionNonExclusive();
 
-        String[] columns = new String[]{
-                WORKOUT_SESSION_COLUMN_SESSION_ID,
-                WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE,
-                WORKOUT_SESSION_COLUMN_START_DATE_TIME,
-                WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN,
-                WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS
-        };
-
-        final String NO_SELECTION = null;
-        final String[] NO_SELECTION_ARGS = null;
-
-        final String NO_GROUP_BY_CLAUSE = null;
-        final String NO_HAVING_CLAUSE = null;
+        int numberOfRecordsRecalculated =
+                recalculateOutdatedWorkoutSessionRecords(sqLiteDatabase);
 
-        String orderByClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " DESC";
+        sqLiteDatabase.setTransactionSuccessful();
+        sqLiteDatabase.endTransaction();
 
-        return sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
-                columns, NO_SELECTION, NO_SELECTION_ARGS,
-                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
 
+        return numberOfRecordsRecalculated;
     }
 
 
     /**
-     * Iterate through a cursor that queries the WORKOUT_SESSION_TABLE_NAME table,
-     * and convert the resulting that into a list of workout sessions
-     *
-     * Note: This method will make further queries to access related data from other tables.
-     *
-     * @param sqLiteDatabase database handle with read permission. Part of a transaction.
+     * Recalculates the calories consumed and distance travelled of the workout session
+     * records whose WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION is older than
+     * WorkoutSession.METRICS_FORMULA_VERSION, and updates the records with the recalculated
+     * values and the current formula version. The daily workout rollups of the records are
+     * updated by the difference between the recalculated and the previous values
      *
-     * @param resultCursor a cursor pointing to the results from a query of the
-     *              WORKOUT_SESSION_TABLE_NAME table, with read-access
+     * @param sqLiteDatabase the database handle with write permission. Part of a transaction
      *
+     * @return the number of workout session records recalculated
      * */
-    private static List<IStoredWorkoutSession> iterateThroughWorkoutSessionCursorAndAddStoredWorkoutSessions(
-                                                        SQLiteDatabase sqLiteDatabase,
-                                                        Cursor resultCursor)
+    private static int recalculateOutdatedWorkoutSessionRecords(SQLiteDatabase sqLiteDatabase)
     {
-        List<IStoredWorkoutSession> listOfStoredWorkSessions = new ArrayList<>();
+        String[] columns = getWorkoutSessionRecordColumns();
+
+        String selectionClause = WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION + " < ?";
+
+        String [] selectionArgs = new String[]{
+                Integer.toString(WorkoutSession.METRICS_FORMULA_VERSION)};
+
+        final String NO_GROUP_BY_CLAUSE = null;
+        final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
+
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
+                columns, selectionClause, selectionArgs,
+                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
+
+
+        int numberOfRecordsRecalculated = 0;
 
         while (resultCursor.moveToNext())
         {
-
             IStoredWorkoutSession storedWorkoutSession =
                     convertCursorToStoredWorkoutSession(resultCursor);
 
-            queryListOfWorkoutSessionImage(sqLiteDatabase, storedWorkoutSession);
-            queryListOfWorkoutSessionGPSLocation(sqLiteDatabase, storedWorkoutSession);
+            double previousCaloriesConsumed = storedWorkoutSession.getCaloriesConsumed();
+            double previousDistanceTravelledInKilometers =
+                    storedWorkoutSession.getDistanceTravelledInKilometers();
 
+            queryListOfWorkoutSessionGPSLocation(sqLiteDatabase, storedWorkoutSession);
 
             storedWorkoutSession.calculateCaloriesConsumed();
             storedWorkoutSession.calculateDistanceTravelled();
 
-            listOfStoredWorkSessions.add(storedWorkoutSession);
-        }
+            updateWorkoutSessionRecordMetrics(sqLiteDatabase, storedWorkoutSession);
 
-        return listOfStoredWorkSessions;
-    }
+            //the workout session stays in the same daily workout rollup, only its
+            //calories consumed and distance travelled change
+            updateDailyWorkoutRollup(sqLiteDatabase,
+                    convertLocalDateTimeToEpochDay(storedWorkoutSession.getStartDateTime()),
+                    0, 0, 0,
+                    storedWorkoutSession.getCaloriesConsumed() - previousCaloriesConsumed,
+                    storedWorkoutSession.getDistanceTravelledInKilometers() -
+                            previousDistanceTravelledInKilometers);
 
+            numberOfRecordsRecalculated++;
+        }
 
+        resultCursor.close();
 
 
+        return numberOfRecordsRecalculated;
+    }
 
 
     /**
-     * Reads through the data pointed by the cursor and returns a corresponding
-     * IStoredWorkoutSession instance containing the data retrieved
-     *
-     * Note: This method does not move the position of the cursor. It merely reads
-     * through the data pointed by the cursor's current position
-     *
-     * @param resultCursor the cursor of the result from a query of the
-     *                     WORKOUT_SESSION_TABLE_NAME table
+     * Updates the calories consumed and distance travelled of the workout session record
+     * with the values of the stored workout session, and marks the record as calculated with
+     * WorkoutSession.METRICS_FORMULA_VERSION
      *
-     * @return a corresponding IStoredWorkoutSession instance based on the data retrieved
-     * from the record pointed by the cursor
+     * @param sqLiteDatabase the database handle with write permission. Part of a transaction
+     * @param storedWorkoutSession the stored workout session containing the recalculated values
      * */
-    private static IStoredWorkoutSession convertCursorToStoredWorkoutSession(Cursor resultCursor)
+    private static void updateWorkoutSessionRecordMetrics(SQLiteDatabase sqLiteDatabase,
+                                                IStoredWorkoutSession storedWorkoutSession)
     {
-        IStoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+        ContentValues contentValues = new ContentValues();
 
+        contentValues.put(WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED,
+                storedWorkoutSession.getCaloriesConsumed());
 
-        setWorkoutSessionIdFromCursor(resultCursor, storedWorkoutSession);
-        setWorkoutActivityTypeFromCursor(resultCursor, storedWorkoutSession);
-        setStartDateTimeFromCursor(resultCursor, storedWorkoutSession);
+        contentValues.put(WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                storedWorkoutSession.getDistanceTravelledInKilometers());
+
+        contentValues.put(WORKOUT_SESSION_COLUMN_METRICS_FORMULA_VERSION,
+                WorkoutSession.METRICS_FORMULA_VERSION);
 
-        setNumberOfStepsTakenFromCursor(resultCursor, storedWorkoutSession);
-        setDurationInSecondsFromCursor(resultCursor, storedWorkoutSession);
 
+        String whereClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " = ?";
 
-        return storedWorkoutSession;
-    }
+        String [] whereArgs = new String[]{
+                Long.toString(storedWorkoutSession.getWorkoutSessionId())};
 
+        sqLiteDatabase.update(WORKOUT_SESSION_TABLE_NAME, contentValues, whereClause, whereArgs);
+    }
 
 
     /**
-     * Sets the workout session id of the workout session based on the record currently
-     * pointed by the cursor. This method does not move the position of the cursor
+     * Rebuilds the table DAILY_WORKOUT_ROLLUP_TABLE_NAME from the workout session records.
      *
-     * @param resultCursor the cursor of the result from a query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
+     * The daily workout rollups are kept up to date whenever workout session records are
+     * inserted, deleted or recalculated, and are rebuilt automatically when the table is
+     * created by a database upgrade, therefore this is only needed if the two tables are
+     * suspected to have diverged
      *
-     * @param storedWorkoutSession This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the workout
-     *                             session id from the record pointed by the cursor. Cannot be
-     *                             null.
+     * @return the number of daily workout rollups after the rebuild
      * */
-    private static void setWorkoutSessionIdFromCursor(Cursor resultCursor,
-                                              IStoredWorkoutSession storedWorkoutSession)
+    public int rebuildDailyWorkoutRollups()
     {
-        long sessionId = resultCursor.getLong(resultCursor.getColumnIndexOrThrow(
-                WORKOUT_SESSION_COLUMN_SESSION_ID));
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+
+        sqLiteDatabase.beginTransactionNonExclusive();
+
+        int numberOfDailyWorkoutRollups = rebuildDailyWorkoutRollups(sqLiteDatabase);
+
+        sqLiteDatabase.setTransactionSuccessful();
+        sqLiteDatabase.endTransaction();
 
-        storedWorkoutSession.setWorkoutSessionId(sessionId);
-    }
 
+        return numberOfDailyWorkoutRollups;
+    }
 
 
     /**
-     * Sets the workout activity type of the workout session based on the record currently
-     * pointed by the cursor. This method does not move the position of the cursor
+     * Deletes all records of the table DAILY_WORKOUT_ROLLUP_TABLE_NAME, and re-creates them
+     * by aggregating the table WORKOUT_SESSION_TABLE_NAME per local date of start date time
      *
-     * @param resultCursor the cursor of the result from a query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
+     * @param sqLiteDatabase the database handle with write permission. Part of a transaction
      *
-     * @param storedWorkoutSession This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the workout
-     *                             activity type from the record pointed by the cursor. Cannot be
-     *                             null.
+     * @return the number of daily workout rollups after the rebuild
      * */
-    private static void setWorkoutActivityTypeFromCursor(Cursor resultCursor,
-                                                     IStoredWorkoutSession storedWorkoutSession)
+    private static int rebuildDailyWorkoutRollups(SQLiteDatabase sqLiteDatabase)
     {
-        String activityTypeString = resultCursor.getString(resultCursor.getColumnIndexOrThrow(
-                WORKOUT_SESSION_COLUMN_ACTIVITY_TYPE));
+        final String NO_WHERE_CLAUSE = null;
+        final String [] NO_WHERE_ARGS = null;
 
+        sqLiteDatabase.delete(DAILY_WORKOUT_ROLLUP_TABLE_NAME, NO_WHERE_CLAUSE, NO_WHERE_ARGS);
 
-        switch (activityTypeString) {
-            case "WALKING":
-                storedWorkoutSession.setActivityType(IWorkoutSession.ActivityType.WALKING);
-                break;
 
-            case "RUNNING":
-                storedWorkoutSession.setActivityType(IWorkoutSession.ActivityType.RUNNING);
-                break;
-        }
+        String rebuildString =
+                "INSERT INTO " + DAILY_WORKOUT_ROLLUP_TABLE_NAME + " ( " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_NUMBER_OF_WORKOUT_SESSIONS + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_NUMBER_OF_STEPS_TAKEN + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DURATION_IN_SECONDS + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_CALORIES_CONSUMED + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DISTANCE_TRAVELLED + " ) " +
+                "SELECT " + getStartDateTimeEpochDayExpression() + ", " +
+                        "COUNT( * ), " +
+                        "SUM( " + WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN + " ), " +
+                        "SUM( " + WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS + " ), " +
+                        "SUM( " + WORKOUT_SESSION_COLUMN_CALORIES_CONSUMED + " ), " +
+                        "SUM( " + WORKOUT_SESSION_COLUMN_DISTANCE_TRAVELLED_IN_KILOMETERS + " ) " +
+                "FROM " + WORKOUT_SESSION_TABLE_NAME + " " +
+                "GROUP BY " + getStartDateTimeEpochDayExpression() + ";";
 
-    }
+        sqLiteDatabase.execSQL(rebuildString);
 
 
+        return (int) DatabaseUtils.queryNumEntries(sqLiteDatabase,
+                                                        DAILY_WORKOUT_ROLLUP_TABLE_NAME);
+    }
+
 
     /**
-     * Sets the number of steps of the workout session based on the record currently
-     * pointed by the cursor. This method does not move the position of the cursor
+     * Adds a workout session to the daily workout rollup of the local date of its start
+     * date time
      *
-     * @param resultCursor the cursor of the result from a query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
-     *
-     * @param storedWorkoutSession This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the number of
-     *                            steps from the record pointed by the cursor. Cannot be
-     *                             null.
+     * @param sqLiteDatabase the database handle with write permission. Part of a transaction
+     * @param workoutSession the workout session to be added
      * */
-    private static void setNumberOfStepsTakenFromCursor(Cursor resultCursor,
-                                                    IStoredWorkoutSession storedWorkoutSession)
+    private static void addWorkoutSessionToDailyWorkoutRollup(SQLiteDatabase sqLiteDatabase,
+                                                              IWorkoutSession workoutSession)
     {
-        int numberOfSteps = resultCursor.getInt(resultCursor.getColumnIndexOrThrow(
-                                            WORKOUT_SESSION_COLUMN_NUMBER_OF_STEPS_TAKEN));
-
-        storedWorkoutSession.setNumberOfStepsTaken(numberOfSteps);
+        updateDailyWorkoutRollup(sqLiteDatabase,
+                convertLocalDateTimeToEpochDay(workoutSession.getStartDateTime()),
+                1, workoutSession.getNumberOfStepsTaken(),
+                workoutSession.getDurationInSeconds(), workoutSession.getCaloriesConsumed(),
+                workoutSession.getDistanceTravelledInKilometers());
     }
 
 
-
     /**
-     * Sets the workout duration of the workout session based on the record currently
-     * pointed by the cursor. This method does not move the position of the cursor
-     *
-     * @param resultCursor the cursor of the result from a query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
+     * Removes a workout session from the daily workout rollup of the local date of its start
+     * date time
      *
-     * @param storedWorkoutSession This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the workout
-     *                            duration from the record pointed by the cursor. Cannot be
-     *                             null.
+     * @param sqLiteDatabase the database handle with write permission. Part of a transaction
+     * @param workoutSession the workout session to be removed
      * */
-    private static void setDurationInSecondsFromCursor(Cursor resultCursor,
-                                                   IStoredWorkoutSession storedWorkoutSession)
+    private static void removeWorkoutSessionFromDailyWorkoutRollup(SQLiteDatabase sqLiteDatabase,
+                                                                   IWorkoutSession workoutSession)
     {
-        int durationInSeconds = resultCursor.getInt(
-                resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_COLUMN_DURATION_IN_SECONDS));
-
-        storedWorkoutSession.setDurationInSeconds(durationInSeconds);
+        updateDailyWorkoutRollup(sqLiteDatabase,
+                convertLocalDateTimeToEpochDay(workoutSession.getStartDateTime()),
+                -1, -workoutSession.getNumberOfStepsTaken(),
+                -workoutSession.getDurationInSeconds(), -workoutSession.getCaloriesConsumed(),
+                -workoutSession.getDistanceTravelledInKilometers());
     }
 
 
-
     /**
-     * Sets the start date time of the workout session based on the record currently
-     * pointed by the cursor. This method does not move the position of the cursor
-     *
-     * @param resultCursor the cursor of the result from a query of the
-     *                      WORKOUT_SESSION_TABLE_NAME table
-     *
-     * @param storedWorkoutSession This is the return value of the method. When this method
-     *                             finishes executing, this argument will contain the workout
-     *                            start date time from the record pointed by the cursor. Cannot be
-     *                             null.
+     * Adds the given differences to the daily workout rollup of an epoch day, creating the
+     * daily workout rollup if it does not exist yet. A daily workout rollup that no longer
+     * contains any workout session is deleted, so that no rounding errors of the totals
+     * are left behind
+     *
+     * The daily workout rollup is created and updated with separate statements rather than
+     * an upsert, as upserts are not supported by the SQLite version of older devices
+     *
+     * @param sqLiteDatabase the database handle with write permission. Part of a transaction
+     * @param epochDay the epoch day of the daily workout rollup
+     * @param numberOfWorkoutSessionsDifference the difference in number of workout sessions
+     * @param numberOfStepsTakenDifference the difference in total number of steps taken
+     * @param durationInSecondsDifference the difference in total duration in seconds
+     * @param caloriesConsumedDifference the difference in total calories consumed
+     * @param distanceTravelledInKilometersDifference the difference in total distance
+     *                                                travelled in kilometers
      * */
-    private static void setStartDateTimeFromCursor(Cursor resultCursor,
-                                            IStoredWorkoutSession storedWorkoutSession)
+    private static void updateDailyWorkoutRollup(SQLiteDatabase sqLiteDatabase, long epochDay,
+                                                 int numberOfWorkoutSessionsDifference,
+                                                 long numberOfStepsTakenDifference,
+                                                 long durationInSecondsDifference,
+                                                 double caloriesConsumedDifference,
+                                                 double distanceTravelledInKilometersDifference)
     {
-        long startDateTimeEpochSecond = resultCursor.getLong(
-                resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_COLUMN_START_DATE_TIME));
-
-
-        final int ZERO_NANO_SECONDS = 0;
+        String insertString =
+                "INSERT OR IGNORE INTO " + DAILY_WORKOUT_ROLLUP_TABLE_NAME + " ( " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_NUMBER_OF_WORKOUT_SESSIONS + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_NUMBER_OF_STEPS_TAKEN + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DURATION_IN_SECONDS + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_CALORIES_CONSUMED + ", " +
+                        DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DISTANCE_TRAVELLED + " ) " +
+                "VALUES ( ?, 0, 0, 0, 0, 0 );";
+
+        sqLiteDatabase.execSQL(insertString, new Object[]{ epochDay });
+
+
+        String updateString =
+                "UPDATE " + DAILY_WORKOUT_ROLLUP_TABLE_NAME + " SET " +
+                        getIncrementClause(DAILY_WORKOUT_ROLLUP_COLUMN_NUMBER_OF_WORKOUT_SESSIONS) +
+                        ", " +
+                        getIncrementClause(DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_NUMBER_OF_STEPS_TAKEN) +
+                        ", " +
+                        getIncrementClause(DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DURATION_IN_SECONDS) +
+                        ", " +
+                        getIncrementClause(DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_CALORIES_CONSUMED) +
+                        ", " +
+                        getIncrementClause(DAILY_WORKOUT_ROLLUP_COLUMN_TOTAL_DISTANCE_TRAVELLED) +
+                " WHERE " + DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + " = ?;";
+
+        sqLiteDatabase.execSQL(updateString, new Object[]{
+                numberOfWorkoutSessionsDifference,
+                numberOfStepsTakenDifference,
+                durationInSecondsDifference,
+                caloriesConsumedDifference,
+                distanceTravelledInKilometersDifference,
+                epochDay });
+
+
+        String whereClause = DAILY_WORKOUT_ROLLUP_COLUMN_EPOCH_DAY + " = ? AND " +
+                DAILY_WORKOUT_ROLLUP_COLUMN_NUMBER_OF_WORKOUT_SESSIONS + " <= 0";
+
+        String [] whereArgs = new String[]{ Long.toString(epochDay) };
+
+        sqLiteDatabase.delete(DAILY_WORKOUT_ROLLUP_TABLE_NAME, whereClause, whereArgs);
+    }
 
-        LocalDateTime startDateTime = LocalDateTime.ofEpochSecond(startDateTimeEpochSecond,
-                                        ZERO_NANO_SECONDS, ZoneOffset.UTC);
 
-        storedWorkoutSession.setStartDateTime(startDateTime);
+    /**
+     * Returns an SQL assignment that adds a bound argument to the value of a column,
+     * i.e. "column = column + ?"
+     *
+     * @param columnName the name of the column to be incremented
+     * */
+    private static String getIncrementClause(String columnName)
+    {
+        return columnName + " = " + columnName + " + ?";
     }
 
 
-
     /**
-     * Queries the database for list of images associated with the stored workout session
+     * Query the image paths of the workout session images whose thumbnail or display
+     * rendition has not been recorded as written, i.e. the images taken before the
+     * renditions were introduced, or whose renditions were still being written when their
+     * workout session was inserted
      *
-     * @param sqLiteDatabase the database handle with read permission. Part of a transaction
-     * @param storedWorkoutSession the stored workout session instance to store the list of
-     *                             images. This is the return value of the method.
+     * The images marked as without renditions are not returned
      *
-     *                              Note: This argument must already contain the workout
-     *                             session id
+     * Note: As both rendition paths are recorded together, only the thumbnail path is
+     * checked, so that the query is answered by the index
+     * WORKOUT_SESSION_IMAGE_PENDING_RENDITIONS_INDEX_NAME
      *
+     * @return the image paths, or an empty list if every image has both renditions
+     *
+     * @see #updateWorkoutSessionImageRenditions(String, String, String)
+     * @see #markWorkoutSessionImageWithoutRenditions(String)
      * */
-    private static void queryListOfWorkoutSessionImage(SQLiteDatabase sqLiteDatabase,
-                                                IStoredWorkoutSession storedWorkoutSession)
+    public List<String> queryImagePathsWithoutRenditions()
     {
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
 
         String [] columns = new String[]{WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH};
 
-        String selectionClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " = ?";
-
-        long sessionId = storedWorkoutSession.getWorkoutSessionId();
-
-        String sessionIdString = Long.toString(sessionId);
-        String [] selectionArgs = new String[]{sessionIdString};
+        //must match the WHERE clause of the partial index for the index to be used
+        String selectionClause = WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH + " IS NULL";
 
+        final String [] NO_SELECTION_ARGS = null;
         final String NO_GROUP_BY_CLAUSE = null;
         final String NO_HAVING_CLAUSE = null;
-
-        String orderByClause = WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH_INDEX + " ASC";
+        final String NO_ORDER_BY_CLAUSE = null;
 
         Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_IMAGE_TABLE_NAME,
-                            columns, selectionClause, selectionArgs,
-                            NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, orderByClause);
-
-        iterateThroughWorkoutSessionImageCursorAndAddListOfImages(resultCursor,storedWorkoutSession );
-    }
+                columns, selectionClause, NO_SELECTION_ARGS,
+                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
 
+        List<String> listOfImagePaths = new ArrayList<>(resultCursor.getCount());
 
-
-    /**
-     * Iterate through a cursor that queries the WORKOUT_SESSION_IMAGE_TABLE_NAME table,
-     * and convert the resulting that into a list of image paths.
-     *
-     * Each of these image paths will be added to the storedWorkoutSession argument
-     *
-     * Note: Expects each record pointed by the cursor to contain the following attributes:
-     *      (a) WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE
-     *      (b) WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE
-     *
-     *
-     * @param resultCursor a cursor pointing to the results from a query of the
-     *              WORKOUT_SESSION_GPS_LOCATION table, with read-access
-     *
-     * @param storedWorkoutSession a instance of storedWorkoutSession to stored the results
-     *                             from the cursor. Cannot be null
-     * */
-    private static void iterateThroughWorkoutSessionImageCursorAndAddListOfImages(
-                                                    Cursor resultCursor,
-                                                    IStoredWorkoutSession storedWorkoutSession)
-    {
-        String currentImagePath;
-
-        while(resultCursor.moveToNext())
+        while (resultCursor.moveToNext())
         {
-            currentImagePath = resultCursor.getString(
-                    resultCursor.getColumnIndexOrThrow(WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH));
-
-            storedWorkoutSession.addImageTaken(currentImagePath);
+            listOfImagePaths.add(resultCursor.getString(resultCursor.getColumnIndexOrThrow(
+                                                    WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH)));
         }
 
         resultCursor.close();
-    }
 
 
+        return listOfImagePaths;
+    }
+
 
     /**
-     * Queries the database for list of GPSLocations (coordinates) associated with the
-     * stored workout session
+     * Query the paths of the renditions of a workout session image that have been recorded
+     * as written, from the smallest to the largest, i.e. the thumbnail and then the display
+     * rendition
      *
-     * @param sqLiteDatabase the database handle with read permission. Part of a transaction
-     * @param storedWorkoutSession the stored workout session instance to store the list of
-     *                             GPSLocations. This is the return value of the method.
+     * @param imagePath the image path of the workout session image
      *
-     *                              Note: This argument must already contain the workout
-     *                             session id
+     * @throws NullPointerException if the argument is null
+     *
+     * @return the rendition paths, or an empty list if the renditions have not been
+     * recorded, the image is marked as without renditions, or the workout session image
+     * record does not exist
      *
+     * @see #updateWorkoutSessionImageRenditions(String, String, String)
      * */
-    private static void queryListOfWorkoutSessionGPSLocation(SQLiteDatabase sqLiteDatabase,
-                                                IStoredWorkoutSession storedWorkoutSession )
+    public List<String> queryListOfImageRenditionPaths(String imagePath)
     {
-        long sessionId = storedWorkoutSession.getWorkoutSessionId();
-
-
-        String [] columns = new String[]{
-                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL,
-                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE,
-                                        WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE};
+        if (imagePath == null)
+        {
+            throw new NullPointerException("Image path cannot be null");
+        }
 
+        SQLiteDatabase sqLiteDatabase = this.getReadableDatabase();
 
-        String selectionClause = WORKOUT_SESSION_COLUMN_SESSION_ID + " = ?";
+        String [] columns = new String[]{WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH,
+                                         WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH};
 
-        String sessionIdString = Long.toString(sessionId);
-        String [] selectionArgs = new String[]{sessionIdString};
+        String selectionClause = WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH + " = ?";
 
+        String [] selectionArgs = new String[]{imagePath};
 
         final String NO_GROUP_BY_CLAUSE = null;
         final String NO_HAVING_CLAUSE = null;
+        final String NO_ORDER_BY_CLAUSE = null;
 
-        String orderByClause = WORKOUT_SESSION_GPS_LOCATION_COLUMN_LOCATION_INDEX + " ASC";
+        Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_IMAGE_TABLE_NAME,
+                columns, selectionClause, selectionArgs,
+                NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
 
-        Cursor cursor = sqLiteDatabase.query(WORKOUT_SESSION_GPS_LOCATION_TABLE_NAME,
-                                columns, selectionClause, selectionArgs, NO_GROUP_BY_CLAUSE,
-                                NO_HAVING_CLAUSE, orderByClause);
+        List<String> listOfRenditionPaths = new ArrayList<>();
 
-        iterateThroughWorkoutSessionGPSLocationCursorAndAddListOfGPSLocations(cursor,
-                                                            storedWorkoutSession);
+        if (resultCursor.moveToNext())
+        {
+            String thumbnailPath = resultCursor.getString(resultCursor.getColumnIndexOrThrow(
+                                            WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH));
+            String displayPath = resultCursor.getString(resultCursor.getColumnIndexOrThrow(
+                                            WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH));
+
+            //both rendition paths are always recorded together
+            if (thumbnailPath != null && !thumbnailPath.equals(NO_RENDITION_PATH))
+            {
+                listOfRenditionPaths.add(thumbnailPath);
+                listOfRenditionPaths.add(displayPath);
+            }
+        }
+
+        resultCursor.close();
 
-        cursor.close();
 
+        return listOfRenditionPaths;
     }
 
 
     /**
-     * Iterate through a cursor that queries the WORKOUT_SESSION_GPS_LOCATION table,
-     * and convert the resulting that into IGPSLocation instances.
+     * Record the paths of the renditions of a workout session image as written
      *
-     * Each of these IGPSLocation instances will be added to the storedWorkoutSession argument
+     * @param imagePath the image path of the workout session image
+     * @param thumbnailPath the path of the thumbnail of the image
+     * @param displayPath the path of the display rendition of the image
      *
-     * Note: Each record pointed by the cursor may contain the following attributes:
-     *      (a) WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE
-     *      (b) WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE
+     * @throws NullPointerException if any of the arguments is null
+     * @throws RecordNotFoundException if the workout session image record does not exist
+     *
+     * @see ImageRenditions
+     * */
+    public void updateWorkoutSessionImageRenditions(String imagePath, String thumbnailPath,
+                                                    String displayPath)
+            throws RecordNotFoundException
+    {
+        if (imagePath == null || thumbnailPath == null || displayPath == null)
+        {
+            throw new NullPointerException("Image path, thumbnail path and display path " +
+                                           "cannot be null");
+        }
+
+        updateWorkoutSessionImageRenditionPaths(imagePath, thumbnailPath, displayPath);
+    }
+
+
+    /**
+     * Record that the renditions of a workout session image cannot be written, e.g. because
+     * its file no longer exists or cannot be decoded, so that no more attempts are made to
+     * write them. The image itself is displayed instead of its renditions
      *
-     * The record may not contain these two attributes if these two values are null, which
-     * is an acceptable value to represent a pause during the workout session
+     * @param imagePath the image path of the workout session image
      *
-     * @param resultCursor a cursor pointing to the results from a query of the
-     *              WORKOUT_SESSION_GPS_LOCATION table, with read-access
+     * @throws NullPointerException if the argument is null
+     * @throws RecordNotFoundException if the workout session image record does not exist
      *
-     * @param storedWorkoutSession a instance of storedWorkoutSession to stored the results
-     *                             from the cursor. Cannot be null
+     * @see #queryImagePathsWithoutRenditions()
      * */
-    private static void iterateThroughWorkoutSessionGPSLocationCursorAndAddListOfGPSLocations(
-                                            Cursor resultCursor,
-                                            IStoredWorkoutSession storedWorkoutSession)
+    public void markWorkoutSessionImageWithoutRenditions(String imagePath)
+            throws RecordNotFoundException
     {
-        final GPSLocation EMPTY_MARKER = null;
+        if (imagePath == null)
+        {
+            throw new NullPointerException("Image path cannot be null");
+        }
 
-        final long TRUE = 1;
+        updateWorkoutSessionImageRenditionPaths(imagePath, NO_RENDITION_PATH, NO_RENDITION_PATH);
+    }
 
-        while(resultCursor.moveToNext())
-        {
 
-            //check if latitude and longitude is null
-            //it is acceptable to have null latitude and longitude to represent
-            // a pause during the workout session
-            long isLocationNull = resultCursor.getLong(
-                        resultCursor.getColumnIndexOrThrow(
-                                WORKOUT_SESSION_GPS_LOCATION_COLUMN_IS_LOCATION_NULL));
+    /**
+     * Update the rendition paths of a workout session image
+     *
+     * @param imagePath the image path of the workout session image
+     * @param thumbnailPath the thumbnail path to be stored
+     * @param displayPath the display rendition path to be stored
+     *
+     * @throws RecordNotFoundException if the workout session image record does not exist
+     * */
+    private void updateWorkoutSessionImageRenditionPaths(String imagePath, String thumbnailPath,
+                                                         String displayPath)
+            throws RecordNotFoundException
+    {
+        SQLiteDatabase sqLiteDatabase = this.getWritableDatabase();
+
+        ContentValues contentValues = new ContentValues();
 
-            if (isLocationNull == TRUE)
-            {
-                double currentLatitude = resultCursor.getDouble(
-                        resultCursor.getColumnIndexOrThrow(
-                                WORKOUT_SESSION_GPS_LOCATION_COLUMN_LATITUDE));
+        contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_THUMBNAIL_PATH, thumbnailPath);
+        contentValues.put(WORKOUT_SESSION_IMAGE_COLUMN_DISPLAY_PATH, displayPath);
 
-                double currentLongitude = resultCursor.getDouble(
-                        resultCursor.getColumnIndexOrThrow(
-                                WORKOUT_SESSION_GPS_LOCATION_COLUMN_LONGITUDE));
+        String whereClause = WORKOUT_SESSION_IMAGE_COLUMN_IMAGE_PATH + " = ?";
 
-                GPSLocation currentGPSLocation = new GPSLocation(currentLatitude, currentLongitude);
+        String [] whereArgs = new String[]{imagePath};
 
-                storedWorkoutSession.addGPSLocation(currentGPSLocation);
-            }
-            else
-            {
+        int numberOfRecordsUpdated = sqLiteDatabase.update(WORKOUT_SESSION_IMAGE_TABLE_NAME,
+                                                    contentValues, whereClause, whereArgs);
 
-                storedWorkoutSession.addGPSLocation(EMPTY_MARKER);
-            }
+        if (numberOfRecordsUpdated == 0)
+        {
+            throw new RecordNotFoundException("WorkoutSessionImage Record to be updated " +
+                                              "not found");
         }
-
     }
 
 
     /**
-     * Delete the workout session record based on the id of the workout session record
+     * Delete the workout session record based on the id of the workout session record.
+     * The workout session is removed from its daily workout rollup within the same
+     * transaction
      *
      * @param workoutSessionId the id of the workout session record
      *
@@ -1249,18 +3644,46 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
         String [] whereArgs = new String [] { workoutSessionIdString};
 
 
-        int numOfRowsDeleted = sqLiteDatabase.delete(WORKOUT_SESSION_TABLE_NAME,
-                                                    whereClause, whereArgs);
+        sqLiteDatabase.beginTransactionNonExclusive();
+
+        try
+        {
+            final String NO_GROUP_BY_CLAUSE = null;
+            final String NO_HAVING_CLAUSE = null;
+            final String NO_ORDER_BY_CLAUSE = null;
+
+            Cursor resultCursor = sqLiteDatabase.query(WORKOUT_SESSION_TABLE_NAME,
+                    getWorkoutSessionRecordColumns(), whereClause, whereArgs,
+                    NO_GROUP_BY_CLAUSE, NO_HAVING_CLAUSE, NO_ORDER_BY_CLAUSE);
+
+            if (!resultCursor.moveToNext())
+            {
+                resultCursor.close();
+
+                throw new RecordNotFoundException("WorkoutSessionRecord to be deleted not found");
+            }
+
+            IStoredWorkoutSession storedWorkoutSession =
+                    convertCursorToStoredWorkoutSession(resultCursor);
+
+            resultCursor.close();
+
 
-        if (numOfRowsDeleted != 1)
+            removeWorkoutSessionFromDailyWorkoutRollup(sqLiteDatabase, storedWorkoutSession);
+
+            sqLiteDatabase.delete(WORKOUT_SESSION_TABLE_NAME, whereClause, whereArgs);
+
+            sqLiteDatabase.setTransactionSuccessful();
+        }
+        finally
         {
-            throw new RecordNotFoundException("WorkoutSessionRecord to be deleted not found");
+            sqLiteDatabase.endTransaction();
         }
 
     }
 
     /**
-     * Delete all workout session records
+     * Delete all workout session records, along with all daily workout rollups
      * */
     public void deleteAllWorkoutSessionRecords()
     {
@@ -1270,9 +3693,14 @@ public class WorkoutSessionDatabaseHelper extends SQLiteOpenHelper
 
         final String [] NO_WHERE_ARGS = null;
 
+        sqLiteDatabase.beginTransactionNonExclusive();
+
         sqLiteDatabase.delete(WORKOUT_SESSION_TABLE_NAME, NO_WHERE_CLAUSE, NO_WHERE_ARGS);
+        sqLiteDatabase.delete(DAILY_WORKOUT_ROLLUP_TABLE_NAME, NO_WHERE_CLAUSE, NO_WHERE_ARGS);
+
+        sqLiteDatabase.setTransactionSuccessful();
+        sqLiteDatabase.endTransaction();
     }
 
 
 }
-
@@ -0,0 +1,501 @@
+package com.murdoch.fitnessapp.databases.registries;
+
+import android.content.Context;
+import android.os.Parcel;
+import android.os.Process;
+
+import androidx.annotation.MainThread;
+
+import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A registry that lets controllers pass a workout session to each other by a small handle,
+ * instead of copying the whole workout session (including its GPSLocations) into an Intent
+ * or a Bundle as a Parcelable
+ *
+ * A workout session is registered by the controller that starts another one, which then
+ * resolves the handle into the very same WorkoutSession instance, without any copying. The
+ * registry only lives as long as the process, so each controller that owns a handle persists
+ * it in onSaveInstanceState(Bundle). If the process is killed, the handle is resolved from
+ * its file instead, and registered again
+ *
+ * The files are written on a background thread, in the order they are requested, so that a
+ * handle that is unregistered never leaves a file behind. The file is written with
+ * Parcel.marshall(), which is only meant to be read by the same version of the app. A file
+ * that cannot be read back is treated as if the handle was never registered
+ *
+ * A handle whose controller is never finished, e.g. because its task is removed from the
+ * recent tasks while the process is killed, is never unregistered. Its file is deleted by
+ * deleteStaleFiles() once it has not been persisted for MAXIMUM_FILE_AGE_IN_MILLISECONDS,
+ * which happens once per process when the first registry is created with
+ * WorkoutSessionRegistry(Context)
+ * */
+public class WorkoutSessionRegistry
+{
+    private static final String DIRECTORY_NAME = "workoutSessionRegistry";
+
+    private static final String FILE_EXTENSION = ".parcel";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private static final long IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS = 30;
+
+    /**
+     * The age after which the file of a handle that is not registered in memory is deleted.
+     * A controller persists its handle every time it is stopped, so the file of a handle that
+     * is still in use is never this old, unless its task has not been returned to for a week
+     * */
+    private static final long MAXIMUM_FILE_AGE_IN_MILLISECONDS = TimeUnit.DAYS.toMillis(7);
+
+    private static final String BACKGROUND_THREAD_NAME = "WorkoutSessionRegistry";
+
+    /**
+     * The workout sessions registered in this process, shared by all the registries created
+     * with WorkoutSessionRegistry(Context)
+     * */
+    private static final Map<String, WorkoutSession> sharedWorkoutSessions =
+                                                                new ConcurrentHashMap<>();
+
+    /**
+     * The background executor shared by all the registries created with
+     * WorkoutSessionRegistry(Context). It has a single thread, so that the files are
+     * written and deleted in the order they are requested
+     * */
+    private static ThreadPoolExecutor sharedBackgroundExecutor = null;
+
+    /**
+     * Whether the stale files have been deleted since the process was started
+     * */
+    private static boolean isStaleFilesDeletionRequested = false;
+
+
+    private final Map<String, WorkoutSession> workoutSessions;
+    private final File directory;
+    private final Executor backgroundExecutor;
+
+
+    /**
+     * Create an instance of WorkoutSessionRegistry that shares its workout sessions with every
+     * other registry of the process, and persists them in the internal storage of the app
+     *
+     * @param context The context used for locating the internal storage of the app
+     * */
+    public WorkoutSessionRegistry(Context context)
+    {
+        this(sharedWorkoutSessions,
+             new File(context.getApplicationContext().getFilesDir(), DIRECTORY_NAME),
+             getSharedBackgroundExecutor());
+
+        if (isFirstRegistryOfProcess())
+        {
+            deleteStaleFiles();
+        }
+    }
+
+
+    /**
+     * Create an instance of WorkoutSessionRegistry with the given workout sessions, directory
+     * and background executor
+     *
+     * @param workoutSessions the workout sessions registered in memory, by handle. It must be
+     *                        safe to access from multiple threads
+     * @param directory the directory the workout sessions are persisted into
+     * @param backgroundExecutor the executor that writes and deletes the files. It must run
+     *                           them in the order they are submitted
+     *
+     * @throws NullPointerException if any of the arguments is null
+     * */
+    public WorkoutSessionRegistry(Map<String, WorkoutSession> workoutSessions, File directory,
+                                  Executor backgroundExecutor)
+    {
+        if (workoutSessions == null || directory == null || backgroundExecutor == null)
+        {
+            throw new NullPointerException("Workout sessions, directory or background " +
+                                           "executor cannot be null");
+        }
+
+        this.workoutSessions = workoutSessions;
+        this.directory = directory;
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+
+    /**
+     * Returns the background executor shared by all the registries, creating it if it does
+     * not exist yet
+     *
+     * Its thread runs with background priority, and is stopped after being idle for
+     * IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS
+     * */
+    private static synchronized Executor getSharedBackgroundExecutor()
+    {
+        if (sharedBackgroundExecutor == null)
+        {
+            sharedBackgroundExecutor = new ThreadPoolExecutor(1, 1,
+                                IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS,
+                                new LinkedBlockingQueue<>(),
+                                runnable -> new Thread(() -> {
+                                    Process.setThreadPriority(
+                                                    Process.THREAD_PRIORITY_BACKGROUND);
+                                    runnable.run();
+                                }, BACKGROUND_THREAD_NAME));
+
+            sharedBackgroundExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return sharedBackgroundExecutor;
+    }
+
+
+    /**
+     * Returns true the first time it is called in the process, and false if otherwise
+     * */
+    private static synchronized boolean isFirstRegistryOfProcess()
+    {
+        if (isStaleFilesDeletionRequested)
+        {
+            return false;
+        }
+
+        isStaleFilesDeletionRequested = true;
+
+        return true;
+    }
+
+
+    /**
+     * Register the workout session, and return the handle that resolves into it
+     *
+     * Note: The same workout session may be registered more than once, with a different
+     * handle each time, e.g. by each controller it is passed to
+     *
+     * @param workoutSession the workout session to be registered
+     *
+     * @return the handle of the workout session, which is small enough for an Intent
+     *
+     * @throws NullPointerException if the argument workoutSession is null
+     * */
+    @MainThread
+    public String register(WorkoutSession workoutSession)
+    {
+        if (workoutSession == null)
+        {
+            throw new NullPointerException("WorkoutSession cannot be null");
+        }
+
+        String handle = UUID.randomUUID().toString();
+
+        this.workoutSessions.put(handle, workoutSession);
+
+        return handle;
+    }
+
+
+    /**
+     * Returns the workout session registered with the handle given
+     *
+     * If the workout session is no longer registered in memory, e.g. because the process was
+     * killed, it is read from the file it was last persisted into, and registered again with
+     * the same handle
+     *
+     * Note: Reading the file happens on the calling thread. It only happens once per handle
+     * after the process is killed
+     *
+     * @param handle the handle returned by register(WorkoutSession). Can be null
+     *
+     * @return the workout session, or null if the handle is null, was never registered, was
+     * unregistered, or was not persisted before the process was killed
+     * */
+    @MainThread
+    public WorkoutSession resolve(String handle)
+    {
+        if (!isValidHandle(handle))
+        {
+            return null;
+        }
+
+        WorkoutSession workoutSession = this.workoutSessions.get(handle);
+
+        if (workoutSession != null)
+        {
+            return workoutSession;
+        }
+
+
+        workoutSession = readWorkoutSessionFile(handle);
+
+        if (workoutSession == null)
+        {
+            return null;
+        }
+
+        WorkoutSession previousWorkoutSession =
+                                    this.workoutSessions.putIfAbsent(handle, workoutSession);
+
+        return previousWorkoutSession != null ? previousWorkoutSession : workoutSession;
+    }
+
+
+    /**
+     * Persist the current state of the workout session registered with the handle given, so
+     * that the handle can still be resolved if the process is killed
+     *
+     * The workout session is marshalled on the calling thread, as it is not safe to read
+     * from another thread, and the file is written on a background thread
+     *
+     * Note: Has no effect if the handle is not registered
+     *
+     * @param handle the handle returned by register(WorkoutSession)
+     * */
+    @MainThread
+    public void persist(String handle)
+    {
+        if (!isValidHandle(handle))
+        {
+            return;
+        }
+
+        WorkoutSession workoutSession = this.workoutSessions.get(handle);
+
+        if (workoutSession == null)
+        {
+            return;
+        }
+
+        Parcel parcel = Parcel.obtain();
+
+        byte[] bytes;
+
+        try
+        {
+            parcel.writeParcelable(workoutSession, 0);
+            bytes = parcel.marshall();
+        }
+        finally
+        {
+            parcel.recycle();
+        }
+
+        this.backgroundExecutor.execute(() -> writeWorkoutSessionFile(handle, bytes));
+    }
+
+
+    /**
+     * Unregister the workout session registered with the handle given, and delete the file it
+     * was persisted into, if any. The handle can no longer be resolved afterwards
+     *
+     * Note: Has no effect if the handle is not registered
+     *
+     * @param handle the handle returned by register(WorkoutSession)
+     * */
+    @MainThread
+    public void unregister(String handle)
+    {
+        if (!isValidHandle(handle))
+        {
+            return;
+        }
+
+        this.workoutSessions.remove(handle);
+
+        this.backgroundExecutor.execute(() -> {
+            //noinspection ResultOfMethodCallIgnored
+            getWorkoutSessionFile(handle).delete();
+        });
+    }
+
+
+    /**
+     * Delete the files of the handles that are not registered in memory and have not been
+     * persisted for MAXIMUM_FILE_AGE_IN_MILLISECONDS, along with the temporary files left
+     * behind by writes that were interrupted as long ago. The files are deleted on a
+     * background thread
+     *
+     * The files of handles that are registered in memory are always kept, however old
+     * */
+    @MainThread
+    public void deleteStaleFiles()
+    {
+        long oldestLastModifiedTimeInMilliseconds =
+                            System.currentTimeMillis() - MAXIMUM_FILE_AGE_IN_MILLISECONDS;
+
+        this.backgroundExecutor.execute(() -> deleteFilesLastModifiedBefore(
+                                                    oldestLastModifiedTimeInMilliseconds));
+    }
+
+
+    /**
+     * Delete the files of the directory of the registry that were last modified before the
+     * given time, except the files of the handles that are registered in memory
+     *
+     * @param oldestLastModifiedTimeInMilliseconds the last modified time, in milliseconds
+     *                                             since the epoch, before which a file is
+     *                                             deleted
+     * */
+    private void deleteFilesLastModifiedBefore(long oldestLastModifiedTimeInMilliseconds)
+    {
+        File[] files = this.directory.listFiles();
+
+        if (files == null)
+        {
+            return;
+        }
+
+        for (File file : files)
+        {
+            String fileName = file.getName();
+
+            int extensionIndex = fileName.lastIndexOf('.');
+
+            String handle = extensionIndex < 0 ? fileName :
+                                                 fileName.substring(0, extensionIndex);
+
+            if (this.workoutSessions.containsKey(handle) ||
+                    file.lastModified() >= oldestLastModifiedTimeInMilliseconds)
+            {
+                continue;
+            }
+
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+
+    /**
+     * Returns true if the handle could have been returned by register(WorkoutSession), so
+     * that a handle can never refer to a file outside of the directory of the registry
+     * */
+    private static boolean isValidHandle(String handle)
+    {
+        if (handle == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            return UUID.fromString(handle).toString().equals(handle);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Returns the file the workout session registered with the handle given is persisted into
+     * */
+    private File getWorkoutSessionFile(String handle)
+    {
+        return new File(this.directory, handle + FILE_EXTENSION);
+    }
+
+
+    /**
+     * Write the marshalled workout session into its file
+     *
+     * The bytes are written into a temporary file first, which then replaces the file, so
+     * that the file is never left half written if the process is killed meanwhile
+     * */
+    private void writeWorkoutSessionFile(String handle, byte[] bytes)
+    {
+        File file = getWorkoutSessionFile(handle);
+        File temporaryFile = new File(this.directory, handle + TEMPORARY_FILE_EXTENSION);
+
+        //noinspection ResultOfMethodCallIgnored
+        this.directory.mkdirs();
+
+        try (OutputStream outputStream = new FileOutputStream(temporaryFile))
+        {
+            outputStream.write(bytes);
+        }
+        catch (IOException e)
+        {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+
+            return;
+        }
+
+        if (!temporaryFile.renameTo(file))
+        {
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+        }
+    }
+
+
+    /**
+     * Read and return the workout session from its file, or null if the file does not exist
+     * or cannot be read
+     * */
+    private WorkoutSession readWorkoutSessionFile(String handle)
+    {
+        File file = getWorkoutSessionFile(handle);
+
+        if (!file.isFile())
+        {
+            return null;
+        }
+
+        byte[] bytes = new byte[(int) file.length()];
+
+        try (InputStream inputStream = new FileInputStream(file))
+        {
+            int numberOfBytesRead = 0;
+
+            while (numberOfBytesRead < bytes.length)
+            {
+                int count = inputStream.read(bytes, numberOfBytesRead,
+                                             bytes.length - numberOfBytesRead);
+
+                if (count < 0)
+                {
+                    return null;
+                }
+
+                numberOfBytesRead += count;
+            }
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+
+
+        Parcel parcel = Parcel.obtain();
+
+        try
+        {
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+
+            return parcel.readParcelable(WorkoutSession.class.getClassLoader());
+        }
+        catch (RuntimeException e)
+        {
+            //e.g. the file was written by another version of the app
+            return null;
+        }
+        finally
+        {
+            parcel.recycle();
+        }
+    }
+}
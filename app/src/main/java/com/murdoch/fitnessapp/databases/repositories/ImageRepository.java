@@ -0,0 +1,533 @@
+package com.murdoch.fitnessapp.databases.repositories;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.MainThread;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
+import com.murdoch.fitnessapp.databases.exceptions.RecordNotFoundException;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.images.ImageDecoding;
+import com.murdoch.fitnessapp.images.ImageRenditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * A repository that provides asynchronous access to the images taken during workout
+ * sessions, so that no image is decoded on the main thread
+ *
+ * Each image is decoded on a bounded pool of background threads, sub-sampled to the size
+ * required by the view that displays it, and delivered to an IRepositoryResultListener on
+ * the main thread. Each operation is bound to the lifecycle of the controller that submits
+ * it, in the same way as the operations of WorkoutSessionRepository
+ *
+ * The bitmaps decoded are kept in a memory cache shared by all the repositories, which is
+ * sized from the maximum heap of the app and evicts the least recently used bitmaps first
+ *
+ * The repository also writes the thumbnail and display renditions of the images, and each
+ * image is decoded from its smallest recorded rendition that is large enough for the size
+ * required
+ *
+ * All the operations must be submitted from the main thread
+ *
+ * @see ImageDecoding
+ * @see ImageRenditions
+ * @see RepositoryTask
+ * */
+public class ImageRepository
+{
+    /**
+     * Two background threads allow the image displayed and an image prefetched to be
+     * decoded at the same time, without the decoding competing with the main thread for
+     * more CPU time
+     * */
+    private static final int NUMBER_OF_BACKGROUND_THREADS = 2;
+
+    /**
+     * The maximum number of images waiting for a background thread. Further operations are
+     * rejected, and fail with a RejectedExecutionException
+     * */
+    private static final int MAXIMUM_NUMBER_OF_WAITING_OPERATIONS = 16;
+
+    private static final long IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS = 30;
+
+    private static final String BACKGROUND_THREAD_NAME_PREFIX = "ImageRepository-";
+
+    /**
+     * The shared memory cache takes up to 1/8 of the maximum heap of the app, which leaves
+     * enough for the rest of the app while holding several screen-sized bitmaps
+     * */
+    private static final int MEMORY_CACHE_FRACTION_OF_MAXIMUM_HEAP = 8;
+
+    private static final int BYTES_PER_KILOBYTE = 1024;
+
+    private static ThreadPoolExecutor sharedBackgroundExecutor = null;
+    private static LruCache<String, Bitmap> sharedMemoryCache = null;
+
+    /**
+     * Whether the renditions of the existing images are being backfilled, so that only one
+     * backfill runs at a time regardless of the number of repositories
+     * */
+    private static final AtomicBoolean isBackfillingImageRenditions = new AtomicBoolean(false);
+
+
+    private final LruCache<String, Bitmap> memoryCache;
+    private final Executor backgroundExecutor;
+    private final Handler mainThreadHandler;
+
+
+    /**
+     * Create an instance of ImageRepository that decodes its images on the shared background
+     * executor, and caches them in the shared memory cache
+     * */
+    public ImageRepository()
+    {
+        this(getSharedMemoryCache(), getSharedBackgroundExecutor());
+    }
+
+
+    /**
+     * Create an instance of ImageRepository that decodes its images on the given background
+     * executor, and caches them in the given memory cache
+     *
+     * @param memoryCache the memory cache of the bitmaps decoded, as created by
+     *                    createMemoryCache(int)
+     * @param backgroundExecutor the executor that decodes the images. It must not run them
+     *                           on the calling thread
+     *
+     * @throws NullPointerException if either of the arguments is null
+     *
+     * @see #createMemoryCache(int)
+     * */
+    public ImageRepository(LruCache<String, Bitmap> memoryCache, Executor backgroundExecutor)
+    {
+        if (memoryCache == null || backgroundExecutor == null)
+        {
+            throw new NullPointerException("Memory cache or background executor cannot be " +
+                                           "null");
+        }
+
+        this.memoryCache = memoryCache;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainThreadHandler = new Handler(Looper.getMainLooper());
+    }
+
+
+    /**
+     * Create a memory cache of bitmaps that holds up to the given size of bitmaps, evicting
+     * the least recently used bitmaps first
+     *
+     * @param maximumSizeInKilobytes the maximum total size of the bitmaps in the cache
+     *
+     * @throws IllegalArgumentException if the maximum size is not a positive number
+     * */
+    public static LruCache<String, Bitmap> createMemoryCache(int maximumSizeInKilobytes)
+    {
+        return new LruCache<String, Bitmap>(maximumSizeInKilobytes)
+        {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap)
+            {
+                //a bitmap smaller than a kilobyte still takes up space in the cache
+                return Math.max(1, bitmap.getAllocationByteCount() / BYTES_PER_KILOBYTE);
+            }
+        };
+    }
+
+
+    /**
+     * Returns the memory cache shared by all the repositories, creating it if it does not
+     * exist yet, with a maximum size of 1/MEMORY_CACHE_FRACTION_OF_MAXIMUM_HEAP of the
+     * maximum heap of the app
+     * */
+    private static synchronized LruCache<String, Bitmap> getSharedMemoryCache()
+    {
+        if (sharedMemoryCache == null)
+        {
+            long maximumHeapInKilobytes = Runtime.getRuntime().maxMemory() / BYTES_PER_KILOBYTE;
+
+            sharedMemoryCache = createMemoryCache(
+                    (int) (maximumHeapInKilobytes / MEMORY_CACHE_FRACTION_OF_MAXIMUM_HEAP));
+        }
+
+        return sharedMemoryCache;
+    }
+
+
+    /**
+     * Returns the background executor shared by all the repositories, creating it if it
+     * does not exist yet
+     *
+     * Its threads run with background priority, and are stopped after being idle for
+     * IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS
+     * */
+    private static synchronized Executor getSharedBackgroundExecutor()
+    {
+        if (sharedBackgroundExecutor == null)
+        {
+            sharedBackgroundExecutor = new ThreadPoolExecutor(NUMBER_OF_BACKGROUND_THREADS,
+                                NUMBER_OF_BACKGROUND_THREADS,
+                                IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS,
+                                new ArrayBlockingQueue<>(MAXIMUM_NUMBER_OF_WAITING_OPERATIONS),
+                                WorkoutSessionRepository.createBackgroundThreadFactory(
+                                                            BACKGROUND_THREAD_NAME_PREFIX));
+
+            sharedBackgroundExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return sharedBackgroundExecutor;
+    }
+
+
+    /**
+     * Returns the bitmap of the image at the size given if it is in the memory cache, without
+     * decoding it
+     *
+     * @param imagePath the path of the image file
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     *
+     * @return the bitmap, or null if it is not in the memory cache
+     * */
+    @MainThread
+    public Bitmap getCachedBitmap(String imagePath, int requiredWidth, int requiredHeight)
+    {
+        return this.memoryCache.get(createCacheKey(imagePath, requiredWidth, requiredHeight));
+    }
+
+
+    /**
+     * Decodes the image sub-sampled to the size given on a background thread, unless it is
+     * already in the memory cache, and keeps it in the memory cache
+     *
+     * The image is decoded from its smallest rendition recorded in the database that is large
+     * enough to be displayed fitted within the size given, or from the image file itself if
+     * no recorded rendition is large enough, e.g. before the renditions have been recorded
+     *
+     * Note: Once the decoding has started, it is completed even if the task is cancelled,
+     * and the bitmap is still kept in the memory cache. Only its result is discarded. To
+     * prefetch an image, the result can simply be ignored
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param databaseHelper the database helper storing the workout session images
+     * @param imagePath the path of the image file
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     * @param resultListener receives the bitmap, or an IOException if the image file does
+     *                       not exist or cannot be decoded
+     *
+     * @throws NullPointerException if the database helper is null
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see ImageDecoding#decodeSampledBitmap(String, int, int)
+     * @see WorkoutSessionDatabaseHelper#queryListOfImageRenditionPaths(String)
+     * */
+    @MainThread
+    public RepositoryTask<Bitmap> loadBitmapAsync(LifecycleOwner lifecycleOwner,
+                                                  WorkoutSessionDatabaseHelper databaseHelper,
+                                                  String imagePath, int requiredWidth,
+                                                  int requiredHeight,
+                                                  IRepositoryResultListener<Bitmap> resultListener)
+    {
+        if (databaseHelper == null)
+        {
+            throw new NullPointerException("Database helper cannot be null");
+        }
+
+        final String CACHE_KEY = createCacheKey(imagePath, requiredWidth, requiredHeight);
+
+        return submitImageOperation(lifecycleOwner,
+                    () -> {
+                        Bitmap bitmap = this.memoryCache.get(CACHE_KEY);
+
+                        if (bitmap == null)
+                        {
+                            String sourcePath = getSmallestSufficientPath(databaseHelper,
+                                                    imagePath, requiredWidth, requiredHeight);
+
+                            bitmap = ImageDecoding.decodeSampledBitmap(sourcePath,
+                                                            requiredWidth, requiredHeight);
+
+                            this.memoryCache.put(CACHE_KEY, bitmap);
+                        }
+
+                        return bitmap;
+                    },
+                    resultListener);
+    }
+
+
+    /**
+     * Returns the path of the smallest rendition of the image recorded in the database that
+     * is large enough to be displayed fitted within the size required, or the path of the
+     * image itself if no recorded rendition is
+     *
+     * Only the size of each rendition is read, which also leaves out a rendition whose file
+     * has been deleted since it was recorded
+     *
+     * @param databaseHelper the database helper storing the workout session images
+     * @param imagePath the path of the image file
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     *
+     * @see ImageDecoding#isLargeEnoughToFit(String, int, int)
+     * */
+    private static String getSmallestSufficientPath(WorkoutSessionDatabaseHelper databaseHelper,
+                                                    String imagePath, int requiredWidth,
+                                                    int requiredHeight)
+    {
+        for (String renditionPath : databaseHelper.queryListOfImageRenditionPaths(imagePath))
+        {
+            if (ImageDecoding.isLargeEnoughToFit(renditionPath, requiredWidth, requiredHeight))
+            {
+                return renditionPath;
+            }
+        }
+
+        return imagePath;
+    }
+
+
+    /**
+     * Writes the thumbnail and display renditions of the image next to the image file on a
+     * background thread. This is the post-capture stage of a photo taken during a workout
+     * session
+     *
+     * The renditions are recorded in the database when the workout session is inserted. If
+     * they have not been written by then, they are recorded by the next backfill instead
+     *
+     * Note: Once the writing has started, it is completed even if the task is cancelled.
+     * Only its result is discarded
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param imagePath the path of the image file
+     * @param resultListener receives null once the renditions are written, or an
+     *                       IOException if the image cannot be decoded or a rendition
+     *                       cannot be written
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see ImageRenditions#writeImageRenditions(String)
+     * @see #backfillImageRenditionsAsync(LifecycleOwner, WorkoutSessionDatabaseHelper,
+     * IRepositoryResultListener)
+     * */
+    @MainThread
+    public RepositoryTask<Void> writeImageRenditionsAsync(LifecycleOwner lifecycleOwner,
+                                            String imagePath,
+                                            IRepositoryResultListener<Void> resultListener)
+    {
+        final Void NO_RESULT = null;
+
+        return submitImageOperation(lifecycleOwner,
+                    () -> {
+                        ImageRenditions.writeImageRenditions(imagePath);
+                        return NO_RESULT;
+                    },
+                    resultListener);
+    }
+
+
+    /**
+     * Writes the renditions of the workout session images stored in the database that have
+     * not been recorded as written, one image at a time on a background thread, and records
+     * them in the database
+     *
+     * An image whose file no longer exists, or whose renditions cannot be written, is marked
+     * as without renditions, so that it is not attempted again by the next backfill. If a
+     * backfill is already running, this backfill does nothing
+     *
+     * Note: Once the backfill has started, it is completed even if the task is cancelled.
+     * Only its result is discarded
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param databaseHelper the database helper storing the workout session images
+     * @param resultListener receives the number of images whose renditions were recorded
+     *
+     * @throws NullPointerException if the database helper is null
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#queryImagePathsWithoutRenditions()
+     * */
+    @MainThread
+    public RepositoryTask<Integer> backfillImageRenditionsAsync(LifecycleOwner lifecycleOwner,
+                                            WorkoutSessionDatabaseHelper databaseHelper,
+                                            IRepositoryResultListener<Integer> resultListener)
+    {
+        if (databaseHelper == null)
+        {
+            throw new NullPointerException("Database helper cannot be null");
+        }
+
+        return submitImageOperation(lifecycleOwner,
+                    () -> {
+                        if (!isBackfillingImageRenditions.compareAndSet(false, true))
+                        {
+                            return 0;
+                        }
+
+                        try
+                        {
+                            return backfillImageRenditions(databaseHelper);
+                        }
+                        finally
+                        {
+                            isBackfillingImageRenditions.set(false);
+                        }
+                    },
+                    resultListener);
+    }
+
+
+    /**
+     * Writes and records the renditions of the workout session images that have not been
+     * recorded as written. The renditions already written, e.g. by a post-capture stage that
+     * completed after its workout session was inserted, are recorded without being written
+     * again
+     *
+     * @param databaseHelper the database helper storing the workout session images
+     *
+     * @return the number of images whose renditions were recorded
+     *
+     * @see WorkoutSessionDatabaseHelper#markWorkoutSessionImageWithoutRenditions(String)
+     * */
+    private static int backfillImageRenditions(WorkoutSessionDatabaseHelper databaseHelper)
+    {
+        List<String> listOfImagePaths = databaseHelper.queryImagePathsWithoutRenditions();
+
+        int numberOfImagesBackfilled = 0;
+
+        for (String imagePath : listOfImagePaths)
+        {
+            String thumbnailPath = ImageRenditions.getThumbnailPath(imagePath);
+            String displayPath = ImageRenditions.getDisplayPath(imagePath);
+
+            try
+            {
+                if (!new File(thumbnailPath).isFile() || !new File(displayPath).isFile())
+                {
+                    ImageRenditions.writeImageRenditions(imagePath);
+                }
+
+                databaseHelper.updateWorkoutSessionImageRenditions(imagePath, thumbnailPath,
+                                                                   displayPath);
+
+                numberOfImagesBackfilled++;
+            }
+            catch (IOException e)
+            {
+                //the image file no longer exists or cannot be decoded, or a rendition cannot
+                //be written, which would fail again on every backfill
+                markWorkoutSessionImageWithoutRenditions(databaseHelper, imagePath);
+            }
+            catch (RecordNotFoundException e)
+            {
+                //the record of the image has been deleted in the meantime
+            }
+        }
+
+        return numberOfImagesBackfilled;
+    }
+
+
+    /**
+     * Marks the workout session image as without renditions, unless its record has been
+     * deleted in the meantime
+     *
+     * @param databaseHelper the database helper storing the workout session images
+     * @param imagePath the image path of the workout session image
+     * */
+    private static void markWorkoutSessionImageWithoutRenditions(
+                                            WorkoutSessionDatabaseHelper databaseHelper,
+                                            String imagePath)
+    {
+        try
+        {
+            databaseHelper.markWorkoutSessionImageWithoutRenditions(imagePath);
+        }
+        catch (RecordNotFoundException e)
+        {
+            //the record of the image has been deleted in the meantime
+        }
+    }
+
+
+    /**
+     * Returns the key of the bitmap of an image at a size in the memory cache, as the same
+     * image may be decoded at several sizes
+     * */
+    private static String createCacheKey(String imagePath, int requiredWidth,
+                                         int requiredHeight)
+    {
+        return imagePath + "@" + requiredWidth + "x" + requiredHeight;
+    }
+
+
+    /**
+     * Submit the image operation to the background executor, bound to the lifecycle of the
+     * controller that submits it
+     *
+     * If the controller has already been destroyed, the image operation is not run. If the
+     * background executor rejects the image operation, the RejectedExecutionException is
+     * delivered to the result listener
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param imageOperation the image operation to be run on a background thread
+     * @param resultListener the listener that receives the result of the image operation
+     *
+     * @throws NullPointerException if any of the arguments is null
+     *
+     * @return the task of the operation, which can be used to cancel it
+     * */
+    private <T> RepositoryTask<T> submitImageOperation(LifecycleOwner lifecycleOwner,
+                                            Callable<T> imageOperation,
+                                            IRepositoryResultListener<T> resultListener)
+    {
+        if (lifecycleOwner == null)
+        {
+            throw new NullPointerException("Lifecycle owner cannot be null");
+        }
+
+        //an image operation that is skipped can always be run again, as the renditions that
+        //have not been written are written by the next backfill
+        final boolean IS_WRITE_OPERATION = false;
+
+        RepositoryTask<T> repositoryTask = new RepositoryTask<>(imageOperation,
+                                resultListener, lifecycleOwner.getLifecycle(),
+                                this.mainThreadHandler, IS_WRITE_OPERATION);
+
+        repositoryTask.observeLifecycle();
+
+        if (repositoryTask.isCancelled())
+        {
+            return repositoryTask;
+        }
+
+        try
+        {
+            this.backgroundExecutor.execute(repositoryTask);
+        }
+        catch (RejectedExecutionException e)
+        {
+            //the result listener is always called after this method returns
+            this.mainThreadHandler.post(() -> repositoryTask.deliverFailure(e));
+        }
+
+        return repositoryTask;
+    }
+}
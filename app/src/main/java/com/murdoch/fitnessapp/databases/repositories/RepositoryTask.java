@@ -0,0 +1,205 @@
+package com.murdoch.fitnessapp.databases.repositories;
+
+import android.os.Handler;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
+
+import java.util.concurrent.Callable;
+
+
+/**
+ * This class represents a single asynchronous database operation submitted to a repository
+ *
+ * The database operation is run on a background thread, and its result is delivered to the
+ * result listener on the main thread. The task observes the lifecycle of the controller that
+ * submitted it, and is cancelled once the controller is destroyed
+ *
+ * Cancelling a task that has not started yet skips its database operation entirely, unless
+ * the task is a write operation. A write operation is always run, so that data the user has
+ * already asked to save or delete is never lost because the controller went away first. A
+ * task that has already started is allowed to finish, as the database operation cannot be
+ * interrupted safely. In every case the result of a cancelled task is discarded, and the
+ * result listener is not called
+ *
+ * ImageRepository submits the decoding of images as tasks in the same way
+ *
+ * @param <T> the type of the result of the database operation
+ * */
+public class RepositoryTask<T> implements Runnable, LifecycleEventObserver
+{
+    private final Callable<T> databaseOperation;
+    private final IRepositoryResultListener<T> resultListener;
+    private final Lifecycle lifecycle;
+    private final Handler mainThreadHandler;
+    private final boolean isWriteOperation;
+
+    private volatile boolean isCancelled = false;
+
+
+    /**
+     * Initializes an instance of RepositoryTask
+     *
+     * @param databaseOperation the database operation to be run on a background thread
+     * @param resultListener the listener that receives the result of the database operation
+     * @param lifecycle the lifecycle of the controller that submitted the task
+     * @param mainThreadHandler the handler used to deliver the result on the main thread
+     * @param isWriteOperation true if the database operation writes data, so that it is run
+     *                         even if the task is cancelled before it starts
+     *
+     * @throws NullPointerException if any of the arguments is null
+     * */
+    RepositoryTask(Callable<T> databaseOperation, IRepositoryResultListener<T> resultListener,
+                   Lifecycle lifecycle, Handler mainThreadHandler, boolean isWriteOperation)
+    {
+        if (databaseOperation == null || resultListener == null || lifecycle == null ||
+                mainThreadHandler == null)
+        {
+            throw new NullPointerException("Repository task arguments cannot be null");
+        }
+
+        this.databaseOperation = databaseOperation;
+        this.resultListener = resultListener;
+        this.lifecycle = lifecycle;
+        this.mainThreadHandler = mainThreadHandler;
+        this.isWriteOperation = isWriteOperation;
+    }
+
+
+    /**
+     * Cancel the task, so that its result listener will not be called
+     *
+     * Note: Has no effect if the result has already been delivered
+     * */
+    @MainThread
+    public void cancel()
+    {
+        this.isCancelled = true;
+        this.lifecycle.removeObserver(this);
+    }
+
+
+    /**
+     * Returns true if the task has been cancelled, either explicitly or because the
+     * controller that submitted it has been destroyed, and false if otherwise
+     * */
+    public boolean isCancelled()
+    {
+        return this.isCancelled;
+    }
+
+
+    /**
+     * Returns true if the database operation writes data, and is therefore run even if the
+     * task is cancelled before it starts, and false if otherwise
+     * */
+    public boolean isWriteOperation()
+    {
+        return this.isWriteOperation;
+    }
+
+
+    /**
+     * Start observing the lifecycle of the controller that submitted the task, so that the
+     * task is cancelled once the controller is destroyed
+     *
+     * If the controller has already been destroyed, the task is cancelled immediately
+     * */
+    @MainThread
+    void observeLifecycle()
+    {
+        if (this.lifecycle.getCurrentState() == Lifecycle.State.DESTROYED)
+        {
+            this.isCancelled = true;
+
+            return;
+        }
+
+        this.lifecycle.addObserver(this);
+    }
+
+
+    /**
+     * Cancel the task once the controller that submitted it is destroyed
+     * */
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event)
+    {
+        if (event == Lifecycle.Event.ON_DESTROY)
+        {
+            cancel();
+        }
+    }
+
+
+    /**
+     * Run the database operation, unless the task has been cancelled and is not a write
+     * operation, and post its result (or the exception it has thrown) to the main thread
+     * */
+    @Override
+    @WorkerThread
+    public void run()
+    {
+        if (this.isCancelled && !this.isWriteOperation)
+        {
+            return;
+        }
+
+        try
+        {
+            T result = this.databaseOperation.call();
+
+            this.mainThreadHandler.post(() -> deliverResult(result));
+        }
+        catch (Exception e)
+        {
+            this.mainThreadHandler.post(() -> deliverFailure(e));
+        }
+    }
+
+
+    /**
+     * Deliver the result of the database operation to the result listener, unless the task
+     * has been cancelled
+     *
+     * @param result the result of the database operation
+     * */
+    @MainThread
+    private void deliverResult(T result)
+    {
+        this.lifecycle.removeObserver(this);
+
+        if (this.isCancelled)
+        {
+            return;
+        }
+
+        this.resultListener.onSuccess(result);
+    }
+
+
+    /**
+     * Deliver the exception thrown by the database operation to the result listener, unless
+     * the task has been cancelled
+     *
+     * @param exception the exception that caused the database operation to fail
+     * */
+    @MainThread
+    void deliverFailure(Exception exception)
+    {
+        this.lifecycle.removeObserver(this);
+
+        if (this.isCancelled)
+        {
+            return;
+        }
+
+        this.resultListener.onFailure(exception);
+    }
+}
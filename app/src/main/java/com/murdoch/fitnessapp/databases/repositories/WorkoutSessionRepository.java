@@ -0,0 +1,377 @@
+package com.murdoch.fitnessapp.databases.repositories;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.MainThread;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.murdoch.fitnessapp.callbackinterfaces.IRepositoryResultListener;
+import com.murdoch.fitnessapp.databases.helpers.WorkoutSessionDatabaseHelper;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItemsPage;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * A repository that provides asynchronous access to the workout session records, so that
+ * no database I/O runs on the main thread
+ *
+ * Each operation calls the corresponding method of WorkoutSessionDatabaseHelper on a bounded
+ * pool of background threads, and delivers its result to an IRepositoryResultListener on the
+ * main thread. Each operation is bound to the lifecycle of the controller that submits it,
+ * and its result is discarded if the controller is destroyed before the result is delivered.
+ * Insertions and deletions are still run in that case, whereas queries are skipped if they
+ * have not started yet
+ *
+ * All the operations must be submitted from the main thread
+ *
+ * @see RepositoryTask
+ * */
+public class WorkoutSessionRepository
+{
+    /**
+     * Two background threads allow a query to run while a workout session is being saved,
+     * as write-ahead logging is enabled, without letting the database operations compete
+     * with the main thread for more CPU time
+     * */
+    private static final int NUMBER_OF_BACKGROUND_THREADS = 2;
+
+    /**
+     * The maximum number of database operations waiting for a background thread. Further
+     * operations are rejected, and fail with a RejectedExecutionException
+     * */
+    private static final int MAXIMUM_NUMBER_OF_WAITING_OPERATIONS = 32;
+
+    private static final long IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS = 30;
+
+    private static final String BACKGROUND_THREAD_NAME_PREFIX = "WorkoutSessionRepository-";
+
+    private static final boolean IS_WRITE_OPERATION = true;
+    private static final boolean IS_QUERY = false;
+
+    /**
+     * The background executor shared by all the repositories created with
+     * WorkoutSessionRepository(Context), so that the number of background threads stays
+     * bounded regardless of the number of controllers
+     * */
+    private static ThreadPoolExecutor sharedBackgroundExecutor = null;
+
+
+    private final WorkoutSessionDatabaseHelper databaseHelper;
+    private final Executor backgroundExecutor;
+    private final Handler mainThreadHandler;
+
+
+    /**
+     * Create an instance of WorkoutSessionRepository that runs its database operations on
+     * the shared background executor
+     *
+     * @param context The context used for locating paths to the database
+     * */
+    public WorkoutSessionRepository(Context context)
+    {
+        this(new WorkoutSessionDatabaseHelper(context.getApplicationContext()),
+             getSharedBackgroundExecutor());
+    }
+
+
+    /**
+     * Create an instance of WorkoutSessionRepository that runs its database operations on
+     * the given background executor
+     *
+     * @param databaseHelper the database helper whose methods are called on the
+     *                       background executor
+     * @param backgroundExecutor the executor that runs the database operations. It must not
+     *                           run them on the calling thread
+     *
+     * @throws NullPointerException if either of the arguments databaseHelper or
+     * backgroundExecutor are null
+     * */
+    public WorkoutSessionRepository(WorkoutSessionDatabaseHelper databaseHelper,
+                                    Executor backgroundExecutor)
+    {
+        if (databaseHelper == null || backgroundExecutor == null)
+        {
+            throw new NullPointerException("Database helper or background executor " +
+                                           "cannot be null");
+        }
+
+        this.databaseHelper = databaseHelper;
+        this.backgroundExecutor = backgroundExecutor;
+        this.mainThreadHandler = new Handler(Looper.getMainLooper());
+    }
+
+
+    /**
+     * Returns the background executor shared by all the repositories, creating it if it
+     * does not exist yet
+     *
+     * Its threads run with background priority, and are stopped after being idle for
+     * IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS
+     * */
+    private static synchronized Executor getSharedBackgroundExecutor()
+    {
+        if (sharedBackgroundExecutor == null)
+        {
+            sharedBackgroundExecutor = new ThreadPoolExecutor(NUMBER_OF_BACKGROUND_THREADS,
+                                NUMBER_OF_BACKGROUND_THREADS,
+                                IDLE_BACKGROUND_THREAD_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS,
+                                new ArrayBlockingQueue<>(MAXIMUM_NUMBER_OF_WAITING_OPERATIONS),
+                                createBackgroundThreadFactory(
+                                                    BACKGROUND_THREAD_NAME_PREFIX));
+
+            sharedBackgroundExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return sharedBackgroundExecutor;
+    }
+
+
+    /**
+     * Returns a thread factory that creates named threads with background priority
+     *
+     * @param threadNamePrefix the prefix of the name of every thread, which is followed by
+     *                         the number of the thread
+     * */
+    static ThreadFactory createBackgroundThreadFactory(String threadNamePrefix)
+    {
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        return runnable -> {
+            Runnable runnableWithBackgroundPriority = () -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            };
+
+            return new Thread(runnableWithBackgroundPriority,
+                              threadNamePrefix + threadCount.incrementAndGet());
+        };
+    }
+
+
+    /**
+     * Inserts the workout session as a record into the database on a background thread
+     *
+     * Note: The insertion is run even if the task is cancelled, e.g. because the
+     * controller is destroyed before the insertion starts.
+     * Only its result is discarded
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param workoutSession the workout session to be inserted into the database
+     * @param resultListener receives the stored workout session, or a
+     *                       RecordInsertionException if it fails to be inserted
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#insertWorkoutSessionRecord(IWorkoutSession)
+     * */
+    @MainThread
+    public RepositoryTask<IStoredWorkoutSession> insertWorkoutSessionRecordAsync(
+                            LifecycleOwner lifecycleOwner, IWorkoutSession workoutSession,
+                            IRepositoryResultListener<IStoredWorkoutSession> resultListener)
+    {
+        return submitDatabaseOperation(lifecycleOwner,
+                    () -> this.databaseHelper.insertWorkoutSessionRecord(workoutSession),
+                    resultListener, IS_WRITE_OPERATION);
+    }
+
+
+    /**
+     * Deletes the workout session record from the database on a background thread
+     *
+     * Note: The deletion is run even if the task is cancelled, e.g. because the
+     * controller is destroyed before the deletion starts.
+     * Only its result is discarded
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param workoutSessionId the id of the workout session record to be deleted
+     * @param resultListener receives null once the record is deleted, or a
+     *                       RecordNotFoundException if the record does not exist
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#deleteWorkoutSessionRecord(long)
+     * */
+    @MainThread
+    public RepositoryTask<Void> deleteWorkoutSessionRecordAsync(LifecycleOwner lifecycleOwner,
+                                            long workoutSessionId,
+                                            IRepositoryResultListener<Void> resultListener)
+    {
+        final Void NO_RESULT = null;
+
+        return submitDatabaseOperation(lifecycleOwner,
+                    () -> {
+                        this.databaseHelper.deleteWorkoutSessionRecord(workoutSessionId);
+                        return NO_RESULT;
+                    },
+                    resultListener, IS_WRITE_OPERATION);
+    }
+
+
+    /**
+     * Queries the aggregated workout session summary of the date range given on a
+     * background thread
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param startDateInclusive the start date inclusive of the date range of interest
+     * @param endDateExclusive the end date exclusive of the date range of interest
+     * @param resultListener receives the workout session summary
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#queryWorkoutSessionSummary(LocalDate, LocalDate)
+     * */
+    @MainThread
+    public RepositoryTask<IWorkoutSessionSummary> queryWorkoutSessionSummaryAsync(
+                            LifecycleOwner lifecycleOwner,
+                            LocalDate startDateInclusive, LocalDate endDateExclusive,
+                            IRepositoryResultListener<IWorkoutSessionSummary> resultListener)
+    {
+        return submitDatabaseOperation(lifecycleOwner,
+                    () -> this.databaseHelper.queryWorkoutSessionSummary(startDateInclusive,
+                                                                         endDateExclusive),
+                    resultListener, IS_QUERY);
+    }
+
+
+    /**
+     * Queries a page of the workout session history on a background thread
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param beforeSessionIdExclusive the workout session id (exclusive) that the workout
+     *                                 session list items in the page come before
+     * @param pageSize the maximum number of workout session list items in the page
+     * @param resultListener receives the page of workout session list items
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#queryWorkoutSessionListItemsPage(long, int)
+     * */
+    @MainThread
+    public RepositoryTask<IWorkoutSessionListItemsPage> queryWorkoutSessionListItemsPageAsync(
+                            LifecycleOwner lifecycleOwner,
+                            long beforeSessionIdExclusive, int pageSize,
+                            IRepositoryResultListener<IWorkoutSessionListItemsPage> resultListener)
+    {
+        return submitDatabaseOperation(lifecycleOwner,
+                    () -> this.databaseHelper.queryWorkoutSessionListItemsPage(
+                                                        beforeSessionIdExclusive, pageSize),
+                    resultListener, IS_QUERY);
+    }
+
+
+    /**
+     * Queries the complete workout session record with the given id, including its
+     * GPSLocations and images, on a background thread
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param workoutSessionId the id of the workout session record
+     * @param resultListener receives the workout session record, or a
+     *                       RecordNotFoundException if the record does not exist
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#queryWorkoutSessionRecord(long)
+     * */
+    @MainThread
+    public RepositoryTask<IStoredWorkoutSession> queryWorkoutSessionRecordAsync(
+                            LifecycleOwner lifecycleOwner, long workoutSessionId,
+                            IRepositoryResultListener<IStoredWorkoutSession> resultListener)
+    {
+        return submitDatabaseOperation(lifecycleOwner,
+                    () -> this.databaseHelper.queryWorkoutSessionRecord(workoutSessionId),
+                    resultListener, IS_QUERY);
+    }
+
+
+    /**
+     * Queries the image paths of the workout session record with the given id on a background
+     * thread, without reading its GPSLocations or its splits
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param workoutSessionId the id of the workout session record
+     * @param resultListener receives the image paths of the workout session record, which
+     *                       are empty if it has no images or does not exist
+     *
+     * @return the task of the operation, which can be used to cancel it
+     *
+     * @see WorkoutSessionDatabaseHelper#queryListOfImagePaths(long)
+     * */
+    @MainThread
+    public RepositoryTask<List<String>> queryListOfImagePathsAsync(
+                            LifecycleOwner lifecycleOwner, long workoutSessionId,
+                            IRepositoryResultListener<List<String>> resultListener)
+    {
+        return submitDatabaseOperation(lifecycleOwner,
+                    () -> this.databaseHelper.queryListOfImagePaths(workoutSessionId),
+                    resultListener, IS_QUERY);
+    }
+
+
+    /**
+     * Submit the database operation to the background executor, bound to the lifecycle of
+     * the controller that submits it
+     *
+     * If the controller has already been destroyed, the database operation is not run,
+     * unless it is a write operation. If the background executor rejects the database
+     * operation, the RejectedExecutionException is delivered to the result listener
+     *
+     * @param lifecycleOwner the controller that submits the operation
+     * @param databaseOperation the database operation to be run on a background thread
+     * @param resultListener the listener that receives the result of the database operation
+     * @param isWriteOperation true if the database operation writes data, so that it is run
+     *                         even if the controller is destroyed before it starts
+     *
+     * @throws NullPointerException if any of the arguments is null
+     *
+     * @return the task of the operation, which can be used to cancel it
+     * */
+    private <T> RepositoryTask<T> submitDatabaseOperation(LifecycleOwner lifecycleOwner,
+                                            Callable<T> databaseOperation,
+                                            IRepositoryResultListener<T> resultListener,
+                                            boolean isWriteOperation)
+    {
+        if (lifecycleOwner == null)
+        {
+            throw new NullPointerException("Lifecycle owner cannot be null");
+        }
+
+        RepositoryTask<T> repositoryTask = new RepositoryTask<>(databaseOperation,
+                                resultListener, lifecycleOwner.getLifecycle(),
+                                this.mainThreadHandler, isWriteOperation);
+
+        repositoryTask.observeLifecycle();
+
+        if (repositoryTask.isCancelled() && !isWriteOperation)
+        {
+            return repositoryTask;
+        }
+
+        try
+        {
+            this.backgroundExecutor.execute(repositoryTask);
+        }
+        catch (RejectedExecutionException e)
+        {
+            //the result listener is always called after this method returns
+            this.mainThreadHandler.post(() -> repositoryTask.deliverFailure(e));
+        }
+
+        return repositoryTask;
+    }
+}
@@ -0,0 +1,160 @@
+package com.murdoch.fitnessapp.images;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import java.io.IOException;
+
+
+/**
+ * This class decodes image files into bitmaps no larger than they need to be for the view
+ * that displays them, instead of at the full resolution of the camera
+ *
+ * The size of the image is read first without decoding its pixels (bounds-first), and the
+ * image is then decoded at the largest power of two sub-sampling (inSampleSize) that still
+ * leaves the bitmap at least as large as the size required. As a full resolution photo is
+ * typically many times larger than the screen, this reduces the memory of each bitmap by a
+ * factor of the square of inSampleSize
+ *
+ * Note: Decoding reads the image file, therefore it must not be done on the main thread
+ * */
+public final class ImageDecoding
+{
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private ImageDecoding()
+    {
+
+    }
+
+
+    /**
+     * Returns the largest power of two by which the image can be sub-sampled, such that both
+     * the sub-sampled width and height are still at least the width and height required
+     *
+     * @param imageWidth the width of the image in pixels
+     * @param imageHeight the height of the image in pixels
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     *
+     * @return 1 if the image is not larger than the size required, or otherwise a power of
+     * two
+     *
+     * @throws IllegalArgumentException if any of the arguments is not a positive number
+     * */
+    public static int calculateInSampleSize(int imageWidth, int imageHeight,
+                                            int requiredWidth, int requiredHeight)
+    {
+        if (imageWidth <= 0 || imageHeight <= 0 || requiredWidth <= 0 || requiredHeight <= 0)
+        {
+            throw new IllegalArgumentException("Image size and required size must be " +
+                                               "positive");
+        }
+
+        int inSampleSize = 1;
+
+        while (imageWidth / (inSampleSize * 2) >= requiredWidth &&
+                imageHeight / (inSampleSize * 2) >= requiredHeight)
+        {
+            inSampleSize *= 2;
+        }
+
+        return inSampleSize;
+    }
+
+
+    /**
+     * Returns whether an image of the size given is large enough to be displayed fitted
+     * within the size required, i.e. scaled to fit while keeping its aspect ratio (as an
+     * ImageView with the fitCenter scale type does), without being scaled up
+     *
+     * A fitted image fills either the width or the height required, so the image is large
+     * enough if it reaches either of them
+     *
+     * @param imageWidth the width of the image in pixels
+     * @param imageHeight the height of the image in pixels
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     * */
+    public static boolean isLargeEnoughToFit(int imageWidth, int imageHeight,
+                                             int requiredWidth, int requiredHeight)
+    {
+        return imageWidth >= requiredWidth || imageHeight >= requiredHeight;
+    }
+
+
+    /**
+     * Returns whether the image file is large enough to be displayed fitted within the size
+     * required without being scaled up, reading only the size of the image
+     *
+     * @param imagePath the path of the image file
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     *
+     * @return false if the image file does not exist or cannot be decoded
+     *
+     * @see #isLargeEnoughToFit(int, int, int, int)
+     * */
+    public static boolean isLargeEnoughToFit(String imagePath, int requiredWidth,
+                                             int requiredHeight)
+    {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(imagePath, options);
+
+        if (options.outWidth <= 0 || options.outHeight <= 0)
+        {
+            return false;
+        }
+
+        return isLargeEnoughToFit(options.outWidth, options.outHeight,
+                                  requiredWidth, requiredHeight);
+    }
+
+
+    /**
+     * Decode the image file into a bitmap sub-sampled to the size required, reading the size
+     * of the image first
+     *
+     * @param imagePath the path of the image file
+     * @param requiredWidth the width required in pixels
+     * @param requiredHeight the height required in pixels
+     *
+     * @return the bitmap, which is at least as large as the size required unless the image
+     * itself is smaller
+     *
+     * @throws IOException if the image file does not exist or cannot be decoded
+     * @throws IllegalArgumentException if the required width or height is not a positive
+     * number
+     *
+     * @see #calculateInSampleSize(int, int, int, int)
+     * */
+    public static Bitmap decodeSampledBitmap(String imagePath, int requiredWidth,
+                                             int requiredHeight) throws IOException
+    {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(imagePath, options);
+
+        if (options.outWidth <= 0 || options.outHeight <= 0)
+        {
+            throw new IOException("Image cannot be decoded: " + imagePath);
+        }
+
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight,
+                                                     requiredWidth, requiredHeight);
+        options.inJustDecodeBounds = false;
+
+        Bitmap bitmap = BitmapFactory.decodeFile(imagePath, options);
+
+        if (bitmap == null)
+        {
+            throw new IOException("Image cannot be decoded: " + imagePath);
+        }
+
+        return bitmap;
+    }
+}
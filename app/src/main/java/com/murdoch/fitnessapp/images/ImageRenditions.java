@@ -0,0 +1,220 @@
+package com.murdoch.fitnessapp.images;
+
+import android.graphics.Bitmap;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+ * This class writes the smaller renditions of an image taken during a workout session next
+ * to the image file, so that the screens displaying the image read kilobytes instead of the
+ * megabytes of the full resolution photo
+ *
+ * Every image has two renditions:
+ * - a thumbnail, no larger than THUMBNAIL_MAXIMUM_SIZE_IN_PIXELS on its longest side, for
+ *   the rows of lists
+ * - a display rendition, no larger than DISPLAY_MAXIMUM_SIZE_IN_PIXELS on its longest side,
+ *   for the image slideshow
+ *
+ * The path of each rendition is derived from the path of the image, by replacing the
+ * extension of the image file with a suffix, e.g. "JPEG_1.jpg" has the thumbnail
+ * "JPEG_1_thumbnail.jpg" and the display rendition "JPEG_1_display.jpg"
+ *
+ * Note: Writing the renditions decodes and encodes the image, therefore it must not be done
+ * on the main thread
+ *
+ * @see ImageDecoding
+ * */
+public final class ImageRenditions
+{
+    public static final int THUMBNAIL_MAXIMUM_SIZE_IN_PIXELS = 256;
+    public static final int DISPLAY_MAXIMUM_SIZE_IN_PIXELS = 1280;
+
+    private static final int THUMBNAIL_JPEG_QUALITY = 80;
+    private static final int DISPLAY_JPEG_QUALITY = 85;
+
+    private static final String THUMBNAIL_SUFFIX = "_thumbnail.jpg";
+    private static final String DISPLAY_SUFFIX = "_display.jpg";
+
+    /**
+     * The suffix of a rendition while it is being written. The rendition is only renamed to
+     * its path once it has been written completely, so that a rendition file that exists is
+     * never partially written
+     * */
+    private static final String PARTIALLY_WRITTEN_SUFFIX = ".partial";
+
+
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private ImageRenditions()
+    {
+
+    }
+
+
+    /**
+     * Returns the path of the thumbnail of the image
+     *
+     * @param imagePath the path of the image file
+     *
+     * @throws NullPointerException if the image path is null
+     * */
+    public static String getThumbnailPath(String imagePath)
+    {
+        return getImagePathWithoutExtension(imagePath) + THUMBNAIL_SUFFIX;
+    }
+
+
+    /**
+     * Returns the path of the display rendition of the image
+     *
+     * @param imagePath the path of the image file
+     *
+     * @throws NullPointerException if the image path is null
+     * */
+    public static String getDisplayPath(String imagePath)
+    {
+        return getImagePathWithoutExtension(imagePath) + DISPLAY_SUFFIX;
+    }
+
+
+    /**
+     * Returns the path of the image without the extension of its file name, if it has one
+     * */
+    private static String getImagePathWithoutExtension(String imagePath)
+    {
+        if (imagePath == null)
+        {
+            throw new NullPointerException("Image path cannot be null");
+        }
+
+        int indexOfExtension = imagePath.lastIndexOf('.');
+
+        //a dot before the last separator belongs to a directory, not to the file name
+        if (indexOfExtension <= imagePath.lastIndexOf(File.separatorChar))
+        {
+            return imagePath;
+        }
+
+        return imagePath.substring(0, indexOfExtension);
+    }
+
+
+    /**
+     * Write the thumbnail and display rendition of the image next to the image file,
+     * replacing the renditions if they already exist
+     *
+     * The image is decoded only once, at the size of the display rendition, and the
+     * thumbnail is scaled down from it
+     *
+     * @param imagePath the path of the image file
+     *
+     * @throws IOException if the image file does not exist or cannot be decoded, or if
+     * either rendition cannot be written
+     *
+     * @see #getThumbnailPath(String)
+     * @see #getDisplayPath(String)
+     * */
+    public static void writeImageRenditions(String imagePath) throws IOException
+    {
+        Bitmap decodedBitmap = ImageDecoding.decodeSampledBitmap(imagePath,
+                        DISPLAY_MAXIMUM_SIZE_IN_PIXELS, DISPLAY_MAXIMUM_SIZE_IN_PIXELS);
+
+        Bitmap displayBitmap = scaleBitmapToMaximumSize(decodedBitmap,
+                                                        DISPLAY_MAXIMUM_SIZE_IN_PIXELS);
+
+        Bitmap thumbnailBitmap = scaleBitmapToMaximumSize(displayBitmap,
+                                                          THUMBNAIL_MAXIMUM_SIZE_IN_PIXELS);
+
+        try
+        {
+            writeJPEGFile(displayBitmap, DISPLAY_JPEG_QUALITY, getDisplayPath(imagePath));
+            writeJPEGFile(thumbnailBitmap, THUMBNAIL_JPEG_QUALITY, getThumbnailPath(imagePath));
+        }
+        finally
+        {
+            decodedBitmap.recycle();
+            displayBitmap.recycle();
+            thumbnailBitmap.recycle();
+        }
+    }
+
+
+    /**
+     * Delete the renditions of the image, if they exist
+     *
+     * @param imagePath the path of the image file
+     *
+     * @return true if neither rendition exists afterwards
+     * */
+    public static boolean deleteImageRenditions(String imagePath)
+    {
+        File thumbnailFile = new File(getThumbnailPath(imagePath));
+        File displayFile = new File(getDisplayPath(imagePath));
+
+        boolean thumbnailDeleted = thumbnailFile.delete() || !thumbnailFile.exists();
+        boolean displayDeleted = displayFile.delete() || !displayFile.exists();
+
+        return thumbnailDeleted && displayDeleted;
+    }
+
+
+    /**
+     * Returns the bitmap scaled down so that its longest side is at most the maximum size
+     * given, keeping its aspect ratio, or the bitmap itself if it is already small enough
+     * */
+    private static Bitmap scaleBitmapToMaximumSize(Bitmap bitmap, int maximumSizeInPixels)
+    {
+        int longestSide = Math.max(bitmap.getWidth(), bitmap.getHeight());
+
+        if (longestSide <= maximumSizeInPixels)
+        {
+            return bitmap;
+        }
+
+        double scale = (double) maximumSizeInPixels / longestSide;
+
+        final boolean FILTER = true;
+
+        return Bitmap.createScaledBitmap(bitmap,
+                        Math.max(1, (int) Math.round(bitmap.getWidth() * scale)),
+                        Math.max(1, (int) Math.round(bitmap.getHeight() * scale)), FILTER);
+    }
+
+
+    /**
+     * Write the bitmap as a JPEG file, first to a partially written file that is then
+     * renamed to the path given
+     *
+     * @throws IOException if the file cannot be written or renamed
+     * */
+    private static void writeJPEGFile(Bitmap bitmap, int quality, String path)
+            throws IOException
+    {
+        File file = new File(path);
+        File partiallyWrittenFile = new File(path + PARTIALLY_WRITTEN_SUFFIX);
+
+        try (OutputStream outputStream = new FileOutputStream(partiallyWrittenFile))
+        {
+            if (!bitmap.compress(Bitmap.CompressFormat.JPEG, quality, outputStream))
+            {
+                throw new IOException("Image rendition cannot be encoded: " + path);
+            }
+        }
+        catch (IOException e)
+        {
+            partiallyWrittenFile.delete();
+            throw e;
+        }
+
+        if (!partiallyWrittenFile.renameTo(file))
+        {
+            partiallyWrittenFile.delete();
+            throw new IOException("Image rendition cannot be written: " + path);
+        }
+    }
+}
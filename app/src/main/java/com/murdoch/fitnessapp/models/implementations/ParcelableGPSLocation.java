@@ -0,0 +1,114 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+/**
+ * A GPSLocation that can be written to and re-created from a Parcel
+ *
+ * GPSLocation is part of the core module, which does not depend on Android, therefore the
+ * Parcelable interface is implemented by this subclass instead. As it is a GPSLocation, it
+ * is equal to any GPSLocation with the same latitude and longitude and no details
+ *
+ * Only the latitude and longitude are written to the Parcel, as this class is only used to
+ * read the legacy format of WorkoutSession, whose GPSLocations had no details. The packed
+ * format of WorkoutSession writes the details through GPSTrackPacking instead
+ *
+ * @see GPSLocation
+ * */
+public class ParcelableGPSLocation extends GPSLocation implements Parcelable
+{
+    /**
+     * Initializes a ParcelableGPSLocation with latitude and longitude set to
+     * the values provided in the argument
+     *
+     * @param latitudeValue the initial value of the latitude
+     * @param longitudeValue the initial value of the longitude
+     *
+     * @throws IllegalArgumentException if latitudeValue or longitudeValue
+     * is outside the range of acceptable values
+     * */
+    public ParcelableGPSLocation(double latitudeValue, double longitudeValue)
+    {
+        super(latitudeValue, longitudeValue);
+    }
+
+
+    /**
+     * Initializes a ParcelableGPSLocation with the same latitude and longitude as the
+     * GPSLocation provided in the argument
+     *
+     * @param gpsLocation the GPSLocation to be copied
+     *
+     * @throws NullPointerException if gpsLocation is null
+     * */
+    public ParcelableGPSLocation(IGPSLocation gpsLocation)
+    {
+        super(gpsLocation.getLatitude(), gpsLocation.getLongitude());
+    }
+
+
+
+    /**
+     * Interface that must be implemented and provided as a public
+     * CREATOR field that generates instances of this Parcelable
+     * class from a Parcel.
+     *
+     *  Note: This is part of the Parcelable interface
+     * */
+    public static final Creator<ParcelableGPSLocation> CREATOR =
+                                                        new Creator<ParcelableGPSLocation>()
+    {
+        @Override
+        public ParcelableGPSLocation createFromParcel(Parcel in)
+        {
+            return new ParcelableGPSLocation(in);
+        }
+
+        @Override
+        public ParcelableGPSLocation[] newArray(int size)
+        {
+            return new ParcelableGPSLocation[size];
+        }
+    };
+
+
+    /**
+     * Constructor required for the Parcelable interface
+     * */
+    protected ParcelableGPSLocation(Parcel in)
+    {
+        //the latitude is written first, and arguments are evaluated from left to right
+        super(in.readDouble(), in.readDouble());
+    }
+
+
+    /**
+     * Flatten this object in to a Parcel.
+     *
+     * Note: This is part of the Parcelable interface
+     * */
+    @Override
+    public void writeToParcel(Parcel parcel, int i)
+    {
+        parcel.writeDouble(this.getLatitude());
+        parcel.writeDouble(this.getLongitude());
+    }
+
+
+    /**
+     * Describe the kinds of special objects contained in this Parcelable instance's
+     * marshaled representation.
+     *
+     * Note: This is part of the Parcelable interface
+     * */
+    @Override
+    public int describeContents()
+    {
+        final int DEFAULT_DESCRIPTION = 0;
+
+        return DEFAULT_DESCRIPTION;
+    }
+}
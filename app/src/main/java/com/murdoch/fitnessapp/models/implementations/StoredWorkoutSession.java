@@ -3,8 +3,10 @@ package com.murdoch.fitnessapp.models.implementations;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
 
+import java.util.List;
 import java.util.Objects;
 
 
@@ -66,6 +68,64 @@ public class StoredWorkoutSession extends WorkoutSession
         return this.workoutSessionId;
     }
 
+
+    /**
+     * Sets the number of calories consumed to the value stored in the database
+     *
+     * @param caloriesConsumedValue the number of calories consumed
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     * */
+    @Override
+    public void setCaloriesConsumed(double caloriesConsumedValue)
+    {
+        super.setCaloriesConsumed(caloriesConsumedValue);
+    }
+
+
+    /**
+     * Sets the distance travelled in kilometers to the value stored in the database
+     *
+     * @param distanceTravelledInKilometersValue the distance travelled in kilometers
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     * */
+    @Override
+    public void setDistanceTravelledInKilometers(double distanceTravelledInKilometersValue)
+    {
+        super.setDistanceTravelledInKilometers(distanceTravelledInKilometersValue);
+    }
+
+
+    /**
+     * Sets the GPSLocations and pauses to the GPSTrack stored in the database, without
+     * accumulating the distance travelled or emitting splits again
+     *
+     * @param gpsTrackValue the GPSTrack of the workout session
+     *
+     * @throws NullPointerException if the argument is null
+     * */
+    @Override
+    public void setGPSTrack(GPSTrack gpsTrackValue)
+    {
+        super.setGPSTrack(gpsTrackValue);
+    }
+
+
+    /**
+     * Sets the splits to the splits stored in the database, replacing any splits emitted
+     * while adding the GPSLocations
+     *
+     * @param listOfSplitsValue the splits, in the order that they occurred
+     *
+     * @throws NullPointerException if the argument or any of its splits is null
+     * */
+    @Override
+    public void setListOfSplits(List<ISplit> listOfSplitsValue)
+    {
+        super.setListOfSplits(listOfSplitsValue);
+    }
+
     @Override
     public boolean equals(Object otherObject)
     {
@@ -5,8 +5,10 @@ import android.os.Parcelable;
 
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
 import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +20,12 @@ import java.util.Objects;
  * start date time, workout duration, number of steps taken, calories consumed
  * and distance travelled
  *
+ * A WorkoutSession is not thread-safe, and is expected to be changed from a single thread
+ * (the writer), such as the main thread during a workout. Other threads can instead read the
+ * immutable snapshots that the writer publishes after each batch of changes
+ *
+ * @see #publishSnapshot()
+ * @see #getLatestSnapshot()
  * */
 public class WorkoutSession implements IWorkoutSession, Parcelable
 {
@@ -29,6 +37,45 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
     public static final int CALORIES_CONSUMED_DEFAULT_VALUE = 0;
     public static final double DISTANCE_TRAVELLED_DEFAULT_VALUE = 0;
 
+    /**
+     * The version of the formulas used by calculateCaloriesConsumed() and
+     * calculateDistanceTravelled(). This must be incremented whenever either formula changes,
+     * so that the values of stored workout sessions calculated with an older formula can be
+     * identified and recalculated
+     *
+     * Calculating the distance travelled in GeodesicDistance.Mode.EQUIRECTANGULAR instead of
+     * with the Haversine formula did not change the version, as the distances differ by less
+     * than GeodesicDistance.MAXIMUM_EQUIRECTANGULAR_RELATIVE_ERROR, which is not worth
+     * recalculating every stored workout session for
+     *
+     * @see #calculateCaloriesConsumed()
+     * @see #calculateDistanceTravelled()
+     * */
+    public static final int METRICS_FORMULA_VERSION = 1;
+
+    /**
+     * The first int written by writeToParcel(Parcel, int). It is negative, so that it can be
+     * told apart from the legacy format, which starts with the duration
+     *
+     * @see #WorkoutSession(Parcel)
+     * */
+    private static final int PACKED_PARCEL_FORMAT = -1;
+
+    /**
+     * The accuracy mode in which the distance between successive GPSLocations is calculated
+     *
+     * @see GeodesicDistance.Mode
+     * */
+    public static final GeodesicDistance.Mode DISTANCE_MODE =
+                                                    GeodesicDistance.Mode.EQUIRECTANGULAR;
+
+    /**
+     * The type of the distance splits emitted as GPSLocations are added
+     *
+     * @see #getListOfSplits()
+     * */
+    public static final ISplit.SplitType DISTANCE_SPLIT_TYPE = ISplit.SplitType.KILOMETER;
+
     private LocalDateTime startDateTime = START_DATE_TIME_DEFAULT_VALUE;
     private ActivityType activityType = ACTIVITY_TYPE_DEFAULT_VALUE;
     private int durationInSeconds = DURATION_IN_SECONDS_DEFAULT_VALUE;
@@ -36,10 +83,63 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
     private double caloriesConsumed = CALORIES_CONSUMED_DEFAULT_VALUE;
     private double distanceTravelledInKilometers = DISTANCE_TRAVELLED_DEFAULT_VALUE;
 
+    /**
+     * The total distance between successive non-null GPSLocations in the list of
+     * GPSLocations, which is accumulated by addGPSLocation(IGPSLocation)
+     *
+     * @see #updateDistanceTravelled()
+     * */
+    private double accumulatedDistanceTravelledInKilometers = DISTANCE_TRAVELLED_DEFAULT_VALUE;
+
+    private GPSTrack gpsTrack = new GPSTrack();
+
+    /**
+     * The latitude of the last GPSLocation added, and its cosine, so that the cosine of the
+     * latitude of each GPSLocation is only calculated once by addGPSLocation(IGPSLocation).
+     * The cosine is only used if the latitude of the last GPSLocation of the GPSTrack is
+     * still this latitude
+     * */
+    private double lastLatitude = Double.NaN;
+    private double lastCosineOfLatitude = Double.NaN;
+
+    /**
+     * The levels of detail of the GPSTrack, which are built on first use and discarded
+     * whenever the GPSTrack changes
+     *
+     * @see #getGPSTrackLevelsOfDetail()
+     * */
+    private GPSTrackLevelsOfDetail gpsTrackLevelsOfDetail = null;
+
+    /**
+     * Emits the distance splits from the running total of the distance travelled, which is
+     * given to it by addGPSLocation(IGPSLocation), and keeps the laps marked
+     *
+     * @see #getListOfSplits()
+     * */
+    private final SplitsEngine splitsEngine = new SplitsEngine(DISTANCE_SPLIT_TYPE);
 
-    private ArrayList<IGPSLocation> listOfGPSLocations = new ArrayList<>();
     private ArrayList<String> listOfImagesTaken = new ArrayList<>();
 
+    /**
+     * The last snapshot published, which is the only field that may be read from threads
+     * other than the writer
+     *
+     * @see #publishSnapshot()
+     * */
+    private volatile WorkoutSessionSnapshot latestSnapshot;
+
+    private long numberOfSnapshotsPublished = 0;
+
+    /**
+     * The unmodifiable copies of the list of splits and of the list of images taken that were
+     * given to the last snapshot, which are reused by the next snapshot unless the lists have
+     * changed since, i.e. copied on write. Set to null when a list is replaced or cleared
+     *
+     * @see #publishSnapshot()
+     * */
+    private List<ISplit> publishedListOfSplits = null;
+    private List<String> publishedListOfImagesTaken = null;
+
 
     /**
      * Initializes an instance of WorkoutSession with the default values
@@ -53,7 +153,7 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
      * */
     public WorkoutSession()
     {
-
+        publishSnapshot();
     }
 
 
@@ -233,48 +333,13 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
      * @see #setActivityType(ActivityType) 
      * @see #setDurationInSeconds(int)
      * @see #getCaloriesConsumed()
+     * @see CaloriesConsumed#calculateCaloriesConsumed(ActivityType, int)
      * */
     @Override
     public void calculateCaloriesConsumed()
     {
-        double METValue = getMETValueFromActivityType();
-
-        final double AVERAGE_HUMAN_WEIGHT_IN_KILOGRAMS = 62;
-
-        final double OXYGEN_CONSUMED_PER_KILOGRAM_WEIGHT = 3.5;
-
-        final double QUOTIENT_CONSTANT = 200;
-
-        double durationInMinutes = this.durationInSeconds/60.0;
-
-        this.caloriesConsumed = (durationInMinutes * METValue *
-                    OXYGEN_CONSUMED_PER_KILOGRAM_WEIGHT * AVERAGE_HUMAN_WEIGHT_IN_KILOGRAMS)/
-                    QUOTIENT_CONSTANT;
-
-    }
-
-
-    /**
-     * Return the MET value from the activity type of the workout session.
-     *
-     * Note: MET refers to 'Metabolic Equivalents'. It refers to the metabolic
-     * rate of a particular activity
-     * */
-    private double getMETValueFromActivityType()
-    {
-        double METValue;
-
-        if (this.activityType == ActivityType.WALKING)
-        {
-            METValue = 3.5;
-        }
-        else
-        {
-            //for ActivityType.RUNNING
-            METValue = 7;
-        }
-
-        return METValue;
+        this.caloriesConsumed = CaloriesConsumed.calculateCaloriesConsumed(this.activityType,
+                                                                           this.durationInSeconds);
     }
 
 
@@ -294,6 +359,27 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
     }
 
 
+    /**
+     * Sets the number of calories consumed to a value that has already been calculated,
+     * such as a value stored in a database, without calculating it again
+     *
+     * @param caloriesConsumedValue the number of calories consumed
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     *
+     * @see #calculateCaloriesConsumed()
+     * */
+    protected void setCaloriesConsumed(double caloriesConsumedValue)
+    {
+        if (caloriesConsumedValue < 0)
+        {
+            throw new IllegalArgumentException("Calories consumed cannot be negative");
+        }
+
+        this.caloriesConsumed = caloriesConsumedValue;
+    }
+
+
     /**
      * Adds a GPSLocation of a position where the user was present during the workout
      * The GPSLocations will be stored in a list, which will be used to calculate the
@@ -311,40 +397,165 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
      * then the distance calculated will be only between GPSLocationA to GPSLocationB, and
      * between GPSLocationC and GPSLocationD
      *
+     * The distance between the GPSLocation and the previous GPSLocation (if both are not null)
+     * is added to a running total, so that the distance travelled can be updated in
+     * constant time via the method updateDistanceTravelled(). The running total is also
+     * given to the splits engine along with the current duration, which emits a split
+     * whenever a whole kilometer is crossed
+     *
+     * The timestamp, accuracy, altitude and speed of the GPSLocation, if it has any, are
+     * kept along with its coordinates
+     *
      * @param gpsLocation the GPSLocation to be added. Can be null
      *
      * @see #calculateDistanceTravelled()
+     * @see #updateDistanceTravelled()
+     * @see #getListOfSplits()
      *
      * */
     @Override
     public void addGPSLocation(IGPSLocation gpsLocation)
     {
+        this.gpsTrackLevelsOfDetail = null;
+
+        if (gpsLocation == null)
+        {
+            this.gpsTrack.addPause();
+            return;
+        }
+
+        int numberOfGPSLocations = this.gpsTrack.getNumberOfGPSLocations();
+
+        double latitude = gpsLocation.getLatitude();
+        double cosineOfLatitude = GeodesicDistance.calculateCosineOfLatitude(latitude);
+
+        if (numberOfGPSLocations > 0 && !this.gpsTrack.endsWithPause())
+        {
+            int previousGPSLocationIndex = numberOfGPSLocations - 1;
+
+            double previousLatitude = this.gpsTrack.getLatitude(previousGPSLocationIndex);
+
+            //e.g. the GPSLocations were not added by this method, but read from a Parcel
+            double previousCosineOfLatitude = previousLatitude == this.lastLatitude ?
+                    this.lastCosineOfLatitude :
+                    GeodesicDistance.calculateCosineOfLatitude(previousLatitude);
+
+            this.accumulatedDistanceTravelledInKilometers +=
+                    GeodesicDistance.calculateDistanceInKilometers(
+                            previousLatitude,
+                            this.gpsTrack.getLongitude(previousGPSLocationIndex),
+                            previousCosineOfLatitude,
+                            latitude, gpsLocation.getLongitude(), cosineOfLatitude,
+                            DISTANCE_MODE);
+        }
+
+        this.gpsTrack.add(gpsLocation);
+
+        this.lastLatitude = latitude;
+        this.lastCosineOfLatitude = cosineOfLatitude;
 
-        this.listOfGPSLocations.add(gpsLocation);
+        this.splitsEngine.update(this.accumulatedDistanceTravelledInKilometers,
+                                 this.durationInSeconds);
     }
 
 
     /**
      * Returns an unmodifiable list of GPSLocations (coordinates)
      * added in the order from the method addGPSLocation(IGPSLocation)
+     *
+     * Note: The GPSLocations are stored in a GPSTrack, and the list returned is a view of
+     * it, in which each GPSLocation is created upon being accessed
      * 
      * @see #addGPSLocation(IGPSLocation)
+     * @see GPSTrack#getListOfGPSLocations()
      * */
     @Override
     public List<IGPSLocation> getListOfGPSLocations()
     {
-        return Collections.unmodifiableList(this.listOfGPSLocations);
+        return this.gpsTrack.getListOfGPSLocations();
     }
 
 
 
     /**
-     * Empties the list of GPSLocations
+     * Returns the GPSLocations and pauses added, along with their bounding box, as a
+     * snapshot of the GPSTrack of the workout session, in constant time
+     *
+     * Note: The GPSTrack returned is not changed by GPSLocations added afterwards, and
+     * adding to it does not change the workout session
+     *
+     * @see GPSTrack#createSnapshot()
+     * */
+    public GPSTrack getGPSTrack()
+    {
+        return this.gpsTrack.createSnapshot();
+    }
+
+
+    /**
+     * Sets the GPSLocations and pauses to a GPSTrack that has already been recorded, such as
+     * a GPSTrack stored in a database, replacing any GPSLocations added before
+     *
+     * Unlike addGPSLocation(IGPSLocation), the distances between the GPSLocations are not
+     * accumulated and no splits are emitted. The distance travelled already set is taken as
+     * the running total instead, so it should be set first, and the splits should be set
+     * afterwards via setListOfSplits(List)
+     *
+     * Note: The GPSTrack is kept as it is, so it must not be changed afterwards
+     *
+     * @param gpsTrackValue the GPSTrack of the workout session
+     *
+     * @throws NullPointerException if the argument is null
+     *
+     * @see #setDistanceTravelledInKilometers(double)
+     * @see #setListOfSplits(List)
+     * */
+    protected void setGPSTrack(GPSTrack gpsTrackValue)
+    {
+        if (gpsTrackValue == null)
+        {
+            throw new NullPointerException("GPSTrack cannot be null");
+        }
+
+        this.gpsTrack = gpsTrackValue;
+        this.gpsTrackLevelsOfDetail = null;
+        this.lastLatitude = Double.NaN;
+        this.lastCosineOfLatitude = Double.NaN;
+        this.accumulatedDistanceTravelledInKilometers = this.distanceTravelledInKilometers;
+    }
+
+
+    /**
+     * Empties the list of GPSLocations, along with the splits calculated from them
      * */
     @Override
     public void clearListOfGPSLocations()
     {
-        this.listOfGPSLocations.clear();
+        this.gpsTrack.clear();
+        this.gpsTrackLevelsOfDetail = null;
+        this.accumulatedDistanceTravelledInKilometers = DISTANCE_TRAVELLED_DEFAULT_VALUE;
+        this.splitsEngine.clear();
+        this.publishedListOfSplits = null;
+    }
+
+
+    /**
+     * Returns the GPSLocations added, simplified at several tolerances so that a map or a
+     * thumbnail can draw far fewer of them
+     *
+     * Note: The levels of detail are built on the first call and then reused until another
+     * GPSLocation is added or the GPSLocations are cleared
+     *
+     * @see GPSTrackLevelsOfDetail
+     * */
+    public GPSTrackLevelsOfDetail getGPSTrackLevelsOfDetail()
+    {
+        if (this.gpsTrackLevelsOfDetail == null)
+        {
+            this.gpsTrackLevelsOfDetail = new GPSTrackLevelsOfDetail(this.gpsTrack);
+        }
+
+        return this.gpsTrackLevelsOfDetail;
     }
 
 
@@ -353,98 +564,129 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
      * added by the user.
      * The distance calculated can then be retrieved via the method
      * getDistanceTravelledInKilometers()
+     *
+     * Note: The whole list of GPSLocations is traversed. To update the distance travelled
+     * repeatedly as GPSLocations are added, use updateDistanceTravelled() instead, which
+     * gives the same result in constant time
      * 
      * @see #addGPSLocation(IGPSLocation)
+     * @see #updateDistanceTravelled()
      * @see #getDistanceTravelledInKilometers()
      * */
     @Override
     public void calculateDistanceTravelled()
     {
-        if (this.listOfGPSLocations.size() <= 1)
-        {
-            this.distanceTravelledInKilometers = 0;
-            return;
-        }
-
-        double totalDistanceInKilometers = 0;
-
-        
-        for (int index = 0; index < this.listOfGPSLocations.size() - 1; index++)
-        {
-            IGPSLocation currentPoint = this.listOfGPSLocations.get(index);
-            IGPSLocation nextPoint = this.listOfGPSLocations.get(index + 1);
-
-            if (currentPoint != null && nextPoint != null)
-            {
-                double distanceBetweenTwoPointsInKilometers =
-                        calculateAndGetDistanceBetweenTwoPointsInKilometers(currentPoint,
-                                                                            nextPoint);
+        this.distanceTravelledInKilometers =
+                this.gpsTrack.calculateTotalDistanceInKilometers(DISTANCE_MODE);
+    }
 
-                totalDistanceInKilometers += distanceBetweenTwoPointsInKilometers;
-            }
-        }
 
-        this.distanceTravelledInKilometers = totalDistanceInKilometers;
+    /**
+     * Update the distance travelled by the user to the running total accumulated as each
+     * GPSLocation was added, in constant time
+     * The distance updated can then be retrieved via the method
+     * getDistanceTravelledInKilometers()
+     *
+     * @see #addGPSLocation(IGPSLocation)
+     * @see #calculateDistanceTravelled()
+     * @see #getDistanceTravelledInKilometers()
+     * */
+    @Override
+    public void updateDistanceTravelled()
+    {
+        this.distanceTravelledInKilometers = this.accumulatedDistanceTravelledInKilometers;
     }
 
 
     /**
-     * Calculate and return the distance between two points (GPSLocation). The return value
-     * will be distance represented in kilometers
+     * Returns the distance travelled in kilometers
      *
-     * @param firstPoint the first point of interest
-     * @param secondPoint the second point of interest
+     * Note: The distance travelled cannot be directly set. It has
+     * to be calculated through either of the methods calculateDistanceTravelled() or
+     * updateDistanceTravelled()
      *
-     * The distance will be calculated using the Haversine formula, where the Earth's radius
-     * used is 6371 km.
+     * @see #calculateDistanceTravelled()
+     * @see #updateDistanceTravelled()
+     * @see #DISTANCE_TRAVELLED_DEFAULT_VALUE
      * */
-    private static double calculateAndGetDistanceBetweenTwoPointsInKilometers(IGPSLocation firstPoint,
-                                                                              IGPSLocation secondPoint)
+    @Override
+    public double getDistanceTravelledInKilometers()
     {
-        final int EARTH_RADIUS_IN_KILOMETERS = 6371;
-
-        double firstPointLatitude = firstPoint.getLatitude();
-        double firstPointLongitude = firstPoint.getLongitude();
-
-        double secondPointLatitude = secondPoint.getLatitude();
-        double secondPointLongitude = secondPoint.getLongitude();
-
-        double firstPointLatitudeRadius = firstPointLatitude * Math.PI / 180;
-        double secondPointLatitudeRadius = secondPointLatitude * Math.PI / 180;
-
-        double latitudeDifference = (secondPointLatitude - firstPointLatitude) * Math.PI / 180;
-        double longitudeDifference = (secondPointLongitude - firstPointLongitude) * Math.PI / 180;
-
+        return this.distanceTravelledInKilometers;
+    }
 
-        double chordLength = Math.sin(latitudeDifference / 2) * Math.sin(latitudeDifference / 2) +
-                Math.cos(firstPointLatitudeRadius) * Math.cos(secondPointLatitudeRadius) *
-                        Math.sin(longitudeDifference / 2) * Math.sin(longitudeDifference / 2);
 
+    /**
+     * Sets the distance travelled in kilometers to a value that has already been calculated,
+     * such as a value stored in a database, without calculating it again
+     *
+     * @param distanceTravelledInKilometersValue the distance travelled in kilometers
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     *
+     * @see #calculateDistanceTravelled()
+     * */
+    protected void setDistanceTravelledInKilometers(double distanceTravelledInKilometersValue)
+    {
+        if (distanceTravelledInKilometersValue < 0)
+        {
+            throw new IllegalArgumentException("Distance travelled cannot be negative");
+        }
 
-        double angularDistance = 2 * Math.atan2(Math.sqrt(chordLength),
-                                                Math.sqrt(1 - chordLength));
+        this.distanceTravelledInKilometers = distanceTravelledInKilometersValue;
+    }
 
 
-        double distance = (EARTH_RADIUS_IN_KILOMETERS * angularDistance);
+    /**
+     * Mark a lap at the last GPSLocation added, with the current duration of the workout
+     * session as its elapsed duration
+     *
+     * @see #getListOfSplits()
+     * */
+    @Override
+    public void markLap()
+    {
+        this.splitsEngine.markLap(this.durationInSeconds);
+    }
 
 
-        return distance;
+    /**
+     * Returns an unmodifiable list of the splits of the workout session, in the order that
+     * they occurred
+     *
+     * The distance splits are emitted as each GPSLocation is added, so the list does not
+     * need to be calculated from the GPSLocations. The elapsed duration of a distance split
+     * is interpolated between the durations at which the GPSLocations on either side of it
+     * were added
+     *
+     * @see #addGPSLocation(IGPSLocation)
+     * @see #markLap()
+     * @see #DISTANCE_SPLIT_TYPE
+     * @see SplitsEngine
+     * */
+    @Override
+    public List<ISplit> getListOfSplits()
+    {
+        return this.splitsEngine.getListOfSplits();
     }
 
 
     /**
-     * Returns the distance travelled in kilometers
+     * Sets the splits to splits that have already been calculated, such as splits stored in
+     * a database, replacing any splits emitted while adding the GPSLocations
      *
-     * Note: The distance travelled cannot be directly set. It has
-     * to be calculated through the method calculateDistanceTravelled()
+     * @param listOfSplitsValue the splits, in the order that they occurred
      *
-     * @see #calculateDistanceTravelled()
-     * @see #DISTANCE_TRAVELLED_DEFAULT_VALUE
+     * @throws NullPointerException if the argument or any of its splits is null
+     *
+     * @see #getListOfSplits()
      * */
-    @Override
-    public double getDistanceTravelledInKilometers()
+    protected void setListOfSplits(List<ISplit> listOfSplitsValue)
     {
-        return this.distanceTravelledInKilometers;
+        this.splitsEngine.restore(listOfSplitsValue,
+                                  this.accumulatedDistanceTravelledInKilometers,
+                                  this.durationInSeconds);
+        this.publishedListOfSplits = null;
     }
 
 
@@ -500,6 +742,75 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
     public void clearListOfImagesTaken()
     {
         this.listOfImagesTaken.clear();
+        this.publishedListOfImagesTaken = null;
+    }
+
+
+    /**
+     * Publish an immutable snapshot of the current values of the workout session, which can
+     * then be read from any thread through getLatestSnapshot()
+     *
+     * Publishing takes constant time, as the GPSLocations are shared with the snapshot up to
+     * the current number of GPSLocations and pauses instead of being copied. The list of
+     * splits and the list of images taken are only copied when they have changed since the
+     * last snapshot
+     *
+     * Note: This must be called from the thread that changes the workout session, after a
+     * batch of changes, so that other threads never see only part of a batch, e.g. a
+     * duration that has been added to but calories that have not been calculated yet
+     *
+     * @return the snapshot published
+     *
+     * @see #getLatestSnapshot()
+     * @see WorkoutSessionSnapshot
+     * */
+    public WorkoutSessionSnapshot publishSnapshot()
+    {
+        List<ISplit> listOfSplits = this.splitsEngine.getListOfSplits();
+
+        //the splits engine only appends splits, unless they are restored or cleared
+        if (this.publishedListOfSplits == null ||
+                this.publishedListOfSplits.size() != listOfSplits.size())
+        {
+            this.publishedListOfSplits =
+                    Collections.unmodifiableList(new ArrayList<>(listOfSplits));
+        }
+
+        if (this.publishedListOfImagesTaken == null ||
+                this.publishedListOfImagesTaken.size() != this.listOfImagesTaken.size())
+        {
+            this.publishedListOfImagesTaken =
+                    Collections.unmodifiableList(new ArrayList<>(this.listOfImagesTaken));
+        }
+
+        WorkoutSessionSnapshot snapshot =
+                new WorkoutSessionSnapshot(this.numberOfSnapshotsPublished, this.activityType,
+                                           this.startDateTime, this.durationInSeconds,
+                                           this.numberOfStepsTaken, this.caloriesConsumed,
+                                           this.distanceTravelledInKilometers,
+                                           this.gpsTrack.createSnapshot(),
+                                           this.publishedListOfSplits,
+                                           this.publishedListOfImagesTaken);
+
+        this.numberOfSnapshotsPublished++;
+        this.latestSnapshot = snapshot;
+
+        return snapshot;
+    }
+
+
+    /**
+     * Returns the last snapshot published through publishSnapshot(). Can be called from
+     * any thread
+     *
+     * Note: The snapshot does not include any change made to the workout session after it
+     * was published. A snapshot is published when the workout session is created
+     *
+     * @see #publishSnapshot()
+     * */
+    public WorkoutSessionSnapshot getLatestSnapshot()
+    {
+        return this.latestSnapshot;
     }
 
 
@@ -531,7 +842,7 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
                 this.caloriesConsumed == otherWorkoutSession.caloriesConsumed &&
                 this.durationInSeconds == otherWorkoutSession.durationInSeconds &&
                this.numberOfStepsTaken == otherWorkoutSession.numberOfStepsTaken &&
-                this.listOfGPSLocations.equals(otherWorkoutSession.listOfGPSLocations) &&
+                this.gpsTrack.equals(otherWorkoutSession.gpsTrack) &&
                 this.listOfImagesTaken.equals(otherWorkoutSession.listOfImagesTaken);
     }
 
@@ -582,20 +893,130 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
 
     /**
      * Constructor required for the Parcelable interface
+     *
+     * Reads both the packed format written by writeToParcel(Parcel, int), and the legacy
+     * format written before it, which starts with the (non-negative) duration instead of
+     * PACKED_PARCEL_FORMAT
      * */
     protected WorkoutSession(Parcel in)
     {
+        int format = in.readInt();
 
+        if (format == PACKED_PARCEL_FORMAT)
+        {
+            readPackedParcel(in);
+        }
+        else
+        {
+            readLegacyParcel(in, format);
+        }
+
+        publishSnapshot();
+    }
+
+
+    /**
+     * Read the fields written by writeToParcel(Parcel, int), after PACKED_PARCEL_FORMAT
+     * Helper method for the WorkoutSession(Parcel) constructor
+     *
+     * @see #WorkoutSession(Parcel)
+     * @see #writeToParcel(Parcel, int)
+     * */
+    private void readPackedParcel(Parcel in)
+    {
         this.durationInSeconds = in.readInt();
         this.numberOfStepsTaken = in.readInt();
         this.caloriesConsumed = in.readDouble();
         this.distanceTravelledInKilometers = in.readDouble();
+        this.accumulatedDistanceTravelledInKilometers = in.readDouble();
+
+        this.listOfImagesTaken = in.createStringArrayList();
+        this.gpsTrack = GPSTrackPacking.unpack(in.createByteArray());
+
+        if (in.readInt() != 0)
+        {
+            long startEpochSecond = in.readLong();
+            int startNanoOfSecond = in.readInt();
+
+            this.startDateTime = LocalDateTime.ofEpochSecond(startEpochSecond,
+                                                             startNanoOfSecond, ZoneOffset.UTC);
+        }
+
+        this.activityType = ActivityType.values()[in.readInt()];
+
+        readSplitsFromParcel(in);
+    }
+
+
+    /**
+     * Read the splits written by writeSplitsToParcel(Parcel), and restore the splits engine
+     * with them
+     * Helper method for the WorkoutSession(Parcel) constructor
+     *
+     * @see #writeSplitsToParcel(Parcel)
+     * */
+    private void readSplitsFromParcel(Parcel in)
+    {
+        ISplit.SplitType[] splitTypes = ISplit.SplitType.values();
+
+        int numberOfSplits = in.readInt();
+
+        List<ISplit> listOfSplits = new ArrayList<>(numberOfSplits);
+
+        for (int index = 0; index < numberOfSplits; index++)
+        {
+            ISplit.SplitType splitType = splitTypes[in.readInt()];
+            double distanceTravelledInKilometers = in.readDouble();
+            double elapsedDurationInSeconds = in.readDouble();
+
+            listOfSplits.add(new Split(splitType, distanceTravelledInKilometers,
+                                       elapsedDurationInSeconds));
+        }
+
+        double lastDistanceTravelledInKilometers = in.readDouble();
+        double lastElapsedDurationInSeconds = in.readDouble();
+
+        this.splitsEngine.restore(listOfSplits, lastDistanceTravelledInKilometers,
+                                  lastElapsedDurationInSeconds);
+    }
+
+
+    /**
+     * Read the fields written by writeToParcel(Parcel, int) before the packed format was
+     * introduced, after the duration
+     * Helper method for the WorkoutSession(Parcel) constructor
+     *
+     * @see #WorkoutSession(Parcel)
+     * */
+    private void readLegacyParcel(Parcel in, int durationInSeconds)
+    {
+        this.durationInSeconds = durationInSeconds;
+        this.numberOfStepsTaken = in.readInt();
+        this.caloriesConsumed = in.readDouble();
+        this.distanceTravelledInKilometers = in.readDouble();
 
         this.listOfImagesTaken = new ArrayList<>();
-        this.listOfGPSLocations = new ArrayList<>();
+        this.gpsTrack = new GPSTrack();
+
+        List<IGPSLocation> listOfGPSLocations = new ArrayList<>();
 
         in.readList(this.listOfImagesTaken, String.class.getClassLoader());
-        in.readList(this.listOfGPSLocations, GPSLocation.class.getClassLoader());
+        in.readList(listOfGPSLocations, ParcelableGPSLocation.class.getClassLoader());
+
+        for (IGPSLocation gpsLocation : listOfGPSLocations)
+        {
+            this.gpsTrack.add(gpsLocation);
+        }
+
+        this.accumulatedDistanceTravelledInKilometers =
+                this.gpsTrack.calculateTotalDistanceInKilometers(DISTANCE_MODE);
+
+        //the legacy format has no splits, and the durations at which the GPSLocations were
+        //added are unknown, so only the splits from now on can be emitted
+        final List<ISplit> NO_SPLITS = Collections.emptyList();
+
+        this.splitsEngine.restore(NO_SPLITS, this.accumulatedDistanceTravelledInKilometers,
+                                  this.durationInSeconds);
 
 
         String startDateTimeString = in.readString();
@@ -604,7 +1025,6 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
 
         String activityTypeString = in.readString();
         this.activityType = convertStringToActivityType(activityTypeString);
-
     }
 
 
@@ -666,37 +1086,67 @@ public class WorkoutSession implements IWorkoutSession, Parcelable
     /**
      * Flatten this object in to a Parcel.
      *
+     * The packed format starts with PACKED_PARCEL_FORMAT. The GPSTrack is written as a
+     * single array of bytes packed by GPSTrackPacking, the image paths as a list of strings
+     * without a type tag per element, the start date time as its epoch second (in UTC) and
+     * nano of second, and the activity type as its ordinal, followed by the splits
+     *
      * Note: This is part of the Parcelable interface
      * */
     @Override
     public void writeToParcel(Parcel parcel, int i)
     {
+        parcel.writeInt(PACKED_PARCEL_FORMAT);
 
         parcel.writeInt(this.durationInSeconds);
         parcel.writeInt(this.numberOfStepsTaken);
         parcel.writeDouble(this.caloriesConsumed);
         parcel.writeDouble(this.distanceTravelledInKilometers);
-        parcel.writeList(this.listOfImagesTaken);
-        parcel.writeList(this.listOfGPSLocations);
+        parcel.writeDouble(this.accumulatedDistanceTravelledInKilometers);
+
+        parcel.writeStringList(this.listOfImagesTaken);
+        parcel.writeByteArray(GPSTrackPacking.pack(this.gpsTrack));
 
         if (this.startDateTime == null)
         {
-            parcel.writeString(null);
+            parcel.writeInt(0);
         }
         else
         {
-            parcel.writeString(this.startDateTime.toString());
+            parcel.writeInt(1);
+            parcel.writeLong(this.startDateTime.toEpochSecond(ZoneOffset.UTC));
+            parcel.writeInt(this.startDateTime.getNano());
         }
 
+        parcel.writeInt(this.activityType.ordinal());
 
-        if (activityType == ActivityType.WALKING)
-        {
-            parcel.writeString("WALKING");
-        }
-        else
+        writeSplitsToParcel(parcel);
+    }
+
+
+    /**
+     * Write the number of splits, then the type (as its ordinal), distance travelled and
+     * elapsed duration of each split, then the last distance travelled and elapsed duration
+     * given to the splits engine, so that the splits can continue to be emitted
+     * Helper method for writeToParcel(Parcel, int)
+     *
+     * @see #readSplitsFromParcel(Parcel)
+     * */
+    private void writeSplitsToParcel(Parcel parcel)
+    {
+        List<ISplit> listOfSplits = this.splitsEngine.getListOfSplits();
+
+        parcel.writeInt(listOfSplits.size());
+
+        for (ISplit split : listOfSplits)
         {
-            parcel.writeString("RUNNING");
+            parcel.writeInt(split.getSplitType().ordinal());
+            parcel.writeDouble(split.getDistanceTravelledInKilometers());
+            parcel.writeDouble(split.getElapsedDurationInSeconds());
         }
+
+        parcel.writeDouble(this.splitsEngine.getLastDistanceTravelledInKilometers());
+        parcel.writeDouble(this.splitsEngine.getLastElapsedDurationInSeconds());
     }
 
 
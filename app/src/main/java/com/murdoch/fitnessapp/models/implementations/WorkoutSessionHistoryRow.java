@@ -0,0 +1,219 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * This class represents a single row of the workout session history, which is either the
+ * date header of a group of same-date workout sessions, or a workout session list item
+ *
+ * Every row has a row id that stays the same for as long as the row is displayed, so that a
+ * list of rows can be compared with the list displayed before it:
+ * - the row id of a workout session row is its workout session id, which is never negative
+ * - the row id of a date header row is negative, and derived from the workout session id of
+ *   the first workout session of its group, as the same date may head more than one group if
+ *   the start date times of the workout sessions are not in the order of their ids, e.g.
+ *   after the clock of the device was changed
+ *
+ * Its values cannot be changed once it is created
+ *
+ * @see #createListOfRows(List, Set)
+ * */
+public class WorkoutSessionHistoryRow
+{
+    /**
+     * The types of rows, which are displayed with different views
+     * */
+    public enum RowType
+    {
+        DATE_HEADER, WORKOUT_SESSION
+    }
+
+
+    private final long rowId;
+    private final RowType rowType;
+    private final LocalDate date;
+    private final IWorkoutSessionListItem workoutSessionListItem;
+    private final boolean isBeingDeleted;
+
+
+    /**
+     * Initializes a WorkoutSessionHistoryRow
+     *
+     * @param rowIdValue the id of the row
+     * @param rowTypeValue the type of the row
+     * @param dateValue the date of the row, i.e. the date of the start date time of its
+     *                  workout session
+     * @param workoutSessionListItemValue the workout session of the row, or null for a date
+     *                                    header row
+     * @param isBeingDeletedValue whether the workout session of the row is being deleted
+     * */
+    private WorkoutSessionHistoryRow(long rowIdValue, RowType rowTypeValue, LocalDate dateValue,
+                                     IWorkoutSessionListItem workoutSessionListItemValue,
+                                     boolean isBeingDeletedValue)
+    {
+        this.rowId = rowIdValue;
+        this.rowType = rowTypeValue;
+        this.date = dateValue;
+        this.workoutSessionListItem = workoutSessionListItemValue;
+        this.isBeingDeleted = isBeingDeletedValue;
+    }
+
+
+    /**
+     * Create the rows of the workout session history from a list of workout session list
+     * items, by inserting a date header row before every group of consecutive workout
+     * sessions with the same date
+     *
+     * @param listOfWorkoutSessionListItems the workout session list items, in the order that
+     *                                      they are displayed
+     * @param setOfWorkoutSessionIdsBeingDeleted the workout session ids of the workout
+     *                                           sessions that are being deleted
+     *
+     * @return the rows, with one date header row per group of same-date workout sessions
+     * followed by one workout session row per workout session list item
+     *
+     * @throws NullPointerException if either of the arguments is null, or the list contains
+     * a null element
+     * */
+    public static List<WorkoutSessionHistoryRow> createListOfRows(
+                                List<IWorkoutSessionListItem> listOfWorkoutSessionListItems,
+                                Set<Long> setOfWorkoutSessionIdsBeingDeleted)
+    {
+        if (listOfWorkoutSessionListItems == null || setOfWorkoutSessionIdsBeingDeleted == null)
+        {
+            throw new NullPointerException("List of workout session list items or set of " +
+                                           "workout session ids cannot be null");
+        }
+
+        List<WorkoutSessionHistoryRow> listOfRows = new ArrayList<>();
+
+        LocalDate previousDate = null;
+
+        for (IWorkoutSessionListItem workoutSessionListItem : listOfWorkoutSessionListItems)
+        {
+            LocalDate date = workoutSessionListItem.getStartDateTime().toLocalDate();
+
+            long workoutSessionId = workoutSessionListItem.getWorkoutSessionId();
+
+            if (!date.equals(previousDate))
+            {
+                final IWorkoutSessionListItem NO_WORKOUT_SESSION = null;
+
+                listOfRows.add(new WorkoutSessionHistoryRow(
+                                            getDateHeaderRowId(workoutSessionId),
+                                            RowType.DATE_HEADER, date, NO_WORKOUT_SESSION,
+                                            false));
+            }
+
+            boolean isBeingDeleted = setOfWorkoutSessionIdsBeingDeleted.contains(
+                                                                        workoutSessionId);
+
+            listOfRows.add(new WorkoutSessionHistoryRow(workoutSessionId,
+                                            RowType.WORKOUT_SESSION, date,
+                                            workoutSessionListItem, isBeingDeleted));
+
+            previousDate = date;
+        }
+
+        return listOfRows;
+    }
+
+
+    /**
+     * Returns the row id of the date header row of a group of same-date workout sessions,
+     * which is negative so that it never equals a workout session id
+     *
+     * @param firstWorkoutSessionId the workout session id of the first workout session of
+     *                              the group, which is never negative
+     * */
+    private static long getDateHeaderRowId(long firstWorkoutSessionId)
+    {
+        return -(firstWorkoutSessionId + 1);
+    }
+
+
+    /**
+     * Returns the type of the row
+     * */
+    public RowType getRowType()
+    {
+        return this.rowType;
+    }
+
+
+    /**
+     * Returns the date of the row
+     * */
+    public LocalDate getDate()
+    {
+        return this.date;
+    }
+
+
+    /**
+     * Returns the workout session of the row, or null if it is a date header row
+     * */
+    public IWorkoutSessionListItem getWorkoutSessionListItem()
+    {
+        return this.workoutSessionListItem;
+    }
+
+
+    /**
+     * Returns whether the workout session of the row is being deleted. Always false for a
+     * date header row
+     * */
+    public boolean isBeingDeleted()
+    {
+        return this.isBeingDeleted;
+    }
+
+
+    /**
+     * Returns the id of the row, which identifies the same row across lists of rows
+     * */
+    public long getRowId()
+    {
+        return this.rowId;
+    }
+
+
+    /**
+     * Returns whether this row displays the same contents as another row with the same row
+     * id, so that the row does not need to be displayed again
+     *
+     * @param otherRow the other row
+     * */
+    public boolean hasSameContentsAs(WorkoutSessionHistoryRow otherRow)
+    {
+        if (this.rowType != otherRow.rowType || !this.date.equals(otherRow.date))
+        {
+            return false;
+        }
+
+        if (this.rowType == RowType.DATE_HEADER)
+        {
+            return true;
+        }
+
+        IWorkoutSessionListItem item = this.workoutSessionListItem;
+        IWorkoutSessionListItem otherItem = otherRow.workoutSessionListItem;
+
+        return this.isBeingDeleted == otherRow.isBeingDeleted &&
+                item.getActivityType() == otherItem.getActivityType() &&
+                item.getStartDateTime().equals(otherItem.getStartDateTime()) &&
+                item.getDurationInSeconds() == otherItem.getDurationInSeconds() &&
+                item.getNumberOfStepsTaken() == otherItem.getNumberOfStepsTaken() &&
+                Double.compare(item.getCaloriesConsumed(), otherItem.getCaloriesConsumed()) == 0 &&
+                Double.compare(item.getDistanceTravelledInKilometers(),
+                               otherItem.getDistanceTravelledInKilometers()) == 0 &&
+                item.getNumberOfGPSLocations() == otherItem.getNumberOfGPSLocations() &&
+                item.getNumberOfImagesTaken() == otherItem.getNumberOfImagesTaken();
+    }
+}
@@ -0,0 +1,72 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.images.ImageDecoding;
+
+/**
+ * Contains the unit test of various methods of the ImageDecoding class
+ */
+public class ImageDecodingUnitTest
+{
+    /**
+     * Test that an image no larger than the size required is not sub-sampled
+     * */
+    @Test
+    public void calculateInSampleSize_ImageNotLargerThanRequired_One()
+    {
+        assertEquals(1, ImageDecoding.calculateInSampleSize(800, 600, 1080, 1920));
+        assertEquals(1, ImageDecoding.calculateInSampleSize(1080, 1920, 1080, 1920));
+    }
+
+
+    /**
+     * Test that a camera photo is sub-sampled by the largest power of two that still leaves
+     * both its width and height at least the size required
+     * */
+    @Test
+    public void calculateInSampleSize_CameraPhoto_LargestPowerOfTwoStillLargeEnough()
+    {
+        //4000 / 4 = 1000 >= 1000 and 3000 / 4 = 750 >= 700, but 3000 / 8 = 375 < 700
+        assertEquals(4, ImageDecoding.calculateInSampleSize(4000, 3000, 1000, 700));
+
+        //the height limits the sub-sampling, even though the width could be halved again
+        assertEquals(2, ImageDecoding.calculateInSampleSize(4000, 3000, 500, 1500));
+
+        assertEquals(8, ImageDecoding.calculateInSampleSize(4032, 3024, 500, 378));
+    }
+
+
+    /**
+     * Test that an image is large enough to be displayed fitted within the size required as
+     * soon as it reaches either the width or the height required, e.g. a display rendition
+     * of a landscape photo on a portrait phone screen
+     * */
+    @Test
+    public void isLargeEnoughToFit_RenditionSizes_ReachesWidthOrHeight()
+    {
+        //fitted to 1080 x 810, which the 1280 x 960 rendition covers
+        assertTrue(ImageDecoding.isLargeEnoughToFit(1280, 960, 1080, 1920));
+
+        //fitted to 675 x 900, which the 960 x 1280 rendition covers
+        assertTrue(ImageDecoding.isLargeEnoughToFit(960, 1280, 1080, 900));
+
+        //fitted to 1440 x 1080, which would scale the rendition up
+        assertFalse(ImageDecoding.isLargeEnoughToFit(1280, 960, 1440, 1080));
+
+        assertFalse(ImageDecoding.isLargeEnoughToFit(256, 192, 1080, 900));
+    }
+
+
+    /**
+     * Test that a size that is not positive throws an IllegalArgumentException, as the
+     * image view may not have been laid out yet
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateInSampleSize_ZeroRequiredWidth_IllegalArgumentException()
+    {
+        ImageDecoding.calculateInSampleSize(4000, 3000, 0, 700);
+    }
+}
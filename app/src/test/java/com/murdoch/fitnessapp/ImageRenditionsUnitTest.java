@@ -0,0 +1,50 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.images.ImageRenditions;
+
+/**
+ * Contains the unit test of various methods of the ImageRenditions class
+ */
+public class ImageRenditionsUnitTest
+{
+    /**
+     * Test that the paths of the renditions replace the extension of the image file, and
+     * stay in the same directory as the image
+     * */
+    @Test
+    public void getRenditionPaths_ImageWithExtension_ExtensionReplaced()
+    {
+        final String IMAGE_PATH = "/pictures/JPEG_20211022_151245_1.jpg";
+
+        assertEquals("/pictures/JPEG_20211022_151245_1_thumbnail.jpg",
+                     ImageRenditions.getThumbnailPath(IMAGE_PATH));
+        assertEquals("/pictures/JPEG_20211022_151245_1_display.jpg",
+                     ImageRenditions.getDisplayPath(IMAGE_PATH));
+    }
+
+
+    /**
+     * Test that a dot in the name of a directory is not mistaken for the extension of an
+     * image file without an extension
+     * */
+    @Test
+    public void getThumbnailPath_DotInDirectoryOnly_SuffixAppended()
+    {
+        assertEquals("/files.dir/image_thumbnail.jpg",
+                     ImageRenditions.getThumbnailPath("/files.dir/image"));
+    }
+
+
+    /**
+     * Test that a null image path throws a NullPointerException
+     * */
+    @Test(expected = NullPointerException.class)
+    public void getDisplayPath_NullImagePath_NullPointerException()
+    {
+        ImageRenditions.getDisplayPath(null);
+    }
+}
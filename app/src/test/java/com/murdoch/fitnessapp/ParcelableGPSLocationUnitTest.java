@@ -0,0 +1,46 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.ParcelableGPSLocation;
+
+/**
+ * Contains the unit test of various methods of the ParcelableGPSLocation class
+ */
+public class ParcelableGPSLocationUnitTest
+{
+    /**
+     * Test that a ParcelableGPSLocation copied from a GPSLocation is equal to it, in
+     * both directions
+     * */
+    @Test
+    public void copyConstructor_ValidGPSLocation_EqualToGPSLocation()
+    {
+        final GPSLocation RANDOM_GPS_LOCATION = new GPSLocation(12.34, 56.78);
+
+        ParcelableGPSLocation parcelableGPSLocation =
+                                            new ParcelableGPSLocation(RANDOM_GPS_LOCATION);
+
+        assertEquals(RANDOM_GPS_LOCATION, parcelableGPSLocation);
+        assertEquals(parcelableGPSLocation, RANDOM_GPS_LOCATION);
+    }
+
+
+    /**
+     * Test the describeContents() method of the Parcelable interface correctly returns its
+     * default value
+     * */
+    @Test
+    public void describeContents_DefaultDescription_NoException()
+    {
+        ParcelableGPSLocation parcelableGPSLocation = new ParcelableGPSLocation(0, 0);
+
+        final int EXPECTED_DESCRIPTION_VALUE = 0;
+
+        assertEquals(EXPECTED_DESCRIPTION_VALUE,
+                    parcelableGPSLocation.describeContents());
+    }
+}
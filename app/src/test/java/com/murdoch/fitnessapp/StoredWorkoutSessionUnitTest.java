@@ -5,6 +5,7 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
 import com.murdoch.fitnessapp.models.implementations.StoredWorkoutSession;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
 import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
@@ -91,6 +92,92 @@ public class StoredWorkoutSessionUnitTest
     }
 
 
+    /**
+     * Test the setCaloriesConsumed(double) and setDistanceTravelledInKilometers(double)
+     * correctly set the stored values without calculating them again
+     * */
+    @Test
+    public void setStoredValues_ValidPositiveValues_NoException()
+    {
+        final double RANDOM_VALID_CALORIES_CONSUMED = 123.45;
+        final double RANDOM_VALID_DISTANCE_TRAVELLED_IN_KILOMETERS = 6.78;
+
+        final double DELTA = 0;
+
+        StoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+
+        storedWorkoutSession.setCaloriesConsumed(RANDOM_VALID_CALORIES_CONSUMED);
+        storedWorkoutSession.setDistanceTravelledInKilometers(
+                                        RANDOM_VALID_DISTANCE_TRAVELLED_IN_KILOMETERS);
+
+        assertEquals(RANDOM_VALID_CALORIES_CONSUMED,
+                     storedWorkoutSession.getCaloriesConsumed(), DELTA);
+
+        assertEquals(RANDOM_VALID_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                     storedWorkoutSession.getDistanceTravelledInKilometers(), DELTA);
+    }
+
+
+    /**
+     * Test the setCaloriesConsumed(double) and setDistanceTravelledInKilometers(double)
+     * correctly throw an IllegalArgumentException when the value is negative
+     * */
+    @Test
+    public void setStoredValues_InvalidNegativeValues_IllegalArgumentException()
+    {
+        final double RANDOM_INVALID_NEGATIVE_VALUE = -0.5;
+
+        StoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> storedWorkoutSession.setCaloriesConsumed(RANDOM_INVALID_NEGATIVE_VALUE));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> storedWorkoutSession.setDistanceTravelledInKilometers(
+                                                        RANDOM_INVALID_NEGATIVE_VALUE));
+    }
+
+
+    /**
+     * Test the setGPSTrack(GPSTrack) sets the GPSLocations and pauses of a stored GPSTrack
+     * without accumulating the distance travelled or emitting splits again
+     * */
+    @Test
+    public void setGPSTrack_StoredGPSTrack_NoDistanceOrSplitsRecalculated()
+    {
+        final double RANDOM_VALID_DISTANCE_TRAVELLED_IN_KILOMETERS = 6.78;
+
+        final double DELTA = 0;
+
+        //roughly 11 kilometers apart, which would emit splits if they were added one at a time
+        GPSTrack storedGPSTrack = new GPSTrack();
+        storedGPSTrack.addGPSLocation(-32.0, 115.8);
+        storedGPSTrack.addPause();
+        storedGPSTrack.addGPSLocation(-32.1, 115.8);
+        storedGPSTrack.addGPSLocation(-32.2, 115.8);
+
+        StoredWorkoutSession storedWorkoutSession = new StoredWorkoutSession();
+
+        storedWorkoutSession.setDurationInSeconds(3600);
+        storedWorkoutSession.setDistanceTravelledInKilometers(
+                                        RANDOM_VALID_DISTANCE_TRAVELLED_IN_KILOMETERS);
+        storedWorkoutSession.setGPSTrack(storedGPSTrack);
+
+        assertEquals(storedGPSTrack.getListOfGPSLocations(),
+                     storedWorkoutSession.getListOfGPSLocations());
+
+        assertTrue(storedWorkoutSession.getListOfSplits().isEmpty());
+
+        storedWorkoutSession.updateDistanceTravelled();
+
+        assertEquals(RANDOM_VALID_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                     storedWorkoutSession.getDistanceTravelledInKilometers(), DELTA);
+
+        assertThrows(NullPointerException.class,
+                () -> storedWorkoutSession.setGPSTrack(null));
+    }
+
+
     /**
      * Test the overridden equals(Object) correctly returns true when both StoredWorkoutSession
      * instances are exactly the same
@@ -0,0 +1,218 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionHistoryRow;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Contains the unit test of various methods of the WorkoutSessionHistoryRow class
+ */
+public class WorkoutSessionHistoryRowUnitTest
+{
+    private static final Set<Long> NO_WORKOUT_SESSIONS_BEING_DELETED = Collections.emptySet();
+
+
+    /**
+     * Test that a date header row is inserted before every group of consecutive workout
+     * sessions with the same date, and not before the other workout sessions of the group
+     * */
+    @Test
+    public void createListOfRows_ThreeSessionsOnTwoDates_TwoDateHeaders()
+    {
+        List<IWorkoutSessionListItem> listOfWorkoutSessions = new ArrayList<>();
+
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(3, 2021, 10, 23, 18));
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(2, 2021, 10, 22, 15));
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(1, 2021, 10, 22, 7));
+
+        List<WorkoutSessionHistoryRow> listOfRows = WorkoutSessionHistoryRow.createListOfRows(
+                                    listOfWorkoutSessions, NO_WORKOUT_SESSIONS_BEING_DELETED);
+
+        final int EXPECTED_NUMBER_OF_ROWS = 5;
+
+        assertEquals(EXPECTED_NUMBER_OF_ROWS, listOfRows.size());
+
+        assertEquals(WorkoutSessionHistoryRow.RowType.DATE_HEADER, listOfRows.get(0).getRowType());
+        assertEquals(LocalDate.of(2021, 10, 23), listOfRows.get(0).getDate());
+        assertNull(listOfRows.get(0).getWorkoutSessionListItem());
+
+        assertEquals(listOfWorkoutSessions.get(0), listOfRows.get(1).getWorkoutSessionListItem());
+
+        assertEquals(WorkoutSessionHistoryRow.RowType.DATE_HEADER, listOfRows.get(2).getRowType());
+        assertEquals(LocalDate.of(2021, 10, 22), listOfRows.get(2).getDate());
+
+        assertEquals(listOfWorkoutSessions.get(1), listOfRows.get(3).getWorkoutSessionListItem());
+        assertEquals(listOfWorkoutSessions.get(2), listOfRows.get(4).getWorkoutSessionListItem());
+    }
+
+
+    /**
+     * Test that the row ids of the workout session rows are their workout session ids, and
+     * that the row ids of the date header rows are negative, so that no two rows share a
+     * row id
+     * */
+    @Test
+    public void getRowId_HeadersAndSessions_UniqueRowIds()
+    {
+        List<IWorkoutSessionListItem> listOfWorkoutSessions = new ArrayList<>();
+
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(2, 2021, 10, 23, 18));
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(1, 1969, 12, 31, 9));
+
+        List<WorkoutSessionHistoryRow> listOfRows = WorkoutSessionHistoryRow.createListOfRows(
+                                    listOfWorkoutSessions, NO_WORKOUT_SESSIONS_BEING_DELETED);
+
+        Set<Long> setOfRowIds = new HashSet<>();
+
+        for (WorkoutSessionHistoryRow row : listOfRows)
+        {
+            assertTrue(setOfRowIds.add(row.getRowId()));
+
+            if (row.getRowType() == WorkoutSessionHistoryRow.RowType.DATE_HEADER)
+            {
+                assertTrue(row.getRowId() < 0);
+            }
+            else
+            {
+                assertEquals(row.getWorkoutSessionListItem().getWorkoutSessionId(),
+                             row.getRowId());
+            }
+        }
+    }
+
+
+    /**
+     * Test that a date that heads two groups of workout sessions, as the start date times are
+     * not in the order of the workout session ids, has two date header rows with different
+     * row ids
+     * */
+    @Test
+    public void getRowId_SameDateInTwoGroups_UniqueRowIds()
+    {
+        List<IWorkoutSessionListItem> listOfWorkoutSessions = new ArrayList<>();
+
+        //the clock of the device was set back a day between the workout sessions 1 and 2
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(3, 2021, 10, 22, 18));
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(2, 2021, 10, 21, 9));
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(1, 2021, 10, 22, 7));
+
+        List<WorkoutSessionHistoryRow> listOfRows = WorkoutSessionHistoryRow.createListOfRows(
+                                    listOfWorkoutSessions, NO_WORKOUT_SESSIONS_BEING_DELETED);
+
+        final int EXPECTED_NUMBER_OF_ROWS = 6;
+
+        assertEquals(EXPECTED_NUMBER_OF_ROWS, listOfRows.size());
+
+        WorkoutSessionHistoryRow firstDateHeaderRow = listOfRows.get(0);
+        WorkoutSessionHistoryRow secondDateHeaderRow = listOfRows.get(4);
+
+        assertEquals(WorkoutSessionHistoryRow.RowType.DATE_HEADER,
+                     secondDateHeaderRow.getRowType());
+        assertEquals(firstDateHeaderRow.getDate(), secondDateHeaderRow.getDate());
+
+        Set<Long> setOfRowIds = new HashSet<>();
+
+        for (WorkoutSessionHistoryRow row : listOfRows)
+        {
+            assertTrue(setOfRowIds.add(row.getRowId()));
+        }
+    }
+
+
+    /**
+     * Test that the rows created again after the only workout session of a date is removed
+     * no longer contain the date header of that date, while the other rows keep their
+     * row ids
+     * */
+    @Test
+    public void createListOfRows_OnlySessionOfDateRemoved_DateHeaderRemoved()
+    {
+        List<IWorkoutSessionListItem> listOfWorkoutSessions = new ArrayList<>();
+
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(2, 2021, 10, 23, 18));
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(1, 2021, 10, 22, 15));
+
+        List<WorkoutSessionHistoryRow> listOfRowsBeforeRemoval =
+                WorkoutSessionHistoryRow.createListOfRows(listOfWorkoutSessions,
+                                                          NO_WORKOUT_SESSIONS_BEING_DELETED);
+
+        listOfWorkoutSessions.remove(0);
+
+        List<WorkoutSessionHistoryRow> listOfRowsAfterRemoval =
+                WorkoutSessionHistoryRow.createListOfRows(listOfWorkoutSessions,
+                                                          NO_WORKOUT_SESSIONS_BEING_DELETED);
+
+        assertEquals(4, listOfRowsBeforeRemoval.size());
+        assertEquals(2, listOfRowsAfterRemoval.size());
+
+        assertEquals(listOfRowsBeforeRemoval.get(2).getRowId(),
+                     listOfRowsAfterRemoval.get(0).getRowId());
+        assertEquals(listOfRowsBeforeRemoval.get(3).getRowId(),
+                     listOfRowsAfterRemoval.get(1).getRowId());
+    }
+
+
+    /**
+     * Test that a workout session row has the same contents as the row created for the same
+     * workout session, unless the workout session has started being deleted since
+     * */
+    @Test
+    public void hasSameContentsAs_SessionMarkedAsBeingDeleted_DifferentContents()
+    {
+        List<IWorkoutSessionListItem> listOfWorkoutSessions = new ArrayList<>();
+
+        listOfWorkoutSessions.add(createWorkoutSessionListItem(1, 2021, 10, 22, 15));
+
+        WorkoutSessionHistoryRow row = WorkoutSessionHistoryRow.createListOfRows(
+                    listOfWorkoutSessions, NO_WORKOUT_SESSIONS_BEING_DELETED).get(1);
+
+        WorkoutSessionHistoryRow sameRow = WorkoutSessionHistoryRow.createListOfRows(
+                    listOfWorkoutSessions, NO_WORKOUT_SESSIONS_BEING_DELETED).get(1);
+
+        WorkoutSessionHistoryRow rowBeingDeleted = WorkoutSessionHistoryRow.createListOfRows(
+                    listOfWorkoutSessions, Collections.singleton(1L)).get(1);
+
+        assertTrue(row.hasSameContentsAs(sameRow));
+
+        assertTrue(rowBeingDeleted.isBeingDeleted());
+        assertEquals(row.getRowId(), rowBeingDeleted.getRowId());
+        assertFalse(row.hasSameContentsAs(rowBeingDeleted));
+    }
+
+
+    /**
+     * Test that a null list of workout session list items throws a NullPointerException
+     * */
+    @Test(expected = NullPointerException.class)
+    public void createListOfRows_NullList_NullPointerException()
+    {
+        WorkoutSessionHistoryRow.createListOfRows(null, NO_WORKOUT_SESSIONS_BEING_DELETED);
+    }
+
+
+    /**
+     * Returns a workout session list item with the given workout session id, which started
+     * at the given date and hour
+     * */
+    private static IWorkoutSessionListItem createWorkoutSessionListItem(long workoutSessionId,
+                                                    int year, int month, int day, int hour)
+    {
+        return new WorkoutSessionListItem(workoutSessionId,
+                IWorkoutSession.ActivityType.WALKING,
+                LocalDateTime.of(year, month, day, hour, 0),
+                600, 800, 40.5, 0.75, 10, 0);
+    }
+}
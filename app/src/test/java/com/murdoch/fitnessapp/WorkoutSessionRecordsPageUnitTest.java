@@ -0,0 +1,126 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.StoredWorkoutSession;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionRecordsPage;
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the unit test of various methods of the WorkoutSessionRecordsPage class
+ */
+public class WorkoutSessionRecordsPageUnitTest
+{
+    /**
+     * Test the constructor correctly initializes the list of workout sessions, whether there
+     * is a next page and the continuation token of the next page
+     * */
+    @Test
+    public void constructor_ValidArguments_NoException()
+    {
+        List<IStoredWorkoutSession> listOfStoredWorkoutSessions = getRandomListOfTwoRecords();
+
+        final boolean RANDOM_HAS_NEXT_PAGE = true;
+        final long RANDOM_NEXT_PAGE_BEFORE_SESSION_ID_EXCLUSIVE = 8;
+
+        WorkoutSessionRecordsPage workoutSessionRecordsPage = new WorkoutSessionRecordsPage(
+                listOfStoredWorkoutSessions, RANDOM_HAS_NEXT_PAGE,
+                RANDOM_NEXT_PAGE_BEFORE_SESSION_ID_EXCLUSIVE);
+
+        assertEquals(listOfStoredWorkoutSessions,
+                     workoutSessionRecordsPage.getListOfStoredWorkoutSessions());
+
+        assertTrue(workoutSessionRecordsPage.hasNextPage());
+
+        assertEquals(RANDOM_NEXT_PAGE_BEFORE_SESSION_ID_EXCLUSIVE,
+                     workoutSessionRecordsPage.getNextPageBeforeSessionIdExclusive());
+    }
+
+
+    /**
+     * Test the constructor copies the list of workout sessions, so that later changes
+     * to the list passed in do not affect the page
+     * */
+    @Test
+    public void constructor_ModifyListAfterConstruction_NoException()
+    {
+        List<IStoredWorkoutSession> listOfStoredWorkoutSessions = getRandomListOfTwoRecords();
+
+        WorkoutSessionRecordsPage workoutSessionRecordsPage = new WorkoutSessionRecordsPage(
+                listOfStoredWorkoutSessions, false, 0);
+
+        listOfStoredWorkoutSessions.clear();
+
+        final int EXPECTED_LIST_SIZE = 2;
+
+        assertEquals(EXPECTED_LIST_SIZE,
+                     workoutSessionRecordsPage.getListOfStoredWorkoutSessions().size());
+    }
+
+
+    /**
+     * Test the constructor throws a NullPointerException if the list of workout sessions
+     * is null
+     * */
+    @Test
+    public void constructor_InvalidNullList_NullPointerException()
+    {
+        assertThrows(NullPointerException.class,
+                () -> new WorkoutSessionRecordsPage(null, false, 0));
+    }
+
+
+    /**
+     * Test the constructor throws an IllegalArgumentException if the continuation token
+     * is a negative number
+     * */
+    @Test
+    public void constructor_InvalidNegativeNextPageSessionId_IllegalArgumentException()
+    {
+        final long RANDOM_INVALID_NEGATIVE_SESSION_ID = -1;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkoutSessionRecordsPage(new ArrayList<>(), false,
+                                                    RANDOM_INVALID_NEGATIVE_SESSION_ID));
+    }
+
+
+    /**
+     * Test that the list of workout sessions returned by getListOfStoredWorkoutSessions()
+     * cannot be modified
+     * */
+    @Test
+    public void getListOfStoredWorkoutSessions_ModifyList_UnsupportedOperationException()
+    {
+        WorkoutSessionRecordsPage workoutSessionRecordsPage = new WorkoutSessionRecordsPage(
+                getRandomListOfTwoRecords(), false, 0);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> workoutSessionRecordsPage.getListOfStoredWorkoutSessions().clear());
+    }
+
+
+    /**
+     * Returns a list of two stored workout sessions in descending order of their
+     * workout session ids
+     * */
+    private static List<IStoredWorkoutSession> getRandomListOfTwoRecords()
+    {
+        StoredWorkoutSession storedWorkoutSession1 = new StoredWorkoutSession();
+        storedWorkoutSession1.setWorkoutSessionId(9);
+
+        StoredWorkoutSession storedWorkoutSession2 = new StoredWorkoutSession();
+        storedWorkoutSession2.setWorkoutSessionId(8);
+
+        List<IStoredWorkoutSession> listOfStoredWorkoutSessions = new ArrayList<>();
+        listOfStoredWorkoutSessions.add(storedWorkoutSession1);
+        listOfStoredWorkoutSessions.add(storedWorkoutSession2);
+
+        return listOfStoredWorkoutSessions;
+    }
+}
@@ -5,14 +5,23 @@ import org.junit.Test;
 
 import static org.junit.Assert.*;
 
+import com.murdoch.fitnessapp.models.implementations.CaloriesConsumed;
 import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackLevelsOfDetail;
+import com.murdoch.fitnessapp.models.implementations.GeodesicDistance;
 import com.murdoch.fitnessapp.models.implementations.WorkoutSession;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionSnapshot;
 import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
 import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Contains the unit test of various methods of the WorkoutSession class
@@ -521,6 +530,37 @@ public class WorkoutSessionUnitTest
         return new GPSLocation(RANDOM_LATITUDE_3, RANDOM_LONGITUDE_3);
     }
 
+    /**
+     * Calculate and return the distance between two points in kilometers using the
+     * Haversine formula, exactly as WorkoutSession did before GeodesicDistance was
+     * introduced, so that the accuracy of each mode can be validated against it
+     * */
+    private static double calculateReferenceDistanceInKilometers(double firstPointLatitude,
+                                                                 double firstPointLongitude,
+                                                                 double secondPointLatitude,
+                                                                 double secondPointLongitude)
+    {
+        final int EARTH_RADIUS_IN_KILOMETERS = 6371;
+
+        double firstPointLatitudeRadius = firstPointLatitude * Math.PI / 180;
+        double secondPointLatitudeRadius = secondPointLatitude * Math.PI / 180;
+
+        double latitudeDifference = (secondPointLatitude - firstPointLatitude) * Math.PI / 180;
+        double longitudeDifference = (secondPointLongitude - firstPointLongitude) * Math.PI / 180;
+
+
+        double chordLength = Math.sin(latitudeDifference / 2) * Math.sin(latitudeDifference / 2) +
+                Math.cos(firstPointLatitudeRadius) * Math.cos(secondPointLatitudeRadius) *
+                        Math.sin(longitudeDifference / 2) * Math.sin(longitudeDifference / 2);
+
+
+        double angularDistance = 2 * Math.atan2(Math.sqrt(chordLength),
+                                                Math.sqrt(1 - chordLength));
+
+
+        return EARTH_RADIUS_IN_KILOMETERS * angularDistance;
+    }
+
 
 
 
@@ -723,6 +763,398 @@ public class WorkoutSessionUnitTest
 
 
 
+    /**
+     * Test that updateDistanceTravelled() gives the same distance travelled as
+     * calculateDistanceTravelled() after every GPSLocation added, for random tracks with
+     * random pauses (null GPSLocations), including consecutive pauses and tracks that start
+     * with a pause
+     * */
+    @Test
+    public void updateDistanceTravelled_RandomTracksWithPauses_SameAsCalculateDistanceTravelled()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_TRACKS = 20;
+        final int NUMBER_OF_GPS_LOCATIONS_PER_TRACK = 500;
+
+        final double PAUSE_PROBABILITY = 0.05;
+
+        //roughly 0 - 100 meters between successive GPSLocations
+        final double MAXIMUM_STEP_IN_DEGREES = 0.001;
+
+        final double MAXIMUM_DELTA = 1e-9;
+
+        Random random = new Random(RANDOM_SEED);
+
+        for (int trackIndex = 0; trackIndex < NUMBER_OF_TRACKS; trackIndex++)
+        {
+            WorkoutSession workoutSession = new WorkoutSession();
+
+            double latitude = random.nextDouble() * 160 - 80;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS_PER_TRACK; index++)
+            {
+                if (random.nextDouble() < PAUSE_PROBABILITY)
+                {
+                    workoutSession.addGPSLocation(null);
+                }
+                else
+                {
+                    latitude += (random.nextDouble() * 2 - 1) * MAXIMUM_STEP_IN_DEGREES;
+                    longitude += (random.nextDouble() * 2 - 1) * MAXIMUM_STEP_IN_DEGREES;
+
+                    workoutSession.addGPSLocation(new GPSLocation(latitude, longitude));
+                }
+
+
+                workoutSession.calculateDistanceTravelled();
+
+                double calculatedDistanceTravelledInKilometers =
+                                        workoutSession.getDistanceTravelledInKilometers();
+
+                workoutSession.updateDistanceTravelled();
+
+                assertEquals(calculatedDistanceTravelledInKilometers,
+                        workoutSession.getDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+            }
+        }
+    }
+
+
+    /**
+     * Test that updateDistanceTravelled() gives a distance travelled of zero once the list of
+     * GPSLocations has been cleared, and only accumulates the GPSLocations added afterwards
+     * */
+    @Test
+    public void updateDistanceTravelled_AfterClearingListOfGPSLocations_NoException()
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.addGPSLocation(getRandomGPSLocation1());
+        workoutSession.addGPSLocation(getRandomGPSLocation2());
+
+        workoutSession.clearListOfGPSLocations();
+
+        workoutSession.updateDistanceTravelled();
+
+        final double EXPECTED_DISTANCE_TRAVELLED_IN_KILOMETERS = 0;
+        final double DELTA = 0.0;
+
+        assertEquals(EXPECTED_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                workoutSession.getDistanceTravelledInKilometers(), DELTA);
+
+
+        workoutSession.addGPSLocation(getRandomGPSLocation2());
+        workoutSession.addGPSLocation(getRandomGPSLocation3());
+
+        workoutSession.calculateDistanceTravelled();
+
+        double calculatedDistanceTravelledInKilometers =
+                                        workoutSession.getDistanceTravelledInKilometers();
+
+        workoutSession.updateDistanceTravelled();
+
+        assertEquals(calculatedDistanceTravelledInKilometers,
+                workoutSession.getDistanceTravelledInKilometers(), DELTA);
+    }
+
+
+    /**
+     * Test that GeodesicDistance.Mode.HAVERSINE gives exactly the same distance as the
+     * Haversine formula previously used by WorkoutSession, for random pairs of GPSLocations
+     * anywhere on the Earth
+     * */
+    @Test
+    public void calculateDistanceInKilometers_HaversineModeRandomPairs_SameAsReference()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_PAIRS = 10000;
+
+        final double DELTA = 0;
+
+        Random random = new Random(RANDOM_SEED);
+
+        for (int index = 0; index < NUMBER_OF_PAIRS; index++)
+        {
+            double firstPointLatitude = random.nextDouble() * 180 - 90;
+            double firstPointLongitude = random.nextDouble() * 360 - 180;
+            double secondPointLatitude = random.nextDouble() * 180 - 90;
+            double secondPointLongitude = random.nextDouble() * 360 - 180;
+
+            assertEquals(calculateReferenceDistanceInKilometers(
+                            firstPointLatitude, firstPointLongitude,
+                            secondPointLatitude, secondPointLongitude),
+                    GeodesicDistance.calculateDistanceInKilometers(
+                            firstPointLatitude, firstPointLongitude,
+                            secondPointLatitude, secondPointLongitude,
+                            GeodesicDistance.Mode.HAVERSINE),
+                    DELTA);
+        }
+    }
+
+
+    /**
+     * Test that the relative error of GeodesicDistance.Mode.EQUIRECTANGULAR against the
+     * Haversine formula previously used by WorkoutSession stays within the documented bound,
+     * for random segments up to the largest difference calculated with the approximation, at
+     * latitudes up to 89 degrees
+     * */
+    @Test
+    public void calculateDistanceInKilometers_EquirectangularModeShortSegments_WithinErrorBound()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_PAIRS = 100000;
+
+        final double MAXIMUM_LATITUDE = 89;
+        final double MAXIMUM_DIFFERENCE_IN_DEGREES =
+                GeodesicDistance.MAXIMUM_EQUIRECTANGULAR_DIFFERENCE_IN_DEGREES;
+
+        Random random = new Random(RANDOM_SEED);
+
+        for (int index = 0; index < NUMBER_OF_PAIRS; index++)
+        {
+            double firstPointLatitude = (random.nextDouble() * 2 - 1) * MAXIMUM_LATITUDE;
+            double firstPointLongitude = random.nextDouble() * 360 - 180;
+
+            double secondPointLatitude = firstPointLatitude +
+                    (random.nextDouble() * 2 - 1) * MAXIMUM_DIFFERENCE_IN_DEGREES;
+            double secondPointLongitude = firstPointLongitude +
+                    (random.nextDouble() * 2 - 1) * MAXIMUM_DIFFERENCE_IN_DEGREES;
+
+            double referenceDistanceInKilometers = calculateReferenceDistanceInKilometers(
+                    firstPointLatitude, firstPointLongitude,
+                    secondPointLatitude, secondPointLongitude);
+
+            assertEquals(referenceDistanceInKilometers,
+                    GeodesicDistance.calculateDistanceInKilometers(
+                            firstPointLatitude, firstPointLongitude,
+                            secondPointLatitude, secondPointLongitude,
+                            GeodesicDistance.Mode.EQUIRECTANGULAR),
+                    referenceDistanceInKilometers *
+                            GeodesicDistance.MAXIMUM_EQUIRECTANGULAR_RELATIVE_ERROR);
+        }
+    }
+
+
+    /**
+     * Test that GeodesicDistance.Mode.EQUIRECTANGULAR falls back to the Haversine formula for
+     * segments longer than the largest difference calculated with the approximation,
+     * including a segment crossing the antimeridian
+     * */
+    @Test
+    public void calculateDistanceInKilometers_EquirectangularModeLongSegments_SameAsReference()
+    {
+        final double[][] RANDOM_LONG_SEGMENTS = {
+                {1.363189, 103.926002, 1.563189, 103.926002},
+                {-32.0, 115.8, -32.0, 116.8},
+                {51.5, 179.99, 51.5, -179.99},
+                {-89.0, 0.0, 89.0, 180.0}
+        };
+
+        final double DELTA = 0;
+
+        for (double[] segment : RANDOM_LONG_SEGMENTS)
+        {
+            assertEquals(calculateReferenceDistanceInKilometers(
+                            segment[0], segment[1], segment[2], segment[3]),
+                    GeodesicDistance.calculateDistanceInKilometers(
+                            segment[0], segment[1], segment[2], segment[3],
+                            GeodesicDistance.Mode.EQUIRECTANGULAR),
+                    DELTA);
+        }
+    }
+
+
+    /**
+     * Test that the batch calculation over coordinate arrays gives the same total distance as
+     * adding up the distance of each pair of consecutive GPSLocations, in every mode
+     * */
+    @Test
+    public void calculateTotalDistanceInKilometers_RandomTrack_SameAsSumOfPairs()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_GPS_LOCATIONS = 2000;
+
+        //roughly 0 - 1 kilometer between successive GPSLocations, with some longer jumps
+        final double MAXIMUM_STEP_IN_DEGREES = 0.01;
+        final double JUMP_PROBABILITY = 0.01;
+        final double MAXIMUM_JUMP_IN_DEGREES = 1;
+
+        final double MAXIMUM_DELTA = 1e-9;
+
+        Random random = new Random(RANDOM_SEED);
+
+        double[] latitudes = new double[NUMBER_OF_GPS_LOCATIONS];
+        double[] longitudes = new double[NUMBER_OF_GPS_LOCATIONS];
+
+        latitudes[0] = random.nextDouble() * 160 - 80;
+        longitudes[0] = random.nextDouble() * 360 - 180;
+
+        for (int index = 1; index < NUMBER_OF_GPS_LOCATIONS; index++)
+        {
+            double maximumStepInDegrees = random.nextDouble() < JUMP_PROBABILITY ?
+                                          MAXIMUM_JUMP_IN_DEGREES : MAXIMUM_STEP_IN_DEGREES;
+
+            latitudes[index] = latitudes[index - 1] +
+                    (random.nextDouble() * 2 - 1) * maximumStepInDegrees;
+            longitudes[index] = longitudes[index - 1] +
+                    (random.nextDouble() * 2 - 1) * maximumStepInDegrees;
+        }
+
+
+        for (GeodesicDistance.Mode mode : GeodesicDistance.Mode.values())
+        {
+            double sumOfPairsInKilometers = 0;
+
+            for (int index = 1; index < NUMBER_OF_GPS_LOCATIONS; index++)
+            {
+                sumOfPairsInKilometers += GeodesicDistance.calculateDistanceInKilometers(
+                        latitudes[index - 1], longitudes[index - 1],
+                        latitudes[index], longitudes[index], mode);
+            }
+
+            assertEquals(sumOfPairsInKilometers,
+                    GeodesicDistance.calculateTotalDistanceInKilometers(
+                            latitudes, longitudes, 0, NUMBER_OF_GPS_LOCATIONS, mode),
+                    MAXIMUM_DELTA);
+        }
+    }
+
+
+    /**
+     * Test that the distance calculated from the cosines of the latitudes, as by
+     * addGPSLocation(IGPSLocation), is exactly the distance calculated from the latitudes
+     * alone, in every mode
+     * */
+    @Test
+    public void calculateDistanceInKilometers_GivenCosinesOfLatitudes_SameAsWithoutCosines()
+    {
+        final double[][] RANDOM_SEGMENTS = {
+                { -32.0667, 115.8333, -32.0668, 115.8334 },
+                { 51.5007, -0.1246, 51.5033, -0.1196 },
+                { 10.0, 179.999, 10.001, -179.999 },
+                { -32.0667, 115.8333, -33.8688, 151.2093 }
+        };
+
+        final double DELTA = 0.0;
+
+        for (GeodesicDistance.Mode mode : GeodesicDistance.Mode.values())
+        {
+            for (double[] segment : RANDOM_SEGMENTS)
+            {
+                assertEquals(
+                        GeodesicDistance.calculateDistanceInKilometers(
+                                segment[0], segment[1], segment[2], segment[3], mode),
+                        GeodesicDistance.calculateDistanceInKilometers(
+                                segment[0], segment[1],
+                                GeodesicDistance.calculateCosineOfLatitude(segment[0]),
+                                segment[2], segment[3],
+                                GeodesicDistance.calculateCosineOfLatitude(segment[2]), mode),
+                        DELTA);
+            }
+        }
+    }
+
+
+    /**
+     * Test that the batch calculation gives a distance of zero for ranges with less than two
+     * GPSLocations, and rejects ranges outside the coordinate arrays
+     * */
+    @Test
+    public void calculateTotalDistanceInKilometers_EmptyAndInvalidRanges_NoException()
+    {
+        final double[] RANDOM_LATITUDES = {1.363189, 1.354952, 1.343968};
+        final double[] RANDOM_LONGITUDES = {103.926002, 103.936988, 103.946601};
+
+        final GeodesicDistance.Mode RANDOM_MODE = GeodesicDistance.Mode.EQUIRECTANGULAR;
+
+        final double EXPECTED_DISTANCE_IN_KILOMETERS = 0;
+        final double DELTA = 0;
+
+        assertEquals(EXPECTED_DISTANCE_IN_KILOMETERS,
+                GeodesicDistance.calculateTotalDistanceInKilometers(
+                        RANDOM_LATITUDES, RANDOM_LONGITUDES, 1, 1, RANDOM_MODE), DELTA);
+
+        assertEquals(EXPECTED_DISTANCE_IN_KILOMETERS,
+                GeodesicDistance.calculateTotalDistanceInKilometers(
+                        RANDOM_LATITUDES, RANDOM_LONGITUDES, 2, 3, RANDOM_MODE), DELTA);
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> GeodesicDistance.calculateTotalDistanceInKilometers(
+                        RANDOM_LATITUDES, RANDOM_LONGITUDES, 2, 4, RANDOM_MODE));
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> GeodesicDistance.calculateTotalDistanceInKilometers(
+                        RANDOM_LATITUDES, RANDOM_LONGITUDES, 2, 1, RANDOM_MODE));
+
+        assertThrows(NullPointerException.class,
+                () -> GeodesicDistance.calculateTotalDistanceInKilometers(
+                        RANDOM_LATITUDES, RANDOM_LONGITUDES, 0, 3, null));
+    }
+
+
+    /**
+     * Test that calculateDistanceTravelled() stays within the documented error bound of the
+     * Haversine formula previously used by WorkoutSession, for random tracks with pauses
+     * */
+    @Test
+    public void calculateDistanceTravelled_RandomTracksWithPauses_WithinErrorBoundOfReference()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_TRACKS = 20;
+        final int NUMBER_OF_GPS_LOCATIONS_PER_TRACK = 500;
+
+        final double PAUSE_PROBABILITY = 0.05;
+
+        //roughly 0 - 100 meters between successive GPSLocations
+        final double MAXIMUM_STEP_IN_DEGREES = 0.001;
+
+        Random random = new Random(RANDOM_SEED);
+
+        for (int trackIndex = 0; trackIndex < NUMBER_OF_TRACKS; trackIndex++)
+        {
+            WorkoutSession workoutSession = new WorkoutSession();
+
+            double referenceDistanceInKilometers = 0;
+            IGPSLocation previousGPSLocation = null;
+
+            double latitude = random.nextDouble() * 160 - 80;
+            double longitude = random.nextDouble() * 360 - 180;
+
+            for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS_PER_TRACK; index++)
+            {
+                IGPSLocation gpsLocation = null;
+
+                if (random.nextDouble() >= PAUSE_PROBABILITY)
+                {
+                    latitude += (random.nextDouble() * 2 - 1) * MAXIMUM_STEP_IN_DEGREES;
+                    longitude += (random.nextDouble() * 2 - 1) * MAXIMUM_STEP_IN_DEGREES;
+
+                    gpsLocation = new GPSLocation(latitude, longitude);
+                }
+
+                if (previousGPSLocation != null && gpsLocation != null)
+                {
+                    referenceDistanceInKilometers += calculateReferenceDistanceInKilometers(
+                            previousGPSLocation.getLatitude(), previousGPSLocation.getLongitude(),
+                            gpsLocation.getLatitude(), gpsLocation.getLongitude());
+                }
+
+                workoutSession.addGPSLocation(gpsLocation);
+                previousGPSLocation = gpsLocation;
+            }
+
+            workoutSession.calculateDistanceTravelled();
+
+            assertEquals(referenceDistanceInKilometers,
+                    workoutSession.getDistanceTravelledInKilometers(),
+                    referenceDistanceInKilometers *
+                            GeodesicDistance.MAXIMUM_EQUIRECTANGULAR_RELATIVE_ERROR);
+        }
+    }
+
+
+
     /**
      * Test that addImageTaken(String) can correctly add two valid non-null non-empty
      * string to the list of images taken
@@ -1210,6 +1642,316 @@ public class WorkoutSessionUnitTest
     }
 
 
+    /**
+     * Test that the levels of detail are reused until the GPSLocations change, and then
+     * rebuilt with the GPSLocation added
+     * */
+    @Test
+    public void getGPSTrackLevelsOfDetail_GPSLocationAdded_Rebuilt()
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        workoutSession.addGPSLocation(new GPSLocation(-32.0667, 115.8333));
+        workoutSession.addGPSLocation(new GPSLocation(-32.0668, 115.8334));
+
+        GPSTrackLevelsOfDetail gpsTrackLevelsOfDetail =
+                                            workoutSession.getGPSTrackLevelsOfDetail();
+
+        assertSame(gpsTrackLevelsOfDetail, workoutSession.getGPSTrackLevelsOfDetail());
+
+
+        workoutSession.addGPSLocation(new GPSLocation(-32.0669, 115.8340));
+
+        GPSTrackLevelsOfDetail rebuiltGPSTrackLevelsOfDetail =
+                                            workoutSession.getGPSTrackLevelsOfDetail();
+
+        final int EXPECTED_NUMBER_OF_GPS_LOCATIONS = 3;
+
+        assertNotSame(gpsTrackLevelsOfDetail, rebuiltGPSTrackLevelsOfDetail);
+        assertEquals(EXPECTED_NUMBER_OF_GPS_LOCATIONS,
+                     rebuiltGPSTrackLevelsOfDetail.getGPSTrack(0).getNumberOfGPSLocations());
+
+
+        workoutSession.clearListOfGPSLocations();
+
+        assertTrue(workoutSession.getGPSTrackLevelsOfDetail().getGPSTrack(0).isEmpty());
+    }
+
+
+    /**
+     * Test that the splits are emitted as the GPSLocations are added, with each kilometer
+     * crossed and each lap marked, and removed when the GPSLocations are cleared
+     * */
+    @Test
+    public void getListOfSplits_GPSLocationsAddedAndLapMarked_SplitsEmitted()
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        //each step of 0.01 degrees of longitude along the equator is about 1.1 km
+        workoutSession.addGPSLocation(new GPSLocation(0, 0));
+        workoutSession.addDurationInSeconds(330);
+        workoutSession.addGPSLocation(new GPSLocation(0, 0.01));
+        workoutSession.markLap();
+        workoutSession.addDurationInSeconds(330);
+        workoutSession.addGPSLocation(new GPSLocation(0, 0.02));
+
+        List<ISplit> listOfSplits = workoutSession.getListOfSplits();
+
+        final int EXPECTED_NUMBER_OF_SPLITS = 3;
+        final double DELTA = 1e-9;
+
+        assertEquals(EXPECTED_NUMBER_OF_SPLITS, listOfSplits.size());
+
+        assertEquals(WorkoutSession.DISTANCE_SPLIT_TYPE, listOfSplits.get(0).getSplitType());
+        assertEquals(1, listOfSplits.get(0).getDistanceTravelledInKilometers(), DELTA);
+        assertTrue(listOfSplits.get(0).getElapsedDurationInSeconds() < 330);
+
+        assertEquals(ISplit.SplitType.LAP, listOfSplits.get(1).getSplitType());
+        assertEquals(330, listOfSplits.get(1).getElapsedDurationInSeconds(), DELTA);
+
+        assertEquals(WorkoutSession.DISTANCE_SPLIT_TYPE, listOfSplits.get(2).getSplitType());
+        assertEquals(2, listOfSplits.get(2).getDistanceTravelledInKilometers(), DELTA);
+
+
+        workoutSession.clearListOfGPSLocations();
+
+        assertTrue(workoutSession.getListOfSplits().isEmpty());
+    }
+
+
+    /**
+     * Test that a snapshot published keeps the values of the workout session at the time,
+     * while the workout session is changed afterwards, and that getLatestSnapshot() only
+     * returns the newer values once another snapshot is published
+     * */
+    @Test
+    public void publishSnapshot_ChangedAfterPublishing_SnapshotUnchanged()
+    {
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        assertEquals(0, workoutSession.getLatestSnapshot().getVersion());
+        assertEquals(0, workoutSession.getLatestSnapshot().getNumberOfGPSLocations());
+
+        workoutSession.addDurationInSeconds(60);
+        workoutSession.addNumberOfStepsTaken(80);
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.addGPSLocation(new GPSLocation(1.363189, 103.926002));
+        workoutSession.addGPSLocation(new GPSLocation(1.364000, 103.927000));
+        workoutSession.updateDistanceTravelled();
+        workoutSession.markLap();
+        workoutSession.addImageTaken("image1.jpg");
+
+        WorkoutSessionSnapshot snapshot = workoutSession.publishSnapshot();
+
+        assertSame(snapshot, workoutSession.getLatestSnapshot());
+
+        workoutSession.addDurationInSeconds(60);
+        workoutSession.addNumberOfStepsTaken(80);
+        workoutSession.calculateCaloriesConsumed();
+        workoutSession.addGPSLocation(null);
+        workoutSession.addGPSLocation(new GPSLocation(1.365000, 103.928000));
+        workoutSession.updateDistanceTravelled();
+        workoutSession.markLap();
+        workoutSession.addImageTaken("image2.jpg");
+
+        assertSame(snapshot, workoutSession.getLatestSnapshot());
+
+        final double DELTA = 1e-9;
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(60, snapshot.getDurationInSeconds());
+        assertEquals(80, snapshot.getNumberOfStepsTaken());
+        assertEquals(CaloriesConsumed.calculateCaloriesConsumed(
+                        IWorkoutSession.ActivityType.WALKING, 60),
+                     snapshot.getCaloriesConsumed(), DELTA);
+        assertEquals(GeodesicDistance.calculateDistanceInKilometers(
+                        1.363189, 103.926002, 1.364000, 103.927000,
+                        WorkoutSession.DISTANCE_MODE),
+                     snapshot.getDistanceTravelledInKilometers(), DELTA);
+        assertEquals(2, snapshot.getNumberOfGPSLocations());
+        assertEquals(0, snapshot.getNumberOfPauses());
+        assertEquals(2, snapshot.getGPSTrack().getListOfGPSLocations().size());
+        assertEquals(1, snapshot.getListOfSplits().size());
+        assertEquals(1, snapshot.getListOfImagesTaken().size());
+
+        WorkoutSessionSnapshot nextSnapshot = workoutSession.publishSnapshot();
+
+        assertEquals(2, nextSnapshot.getVersion());
+        assertEquals(120, nextSnapshot.getDurationInSeconds());
+        assertEquals(3, nextSnapshot.getNumberOfGPSLocations());
+        assertEquals(1, nextSnapshot.getNumberOfPauses());
+        assertEquals(2, nextSnapshot.getListOfSplits().size());
+        assertEquals(2, nextSnapshot.getListOfImagesTaken().size());
+    }
+
+
+    /**
+     * Stress test that snapshots published by one thread changing the workout session are
+     * always consistent when read from several other threads at the same time
+     *
+     * Every batch of changes adds one second, two steps and one GPSLocation (or a pause),
+     * so the values of any snapshot must agree with each other, and no snapshot can be older
+     * than one read before it
+     * */
+    @Test
+    public void publishSnapshot_ConcurrentReaders_ConsistentSnapshots() throws Exception
+    {
+        final int NUMBER_OF_BATCHES = 20000;
+        final int NUMBER_OF_READERS = 4;
+        final int BATCHES_PER_PAUSE = 100;
+        final int BATCHES_PER_LAP = 250;
+        final int BATCHES_PER_IMAGE = 1000;
+        final double LATITUDE_PER_BATCH = 1e-5;
+        final double LONGITUDE = 103.926002;
+        final double DELTA = 1e-9;
+
+        WorkoutSession workoutSession = new WorkoutSession();
+
+        AtomicBoolean isWriterDone = new AtomicBoolean(false);
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        Runnable reader = () ->
+        {
+            long previousVersion = -1;
+            double previousDistanceTravelled = 0;
+            boolean isLastRead = false;
+
+            try
+            {
+                while (!isLastRead)
+                {
+                    isLastRead = isWriterDone.get();
+
+                    WorkoutSessionSnapshot snapshot = workoutSession.getLatestSnapshot();
+
+                    int durationInSeconds = snapshot.getDurationInSeconds();
+
+                    assertTrue(snapshot.getVersion() >= previousVersion);
+                    assertEquals(snapshot.getVersion(), durationInSeconds);
+                    assertEquals(2 * durationInSeconds, snapshot.getNumberOfStepsTaken());
+                    assertEquals(CaloriesConsumed.calculateCaloriesConsumed(
+                                    IWorkoutSession.ActivityType.WALKING, durationInSeconds),
+                                 snapshot.getCaloriesConsumed(), DELTA);
+                    assertTrue(snapshot.getDistanceTravelledInKilometers() >=
+                               previousDistanceTravelled);
+
+                    assertEquals(durationInSeconds / BATCHES_PER_PAUSE,
+                                 snapshot.getNumberOfPauses());
+                    assertEquals(durationInSeconds - snapshot.getNumberOfPauses(),
+                                 snapshot.getNumberOfGPSLocations());
+
+                    int numberOfLaps = 0;
+
+                    for (ISplit split : snapshot.getListOfSplits())
+                    {
+                        if (split.getSplitType() == ISplit.SplitType.LAP)
+                        {
+                            numberOfLaps++;
+                        }
+                    }
+
+                    assertEquals((durationInSeconds + BATCHES_PER_LAP - 1) / BATCHES_PER_LAP,
+                                 numberOfLaps);
+                    assertEquals((durationInSeconds + BATCHES_PER_IMAGE - 1) /
+                                    BATCHES_PER_IMAGE,
+                                 snapshot.getListOfImagesTaken().size());
+
+                    //every GPSLocation up to the watermark must be the one added in its batch
+                    GPSTrack gpsTrack = snapshot.getGPSTrack();
+                    List<IGPSLocation> listOfGPSLocations = gpsTrack.getListOfGPSLocations();
+
+                    assertEquals(durationInSeconds, listOfGPSLocations.size());
+
+                    for (int batch = 0; batch < durationInSeconds; batch++)
+                    {
+                        IGPSLocation gpsLocation = listOfGPSLocations.get(batch);
+
+                        if ((batch + 1) % BATCHES_PER_PAUSE == 0)
+                        {
+                            assertNull(gpsLocation);
+                        }
+                        else
+                        {
+                            assertEquals(batch, gpsLocation.getTimestampInMilliseconds());
+                            assertEquals(batch * LATITUDE_PER_BATCH, gpsLocation.getLatitude(),
+                                         0);
+                        }
+                    }
+
+                    assertEquals(gpsTrack.calculateTotalDistanceInKilometers(
+                                    WorkoutSession.DISTANCE_MODE),
+                                 snapshot.getDistanceTravelledInKilometers(), DELTA);
+
+                    previousVersion = snapshot.getVersion();
+                    previousDistanceTravelled = snapshot.getDistanceTravelledInKilometers();
+                }
+            }
+            catch (Throwable throwable)
+            {
+                firstFailure.compareAndSet(null, throwable);
+            }
+        };
+
+        List<Thread> listOfReaderThreads = new ArrayList<>();
+
+        for (int index = 0; index < NUMBER_OF_READERS; index++)
+        {
+            Thread readerThread = new Thread(reader);
+            readerThread.start();
+            listOfReaderThreads.add(readerThread);
+        }
+
+        for (int batch = 0; batch < NUMBER_OF_BATCHES && firstFailure.get() == null; batch++)
+        {
+            workoutSession.addDurationInSeconds(1);
+            workoutSession.addNumberOfStepsTaken(2);
+
+            if ((batch + 1) % BATCHES_PER_PAUSE == 0)
+            {
+                workoutSession.addGPSLocation(null);
+            }
+            else
+            {
+                GPSLocation gpsLocation = new GPSLocation(batch * LATITUDE_PER_BATCH,
+                                                          LONGITUDE);
+                gpsLocation.setTimestampInMilliseconds(batch);
+
+                workoutSession.addGPSLocation(gpsLocation);
+            }
+
+            workoutSession.calculateCaloriesConsumed();
+            workoutSession.updateDistanceTravelled();
+
+            if (batch % BATCHES_PER_LAP == 0)
+            {
+                workoutSession.markLap();
+            }
+
+            if (batch % BATCHES_PER_IMAGE == 0)
+            {
+                workoutSession.addImageTaken("image" + batch + ".jpg");
+            }
+
+            workoutSession.publishSnapshot();
+        }
+
+        isWriterDone.set(true);
+
+        for (Thread readerThread : listOfReaderThreads)
+        {
+            readerThread.join();
+        }
+
+        if (firstFailure.get() != null)
+        {
+            throw new AssertionError(firstFailure.get());
+        }
+
+        assertEquals(NUMBER_OF_BATCHES,
+                     workoutSession.getLatestSnapshot().getDurationInSeconds());
+    }
+
+
     /**
      * Test the describeContents() method of the Parcelable interface correctly returns its
      * default value
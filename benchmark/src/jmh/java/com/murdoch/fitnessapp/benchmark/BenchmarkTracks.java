@@ -0,0 +1,68 @@
+package com.murdoch.fitnessapp.benchmark;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+
+/**
+ * Creates the GPS tracks used by the benchmarks
+ *
+ * The tracks have the same shape as the tracks of the instrumented benchmarks in the app
+ * module: a GPSLocation a few meters from the previous one, and a pause every PAUSE_INTERVAL
+ * GPSLocations
+ * */
+final class BenchmarkTracks
+{
+    /**
+     * The number of GPSLocations between two pauses
+     * */
+    static final int PAUSE_INTERVAL = 600;
+
+
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private BenchmarkTracks()
+    {
+
+    }
+
+
+    /**
+     * Returns a new track with the number of GPSLocations given
+     *
+     * @param numberOfGPSLocations the number of GPSLocations in the track, excluding pauses
+     * */
+    static GPSTrack createGPSTrack(int numberOfGPSLocations)
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index < numberOfGPSLocations; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                gpsTrack.addPause();
+            }
+
+            gpsTrack.addGPSLocation(getLatitude(index), getLongitude(index));
+        }
+
+        return gpsTrack;
+    }
+
+
+    /**
+     * Returns the latitude of the GPSLocation at the index given
+     * */
+    static double getLatitude(int index)
+    {
+        return -32.0 + index * 0.00004 + Math.sin(index / 50.0) * 0.0002;
+    }
+
+
+    /**
+     * Returns the longitude of the GPSLocation at the index given
+     * */
+    static double getLongitude(int index)
+    {
+        return 115.8 + index * 0.00003;
+    }
+}
@@ -0,0 +1,42 @@
+package com.murdoch.fitnessapp.benchmark;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GeodesicDistance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the calculation of the distance travelled over a whole GPS track, as done by
+ * WorkoutSession.calculateDistanceTravelled(), in each mode of GeodesicDistance
+ *
+ * 3600 GPSLocations is a one hour workout session with one GPSLocation per second
+ * */
+@State(Scope.Benchmark)
+public class DistanceTravelledBenchmark
+{
+    @Param({"3600", "36000"})
+    public int numberOfGPSLocations;
+
+    @Param({"HAVERSINE", "EQUIRECTANGULAR"})
+    public GeodesicDistance.Mode mode;
+
+    private GPSTrack gpsTrack;
+
+
+    @Setup
+    public void setup()
+    {
+        this.gpsTrack = BenchmarkTracks.createGPSTrack(this.numberOfGPSLocations);
+    }
+
+
+    @Benchmark
+    public double calculateDistanceTravelled()
+    {
+        return this.gpsTrack.calculateTotalDistanceInKilometers(this.mode);
+    }
+}
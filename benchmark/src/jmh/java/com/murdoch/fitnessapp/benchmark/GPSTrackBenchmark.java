@@ -0,0 +1,114 @@
+package com.murdoch.fitnessapp.benchmark;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackEncoding;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackPacking;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Benchmarks appending GPSLocations to a GPS track, as done while a workout session is
+ * tracked, encoding and decoding a GPS track, as done when a workout session is stored
+ * and loaded, and packing and unpacking a GPS track, as done when a workout session is
+ * written into a Parcel and re-created from it
+ *
+ * 3600 GPSLocations is a one hour workout session with one GPSLocation per second
+ * */
+@State(Scope.Benchmark)
+public class GPSTrackBenchmark
+{
+    @Param({"3600", "36000"})
+    public int numberOfGPSLocations;
+
+    private double[] latitudes;
+    private double[] longitudes;
+
+    private List<IGPSLocation> listOfGPSLocations;
+
+    private byte[] encodedTrack;
+
+    private GPSTrack gpsTrack;
+    private byte[] packedTrack;
+
+
+    @Setup
+    public void setup()
+    {
+        //the coordinates are calculated beforehand, so that only appending them is measured
+        this.latitudes = new double[this.numberOfGPSLocations];
+        this.longitudes = new double[this.numberOfGPSLocations];
+
+        for (int index = 0; index < this.numberOfGPSLocations; index++)
+        {
+            this.latitudes[index] = BenchmarkTracks.getLatitude(index);
+            this.longitudes[index] = BenchmarkTracks.getLongitude(index);
+        }
+
+        this.gpsTrack = BenchmarkTracks.createGPSTrack(this.numberOfGPSLocations);
+
+        this.listOfGPSLocations = this.gpsTrack.getListOfGPSLocations();
+        this.encodedTrack = GPSTrackEncoding.encode(this.listOfGPSLocations);
+        this.packedTrack = GPSTrackPacking.pack(this.gpsTrack);
+    }
+
+
+    @Benchmark
+    public GPSTrack appendGPSLocations()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index < this.numberOfGPSLocations; index++)
+        {
+            if (index > 0 && index % BenchmarkTracks.PAUSE_INTERVAL == 0)
+            {
+                gpsTrack.addPause();
+            }
+
+            gpsTrack.addGPSLocation(this.latitudes[index], this.longitudes[index]);
+        }
+
+        return gpsTrack;
+    }
+
+
+    @Benchmark
+    public byte[] encodeTrack()
+    {
+        return GPSTrackEncoding.encode(this.listOfGPSLocations);
+    }
+
+
+    @Benchmark
+    public List<IGPSLocation> decodeTrack()
+    {
+        return GPSTrackEncoding.decode(this.encodedTrack);
+    }
+
+
+    @Benchmark
+    public GPSTrack decodeTrackToGPSTrack()
+    {
+        return GPSTrackEncoding.decodeToGPSTrack(this.encodedTrack);
+    }
+
+
+    @Benchmark
+    public byte[] packTrack()
+    {
+        return GPSTrackPacking.pack(this.gpsTrack);
+    }
+
+
+    @Benchmark
+    public GPSTrack unpackTrack()
+    {
+        return GPSTrackPacking.unpack(this.packedTrack);
+    }
+}
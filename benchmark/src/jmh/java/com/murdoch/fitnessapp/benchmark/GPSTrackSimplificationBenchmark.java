@@ -0,0 +1,47 @@
+package com.murdoch.fitnessapp.benchmark;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackLevelsOfDetail;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackSimplification;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the simplification of a whole GPS track at a single tolerance, against building
+ * every level of detail at once, as done by WorkoutSession.getGPSTrackLevelsOfDetail()
+ * */
+@State(Scope.Benchmark)
+public class GPSTrackSimplificationBenchmark
+{
+    private static final double TOLERANCE_IN_METERS = 8;
+
+    @Param({"3600", "36000"})
+    public int numberOfGPSLocations;
+
+    private GPSTrack gpsTrack;
+
+
+    @Setup
+    public void setup()
+    {
+        this.gpsTrack = BenchmarkTracks.createGPSTrack(this.numberOfGPSLocations);
+    }
+
+
+    @Benchmark
+    public GPSTrack simplify()
+    {
+        return GPSTrackSimplification.simplify(this.gpsTrack, TOLERANCE_IN_METERS);
+    }
+
+
+    @Benchmark
+    public GPSTrackLevelsOfDetail buildLevelsOfDetail()
+    {
+        return new GPSTrackLevelsOfDetail(this.gpsTrack);
+    }
+}
@@ -0,0 +1,74 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession.ActivityType;
+
+/**
+ * Calculates the calories that a person of average weight consumes during a workout
+ * session, based on its activity type and duration
+ *
+ * The calories consumed per minute are calculated from the MET value (Metabolic Equivalent)
+ * of the activity type, i.e. MET * 3.5 * weight in kilograms / 200
+ * */
+public final class CaloriesConsumed
+{
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private CaloriesConsumed()
+    {
+
+    }
+
+
+    /**
+     * Calculate and return the calories consumed during a workout session
+     *
+     * @param activityType the activity type of the workout session
+     * @param durationInSeconds the duration of the workout session in seconds
+     *
+     * @see #getMETValue(ActivityType)
+     * */
+    public static double calculateCaloriesConsumed(ActivityType activityType,
+                                                   int durationInSeconds)
+    {
+        double METValue = getMETValue(activityType);
+
+        final double AVERAGE_HUMAN_WEIGHT_IN_KILOGRAMS = 62;
+
+        final double OXYGEN_CONSUMED_PER_KILOGRAM_WEIGHT = 3.5;
+
+        final double QUOTIENT_CONSTANT = 200;
+
+        double durationInMinutes = durationInSeconds/60.0;
+
+        return (durationInMinutes * METValue *
+                    OXYGEN_CONSUMED_PER_KILOGRAM_WEIGHT * AVERAGE_HUMAN_WEIGHT_IN_KILOGRAMS)/
+                    QUOTIENT_CONSTANT;
+    }
+
+
+    /**
+     * Return the MET value of the activity type given.
+     *
+     * Note: MET refers to 'Metabolic Equivalents'. It refers to the metabolic
+     * rate of a particular activity
+     *
+     * @param activityType the activity type of interest
+     * */
+    public static double getMETValue(ActivityType activityType)
+    {
+        double METValue;
+
+        if (activityType == ActivityType.WALKING)
+        {
+            METValue = 3.5;
+        }
+        else
+        {
+            //for ActivityType.RUNNING
+            METValue = 7;
+        }
+
+        return METValue;
+    }
+}
@@ -0,0 +1,340 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+/**
+ * This class is used for storing geo-location data
+ *
+ * The timestamp, accuracy, altitude and speed are optional, and are missing until they are
+ * set. A missing timestamp is stored as NO_TIMESTAMP, and a missing accuracy, altitude or
+ * speed is stored as NaN
+ *
+ * */
+public class GPSLocation implements IGPSLocation
+{
+    public static final double LATITUDE_MIN_INCLUSIVE = -90;
+    public static final double LATITUDE_MAX_INCLUSIVE = 90;
+
+    public static final double LONGITUDE_MIN_INCLUSIVE = -180;
+    public static final double LONGITUDE_MAX_INCLUSIVE = 180;
+
+    public static final double LATITUDE_DEFAULT_VALUE = 0;
+    public static final double LONGITUDE_DEFAULT_VALUE = 0;
+
+    public static final long NO_TIMESTAMP = -1;
+
+
+    private double latitude = LATITUDE_DEFAULT_VALUE;
+    private double longitude = LONGITUDE_DEFAULT_VALUE;
+
+    private long timestampInMilliseconds = NO_TIMESTAMP;
+    private double accuracyInMeters = Double.NaN;
+    private double altitudeInMeters = Double.NaN;
+    private double speedInMetersPerSecond = Double.NaN;
+
+
+    /**
+     * Initializes a GPSLocation with latitude and longitude set to
+     * LATITUDE_DEFAULT_VALUE and LONGITUDE_DEFAULT_VALUE respectively
+     *
+     * @see #LATITUDE_DEFAULT_VALUE
+     * @see #LONGITUDE_DEFAULT_VALUE
+     * */
+    public GPSLocation()
+    {
+
+    }
+
+
+    /**
+     * Initializes a GPSLocation with latitude and longitude set to
+     * the values provided in the argument
+     *
+     * @param latitudeValue the initial value of the latitude
+     * @param longitudeValue the initial value of the longitude
+     *
+     * @throws IllegalArgumentException if latitudeValue or longitudeValue
+     * is outside the range of acceptable values
+     *
+     * @see #setLatitude(double) 
+     * @see #setLongitude(double)
+     * */
+    public GPSLocation(double latitudeValue, double longitudeValue)
+    {
+        this.setLatitude(latitudeValue);
+        this.setLongitude(longitudeValue);
+    }
+
+
+    /**
+     * Sets the value of the latitude
+     *
+     * @param latitudeValue the value of latitude to be set
+     *
+     * @throws IllegalArgumentException if latitudeValue is
+     * less than LATITUDE_MIN_INCLUSIVE or more than
+     * LATITUDE_MAX_INCLUSIVE
+     *
+     * @see #LATITUDE_MIN_INCLUSIVE
+     * @see #LATITUDE_MAX_INCLUSIVE
+     * */
+    @Override
+    public void setLatitude(double latitudeValue)
+    {
+        if (latitudeValue < LATITUDE_MIN_INCLUSIVE ||
+                latitudeValue > LATITUDE_MAX_INCLUSIVE)
+        {
+            throw new IllegalArgumentException("Latitude outside valid range");
+        }
+
+        this.latitude = latitudeValue;
+    }
+
+
+    /**
+     * Returns the latitude of the GPSLocation
+     * */
+    @Override
+    public double getLatitude()
+    {
+        return this.latitude;
+    }
+
+
+
+    /**
+     * Sets the value of the longitude
+     *
+     * @param longitudeValue the value of longitude to be set
+     *
+     * @throws IllegalArgumentException if longitudeValue is
+     * less than LONGITUDE_MIN_INCLUSIVE or more than
+     * LONGITUDE_MAX_INCLUSIVE
+     *
+     * @see #LONGITUDE_MIN_INCLUSIVE
+     * @see #LONGITUDE_MAX_INCLUSIVE
+     * */
+    @Override
+    public void setLongitude(double longitudeValue)
+    {
+        if (longitudeValue < LONGITUDE_MIN_INCLUSIVE ||
+                longitudeValue > LONGITUDE_MAX_INCLUSIVE)
+        {
+            throw new IllegalArgumentException("Longitude outside valid range");
+        }
+
+        this.longitude = longitudeValue;
+    }
+
+
+    /**
+     * Returns the longitude of the GPSLocation
+     * */
+    @Override
+    public double getLongitude()
+    {
+        return this.longitude;
+    }
+
+
+    /**
+     * Sets the time at which the location was sampled
+     *
+     * @param timestampInMilliseconds the time in milliseconds since the epoch
+     *                                (1970-01-01T00:00:00Z)
+     *
+     * @throws IllegalArgumentException if timestampInMilliseconds is a negative number
+     * */
+    @Override
+    public void setTimestampInMilliseconds(long timestampInMilliseconds)
+    {
+        if (timestampInMilliseconds < 0)
+        {
+            throw new IllegalArgumentException("Timestamp cannot be a negative number");
+        }
+
+        this.timestampInMilliseconds = timestampInMilliseconds;
+    }
+
+
+    /**
+     * Returns the time at which the location was sampled, in milliseconds since the epoch,
+     * or NO_TIMESTAMP if the GPSLocation has no timestamp
+     *
+     * @see #NO_TIMESTAMP
+     * */
+    @Override
+    public long getTimestampInMilliseconds()
+    {
+        return this.timestampInMilliseconds;
+    }
+
+
+    /**
+     * Returns true if the GPSLocation has a timestamp, and false if otherwise
+     * */
+    @Override
+    public boolean hasTimestamp()
+    {
+        return this.timestampInMilliseconds != NO_TIMESTAMP;
+    }
+
+
+    /**
+     * Sets the estimated horizontal accuracy of the location
+     *
+     * @param accuracyInMeters the accuracy in meters
+     *
+     * @throws IllegalArgumentException if accuracyInMeters is a negative number or is not
+     * finite
+     * */
+    @Override
+    public void setAccuracyInMeters(double accuracyInMeters)
+    {
+        if (!(accuracyInMeters >= 0) || Double.isInfinite(accuracyInMeters))
+        {
+            throw new IllegalArgumentException("Accuracy must be a finite non-negative " +
+                                               "number");
+        }
+
+        this.accuracyInMeters = accuracyInMeters;
+    }
+
+
+    /**
+     * Returns the estimated horizontal accuracy of the location in meters, or NaN if the
+     * GPSLocation has no accuracy
+     * */
+    @Override
+    public double getAccuracyInMeters()
+    {
+        return this.accuracyInMeters;
+    }
+
+
+    /**
+     * Returns true if the GPSLocation has an accuracy, and false if otherwise
+     * */
+    @Override
+    public boolean hasAccuracy()
+    {
+        return !Double.isNaN(this.accuracyInMeters);
+    }
+
+
+    /**
+     * Sets the altitude of the location
+     *
+     * @param altitudeInMeters the altitude in meters above the WGS 84 reference ellipsoid
+     *
+     * @throws IllegalArgumentException if altitudeInMeters is not finite
+     * */
+    @Override
+    public void setAltitudeInMeters(double altitudeInMeters)
+    {
+        if (Double.isNaN(altitudeInMeters) || Double.isInfinite(altitudeInMeters))
+        {
+            throw new IllegalArgumentException("Altitude must be a finite number");
+        }
+
+        this.altitudeInMeters = altitudeInMeters;
+    }
+
+
+    /**
+     * Returns the altitude of the location in meters, or NaN if the GPSLocation has no
+     * altitude
+     * */
+    @Override
+    public double getAltitudeInMeters()
+    {
+        return this.altitudeInMeters;
+    }
+
+
+    /**
+     * Returns true if the GPSLocation has an altitude, and false if otherwise
+     * */
+    @Override
+    public boolean hasAltitude()
+    {
+        return !Double.isNaN(this.altitudeInMeters);
+    }
+
+
+    /**
+     * Sets the speed over ground at the location
+     *
+     * @param speedInMetersPerSecond the speed in meters per second
+     *
+     * @throws IllegalArgumentException if speedInMetersPerSecond is a negative number or is
+     * not finite
+     * */
+    @Override
+    public void setSpeedInMetersPerSecond(double speedInMetersPerSecond)
+    {
+        if (!(speedInMetersPerSecond >= 0) || Double.isInfinite(speedInMetersPerSecond))
+        {
+            throw new IllegalArgumentException("Speed must be a finite non-negative number");
+        }
+
+        this.speedInMetersPerSecond = speedInMetersPerSecond;
+    }
+
+
+    /**
+     * Returns the speed over ground at the location in meters per second, or NaN if the
+     * GPSLocation has no speed
+     * */
+    @Override
+    public double getSpeedInMetersPerSecond()
+    {
+        return this.speedInMetersPerSecond;
+    }
+
+
+    /**
+     * Returns true if the GPSLocation has a speed, and false if otherwise
+     * */
+    @Override
+    public boolean hasSpeed()
+    {
+        return !Double.isNaN(this.speedInMetersPerSecond);
+    }
+
+
+    /**
+     * Only returns true if both objects are instances of
+     * GPSLocation, and their latitude and longitudes are
+     * exactly the same, as well as their timestamp, accuracy, altitude and speed (or the
+     * lack of them)
+     *
+     * Otherwise, returns false.
+     * */
+    @Override
+    public boolean equals(Object otherObject)
+    {
+        if (otherObject == this)
+        {
+            return true;
+        }
+
+        if (!(otherObject instanceof GPSLocation))
+        {
+            return false;
+        }
+
+
+        GPSLocation otherGPSLocation = (GPSLocation) otherObject;
+
+        //the details are compared with Double.compare(double, double), so that two missing
+        //(NaN) details are equal
+        return this.latitude == otherGPSLocation.latitude &&
+                this.longitude == otherGPSLocation.longitude &&
+                this.timestampInMilliseconds == otherGPSLocation.timestampInMilliseconds &&
+                Double.compare(this.accuracyInMeters, otherGPSLocation.accuracyInMeters) == 0 &&
+                Double.compare(this.altitudeInMeters, otherGPSLocation.altitudeInMeters) == 0 &&
+                Double.compare(this.speedInMetersPerSecond,
+                               otherGPSLocation.speedInMetersPerSecond) == 0;
+    }
+}
@@ -0,0 +1,981 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+
+/**
+ * This class stores the GPSLocations of a workout session, along with the pauses between
+ * them, in primitive arrays instead of one GPSLocation object per GPSLocation
+ *
+ * The latitudes and longitudes are stored in two growable double arrays. Each pause is
+ * stored as the index of the GPSLocation that starts the next segment, i.e. the first
+ * GPSLocation added after the pause. Several pauses in a row share the same segment start
+ * index, and a pause at the end of the track has a segment start index equal to the number
+ * of GPSLocations
+ *
+ * The timestamps, accuracies, altitudes and speeds of the GPSLocations (their details) are
+ * stored in four more arrays, which are only allocated once a GPSLocation with any detail is
+ * added, so that a track without details takes no more memory than before. A missing
+ * timestamp is stored as GPSLocation.NO_TIMESTAMP, and a missing accuracy, altitude or
+ * speed as NaN
+ *
+ * The bounding box of the GPSLocations is kept up to date as each GPSLocation is added, so
+ * that a map can be fitted to the track without going through every GPSLocation
+ *
+ * For compatibility, the track can also be viewed as a list of GPSLocations in which each
+ * pause is a null element, as the list used to be stored
+ *
+ * A snapshot of the track can be created in constant time, which shares the arrays of the
+ * track up to the number of GPSLocations and pauses at the time (its watermark). As the
+ * track only ever writes past the end of its GPSLocations and pauses, and replaces the
+ * arrays instead of changing them otherwise, the snapshot is never changed by the track.
+ * The snapshot copies the arrays before it is changed itself (copy-on-write)
+ *
+ * Note: A GPSTrack is not thread-safe. A snapshot can only be read from another thread if
+ * it is published safely, e.g. through a volatile or final field
+ *
+ * @see #getListOfGPSLocations()
+ * @see #createSnapshot()
+ * */
+public class GPSTrack
+{
+    private static final int INITIAL_CAPACITY_OF_GPS_LOCATIONS = 64;
+    private static final int INITIAL_CAPACITY_OF_PAUSES = 8;
+
+    private static final double[] EMPTY_COORDINATES = new double[0];
+    private static final int[] EMPTY_SEGMENT_START_INDICES = new int[0];
+
+    private double[] latitudes = EMPTY_COORDINATES;
+    private double[] longitudes = EMPTY_COORDINATES;
+    private int numberOfGPSLocations = 0;
+
+    private int[] segmentStartIndices = EMPTY_SEGMENT_START_INDICES;
+    private int numberOfPauses = 0;
+
+    //null until a GPSLocation with any detail is added
+    private long[] timestampsInMilliseconds = null;
+    private double[] accuraciesInMeters = null;
+    private double[] altitudesInMeters = null;
+    private double[] speedsInMetersPerSecond = null;
+
+    //the bounding box of the GPSLocations, which is empty (inverted) when there are none
+    private double minimumLatitude = Double.POSITIVE_INFINITY;
+    private double maximumLatitude = Double.NEGATIVE_INFINITY;
+    private double minimumLongitude = Double.POSITIVE_INFINITY;
+    private double maximumLongitude = Double.NEGATIVE_INFINITY;
+
+    //true if the arrays are shared with the track that this track is a snapshot of
+    private boolean isSharingArrays = false;
+
+    private final List<IGPSLocation> listOfGPSLocations = new ListOfGPSLocationsView();
+
+
+    /**
+     * Initializes an empty instance of GPSTrack
+     * */
+    public GPSTrack()
+    {
+
+    }
+
+
+    /**
+     * Initializes an instance of GPSTrack that takes over the arrays given, without copying
+     * them, as done by GPSTrackPacking
+     *
+     * Note: The arrays are expected to be valid, as they are not checked again
+     *
+     * @param latitudes the latitude of every GPSLocation
+     * @param longitudes the longitude of every GPSLocation, of the same length as latitudes
+     * @param segmentStartIndices the segment start index of every pause, in non-decreasing
+     *                            order
+     * */
+    GPSTrack(double[] latitudes, double[] longitudes, int[] segmentStartIndices)
+    {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.numberOfGPSLocations = latitudes.length;
+
+        this.segmentStartIndices = segmentStartIndices;
+        this.numberOfPauses = segmentStartIndices.length;
+
+        for (int index = 0; index < this.numberOfGPSLocations; index++)
+        {
+            includeInBoundingBox(latitudes[index], longitudes[index]);
+        }
+    }
+
+
+    /**
+     * Initializes an instance of GPSTrack with details that takes over the arrays given,
+     * without copying them, as done by GPSTrackPacking
+     *
+     * Note: The arrays are expected to be valid, as they are not checked again
+     *
+     * @param latitudes the latitude of every GPSLocation
+     * @param longitudes the longitude of every GPSLocation, of the same length as latitudes
+     * @param segmentStartIndices the segment start index of every pause, in non-decreasing
+     *                            order
+     * @param timestampsInMilliseconds the timestamp of every GPSLocation, of the same length
+     *                                 as latitudes
+     * @param accuraciesInMeters the accuracy of every GPSLocation, of the same length as
+     *                           latitudes
+     * @param altitudesInMeters the altitude of every GPSLocation, of the same length as
+     *                          latitudes
+     * @param speedsInMetersPerSecond the speed of every GPSLocation, of the same length as
+     *                                latitudes
+     * */
+    GPSTrack(double[] latitudes, double[] longitudes, int[] segmentStartIndices,
+             long[] timestampsInMilliseconds, double[] accuraciesInMeters,
+             double[] altitudesInMeters, double[] speedsInMetersPerSecond)
+    {
+        this(latitudes, longitudes, segmentStartIndices);
+
+        this.timestampsInMilliseconds = timestampsInMilliseconds;
+        this.accuraciesInMeters = accuraciesInMeters;
+        this.altitudesInMeters = altitudesInMeters;
+        this.speedsInMetersPerSecond = speedsInMetersPerSecond;
+    }
+
+
+    /**
+     * Adds a GPSLocation to the end of the track
+     *
+     * @param gpsLocation the GPSLocation to be added, or null to add a pause
+     *
+     * @see #addGPSLocation(double, double)
+     * @see #addGPSLocation(double, double, long, double, double, double)
+     * @see #addPause()
+     * */
+    public void add(IGPSLocation gpsLocation)
+    {
+        if (gpsLocation == null)
+        {
+            addPause();
+        }
+        else if (gpsLocation.hasTimestamp() || gpsLocation.hasAccuracy() ||
+                    gpsLocation.hasAltitude() || gpsLocation.hasSpeed())
+        {
+            addGPSLocation(gpsLocation.getLatitude(), gpsLocation.getLongitude(),
+                           gpsLocation.hasTimestamp() ? gpsLocation.getTimestampInMilliseconds()
+                                                      : GPSLocation.NO_TIMESTAMP,
+                           gpsLocation.getAccuracyInMeters(),
+                           gpsLocation.getAltitudeInMeters(),
+                           gpsLocation.getSpeedInMetersPerSecond());
+        }
+        else
+        {
+            addGPSLocation(gpsLocation.getLatitude(), gpsLocation.getLongitude());
+        }
+    }
+
+
+    /**
+     * Adds a GPSLocation to the end of the track
+     *
+     * Note: The coordinates are expected to be valid, as they are not checked again
+     *
+     * @param latitude the latitude of the GPSLocation
+     * @param longitude the longitude of the GPSLocation
+     * */
+    public void addGPSLocation(double latitude, double longitude)
+    {
+        if (this.isSharingArrays)
+        {
+            copySharedArrays();
+        }
+
+        if (this.numberOfGPSLocations == this.latitudes.length)
+        {
+            growCapacityOfGPSLocations();
+        }
+
+        if (hasDetails())
+        {
+            this.timestampsInMilliseconds[this.numberOfGPSLocations] = GPSLocation.NO_TIMESTAMP;
+            this.accuraciesInMeters[this.numberOfGPSLocations] = Double.NaN;
+            this.altitudesInMeters[this.numberOfGPSLocations] = Double.NaN;
+            this.speedsInMetersPerSecond[this.numberOfGPSLocations] = Double.NaN;
+        }
+
+        this.latitudes[this.numberOfGPSLocations] = latitude;
+        this.longitudes[this.numberOfGPSLocations] = longitude;
+        this.numberOfGPSLocations++;
+
+        includeInBoundingBox(latitude, longitude);
+    }
+
+
+    /**
+     * Adds a GPSLocation with details to the end of the track
+     *
+     * Note: The values are expected to be valid, as they are not checked again
+     *
+     * @param latitude the latitude of the GPSLocation
+     * @param longitude the longitude of the GPSLocation
+     * @param timestampInMilliseconds the timestamp of the GPSLocation, or
+     *                                GPSLocation.NO_TIMESTAMP if it has none
+     * @param accuracyInMeters the accuracy of the GPSLocation, or NaN if it has none
+     * @param altitudeInMeters the altitude of the GPSLocation, or NaN if it has none
+     * @param speedInMetersPerSecond the speed of the GPSLocation, or NaN if it has none
+     * */
+    public void addGPSLocation(double latitude, double longitude, long timestampInMilliseconds,
+                               double accuracyInMeters, double altitudeInMeters,
+                               double speedInMetersPerSecond)
+    {
+        if (this.isSharingArrays)
+        {
+            copySharedArrays();
+        }
+
+        if (this.numberOfGPSLocations == this.latitudes.length)
+        {
+            growCapacityOfGPSLocations();
+        }
+
+        if (!hasDetails())
+        {
+            allocateDetails();
+        }
+
+        this.timestampsInMilliseconds[this.numberOfGPSLocations] = timestampInMilliseconds;
+        this.accuraciesInMeters[this.numberOfGPSLocations] = accuracyInMeters;
+        this.altitudesInMeters[this.numberOfGPSLocations] = altitudeInMeters;
+        this.speedsInMetersPerSecond[this.numberOfGPSLocations] = speedInMetersPerSecond;
+
+        this.latitudes[this.numberOfGPSLocations] = latitude;
+        this.longitudes[this.numberOfGPSLocations] = longitude;
+        this.numberOfGPSLocations++;
+
+        includeInBoundingBox(latitude, longitude);
+    }
+
+
+    /**
+     * Grow the capacity of the arrays of the GPSLocations (and their details, if allocated)
+     * by half, so that more GPSLocations can be added
+     * */
+    private void growCapacityOfGPSLocations()
+    {
+        int newCapacity = Math.max(INITIAL_CAPACITY_OF_GPS_LOCATIONS,
+                                   this.latitudes.length + (this.latitudes.length >> 1));
+
+        this.latitudes = Arrays.copyOf(this.latitudes, newCapacity);
+        this.longitudes = Arrays.copyOf(this.longitudes, newCapacity);
+
+        if (hasDetails())
+        {
+            this.timestampsInMilliseconds = Arrays.copyOf(this.timestampsInMilliseconds,
+                                                          newCapacity);
+            this.accuraciesInMeters = Arrays.copyOf(this.accuraciesInMeters, newCapacity);
+            this.altitudesInMeters = Arrays.copyOf(this.altitudesInMeters, newCapacity);
+            this.speedsInMetersPerSecond = Arrays.copyOf(this.speedsInMetersPerSecond,
+                                                         newCapacity);
+        }
+    }
+
+
+    /**
+     * Extend the bounding box of the GPSLocations so that it includes the coordinates given
+     *
+     * @param latitude the latitude of a GPSLocation of the track
+     * @param longitude the longitude of a GPSLocation of the track
+     * */
+    private void includeInBoundingBox(double latitude, double longitude)
+    {
+        this.minimumLatitude = Math.min(this.minimumLatitude, latitude);
+        this.maximumLatitude = Math.max(this.maximumLatitude, latitude);
+        this.minimumLongitude = Math.min(this.minimumLongitude, longitude);
+        this.maximumLongitude = Math.max(this.maximumLongitude, longitude);
+    }
+
+
+    /**
+     * Allocate the arrays of the details with the same capacity as the arrays of the
+     * coordinates, in which the GPSLocations already added have no details
+     * */
+    private void allocateDetails()
+    {
+        int capacity = this.latitudes.length;
+
+        this.timestampsInMilliseconds = new long[capacity];
+        this.accuraciesInMeters = new double[capacity];
+        this.altitudesInMeters = new double[capacity];
+        this.speedsInMetersPerSecond = new double[capacity];
+
+        Arrays.fill(this.timestampsInMilliseconds, GPSLocation.NO_TIMESTAMP);
+        Arrays.fill(this.accuraciesInMeters, Double.NaN);
+        Arrays.fill(this.altitudesInMeters, Double.NaN);
+        Arrays.fill(this.speedsInMetersPerSecond, Double.NaN);
+    }
+
+
+    /**
+     * Adds a pause to the end of the track, so that the next GPSLocation added starts a
+     * new segment
+     * */
+    public void addPause()
+    {
+        if (this.isSharingArrays)
+        {
+            copySharedArrays();
+        }
+
+        if (this.numberOfPauses == this.segmentStartIndices.length)
+        {
+            int newCapacity = Math.max(INITIAL_CAPACITY_OF_PAUSES,
+                                       this.segmentStartIndices.length * 2);
+
+            this.segmentStartIndices = Arrays.copyOf(this.segmentStartIndices, newCapacity);
+        }
+
+        this.segmentStartIndices[this.numberOfPauses] = this.numberOfGPSLocations;
+        this.numberOfPauses++;
+    }
+
+
+    /**
+     * Removes all the GPSLocations and pauses from the track
+     * */
+    public void clear()
+    {
+        this.latitudes = EMPTY_COORDINATES;
+        this.longitudes = EMPTY_COORDINATES;
+        this.numberOfGPSLocations = 0;
+
+        this.segmentStartIndices = EMPTY_SEGMENT_START_INDICES;
+        this.numberOfPauses = 0;
+
+        this.timestampsInMilliseconds = null;
+        this.accuraciesInMeters = null;
+        this.altitudesInMeters = null;
+        this.speedsInMetersPerSecond = null;
+
+        this.minimumLatitude = Double.POSITIVE_INFINITY;
+        this.maximumLatitude = Double.NEGATIVE_INFINITY;
+        this.minimumLongitude = Double.POSITIVE_INFINITY;
+        this.maximumLongitude = Double.NEGATIVE_INFINITY;
+
+        this.isSharingArrays = false;
+    }
+
+
+    /**
+     * Creates a snapshot of the track in constant time, which contains the GPSLocations and
+     * pauses of the track so far, and is not changed by any GPSLocation or pause added to
+     * the track afterwards
+     *
+     * The snapshot shares the arrays of the track instead of copying them, and only copies
+     * them once a GPSLocation or pause is added to the snapshot itself
+     *
+     * @see GPSTrack
+     * */
+    public GPSTrack createSnapshot()
+    {
+        GPSTrack snapshot = new GPSTrack();
+
+        snapshot.latitudes = this.latitudes;
+        snapshot.longitudes = this.longitudes;
+        snapshot.numberOfGPSLocations = this.numberOfGPSLocations;
+
+        snapshot.segmentStartIndices = this.segmentStartIndices;
+        snapshot.numberOfPauses = this.numberOfPauses;
+
+        snapshot.timestampsInMilliseconds = this.timestampsInMilliseconds;
+        snapshot.accuraciesInMeters = this.accuraciesInMeters;
+        snapshot.altitudesInMeters = this.altitudesInMeters;
+        snapshot.speedsInMetersPerSecond = this.speedsInMetersPerSecond;
+
+        snapshot.minimumLatitude = this.minimumLatitude;
+        snapshot.maximumLatitude = this.maximumLatitude;
+        snapshot.minimumLongitude = this.minimumLongitude;
+        snapshot.maximumLongitude = this.maximumLongitude;
+
+        snapshot.isSharingArrays = true;
+
+        return snapshot;
+    }
+
+
+    /**
+     * Copy the arrays shared with the track that this track is a snapshot of, so that
+     * GPSLocations and pauses can be added without writing into the arrays of the other track
+     * */
+    private void copySharedArrays()
+    {
+        this.latitudes = this.latitudes.clone();
+        this.longitudes = this.longitudes.clone();
+        this.segmentStartIndices = this.segmentStartIndices.clone();
+
+        if (hasDetails())
+        {
+            this.timestampsInMilliseconds = this.timestampsInMilliseconds.clone();
+            this.accuraciesInMeters = this.accuraciesInMeters.clone();
+            this.altitudesInMeters = this.altitudesInMeters.clone();
+            this.speedsInMetersPerSecond = this.speedsInMetersPerSecond.clone();
+        }
+
+        this.isSharingArrays = false;
+    }
+
+
+    /**
+     * Returns the number of GPSLocations in the track, excluding the pauses
+     * */
+    public int getNumberOfGPSLocations()
+    {
+        return this.numberOfGPSLocations;
+    }
+
+
+    /**
+     * Returns the number of pauses in the track
+     * */
+    public int getNumberOfPauses()
+    {
+        return this.numberOfPauses;
+    }
+
+
+    /**
+     * Returns true if the track has neither GPSLocations nor pauses, and false if otherwise
+     * */
+    public boolean isEmpty()
+    {
+        return this.numberOfGPSLocations == 0 && this.numberOfPauses == 0;
+    }
+
+
+    /**
+     * Returns true if the last element added to the track was a pause, and false if it was
+     * a GPSLocation or the track is empty
+     * */
+    public boolean endsWithPause()
+    {
+        return this.numberOfPauses > 0 &&
+                this.segmentStartIndices[this.numberOfPauses - 1] == this.numberOfGPSLocations;
+    }
+
+
+    /**
+     * Returns the latitude of the GPSLocation at the index given
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    public double getLatitude(int gpsLocationIndex)
+    {
+        checkGPSLocationIndex(gpsLocationIndex);
+
+        return this.latitudes[gpsLocationIndex];
+    }
+
+
+    /**
+     * Returns the longitude of the GPSLocation at the index given
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    public double getLongitude(int gpsLocationIndex)
+    {
+        checkGPSLocationIndex(gpsLocationIndex);
+
+        return this.longitudes[gpsLocationIndex];
+    }
+
+
+    /**
+     * Returns true if a GPSLocation with any detail has been added to the track, and false
+     * if otherwise
+     * */
+    public boolean hasDetails()
+    {
+        return this.timestampsInMilliseconds != null;
+    }
+
+
+    /**
+     * Returns the timestamp of the GPSLocation at the index given, or
+     * GPSLocation.NO_TIMESTAMP if it has none
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    public long getTimestampInMilliseconds(int gpsLocationIndex)
+    {
+        checkGPSLocationIndex(gpsLocationIndex);
+
+        return hasDetails() ? this.timestampsInMilliseconds[gpsLocationIndex]
+                            : GPSLocation.NO_TIMESTAMP;
+    }
+
+
+    /**
+     * Returns the accuracy of the GPSLocation at the index given, or NaN if it has none
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    public double getAccuracyInMeters(int gpsLocationIndex)
+    {
+        checkGPSLocationIndex(gpsLocationIndex);
+
+        return hasDetails() ? this.accuraciesInMeters[gpsLocationIndex] : Double.NaN;
+    }
+
+
+    /**
+     * Returns the altitude of the GPSLocation at the index given, or NaN if it has none
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    public double getAltitudeInMeters(int gpsLocationIndex)
+    {
+        checkGPSLocationIndex(gpsLocationIndex);
+
+        return hasDetails() ? this.altitudesInMeters[gpsLocationIndex] : Double.NaN;
+    }
+
+
+    /**
+     * Returns the speed of the GPSLocation at the index given, or NaN if it has none
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    public double getSpeedInMetersPerSecond(int gpsLocationIndex)
+    {
+        checkGPSLocationIndex(gpsLocationIndex);
+
+        return hasDetails() ? this.speedsInMetersPerSecond[gpsLocationIndex] : Double.NaN;
+    }
+
+
+    /**
+     * Returns the smallest latitude of the GPSLocations (the south of their bounding box),
+     * in constant time, or NaN if the track has no GPSLocation
+     * */
+    public double getMinimumLatitude()
+    {
+        return this.numberOfGPSLocations == 0 ? Double.NaN : this.minimumLatitude;
+    }
+
+
+    /**
+     * Returns the largest latitude of the GPSLocations (the north of their bounding box),
+     * in constant time, or NaN if the track has no GPSLocation
+     * */
+    public double getMaximumLatitude()
+    {
+        return this.numberOfGPSLocations == 0 ? Double.NaN : this.maximumLatitude;
+    }
+
+
+    /**
+     * Returns the smallest longitude of the GPSLocations (the west of their bounding box),
+     * in constant time, or NaN if the track has no GPSLocation
+     *
+     * Note: The bounding box does not take the antimeridian into account
+     * */
+    public double getMinimumLongitude()
+    {
+        return this.numberOfGPSLocations == 0 ? Double.NaN : this.minimumLongitude;
+    }
+
+
+    /**
+     * Returns the largest longitude of the GPSLocations (the east of their bounding box),
+     * in constant time, or NaN if the track has no GPSLocation
+     *
+     * Note: The bounding box does not take the antimeridian into account
+     * */
+    public double getMaximumLongitude()
+    {
+        return this.numberOfGPSLocations == 0 ? Double.NaN : this.maximumLongitude;
+    }
+
+
+    /**
+     * Returns the index of the GPSLocation that starts the segment after the pause given
+     *
+     * @param pauseIndex the index of the pause
+     *
+     * @throws IndexOutOfBoundsException if the index is outside the range
+     * [0, getNumberOfPauses())
+     * */
+    public int getSegmentStartIndex(int pauseIndex)
+    {
+        if (pauseIndex < 0 || pauseIndex >= this.numberOfPauses)
+        {
+            throw new IndexOutOfBoundsException("Pause index out of range: " + pauseIndex);
+        }
+
+        return this.segmentStartIndices[pauseIndex];
+    }
+
+
+    /**
+     * Returns the array of latitudes, whose first getNumberOfGPSLocations() elements are the
+     * latitudes of the GPSLocations, without copying it, as done by GPSTrackPacking
+     * */
+    double[] getLatitudesArray()
+    {
+        return this.latitudes;
+    }
+
+
+    /**
+     * Returns the array of longitudes, whose first getNumberOfGPSLocations() elements are the
+     * longitudes of the GPSLocations, without copying it, as done by GPSTrackPacking
+     * */
+    double[] getLongitudesArray()
+    {
+        return this.longitudes;
+    }
+
+
+    /**
+     * Returns the array of segment start indices, whose first getNumberOfPauses() elements
+     * are those of the pauses, without copying it, as done by GPSTrackPacking
+     * */
+    int[] getSegmentStartIndicesArray()
+    {
+        return this.segmentStartIndices;
+    }
+
+
+    /**
+     * Returns the array of timestamps, or null if the track has no details, without copying
+     * it, as done by GPSTrackPacking
+     * */
+    long[] getTimestampsInMillisecondsArray()
+    {
+        return this.timestampsInMilliseconds;
+    }
+
+
+    /**
+     * Returns the array of accuracies, or null if the track has no details, without copying
+     * it, as done by GPSTrackPacking
+     * */
+    double[] getAccuraciesInMetersArray()
+    {
+        return this.accuraciesInMeters;
+    }
+
+
+    /**
+     * Returns the array of altitudes, or null if the track has no details, without copying
+     * it, as done by GPSTrackPacking
+     * */
+    double[] getAltitudesInMetersArray()
+    {
+        return this.altitudesInMeters;
+    }
+
+
+    /**
+     * Returns the array of speeds, or null if the track has no details, without copying it,
+     * as done by GPSTrackPacking
+     * */
+    double[] getSpeedsInMetersPerSecondArray()
+    {
+        return this.speedsInMetersPerSecond;
+    }
+
+
+    /**
+     * Create a GPSLocation with the coordinates and details of the GPSLocation at the index
+     * given, without checking the index
+     *
+     * @param gpsLocationIndex the index of the GPSLocation, excluding the pauses
+     * */
+    private GPSLocation createGPSLocation(int gpsLocationIndex)
+    {
+        GPSLocation gpsLocation = new GPSLocation(this.latitudes[gpsLocationIndex],
+                                                  this.longitudes[gpsLocationIndex]);
+
+        if (!hasDetails())
+        {
+            return gpsLocation;
+        }
+
+        if (this.timestampsInMilliseconds[gpsLocationIndex] != GPSLocation.NO_TIMESTAMP)
+        {
+            gpsLocation.setTimestampInMilliseconds(
+                                        this.timestampsInMilliseconds[gpsLocationIndex]);
+        }
+
+        if (!Double.isNaN(this.accuraciesInMeters[gpsLocationIndex]))
+        {
+            gpsLocation.setAccuracyInMeters(this.accuraciesInMeters[gpsLocationIndex]);
+        }
+
+        if (!Double.isNaN(this.altitudesInMeters[gpsLocationIndex]))
+        {
+            gpsLocation.setAltitudeInMeters(this.altitudesInMeters[gpsLocationIndex]);
+        }
+
+        if (!Double.isNaN(this.speedsInMetersPerSecond[gpsLocationIndex]))
+        {
+            gpsLocation.setSpeedInMetersPerSecond(
+                                        this.speedsInMetersPerSecond[gpsLocationIndex]);
+        }
+
+        return gpsLocation;
+    }
+
+
+    /**
+     * Throws an IndexOutOfBoundsException if the GPSLocation index is outside the range
+     * [0, getNumberOfGPSLocations())
+     * */
+    private void checkGPSLocationIndex(int gpsLocationIndex)
+    {
+        if (gpsLocationIndex < 0 || gpsLocationIndex >= this.numberOfGPSLocations)
+        {
+            throw new IndexOutOfBoundsException("GPSLocation index out of range: " +
+                                                gpsLocationIndex);
+        }
+    }
+
+
+    /**
+     * Calculate and return the total distance in kilometers between successive GPSLocations
+     * of the track, skipping over the pairs that are separated by a pause
+     *
+     * @param mode the accuracy mode of the calculation
+     *
+     * @throws NullPointerException if the mode is null
+     *
+     * @see GeodesicDistance#calculateTotalDistanceInKilometers(double[], double[], int, int,
+     * GeodesicDistance.Mode)
+     * */
+    public double calculateTotalDistanceInKilometers(GeodesicDistance.Mode mode)
+    {
+        double totalDistanceInKilometers = 0;
+
+        int segmentStartIndex = 0;
+
+        for (int pauseIndex = 0; pauseIndex < this.numberOfPauses; pauseIndex++)
+        {
+            int segmentEndIndex = this.segmentStartIndices[pauseIndex];
+
+            totalDistanceInKilometers += GeodesicDistance.calculateTotalDistanceInKilometers(
+                    this.latitudes, this.longitudes, segmentStartIndex, segmentEndIndex, mode);
+
+            segmentStartIndex = segmentEndIndex;
+        }
+
+        totalDistanceInKilometers += GeodesicDistance.calculateTotalDistanceInKilometers(
+                this.latitudes, this.longitudes, segmentStartIndex, this.numberOfGPSLocations,
+                mode);
+
+        return totalDistanceInKilometers;
+    }
+
+
+    /**
+     * Returns an unmodifiable list view of the track, in which each pause is a null element
+     * placed before the GPSLocation that starts the next segment
+     *
+     * The view reflects the GPSLocations and pauses added after it is returned. Each
+     * GPSLocation in the view is created upon being accessed, with its details if it has
+     * any, so callers that only need the coordinates should use getLatitude(int) and
+     * getLongitude(int) instead
+     * */
+    public List<IGPSLocation> getListOfGPSLocations()
+    {
+        return this.listOfGPSLocations;
+    }
+
+
+    /**
+     * Only returns true if the other object is a GPSTrack with exactly the same
+     * GPSLocations (including their details) and pauses, in the same order. A track
+     * without details is equal to a track whose GPSLocations all have no details
+     *
+     * Otherwise, returns false.
+     * */
+    @Override
+    public boolean equals(Object otherObject)
+    {
+        if (otherObject == this)
+        {
+            return true;
+        }
+
+        if (!(otherObject instanceof GPSTrack))
+        {
+            return false;
+        }
+
+        GPSTrack otherGPSTrack = (GPSTrack) otherObject;
+
+        if (this.numberOfGPSLocations != otherGPSTrack.numberOfGPSLocations ||
+                this.numberOfPauses != otherGPSTrack.numberOfPauses)
+        {
+            return false;
+        }
+
+        for (int index = 0; index < this.numberOfGPSLocations; index++)
+        {
+            //compared with == as in GPSLocation.equals(Object)
+            if (this.latitudes[index] != otherGPSTrack.latitudes[index] ||
+                    this.longitudes[index] != otherGPSTrack.longitudes[index])
+            {
+                return false;
+            }
+        }
+
+        for (int index = 0; index < this.numberOfPauses; index++)
+        {
+            if (this.segmentStartIndices[index] != otherGPSTrack.segmentStartIndices[index])
+            {
+                return false;
+            }
+        }
+
+        if (!hasDetails() && !otherGPSTrack.hasDetails())
+        {
+            return true;
+        }
+
+        for (int index = 0; index < this.numberOfGPSLocations; index++)
+        {
+            //compared with Double.compare(double, double) as in GPSLocation.equals(Object)
+            if (getTimestampInMilliseconds(index) !=
+                        otherGPSTrack.getTimestampInMilliseconds(index) ||
+                    Double.compare(getAccuracyInMeters(index),
+                                   otherGPSTrack.getAccuracyInMeters(index)) != 0 ||
+                    Double.compare(getAltitudeInMeters(index),
+                                   otherGPSTrack.getAltitudeInMeters(index)) != 0 ||
+                    Double.compare(getSpeedInMetersPerSecond(index),
+                                   otherGPSTrack.getSpeedInMetersPerSecond(index)) != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * this.numberOfGPSLocations + this.numberOfPauses;
+    }
+
+
+    /**
+     * An unmodifiable list view of the track, in which each pause is a null element
+     *
+     * The element at a list index is found by a binary search over the segment start
+     * indices, while iterating over the view walks the GPSLocations and pauses together
+     * */
+    private class ListOfGPSLocationsView extends AbstractList<IGPSLocation>
+            implements RandomAccess
+    {
+        @Override
+        public int size()
+        {
+            return GPSTrack.this.numberOfGPSLocations + GPSTrack.this.numberOfPauses;
+        }
+
+
+        @Override
+        public IGPSLocation get(int listIndex)
+        {
+            if (listIndex < 0 || listIndex >= size())
+            {
+                throw new IndexOutOfBoundsException("List index out of range: " + listIndex);
+            }
+
+            //the list index of a pause is its segment start index plus the number of
+            //pauses before it, which increases strictly with the pause index
+            int low = 0;
+            int high = GPSTrack.this.numberOfPauses;
+
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+
+                if (GPSTrack.this.segmentStartIndices[middle] + middle < listIndex)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+
+            if (low < GPSTrack.this.numberOfPauses &&
+                    GPSTrack.this.segmentStartIndices[low] + low == listIndex)
+            {
+                return null;
+            }
+
+            return createGPSLocation(listIndex - low);
+        }
+
+
+        @Override
+        public Iterator<IGPSLocation> iterator()
+        {
+            return new Iterator<IGPSLocation>()
+            {
+                private int nextGPSLocationIndex = 0;
+                private int nextPauseIndex = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return this.nextGPSLocationIndex + this.nextPauseIndex < size();
+                }
+
+                @Override
+                public IGPSLocation next()
+                {
+                    if (!hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+
+                    if (this.nextPauseIndex < GPSTrack.this.numberOfPauses &&
+                            GPSTrack.this.segmentStartIndices[this.nextPauseIndex] ==
+                                                                this.nextGPSLocationIndex)
+                    {
+                        this.nextPauseIndex++;
+
+                        return null;
+                    }
+
+                    return createGPSLocation(this.nextGPSLocationIndex++);
+                }
+            };
+        }
+    }
+}
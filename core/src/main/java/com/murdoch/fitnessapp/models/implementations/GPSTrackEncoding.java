@@ -0,0 +1,459 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes a list of GPSLocations (a GPS track) into a compact array of bytes, and decodes
+ * it back into a list of GPSLocations or directly into a GPSTrack
+ *
+ * The encoded track is made up of:
+ *      (a) a header byte containing FORMAT_VERSION
+ *      (b) the number of entries in the track, as a varint
+ *      (c) one entry for every element of the list, in the same order. A GPSLocation is
+ *          encoded as the difference of its fixed-point latitude and longitude from the
+ *          previous GPSLocation, each as a zigzag varint. The latitude difference is
+ *          shifted left by DETAIL_FLAGS_SHIFT bits, and the bits below it hold one flag per
+ *          detail (timestamp, accuracy, altitude and speed) that the GPSLocation has, above
+ *          a lowest bit that is always 0. The details that are flagged follow the
+ *          longitude, in that order. A pause (a null element) is encoded as the single
+ *          varint PAUSE_MARKER, whose lowest bit is 1, and does not reset the previous
+ *          GPSLocation
+ *
+ * Coordinates are stored in fixed-point with COORDINATE_SCALE units per degree, so a decoded
+ * coordinate is the original coordinate rounded to the nearest 1 / COORDINATE_SCALE degree
+ * (around one centimeter)
+ *
+ * The details are quantised so that each takes one to three bytes for a typical GPSLocation:
+ *      (a) the timestamp as the difference in milliseconds from the previous timestamp, as a
+ *          zigzag varint
+ *      (b) the accuracy in units of 1 / ACCURACY_SCALE meters, as a varint
+ *      (c) the altitude in units of 1 / ALTITUDE_SCALE meters, as the difference from the
+ *          previous altitude, as a zigzag varint
+ *      (d) the speed in units of 1 / SPEED_SCALE meters per second, as a varint
+ *
+ * Tracks encoded with format version 1, which had no details and shifted the latitude
+ * difference left by only one bit, are still decoded
+ * */
+public final class GPSTrackEncoding
+{
+    /**
+     * The version of the encoding, written as the first byte of every encoded track
+     * */
+    public static final int FORMAT_VERSION = 2;
+
+    /**
+     * The version of the encoding before the details of the GPSLocations were encoded
+     * */
+    public static final int FORMAT_VERSION_WITHOUT_DETAILS = 1;
+
+    /**
+     * The number of fixed-point units per degree of latitude or longitude
+     * */
+    public static final double COORDINATE_SCALE = 1e7;
+
+    /**
+     * The number of units per meter of the accuracy
+     * */
+    public static final double ACCURACY_SCALE = 10;
+
+    /**
+     * The number of units per meter of the altitude
+     * */
+    public static final double ALTITUDE_SCALE = 10;
+
+    /**
+     * The number of units per meter per second of the speed
+     * */
+    public static final double SPEED_SCALE = 100;
+
+    private static final long PAUSE_MARKER = 1;
+
+    private static final int TIMESTAMP_FLAG = 1;
+    private static final int ACCURACY_FLAG = 1 << 1;
+    private static final int ALTITUDE_FLAG = 1 << 2;
+    private static final int SPEED_FLAG = 1 << 3;
+
+    private static final int DETAIL_FLAGS_MASK = 0xF;
+    private static final int DETAIL_FLAGS_SHIFT = 5;
+
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_MAXIMUM_SHIFT = 63;
+
+
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private GPSTrackEncoding()
+    {
+
+    }
+
+
+    /**
+     * Encode a list of GPSLocations into an array of bytes
+     *
+     * @param listOfGPSLocations the list of GPSLocations to be encoded. Null elements
+     *                           represent a pause during a workout session
+     *
+     * @throws NullPointerException if the argument is null
+     *
+     * @return the encoded track
+     *
+     * @see #decode(byte[])
+     * */
+    public static byte[] encode(List<IGPSLocation> listOfGPSLocations)
+    {
+        if (listOfGPSLocations == null)
+        {
+            throw new NullPointerException("List of GPSLocations cannot be null");
+        }
+
+        //a GPSLocation rarely needs more than a few bytes per coordinate
+        final int ESTIMATED_BYTES_PER_ENTRY = 4;
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+                1 + ESTIMATED_BYTES_PER_ENTRY * listOfGPSLocations.size());
+
+        outputStream.write(FORMAT_VERSION);
+        writeVarint(outputStream, listOfGPSLocations.size());
+
+
+        long previousFixedLatitude = 0;
+        long previousFixedLongitude = 0;
+        long previousTimestampInMilliseconds = 0;
+        long previousFixedAltitude = 0;
+
+        for (IGPSLocation gpsLocation : listOfGPSLocations)
+        {
+            if (gpsLocation == null)
+            {
+                writeVarint(outputStream, PAUSE_MARKER);
+                continue;
+            }
+
+            long fixedLatitude = convertDegreesToFixedPoint(gpsLocation.getLatitude());
+            long fixedLongitude = convertDegreesToFixedPoint(gpsLocation.getLongitude());
+
+            int detailFlags = getDetailFlags(gpsLocation);
+
+            writeVarint(outputStream,
+                    encodeZigzag(fixedLatitude - previousFixedLatitude) << DETAIL_FLAGS_SHIFT |
+                    (long) detailFlags << 1);
+            writeVarint(outputStream,
+                    encodeZigzag(fixedLongitude - previousFixedLongitude));
+
+            previousFixedLatitude = fixedLatitude;
+            previousFixedLongitude = fixedLongitude;
+
+
+            if ((detailFlags & TIMESTAMP_FLAG) != 0)
+            {
+                long timestampInMilliseconds = gpsLocation.getTimestampInMilliseconds();
+
+                writeVarint(outputStream, encodeZigzag(
+                        timestampInMilliseconds - previousTimestampInMilliseconds));
+
+                previousTimestampInMilliseconds = timestampInMilliseconds;
+            }
+
+            if ((detailFlags & ACCURACY_FLAG) != 0)
+            {
+                writeVarint(outputStream,
+                        Math.round(gpsLocation.getAccuracyInMeters() * ACCURACY_SCALE));
+            }
+
+            if ((detailFlags & ALTITUDE_FLAG) != 0)
+            {
+                long fixedAltitude = Math.round(gpsLocation.getAltitudeInMeters() *
+                                                ALTITUDE_SCALE);
+
+                writeVarint(outputStream, encodeZigzag(fixedAltitude - previousFixedAltitude));
+
+                previousFixedAltitude = fixedAltitude;
+            }
+
+            if ((detailFlags & SPEED_FLAG) != 0)
+            {
+                writeVarint(outputStream,
+                        Math.round(gpsLocation.getSpeedInMetersPerSecond() * SPEED_SCALE));
+            }
+        }
+
+        return outputStream.toByteArray();
+    }
+
+
+    /**
+     * Decode an array of bytes created by encode(List) back into a list of GPSLocations
+     *
+     * @param encodedTrack the encoded track
+     *
+     * @throws NullPointerException if the argument is null
+     * @throws IllegalArgumentException if the argument is not a valid encoded track
+     *
+     * @return the decoded list of GPSLocations, in which null elements represent a pause
+     *
+     * @see #encode(List)
+     * @see #decodeToGPSTrack(byte[])
+     * */
+    public static List<IGPSLocation> decode(byte[] encodedTrack)
+    {
+        return new ArrayList<>(decodeToGPSTrack(encodedTrack).getListOfGPSLocations());
+    }
+
+
+    /**
+     * Decode an array of bytes created by encode(List) directly into a GPSTrack, without
+     * creating a GPSLocation object for each of its GPSLocations
+     *
+     * @param encodedTrack the encoded track
+     *
+     * @throws NullPointerException if the argument is null
+     * @throws IllegalArgumentException if the argument is not a valid encoded track
+     *
+     * @return the decoded GPSTrack, with the same GPSLocations and pauses in the same order
+     *
+     * @see #encode(List)
+     * */
+    public static GPSTrack decodeToGPSTrack(byte[] encodedTrack)
+    {
+        if (encodedTrack == null)
+        {
+            throw new NullPointerException("Encoded track cannot be null");
+        }
+
+        if (encodedTrack.length == 0 || (encodedTrack[0] != FORMAT_VERSION &&
+                                         encodedTrack[0] != FORMAT_VERSION_WITHOUT_DETAILS))
+        {
+            throw new IllegalArgumentException("Encoded track has an unsupported format");
+        }
+
+        //format version 1 has no detail flags, and only shifts the latitude by one bit
+        final boolean HAS_DETAIL_FLAGS = encodedTrack[0] == FORMAT_VERSION;
+        final int LATITUDE_SHIFT = HAS_DETAIL_FLAGS ? DETAIL_FLAGS_SHIFT : 1;
+
+
+        int[] position = new int[]{1};
+
+        long numberOfEntries = readVarint(encodedTrack, position);
+
+        //every entry takes up at least one byte
+        if (numberOfEntries > encodedTrack.length - position[0])
+        {
+            throw new IllegalArgumentException("Encoded track is truncated");
+        }
+
+        GPSTrack gpsTrack = new GPSTrack();
+
+
+        long previousFixedLatitude = 0;
+        long previousFixedLongitude = 0;
+        long previousTimestampInMilliseconds = 0;
+        long previousFixedAltitude = 0;
+
+        for (long index = 0; index < numberOfEntries; index++)
+        {
+            long latitudeVarint = readVarint(encodedTrack, position);
+
+            if (latitudeVarint == PAUSE_MARKER)
+            {
+                gpsTrack.addPause();
+                continue;
+            }
+
+            int detailFlags = HAS_DETAIL_FLAGS ?
+                              (int) (latitudeVarint >>> 1) & DETAIL_FLAGS_MASK : 0;
+
+            long fixedLatitude = previousFixedLatitude +
+                    decodeZigzag(latitudeVarint >>> LATITUDE_SHIFT);
+            long fixedLongitude = previousFixedLongitude +
+                    decodeZigzag(readVarint(encodedTrack, position));
+
+            double latitude = fixedLatitude / COORDINATE_SCALE;
+            double longitude = fixedLongitude / COORDINATE_SCALE;
+
+            previousFixedLatitude = fixedLatitude;
+            previousFixedLongitude = fixedLongitude;
+
+            if (detailFlags == 0)
+            {
+                gpsTrack.addGPSLocation(latitude, longitude);
+                continue;
+            }
+
+
+            long timestampInMilliseconds = GPSLocation.NO_TIMESTAMP;
+            double accuracyInMeters = Double.NaN;
+            double altitudeInMeters = Double.NaN;
+            double speedInMetersPerSecond = Double.NaN;
+
+            if ((detailFlags & TIMESTAMP_FLAG) != 0)
+            {
+                timestampInMilliseconds = previousTimestampInMilliseconds +
+                        decodeZigzag(readVarint(encodedTrack, position));
+
+                previousTimestampInMilliseconds = timestampInMilliseconds;
+            }
+
+            if ((detailFlags & ACCURACY_FLAG) != 0)
+            {
+                accuracyInMeters = readVarint(encodedTrack, position) / ACCURACY_SCALE;
+            }
+
+            if ((detailFlags & ALTITUDE_FLAG) != 0)
+            {
+                long fixedAltitude = previousFixedAltitude +
+                        decodeZigzag(readVarint(encodedTrack, position));
+
+                altitudeInMeters = fixedAltitude / ALTITUDE_SCALE;
+
+                previousFixedAltitude = fixedAltitude;
+            }
+
+            if ((detailFlags & SPEED_FLAG) != 0)
+            {
+                speedInMetersPerSecond = readVarint(encodedTrack, position) / SPEED_SCALE;
+            }
+
+            gpsTrack.addGPSLocation(latitude, longitude, timestampInMilliseconds,
+                                    accuracyInMeters, altitudeInMeters, speedInMetersPerSecond);
+        }
+
+        if (position[0] != encodedTrack.length)
+        {
+            throw new IllegalArgumentException("Encoded track has trailing bytes");
+        }
+
+        return gpsTrack;
+    }
+
+
+    /**
+     * Returns the flags of the details that a GPSLocation has
+     *
+     * @param gpsLocation the GPSLocation
+     * */
+    private static int getDetailFlags(IGPSLocation gpsLocation)
+    {
+        int detailFlags = 0;
+
+        if (gpsLocation.hasTimestamp())
+        {
+            detailFlags |= TIMESTAMP_FLAG;
+        }
+
+        if (gpsLocation.hasAccuracy())
+        {
+            detailFlags |= ACCURACY_FLAG;
+        }
+
+        if (gpsLocation.hasAltitude())
+        {
+            detailFlags |= ALTITUDE_FLAG;
+        }
+
+        if (gpsLocation.hasSpeed())
+        {
+            detailFlags |= SPEED_FLAG;
+        }
+
+        return detailFlags;
+    }
+
+
+    /**
+     * Convert a latitude or longitude in degrees into fixed-point units
+     *
+     * @param degrees the latitude or longitude in degrees
+     * */
+    private static long convertDegreesToFixedPoint(double degrees)
+    {
+        return Math.round(degrees * COORDINATE_SCALE);
+    }
+
+
+    /**
+     * Map a signed number to an unsigned number, so that numbers close to zero (either
+     * positive or negative) are encoded with few bytes
+     *
+     * @param value the signed number
+     * */
+    private static long encodeZigzag(long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+
+    /**
+     * Reverses encodeZigzag(long)
+     *
+     * @param value the unsigned number
+     *
+     * @see #encodeZigzag(long)
+     * */
+    private static long decodeZigzag(long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    /**
+     * Write an unsigned number as a varint, i.e. 7 bits per byte starting from the least
+     * significant bits, where the highest bit of every byte except the last byte is set
+     *
+     * @param outputStream the output stream to write to
+     * @param value the unsigned number to write
+     * */
+    private static void writeVarint(ByteArrayOutputStream outputStream, long value)
+    {
+        while ((value & ~VARINT_PAYLOAD_MASK) != 0)
+        {
+            outputStream.write((int) ((value & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT));
+            value >>>= VARINT_PAYLOAD_BITS;
+        }
+
+        outputStream.write((int) value);
+    }
+
+
+    /**
+     * Read a varint written by writeVarint(ByteArrayOutputStream, long)
+     *
+     * @param encodedTrack the encoded track to read from
+     * @param position the position to read from. This is also a return value, as it is
+     *                 moved to the position after the varint
+     *
+     * @throws IllegalArgumentException if the varint is truncated or too long
+     *
+     * @see #writeVarint(ByteArrayOutputStream, long)
+     * */
+    private static long readVarint(byte[] encodedTrack, int[] position)
+    {
+        long value = 0;
+
+        for (int shift = 0; shift <= VARINT_MAXIMUM_SHIFT; shift += VARINT_PAYLOAD_BITS)
+        {
+            if (position[0] >= encodedTrack.length)
+            {
+                throw new IllegalArgumentException("Encoded track is truncated");
+            }
+
+            int currentByte = encodedTrack[position[0]++];
+
+            value |= (long) (currentByte & VARINT_PAYLOAD_MASK) << shift;
+
+            if ((currentByte & VARINT_CONTINUATION_BIT) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Encoded track contains an invalid varint");
+    }
+}
@@ -0,0 +1,145 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+/**
+ * Holds a GPSTrack simplified at several tolerances, from the finest level of detail to the
+ * coarsest, so that a map or a thumbnail can draw the coarsest track that still looks right
+ * at its scale
+ *
+ * All the levels of detail are built at once from a single run of the Douglas-Peucker
+ * algorithm, and each of them is the same as simplifying the original track at its tolerance.
+ * The GPSTracks returned are shared by every caller, therefore they must not be modified
+ *
+ * @see GPSTrackSimplification
+ * */
+public class GPSTrackLevelsOfDetail
+{
+    /**
+     * The tolerances used by default, from about the accuracy of a GPS fix, for a map zoomed
+     * in on a street, up to the size of a pixel of a thumbnail of a whole workout session
+     * */
+    private static final double[] DEFAULT_TOLERANCES_IN_METERS = {2, 8, 32, 128};
+
+    private final double[] tolerancesInMeters;
+
+    private final GPSTrack[] gpsTracks;
+
+
+    /**
+     * Initializes the levels of detail of the track provided in the argument, using the
+     * default tolerances
+     *
+     * @param gpsTrack the track to be simplified, which is not modified
+     *
+     * @throws NullPointerException if gpsTrack is null
+     * */
+    public GPSTrackLevelsOfDetail(GPSTrack gpsTrack)
+    {
+        this(gpsTrack, DEFAULT_TOLERANCES_IN_METERS);
+    }
+
+
+    /**
+     * Initializes the levels of detail of the track provided in the argument, with one level
+     * of detail per tolerance
+     *
+     * @param gpsTrack the track to be simplified, which is not modified
+     * @param tolerancesInMeters the tolerance of each level of detail, from the finest to
+     *                           the coarsest
+     *
+     * @throws NullPointerException if gpsTrack or tolerancesInMeters is null
+     * @throws IllegalArgumentException if no tolerance is given, if any tolerance is negative
+     * or not a number, or if the tolerances are not in strictly increasing order
+     * */
+    public GPSTrackLevelsOfDetail(GPSTrack gpsTrack, double... tolerancesInMeters)
+    {
+        if (tolerancesInMeters == null)
+        {
+            throw new NullPointerException("Tolerances cannot be null");
+        }
+
+        if (tolerancesInMeters.length == 0)
+        {
+            throw new IllegalArgumentException("At least one tolerance is required");
+        }
+
+        for (int level = 1; level < tolerancesInMeters.length; level++)
+        {
+            if (!(tolerancesInMeters[level] > tolerancesInMeters[level - 1]))
+            {
+                throw new IllegalArgumentException("Tolerances must be in strictly " +
+                                                   "increasing order");
+            }
+        }
+
+
+        double[] significancesInMeters = GPSTrackSimplification.calculateSignificancesInMeters(
+                                                        gpsTrack, tolerancesInMeters[0]);
+
+        this.tolerancesInMeters = tolerancesInMeters.clone();
+        this.gpsTracks = new GPSTrack[tolerancesInMeters.length];
+
+        for (int level = 0; level < tolerancesInMeters.length; level++)
+        {
+            this.gpsTracks[level] = GPSTrackSimplification.retainSignificantGPSLocations(
+                                gpsTrack, significancesInMeters, tolerancesInMeters[level]);
+        }
+    }
+
+
+    /**
+     * Returns the number of levels of detail
+     * */
+    public int getNumberOfLevelsOfDetail()
+    {
+        return this.gpsTracks.length;
+    }
+
+
+    /**
+     * Returns the tolerance of a level of detail, in meters
+     *
+     * @param level the level of detail, where 0 is the finest
+     *
+     * @throws IndexOutOfBoundsException if level is outside the range of levels of detail
+     * */
+    public double getToleranceInMeters(int level)
+    {
+        return this.tolerancesInMeters[level];
+    }
+
+
+    /**
+     * Returns the simplified track of a level of detail
+     *
+     * @param level the level of detail, where 0 is the finest
+     *
+     * @throws IndexOutOfBoundsException if level is outside the range of levels of detail
+     * */
+    public GPSTrack getGPSTrack(int level)
+    {
+        return this.gpsTracks[level];
+    }
+
+
+    /**
+     * Returns the coarsest simplified track whose tolerance is at most the tolerance given,
+     * e.g. the size of a pixel on a map in meters. If the tolerance given is finer than every
+     * level of detail, the finest level of detail is returned
+     *
+     * @param toleranceInMeters the largest tolerance acceptable to the caller
+     * */
+    public GPSTrack getGPSTrackForTolerance(double toleranceInMeters)
+    {
+        int selectedLevel = 0;
+
+        for (int level = 1; level < this.tolerancesInMeters.length; level++)
+        {
+            if (this.tolerancesInMeters[level] <= toleranceInMeters)
+            {
+                selectedLevel = level;
+            }
+        }
+
+        return this.gpsTracks[selectedLevel];
+    }
+}
@@ -0,0 +1,224 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Packs a GPSTrack into an array of bytes that mirrors the arrays the GPSTrack is stored in,
+ * and unpacks it back into an equal GPSTrack, e.g. to write a GPSTrack into a Parcel as a
+ * single array of bytes
+ *
+ * Unlike GPSTrackEncoding, the coordinates are packed without any loss, and the arrays are
+ * copied in bulk rather than one GPSLocation at a time. The packed track is made up of, in
+ * little-endian byte order:
+ *      (a) the number of GPSLocations and the number of pauses, as ints
+ *      (b) the latitudes, then the longitudes, of all the GPSLocations, as doubles
+ *      (c) the segment start index of every pause, as ints
+ *      (d) only if the track has details, the timestamps of all the GPSLocations as longs,
+ *          then their accuracies, altitudes and speeds as doubles
+ *
+ * Whether the track has details is given by the size of the packed track, so a track
+ * without details is packed exactly as before the details were added
+ *
+ * @see GPSTrackEncoding
+ * */
+public final class GPSTrackPacking
+{
+    private static final int HEADER_SIZE_IN_BYTES = 2 * Integer.BYTES;
+
+    private static final int DETAILS_SIZE_IN_BYTES_PER_GPS_LOCATION =
+                                                            Long.BYTES + 3 * Double.BYTES;
+
+
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private GPSTrackPacking()
+    {
+
+    }
+
+
+    /**
+     * Pack a GPSTrack into an array of bytes
+     *
+     * @param gpsTrack the track to be packed
+     *
+     * @throws NullPointerException if the argument is null
+     *
+     * @return the packed track
+     *
+     * @see #unpack(byte[])
+     * */
+    public static byte[] pack(GPSTrack gpsTrack)
+    {
+        if (gpsTrack == null)
+        {
+            throw new NullPointerException("GPS track cannot be null");
+        }
+
+        int numberOfGPSLocations = gpsTrack.getNumberOfGPSLocations();
+        int numberOfPauses = gpsTrack.getNumberOfPauses();
+
+        boolean hasDetails = gpsTrack.hasDetails();
+
+        byte[] packedGPSTrack = new byte[(int) calculatePackedSizeInBytes(numberOfGPSLocations,
+                                                                  numberOfPauses, hasDetails)];
+
+        ByteBuffer byteBuffer = ByteBuffer.wrap(packedGPSTrack).order(ByteOrder.LITTLE_ENDIAN);
+
+        byteBuffer.putInt(numberOfGPSLocations);
+        byteBuffer.putInt(numberOfPauses);
+
+        byteBuffer.asDoubleBuffer()
+                  .put(gpsTrack.getLatitudesArray(), 0, numberOfGPSLocations)
+                  .put(gpsTrack.getLongitudesArray(), 0, numberOfGPSLocations);
+
+        byteBuffer.position(HEADER_SIZE_IN_BYTES + 2 * numberOfGPSLocations * Double.BYTES);
+
+        byteBuffer.asIntBuffer()
+                  .put(gpsTrack.getSegmentStartIndicesArray(), 0, numberOfPauses);
+
+        if (hasDetails)
+        {
+            int detailsPosition = (int) calculatePackedSizeInBytes(numberOfGPSLocations,
+                                                                   numberOfPauses, false);
+
+            byteBuffer.position(detailsPosition);
+
+            byteBuffer.asLongBuffer()
+                      .put(gpsTrack.getTimestampsInMillisecondsArray(), 0, numberOfGPSLocations);
+
+            byteBuffer.position(detailsPosition + numberOfGPSLocations * Long.BYTES);
+
+            byteBuffer.asDoubleBuffer()
+                      .put(gpsTrack.getAccuraciesInMetersArray(), 0, numberOfGPSLocations)
+                      .put(gpsTrack.getAltitudesInMetersArray(), 0, numberOfGPSLocations)
+                      .put(gpsTrack.getSpeedsInMetersPerSecondArray(), 0, numberOfGPSLocations);
+        }
+
+        return packedGPSTrack;
+    }
+
+
+    /**
+     * Unpack an array of bytes back into a GPSTrack
+     *
+     * @param packedGPSTrack the track packed by pack(GPSTrack)
+     *
+     * @throws NullPointerException if the argument is null
+     * @throws IllegalArgumentException if the argument is not a valid packed track
+     *
+     * @return the unpacked track
+     *
+     * @see #pack(GPSTrack)
+     * */
+    public static GPSTrack unpack(byte[] packedGPSTrack)
+    {
+        if (packedGPSTrack == null)
+        {
+            throw new NullPointerException("Packed GPS track cannot be null");
+        }
+
+        if (packedGPSTrack.length < HEADER_SIZE_IN_BYTES)
+        {
+            throw new IllegalArgumentException("Packed GPS track is truncated");
+        }
+
+
+        ByteBuffer byteBuffer = ByteBuffer.wrap(packedGPSTrack).order(ByteOrder.LITTLE_ENDIAN);
+
+        int numberOfGPSLocations = byteBuffer.getInt();
+        int numberOfPauses = byteBuffer.getInt();
+
+        if (numberOfGPSLocations < 0 || numberOfPauses < 0)
+        {
+            throw new IllegalArgumentException("Packed GPS track has an invalid size");
+        }
+
+        boolean hasDetails = numberOfGPSLocations > 0 &&
+                calculatePackedSizeInBytes(numberOfGPSLocations, numberOfPauses, true) ==
+                packedGPSTrack.length;
+
+        if (!hasDetails &&
+                calculatePackedSizeInBytes(numberOfGPSLocations, numberOfPauses, false) !=
+                packedGPSTrack.length)
+        {
+            throw new IllegalArgumentException("Packed GPS track has an invalid size");
+        }
+
+
+        double[] latitudes = new double[numberOfGPSLocations];
+        double[] longitudes = new double[numberOfGPSLocations];
+        int[] segmentStartIndices = new int[numberOfPauses];
+
+        byteBuffer.asDoubleBuffer().get(latitudes).get(longitudes);
+
+        byteBuffer.position(HEADER_SIZE_IN_BYTES + 2 * numberOfGPSLocations * Double.BYTES);
+
+        byteBuffer.asIntBuffer().get(segmentStartIndices);
+
+
+        int previousSegmentStartIndex = 0;
+
+        for (int segmentStartIndex : segmentStartIndices)
+        {
+            if (segmentStartIndex < previousSegmentStartIndex ||
+                    segmentStartIndex > numberOfGPSLocations)
+            {
+                throw new IllegalArgumentException("Packed GPS track has an invalid pause");
+            }
+
+            previousSegmentStartIndex = segmentStartIndex;
+        }
+
+        if (!hasDetails)
+        {
+            return new GPSTrack(latitudes, longitudes, segmentStartIndices);
+        }
+
+
+        long[] timestampsInMilliseconds = new long[numberOfGPSLocations];
+        double[] accuraciesInMeters = new double[numberOfGPSLocations];
+        double[] altitudesInMeters = new double[numberOfGPSLocations];
+        double[] speedsInMetersPerSecond = new double[numberOfGPSLocations];
+
+        int detailsPosition = (int) calculatePackedSizeInBytes(numberOfGPSLocations,
+                                                               numberOfPauses, false);
+
+        byteBuffer.position(detailsPosition);
+
+        byteBuffer.asLongBuffer().get(timestampsInMilliseconds);
+
+        byteBuffer.position(detailsPosition + numberOfGPSLocations * Long.BYTES);
+
+        byteBuffer.asDoubleBuffer()
+                  .get(accuraciesInMeters)
+                  .get(altitudesInMeters)
+                  .get(speedsInMetersPerSecond);
+
+        return new GPSTrack(latitudes, longitudes, segmentStartIndices,
+                            timestampsInMilliseconds, accuraciesInMeters, altitudesInMeters,
+                            speedsInMetersPerSecond);
+    }
+
+
+    /**
+     * Returns the size in bytes of a packed track, using long arithmetic so that an invalid
+     * number of GPSLocations or pauses cannot overflow into a valid size
+     * */
+    private static long calculatePackedSizeInBytes(long numberOfGPSLocations,
+                                                   long numberOfPauses, boolean hasDetails)
+    {
+        long packedSizeInBytes = HEADER_SIZE_IN_BYTES +
+                                 numberOfGPSLocations * 2 * Double.BYTES +
+                                 numberOfPauses * Integer.BYTES;
+
+        if (hasDetails)
+        {
+            packedSizeInBytes += numberOfGPSLocations * DETAILS_SIZE_IN_BYTES_PER_GPS_LOCATION;
+        }
+
+        return packedSizeInBytes;
+    }
+}
@@ -0,0 +1,300 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import java.util.Arrays;
+
+/**
+ * Simplifies a GPSTrack using the Douglas-Peucker algorithm, so that it can be drawn with
+ * far fewer GPSLocations while every removed GPSLocation stays within a tolerance of the
+ * simplified track
+ *
+ * Each segment of the track (the GPSLocations between two pauses) is simplified separately,
+ * and the first and last GPSLocations of every segment are always kept, so the pauses of the
+ * simplified track are the same as those of the original track. Distances are measured in
+ * meters in an equirectangular projection around the first GPSLocation of the track, which is
+ * accurate for tracks spanning a few hundred kilometers, but not across the antimeridian
+ *
+ * The algorithm is run once to calculate the significance of every GPSLocation, i.e. the
+ * largest tolerance at which it is still kept. A GPSLocation is kept at a tolerance if and
+ * only if its significance is more than the tolerance, so the same significances give the
+ * simplified track at any tolerance, as used by GPSTrackLevelsOfDetail
+ *
+ * @see GPSTrackLevelsOfDetail
+ * */
+public final class GPSTrackSimplification
+{
+    private static final double EARTH_RADIUS_IN_METERS =
+                                        GeodesicDistance.EARTH_RADIUS_IN_KILOMETERS * 1000;
+
+    private static final int INITIAL_CAPACITY_OF_STACK = 64;
+
+
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private GPSTrackSimplification()
+    {
+
+    }
+
+
+    /**
+     * Returns a new GPSTrack that keeps only the GPSLocations of the track given that are
+     * needed so that every other GPSLocation is within the tolerance of the new GPSTrack
+     *
+     * @param gpsTrack the track to be simplified, which is not modified
+     * @param toleranceInMeters the largest distance between a removed GPSLocation and the
+     *                          simplified track
+     *
+     * @throws NullPointerException if gpsTrack is null
+     * @throws IllegalArgumentException if toleranceInMeters is negative or not a number
+     * */
+    public static GPSTrack simplify(GPSTrack gpsTrack, double toleranceInMeters)
+    {
+        double[] significancesInMeters = calculateSignificancesInMeters(gpsTrack,
+                                                                        toleranceInMeters);
+
+        return retainSignificantGPSLocations(gpsTrack, significancesInMeters,
+                                             toleranceInMeters);
+    }
+
+
+    /**
+     * Calculate and return the significance of every GPSLocation of the track, in meters.
+     * The first and last GPSLocations of every segment have an infinite significance
+     *
+     * GPSLocations that are not needed at minimumToleranceInMeters are not examined any
+     * further and have a significance of 0, so the significances are only valid for
+     * tolerances of at least minimumToleranceInMeters
+     *
+     * @param gpsTrack the track of interest
+     * @param minimumToleranceInMeters the smallest tolerance the significances are used for
+     *
+     * @throws NullPointerException if gpsTrack is null
+     * @throws IllegalArgumentException if minimumToleranceInMeters is negative or not a
+     * number
+     * */
+    static double[] calculateSignificancesInMeters(GPSTrack gpsTrack,
+                                                   double minimumToleranceInMeters)
+    {
+        if (gpsTrack == null)
+        {
+            throw new NullPointerException("GPS track cannot be null");
+        }
+
+        if (!(minimumToleranceInMeters >= 0))
+        {
+            throw new IllegalArgumentException("Tolerance must be a non-negative number");
+        }
+
+
+        int numberOfGPSLocations = gpsTrack.getNumberOfGPSLocations();
+
+        double[] significancesInMeters = new double[numberOfGPSLocations];
+
+        if (numberOfGPSLocations == 0)
+        {
+            return significancesInMeters;
+        }
+
+
+        double[] xInMeters = new double[numberOfGPSLocations];
+        double[] yInMeters = new double[numberOfGPSLocations];
+
+        projectGPSLocations(gpsTrack, xInMeters, yInMeters);
+
+
+        int[] firstIndexStack = new int[INITIAL_CAPACITY_OF_STACK];
+        int[] lastIndexStack = new int[INITIAL_CAPACITY_OF_STACK];
+        double[] parentSignificanceStack = new double[INITIAL_CAPACITY_OF_STACK];
+
+        int segmentStartIndex = 0;
+
+        for (int pauseIndex = 0; pauseIndex <= gpsTrack.getNumberOfPauses(); pauseIndex++)
+        {
+            int segmentEndIndex = pauseIndex < gpsTrack.getNumberOfPauses() ?
+                    gpsTrack.getSegmentStartIndex(pauseIndex) : numberOfGPSLocations;
+
+            if (segmentEndIndex == segmentStartIndex)
+            {
+                continue;
+            }
+
+            significancesInMeters[segmentStartIndex] = Double.POSITIVE_INFINITY;
+            significancesInMeters[segmentEndIndex - 1] = Double.POSITIVE_INFINITY;
+
+
+            int stackSize = 0;
+
+            firstIndexStack[stackSize] = segmentStartIndex;
+            lastIndexStack[stackSize] = segmentEndIndex - 1;
+            parentSignificanceStack[stackSize] = Double.POSITIVE_INFINITY;
+            stackSize++;
+
+            while (stackSize > 0)
+            {
+                stackSize--;
+
+                int firstIndex = firstIndexStack[stackSize];
+                int lastIndex = lastIndexStack[stackSize];
+                double parentSignificanceInMeters = parentSignificanceStack[stackSize];
+
+                int farthestIndex = -1;
+                double farthestDistanceInMeters = minimumToleranceInMeters;
+
+                for (int index = firstIndex + 1; index < lastIndex; index++)
+                {
+                    double distanceInMeters = calculateDistanceToLineSegmentInMeters(
+                            xInMeters[index], yInMeters[index],
+                            xInMeters[firstIndex], yInMeters[firstIndex],
+                            xInMeters[lastIndex], yInMeters[lastIndex]);
+
+                    if (distanceInMeters > farthestDistanceInMeters)
+                    {
+                        farthestIndex = index;
+                        farthestDistanceInMeters = distanceInMeters;
+                    }
+                }
+
+                if (farthestIndex == -1)
+                {
+                    continue;
+                }
+
+
+                //a GPSLocation is only kept if the ranges containing it were split as well
+                double significanceInMeters = Math.min(farthestDistanceInMeters,
+                                                       parentSignificanceInMeters);
+
+                significancesInMeters[farthestIndex] = significanceInMeters;
+
+                if (stackSize + 2 > firstIndexStack.length)
+                {
+                    int newCapacity = firstIndexStack.length * 2;
+
+                    firstIndexStack = Arrays.copyOf(firstIndexStack, newCapacity);
+                    lastIndexStack = Arrays.copyOf(lastIndexStack, newCapacity);
+                    parentSignificanceStack = Arrays.copyOf(parentSignificanceStack,
+                                                            newCapacity);
+                }
+
+                firstIndexStack[stackSize] = firstIndex;
+                lastIndexStack[stackSize] = farthestIndex;
+                parentSignificanceStack[stackSize] = significanceInMeters;
+                stackSize++;
+
+                firstIndexStack[stackSize] = farthestIndex;
+                lastIndexStack[stackSize] = lastIndex;
+                parentSignificanceStack[stackSize] = significanceInMeters;
+                stackSize++;
+            }
+
+
+            segmentStartIndex = segmentEndIndex;
+        }
+
+        return significancesInMeters;
+    }
+
+
+    /**
+     * Returns a new GPSTrack with the same pauses as the track given, and only the
+     * GPSLocations whose significance is more than the tolerance
+     *
+     * @param gpsTrack the track of interest
+     * @param significancesInMeters the significances calculated for the track
+     * @param toleranceInMeters the tolerance of the simplified track
+     *
+     * @see #calculateSignificancesInMeters(GPSTrack, double)
+     * */
+    static GPSTrack retainSignificantGPSLocations(GPSTrack gpsTrack,
+                                                  double[] significancesInMeters,
+                                                  double toleranceInMeters)
+    {
+        GPSTrack simplifiedGPSTrack = new GPSTrack();
+
+        int numberOfGPSLocations = gpsTrack.getNumberOfGPSLocations();
+        int nextPauseIndex = 0;
+
+        for (int index = 0; index < numberOfGPSLocations; index++)
+        {
+            while (nextPauseIndex < gpsTrack.getNumberOfPauses() &&
+                    gpsTrack.getSegmentStartIndex(nextPauseIndex) == index)
+            {
+                simplifiedGPSTrack.addPause();
+                nextPauseIndex++;
+            }
+
+            if (significancesInMeters[index] > toleranceInMeters)
+            {
+                simplifiedGPSTrack.addGPSLocation(gpsTrack.getLatitude(index),
+                                                  gpsTrack.getLongitude(index));
+            }
+        }
+
+        //the pauses after the last GPSLocation
+        for (; nextPauseIndex < gpsTrack.getNumberOfPauses(); nextPauseIndex++)
+        {
+            simplifiedGPSTrack.addPause();
+        }
+
+        return simplifiedGPSTrack;
+    }
+
+
+    /**
+     * Project the GPSLocations of the track into meters, using an equirectangular projection
+     * around the first GPSLocation of the track
+     * */
+    private static void projectGPSLocations(GPSTrack gpsTrack, double[] xInMeters,
+                                            double[] yInMeters)
+    {
+        double metersPerDegree = EARTH_RADIUS_IN_METERS * Math.PI / 180;
+
+        double referenceLatitude = gpsTrack.getLatitude(0);
+        double referenceLongitude = gpsTrack.getLongitude(0);
+
+        double metersPerDegreeOfLongitude = metersPerDegree *
+                                            Math.cos(referenceLatitude * Math.PI / 180);
+
+        for (int index = 0; index < xInMeters.length; index++)
+        {
+            xInMeters[index] = (gpsTrack.getLongitude(index) - referenceLongitude) *
+                               metersPerDegreeOfLongitude;
+            yInMeters[index] = (gpsTrack.getLatitude(index) - referenceLatitude) *
+                               metersPerDegree;
+        }
+    }
+
+
+    /**
+     * Calculate and return the distance between a point and the line segment between two
+     * other points, all in meters
+     *
+     * The distance to the line segment is used instead of the distance to the whole line,
+     * so that a track that doubles back on itself is not simplified into a straight line
+     * */
+    static double calculateDistanceToLineSegmentInMeters(double pointX, double pointY,
+                                                         double startX, double startY,
+                                                         double endX, double endY)
+    {
+        double segmentX = endX - startX;
+        double segmentY = endY - startY;
+
+        double segmentLengthSquared = segmentX * segmentX + segmentY * segmentY;
+
+        double projection = 0;
+
+        if (segmentLengthSquared > 0)
+        {
+            projection = ((pointX - startX) * segmentX + (pointY - startY) * segmentY) /
+                         segmentLengthSquared;
+
+            projection = Math.max(0, Math.min(1, projection));
+        }
+
+        double closestX = startX + projection * segmentX;
+        double closestY = startY + projection * segmentY;
+
+        return Math.hypot(pointX - closestX, pointY - closestY);
+    }
+}
@@ -0,0 +1,234 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+/**
+ * Calculates the distance between GPSLocations on a spherical Earth with a radius of
+ * EARTH_RADIUS_IN_KILOMETERS, in one of the accuracy modes of Mode
+ *
+ * The distance can either be calculated between two GPSLocations, or in a batch over
+ * consecutive GPSLocations stored in primitive coordinate arrays (such as in a GPSTrack).
+ * A batch calculation calculates the cosine of the latitude of each GPSLocation only once,
+ * instead of once for every segment it is part of, and gives the same distance as adding
+ * up the distance of each segment calculated separately, in the same mode
+ *
+ * A caller that calculates the distance one segment at a time, as the GPSLocations are
+ * added, can keep the cosine of the latitude of the previous GPSLocation in the same way, by
+ * giving the cosines calculated with calculateCosineOfLatitude(double)
+ * */
+public final class GeodesicDistance
+{
+    /**
+     * The accuracy modes in which the distance can be calculated
+     * */
+    public enum Mode
+    {
+        /**
+         * The exact distance on the sphere, calculated using the Haversine formula
+         * */
+        HAVERSINE,
+
+        /**
+         * The equirectangular approximation of the Haversine formula, for segments whose
+         * latitude and longitude differences are both at most
+         * MAXIMUM_EQUIRECTANGULAR_DIFFERENCE_IN_DEGREES. The relative error against
+         * HAVERSINE is then below MAXIMUM_EQUIRECTANGULAR_RELATIVE_ERROR
+         *
+         * Longer segments (and segments crossing the antimeridian) are calculated using
+         * the Haversine formula instead, so that the error bound holds for every segment
+         * */
+        EQUIRECTANGULAR
+    }
+
+
+    /**
+     * The mean radius of the Earth in kilometers
+     * */
+    public static final double EARTH_RADIUS_IN_KILOMETERS = 6371;
+
+    /**
+     * The largest difference in latitude or longitude, in degrees, between the two ends
+     * of a segment calculated using the equirectangular approximation. Around 11 kilometers
+     * of latitude, which is far longer than the distance between two successive GPSLocations
+     * of a workout session
+     * */
+    public static final double MAXIMUM_EQUIRECTANGULAR_DIFFERENCE_IN_DEGREES = 0.1;
+
+    /**
+     * The upper bound of the relative error of Mode.EQUIRECTANGULAR against Mode.HAVERSINE,
+     * i.e. less than a millimeter per kilometer
+     *
+     * The approximation replaces sin(x) with x in the Haversine formula, whose relative error
+     * is around x^2 / 12 for the largest difference x in radians, which is less than
+     * 3e-7 for MAXIMUM_EQUIRECTANGULAR_DIFFERENCE_IN_DEGREES
+     * */
+    public static final double MAXIMUM_EQUIRECTANGULAR_RELATIVE_ERROR = 1e-6;
+
+
+    /**
+     * This class only contains static methods, therefore it cannot be instantiated
+     * */
+    private GeodesicDistance()
+    {
+
+    }
+
+
+    /**
+     * Calculate and return the distance between two GPSLocations in kilometers
+     *
+     * @param firstPointLatitude the latitude of the first point of interest
+     * @param firstPointLongitude the longitude of the first point of interest
+     * @param secondPointLatitude the latitude of the second point of interest
+     * @param secondPointLongitude the longitude of the second point of interest
+     * @param mode the accuracy mode of the calculation
+     *
+     * @throws NullPointerException if the mode is null
+     * */
+    public static double calculateDistanceInKilometers(double firstPointLatitude,
+                                                       double firstPointLongitude,
+                                                       double secondPointLatitude,
+                                                       double secondPointLongitude,
+                                                       Mode mode)
+    {
+        if (mode == null)
+        {
+            throw new NullPointerException("Mode cannot be null");
+        }
+
+        return calculateDistanceInKilometers(firstPointLatitude, firstPointLongitude,
+                calculateCosineOfLatitude(firstPointLatitude),
+                secondPointLatitude, secondPointLongitude,
+                calculateCosineOfLatitude(secondPointLatitude), mode);
+    }
+
+
+    /**
+     * Calculate and return the total distance in kilometers between each pair of consecutive
+     * GPSLocations in the range [fromIndex, toIndex) of the coordinate arrays given
+     *
+     * @param latitudes the latitudes of the GPSLocations
+     * @param longitudes the longitudes of the GPSLocations
+     * @param fromIndex the index of the first GPSLocation of the range, inclusive
+     * @param toIndex the index of the last GPSLocation of the range, exclusive
+     * @param mode the accuracy mode of the calculation
+     *
+     * @throws NullPointerException if any of the arrays or the mode is null
+     * @throws IndexOutOfBoundsException if the range is outside either of the arrays
+     * */
+    public static double calculateTotalDistanceInKilometers(double[] latitudes,
+                                                            double[] longitudes,
+                                                            int fromIndex, int toIndex,
+                                                            Mode mode)
+    {
+        if (latitudes == null || longitudes == null || mode == null)
+        {
+            throw new NullPointerException("Coordinate arrays and mode cannot be null");
+        }
+
+        if (fromIndex < 0 || fromIndex > toIndex ||
+                toIndex > latitudes.length || toIndex > longitudes.length)
+        {
+            throw new IndexOutOfBoundsException("Range out of bounds: [" + fromIndex + ", " +
+                                                toIndex + ")");
+        }
+
+        if (toIndex - fromIndex < 2)
+        {
+            return 0;
+        }
+
+
+        double totalDistanceInKilometers = 0;
+
+        double previousCosineOfLatitude = calculateCosineOfLatitude(latitudes[fromIndex]);
+
+        for (int index = fromIndex + 1; index < toIndex; index++)
+        {
+            double cosineOfLatitude = calculateCosineOfLatitude(latitudes[index]);
+
+            totalDistanceInKilometers += calculateDistanceInKilometers(
+                    latitudes[index - 1], longitudes[index - 1], previousCosineOfLatitude,
+                    latitudes[index], longitudes[index], cosineOfLatitude, mode);
+
+            previousCosineOfLatitude = cosineOfLatitude;
+        }
+
+        return totalDistanceInKilometers;
+    }
+
+
+    /**
+     * Calculate and return the distance between two GPSLocations in kilometers, given the
+     * cosines of their latitudes
+     *
+     * @param firstPointLatitude the latitude of the first point of interest
+     * @param firstPointLongitude the longitude of the first point of interest
+     * @param firstPointCosineOfLatitude the cosine of the latitude of the first point, as
+     *                                   returned by calculateCosineOfLatitude(double)
+     * @param secondPointLatitude the latitude of the second point of interest
+     * @param secondPointLongitude the longitude of the second point of interest
+     * @param secondPointCosineOfLatitude the cosine of the latitude of the second point, as
+     *                                    returned by calculateCosineOfLatitude(double)
+     * @param mode the accuracy mode of the calculation
+     *
+     * @throws NullPointerException if the mode is null
+     *
+     * @see #calculateCosineOfLatitude(double)
+     * */
+    public static double calculateDistanceInKilometers(double firstPointLatitude,
+                                                       double firstPointLongitude,
+                                                       double firstPointCosineOfLatitude,
+                                                       double secondPointLatitude,
+                                                       double secondPointLongitude,
+                                                       double secondPointCosineOfLatitude,
+                                                       Mode mode)
+    {
+        if (mode == null)
+        {
+            throw new NullPointerException("Mode cannot be null");
+        }
+
+        double latitudeDifferenceInDegrees = secondPointLatitude - firstPointLatitude;
+        double longitudeDifferenceInDegrees = secondPointLongitude - firstPointLongitude;
+
+        double latitudeDifference = latitudeDifferenceInDegrees * Math.PI / 180;
+        double longitudeDifference = longitudeDifferenceInDegrees * Math.PI / 180;
+
+
+        if (mode == Mode.EQUIRECTANGULAR &&
+                Math.abs(latitudeDifferenceInDegrees) <=
+                                                MAXIMUM_EQUIRECTANGULAR_DIFFERENCE_IN_DEGREES &&
+                Math.abs(longitudeDifferenceInDegrees) <=
+                                                MAXIMUM_EQUIRECTANGULAR_DIFFERENCE_IN_DEGREES)
+        {
+            double angularDistance = Math.sqrt(latitudeDifference * latitudeDifference +
+                    firstPointCosineOfLatitude * secondPointCosineOfLatitude *
+                            longitudeDifference * longitudeDifference);
+
+            return EARTH_RADIUS_IN_KILOMETERS * angularDistance;
+        }
+
+
+        double sineOfHalfLatitudeDifference = Math.sin(latitudeDifference / 2);
+        double sineOfHalfLongitudeDifference = Math.sin(longitudeDifference / 2);
+
+        double chordLength = sineOfHalfLatitudeDifference * sineOfHalfLatitudeDifference +
+                firstPointCosineOfLatitude * secondPointCosineOfLatitude *
+                        sineOfHalfLongitudeDifference * sineOfHalfLongitudeDifference;
+
+
+        double angularDistance = 2 * Math.atan2(Math.sqrt(chordLength),
+                                                Math.sqrt(1 - chordLength));
+
+
+        return EARTH_RADIUS_IN_KILOMETERS * angularDistance;
+    }
+
+
+    /**
+     * Calculate and return the cosine of the latitude given in degrees
+     * */
+    public static double calculateCosineOfLatitude(double latitude)
+    {
+        return Math.cos(latitude * Math.PI / 180);
+    }
+}
@@ -0,0 +1,118 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
+
+import java.util.Objects;
+
+/**
+ * This class is used for storing a split of a workout session. Its values cannot be changed
+ * once it is created
+ *
+ * @see SplitsEngine
+ * */
+public class Split implements ISplit
+{
+    private final SplitType splitType;
+    private final double distanceTravelledInKilometers;
+    private final double elapsedDurationInSeconds;
+
+
+    /**
+     * Initializes a Split with the values provided in the argument
+     *
+     * @param splitTypeValue the type of the split
+     * @param distanceTravelledInKilometersValue the distance travelled from the start of the
+     *                                           workout session up to the split
+     * @param elapsedDurationInSecondsValue the duration elapsed from the start of the
+     *                                      workout session up to the split
+     *
+     * @throws NullPointerException if splitTypeValue is null
+     * @throws IllegalArgumentException if either distanceTravelledInKilometersValue or
+     * elapsedDurationInSecondsValue is negative or not a number
+     * */
+    public Split(SplitType splitTypeValue, double distanceTravelledInKilometersValue,
+                 double elapsedDurationInSecondsValue)
+    {
+        if (splitTypeValue == null)
+        {
+            throw new NullPointerException("Split type cannot be null");
+        }
+
+        if (!(distanceTravelledInKilometersValue >= 0))
+        {
+            throw new IllegalArgumentException("Distance travelled must be a non-negative " +
+                                               "number");
+        }
+
+        if (!(elapsedDurationInSecondsValue >= 0))
+        {
+            throw new IllegalArgumentException("Elapsed duration must be a non-negative " +
+                                               "number");
+        }
+
+        this.splitType = splitTypeValue;
+        this.distanceTravelledInKilometers = distanceTravelledInKilometersValue;
+        this.elapsedDurationInSeconds = elapsedDurationInSecondsValue;
+    }
+
+
+    /**
+     * Returns the type of the split
+     * */
+    @Override
+    public SplitType getSplitType()
+    {
+        return this.splitType;
+    }
+
+
+    /**
+     * Returns the distance travelled from the start of the workout session up to the split,
+     * in kilometers
+     * */
+    @Override
+    public double getDistanceTravelledInKilometers()
+    {
+        return this.distanceTravelledInKilometers;
+    }
+
+
+    /**
+     * Returns the duration elapsed from the start of the workout session up to the split,
+     * in seconds
+     * */
+    @Override
+    public double getElapsedDurationInSeconds()
+    {
+        return this.elapsedDurationInSeconds;
+    }
+
+
+    @Override
+    public boolean equals(Object otherObject)
+    {
+        if (otherObject == this)
+        {
+            return true;
+        }
+
+        if (!(otherObject instanceof Split))
+        {
+            return false;
+        }
+
+        Split otherSplit = (Split) otherObject;
+
+        return this.splitType == otherSplit.splitType &&
+                this.distanceTravelledInKilometers == otherSplit.distanceTravelledInKilometers &&
+                this.elapsedDurationInSeconds == otherSplit.elapsedDurationInSeconds;
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(this.splitType, this.distanceTravelledInKilometers,
+                            this.elapsedDurationInSeconds);
+    }
+}
@@ -0,0 +1,341 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Calculates the splits of a workout session incrementally, from the running total of the
+ * distance travelled and the elapsed duration given as each GPSLocation is added
+ *
+ * A distance split is emitted every time the distance travelled crosses a whole kilometer
+ * (or mile). As GPSLocations are only received every few seconds, the elapsed duration at
+ * the split is interpolated linearly between the two updates on either side of it. Laps are
+ * marked manually, at the distance travelled of the last update
+ *
+ * Each update only compares the distance travelled with the next whole kilometer (or mile),
+ * so the splits never need to be recalculated from the GPSLocations
+ *
+ * @see ISplit
+ * */
+public class SplitsEngine
+{
+    public static final double KILOMETERS_PER_MILE = 1.609344;
+
+    private final ISplit.SplitType distanceSplitType;
+    private final double splitDistanceInKilometers;
+
+    private final ArrayList<ISplit> listOfSplits = new ArrayList<>();
+
+    private int numberOfDistanceSplits = 0;
+
+    private double lastDistanceTravelledInKilometers = 0;
+    private double lastElapsedDurationInSeconds = 0;
+
+
+    /**
+     * Initializes a SplitsEngine without any splits
+     *
+     * @param distanceSplitType the type of the distance splits emitted, which is either
+     *                          ISplit.SplitType.KILOMETER or ISplit.SplitType.MILE
+     *
+     * @throws NullPointerException if distanceSplitType is null
+     * @throws IllegalArgumentException if distanceSplitType is ISplit.SplitType.LAP
+     * */
+    public SplitsEngine(ISplit.SplitType distanceSplitType)
+    {
+        if (distanceSplitType == null)
+        {
+            throw new NullPointerException("Distance split type cannot be null");
+        }
+
+        if (distanceSplitType == ISplit.SplitType.LAP)
+        {
+            throw new IllegalArgumentException("Laps cannot be emitted by distance");
+        }
+
+        this.distanceSplitType = distanceSplitType;
+        this.splitDistanceInKilometers = distanceSplitType == ISplit.SplitType.MILE ?
+                                                            KILOMETERS_PER_MILE : 1;
+    }
+
+
+    /**
+     * Returns the type of the distance splits emitted
+     * */
+    public ISplit.SplitType getDistanceSplitType()
+    {
+        return this.distanceSplitType;
+    }
+
+
+    /**
+     * Update the engine with the running total of the distance travelled, and emit a split
+     * for every whole kilometer (or mile) crossed since the previous update
+     *
+     * An elapsed duration earlier than that of the previous update (e.g. because the duration
+     * of the workout session was set again) is treated as the duration of the previous
+     * update, so that the elapsed durations of the splits never go backwards
+     *
+     * @param distanceTravelledInKilometers the distance travelled from the start of the
+     *                                      workout session
+     * @param elapsedDurationInSeconds the duration elapsed from the start of the workout
+     *                                 session
+     *
+     * @throws IllegalArgumentException if distanceTravelledInKilometers is less than that of
+     * the previous update or not a number, or if elapsedDurationInSeconds is not a number
+     * */
+    public void update(double distanceTravelledInKilometers, double elapsedDurationInSeconds)
+    {
+        if (!(distanceTravelledInKilometers >= this.lastDistanceTravelledInKilometers))
+        {
+            throw new IllegalArgumentException("Distance travelled cannot decrease");
+        }
+
+        if (Double.isNaN(elapsedDurationInSeconds))
+        {
+            throw new IllegalArgumentException("Elapsed duration must be a number");
+        }
+
+        elapsedDurationInSeconds = Math.max(elapsedDurationInSeconds,
+                                            this.lastElapsedDurationInSeconds);
+
+
+        double nextSplitDistanceInKilometers = getNextSplitDistanceInKilometers();
+
+        while (nextSplitDistanceInKilometers <= distanceTravelledInKilometers)
+        {
+            //the distance of the next split is always beyond that of the previous update,
+            //so the distance between the two updates is never 0 here
+            double fractionOfUpdate =
+                    (nextSplitDistanceInKilometers - this.lastDistanceTravelledInKilometers) /
+                    (distanceTravelledInKilometers - this.lastDistanceTravelledInKilometers);
+
+            double splitElapsedDurationInSeconds = this.lastElapsedDurationInSeconds +
+                    fractionOfUpdate *
+                    (elapsedDurationInSeconds - this.lastElapsedDurationInSeconds);
+
+            this.listOfSplits.add(new Split(this.distanceSplitType,
+                                            nextSplitDistanceInKilometers,
+                                            splitElapsedDurationInSeconds));
+
+            this.numberOfDistanceSplits++;
+
+            nextSplitDistanceInKilometers = getNextSplitDistanceInKilometers();
+        }
+
+        this.lastDistanceTravelledInKilometers = distanceTravelledInKilometers;
+        this.lastElapsedDurationInSeconds = elapsedDurationInSeconds;
+    }
+
+
+    /**
+     * Mark a lap at the distance travelled of the last update, and return it
+     *
+     * @param elapsedDurationInSeconds the duration elapsed from the start of the workout
+     *                                 session. A duration earlier than that of the last
+     *                                 update is treated as the duration of the last update
+     *
+     * @throws IllegalArgumentException if elapsedDurationInSeconds is not a number
+     * */
+    public ISplit markLap(double elapsedDurationInSeconds)
+    {
+        if (Double.isNaN(elapsedDurationInSeconds))
+        {
+            throw new IllegalArgumentException("Elapsed duration must be a number");
+        }
+
+        this.lastElapsedDurationInSeconds = Math.max(elapsedDurationInSeconds,
+                                                     this.lastElapsedDurationInSeconds);
+
+        ISplit lap = new Split(ISplit.SplitType.LAP, this.lastDistanceTravelledInKilometers,
+                               this.lastElapsedDurationInSeconds);
+
+        this.listOfSplits.add(lap);
+
+        return lap;
+    }
+
+
+    /**
+     * Returns an unmodifiable list of the splits emitted and the laps marked, in the order
+     * that they occurred
+     * */
+    public List<ISplit> getListOfSplits()
+    {
+        return Collections.unmodifiableList(this.listOfSplits);
+    }
+
+
+    /**
+     * Returns the distance travelled given by the last update, in kilometers
+     * */
+    public double getLastDistanceTravelledInKilometers()
+    {
+        return this.lastDistanceTravelledInKilometers;
+    }
+
+
+    /**
+     * Returns the elapsed duration given by the last update or lap, in seconds
+     * */
+    public double getLastElapsedDurationInSeconds()
+    {
+        return this.lastElapsedDurationInSeconds;
+    }
+
+
+    /**
+     * Replace the splits of the engine with splits that have already been calculated, such
+     * as splits stored in a database, and continue from the last update given
+     *
+     * @param listOfSplits the splits, in the order that they occurred. The splits whose type
+     *                     is neither the distance split type of the engine nor
+     *                     ISplit.SplitType.LAP are ignored
+     * @param lastDistanceTravelledInKilometers the distance travelled of the last update
+     * @param lastElapsedDurationInSeconds the elapsed duration of the last update
+     *
+     * @throws NullPointerException if listOfSplits or any of its splits is null
+     * @throws IllegalArgumentException if lastDistanceTravelledInKilometers or
+     * lastElapsedDurationInSeconds is negative or not a number
+     * */
+    public void restore(List<ISplit> listOfSplits, double lastDistanceTravelledInKilometers,
+                        double lastElapsedDurationInSeconds)
+    {
+        if (listOfSplits == null)
+        {
+            throw new NullPointerException("List of splits cannot be null");
+        }
+
+        if (!(lastDistanceTravelledInKilometers >= 0) || !(lastElapsedDurationInSeconds >= 0))
+        {
+            throw new IllegalArgumentException("Distance travelled and elapsed duration " +
+                                               "must be non-negative numbers");
+        }
+
+        clear();
+
+        for (ISplit split : listOfSplits)
+        {
+            if (split.getSplitType() == this.distanceSplitType)
+            {
+                this.numberOfDistanceSplits++;
+            }
+            else if (split.getSplitType() != ISplit.SplitType.LAP)
+            {
+                continue;
+            }
+
+            this.listOfSplits.add(split);
+        }
+
+        this.lastDistanceTravelledInKilometers = lastDistanceTravelledInKilometers;
+        this.lastElapsedDurationInSeconds = lastElapsedDurationInSeconds;
+    }
+
+
+    /**
+     * Remove all the splits, and start again from no distance travelled and no elapsed
+     * duration
+     * */
+    public void clear()
+    {
+        this.listOfSplits.clear();
+        this.numberOfDistanceSplits = 0;
+        this.lastDistanceTravelledInKilometers = 0;
+        this.lastElapsedDurationInSeconds = 0;
+    }
+
+
+    /**
+     * Returns the duration of every split of the list, i.e. its elapsed duration minus that
+     * of the previous split of the same kind (distance splits or laps), or minus 0 for the
+     * first split of its kind
+     *
+     * @param listOfSplits the splits, in the order that they occurred
+     *
+     * @throws NullPointerException if listOfSplits or any of its splits is null
+     * */
+    public static double[] calculateDurationsOfSplitsInSeconds(List<ISplit> listOfSplits)
+    {
+        double[] durationsInSeconds = new double[listOfSplits.size()];
+
+        double previousDistanceSplitElapsedDurationInSeconds = 0;
+        double previousLapElapsedDurationInSeconds = 0;
+
+        for (int index = 0; index < durationsInSeconds.length; index++)
+        {
+            ISplit split = listOfSplits.get(index);
+
+            if (split.getSplitType() == ISplit.SplitType.LAP)
+            {
+                durationsInSeconds[index] = split.getElapsedDurationInSeconds() -
+                                            previousLapElapsedDurationInSeconds;
+
+                previousLapElapsedDurationInSeconds = split.getElapsedDurationInSeconds();
+            }
+            else
+            {
+                durationsInSeconds[index] = split.getElapsedDurationInSeconds() -
+                                            previousDistanceSplitElapsedDurationInSeconds;
+
+                previousDistanceSplitElapsedDurationInSeconds =
+                                                        split.getElapsedDurationInSeconds();
+            }
+        }
+
+        return durationsInSeconds;
+    }
+
+
+    /**
+     * Returns the distance of every split of the list, i.e. its distance travelled minus that
+     * of the previous split of the same kind (distance splits or laps), or minus 0 for the
+     * first split of its kind
+     *
+     * @param listOfSplits the splits, in the order that they occurred
+     *
+     * @throws NullPointerException if listOfSplits or any of its splits is null
+     * */
+    public static double[] calculateDistancesOfSplitsInKilometers(List<ISplit> listOfSplits)
+    {
+        double[] distancesInKilometers = new double[listOfSplits.size()];
+
+        double previousDistanceSplitDistanceInKilometers = 0;
+        double previousLapDistanceInKilometers = 0;
+
+        for (int index = 0; index < distancesInKilometers.length; index++)
+        {
+            ISplit split = listOfSplits.get(index);
+
+            if (split.getSplitType() == ISplit.SplitType.LAP)
+            {
+                distancesInKilometers[index] = split.getDistanceTravelledInKilometers() -
+                                               previousLapDistanceInKilometers;
+
+                previousLapDistanceInKilometers = split.getDistanceTravelledInKilometers();
+            }
+            else
+            {
+                distancesInKilometers[index] = split.getDistanceTravelledInKilometers() -
+                                               previousDistanceSplitDistanceInKilometers;
+
+                previousDistanceSplitDistanceInKilometers =
+                                                    split.getDistanceTravelledInKilometers();
+            }
+        }
+
+        return distancesInKilometers;
+    }
+
+
+    /**
+     * Returns the distance travelled at which the next distance split is emitted
+     * */
+    private double getNextSplitDistanceInKilometers()
+    {
+        return (this.numberOfDistanceSplits + 1) * this.splitDistanceInKilometers;
+    }
+}
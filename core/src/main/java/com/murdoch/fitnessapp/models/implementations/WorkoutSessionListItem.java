@@ -0,0 +1,178 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * This class represents a workout session record as it is displayed in a list of workout
+ * session records, without its GPSLocations and images
+ *
+ * */
+public class WorkoutSessionListItem implements IWorkoutSessionListItem
+{
+    private final long workoutSessionId;
+    private final IWorkoutSession.ActivityType activityType;
+    private final LocalDateTime startDateTime;
+    private final int durationInSeconds;
+    private final int numberOfStepsTaken;
+    private final double caloriesConsumed;
+    private final double distanceTravelledInKilometers;
+    private final int numberOfGPSLocations;
+    private final int numberOfImagesTaken;
+
+
+    /**
+     * Initializes an instance of WorkoutSessionListItem
+     *
+     * @param workoutSessionId the workout session Id
+     * @param activityType the activity type of the workout session
+     * @param startDateTime the start date time of the workout session
+     * @param durationInSeconds the duration of the workout session in seconds
+     * @param numberOfStepsTaken the number of steps taken in the workout session
+     * @param caloriesConsumed the number of calories consumed in the workout session
+     * @param distanceTravelledInKilometers the distance travelled in the workout session,
+     *                                      in kilometers
+     * @param numberOfGPSLocations the number of non-null GPSLocations of the workout session
+     * @param numberOfImagesTaken the number of images taken during the workout session
+     *
+     * @throws NullPointerException if either of the arguments activityType or startDateTime
+     * are null
+     * @throws IllegalArgumentException if any of the numeric arguments is a negative number
+     * */
+    public WorkoutSessionListItem(long workoutSessionId,
+                                  IWorkoutSession.ActivityType activityType,
+                                  LocalDateTime startDateTime,
+                                  int durationInSeconds,
+                                  int numberOfStepsTaken,
+                                  double caloriesConsumed,
+                                  double distanceTravelledInKilometers,
+                                  int numberOfGPSLocations,
+                                  int numberOfImagesTaken)
+    {
+        if (activityType == null || startDateTime == null)
+        {
+            throw new NullPointerException("Activity type or start date time cannot be null");
+        }
+
+        if (workoutSessionId < 0 || durationInSeconds < 0 || numberOfStepsTaken < 0 ||
+                caloriesConsumed < 0 || distanceTravelledInKilometers < 0 ||
+                numberOfGPSLocations < 0 || numberOfImagesTaken < 0)
+        {
+            throw new IllegalArgumentException("Workout session list item values cannot " +
+                                               "be negative");
+        }
+
+        this.workoutSessionId = workoutSessionId;
+        this.activityType = activityType;
+        this.startDateTime = startDateTime;
+        this.durationInSeconds = durationInSeconds;
+        this.numberOfStepsTaken = numberOfStepsTaken;
+        this.caloriesConsumed = caloriesConsumed;
+        this.distanceTravelledInKilometers = distanceTravelledInKilometers;
+        this.numberOfGPSLocations = numberOfGPSLocations;
+        this.numberOfImagesTaken = numberOfImagesTaken;
+    }
+
+
+    /**
+     * Returns the workout session Id
+     *
+     * */
+    @Override
+    public long getWorkoutSessionId()
+    {
+        return this.workoutSessionId;
+    }
+
+
+    /**
+     * Returns the activity type of the workout session
+     *
+     * */
+    @Override
+    public IWorkoutSession.ActivityType getActivityType()
+    {
+        return this.activityType;
+    }
+
+
+    /**
+     * Returns the start date time of the workout session
+     *
+     * */
+    @Override
+    public LocalDateTime getStartDateTime()
+    {
+        return this.startDateTime;
+    }
+
+
+    /**
+     * Returns the duration of the workout session in seconds
+     *
+     * */
+    @Override
+    public int getDurationInSeconds()
+    {
+        return this.durationInSeconds;
+    }
+
+
+    /**
+     * Returns the number of steps taken in the workout session
+     *
+     * */
+    @Override
+    public int getNumberOfStepsTaken()
+    {
+        return this.numberOfStepsTaken;
+    }
+
+
+    /**
+     * Returns the number of calories consumed in the workout session
+     *
+     * */
+    @Override
+    public double getCaloriesConsumed()
+    {
+        return this.caloriesConsumed;
+    }
+
+
+    /**
+     * Returns the distance travelled in the workout session, in kilometers
+     *
+     * */
+    @Override
+    public double getDistanceTravelledInKilometers()
+    {
+        return this.distanceTravelledInKilometers;
+    }
+
+
+    /**
+     * Returns the number of non-null GPSLocations of the workout session, i.e. excluding
+     * the null elements that represent a pause
+     *
+     * */
+    @Override
+    public int getNumberOfGPSLocations()
+    {
+        return this.numberOfGPSLocations;
+    }
+
+
+    /**
+     * Returns the number of images taken during the workout session
+     *
+     * */
+    @Override
+    public int getNumberOfImagesTaken()
+    {
+        return this.numberOfImagesTaken;
+    }
+}
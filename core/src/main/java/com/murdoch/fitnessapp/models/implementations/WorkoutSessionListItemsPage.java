@@ -0,0 +1,90 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItemsPage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * This class represents a single page of workout session list items, along with a
+ * continuation token that is used to query the next page
+ *
+ * */
+public class WorkoutSessionListItemsPage implements IWorkoutSessionListItemsPage
+{
+    private final List<IWorkoutSessionListItem> listOfWorkoutSessionListItems;
+    private final boolean hasNextPage;
+    private final long nextPageBeforeSessionIdExclusive;
+
+
+    /**
+     * Initializes an instance of WorkoutSessionListItemsPage
+     *
+     * @param listOfWorkoutSessionListItems the workout session list items within this page,
+     *                                      in descending order according to their workout
+     *                                      session ids
+     * @param hasNextPage whether there are more workout session records after this page
+     * @param nextPageBeforeSessionIdExclusive the continuation token of the next page
+     *
+     * @throws NullPointerException if the argument listOfWorkoutSessionListItems is null
+     * @throws IllegalArgumentException if the argument nextPageBeforeSessionIdExclusive is
+     * a negative number
+     * */
+    public WorkoutSessionListItemsPage(List<IWorkoutSessionListItem> listOfWorkoutSessionListItems,
+                                       boolean hasNextPage, long nextPageBeforeSessionIdExclusive)
+    {
+        if (listOfWorkoutSessionListItems == null)
+        {
+            throw new NullPointerException("List of workout session list items cannot be null");
+        }
+
+        if (nextPageBeforeSessionIdExclusive < 0)
+        {
+            throw new IllegalArgumentException("Next page session id cannot be negative");
+        }
+
+        this.listOfWorkoutSessionListItems = new ArrayList<>(listOfWorkoutSessionListItems);
+        this.hasNextPage = hasNextPage;
+        this.nextPageBeforeSessionIdExclusive = nextPageBeforeSessionIdExclusive;
+    }
+
+
+    /**
+     * Returns an unmodifiable list of the workout session list items within this page, in
+     * descending order according to their workout session ids
+     * */
+    @Override
+    public List<IWorkoutSessionListItem> getListOfWorkoutSessionListItems()
+    {
+        return Collections.unmodifiableList(this.listOfWorkoutSessionListItems);
+    }
+
+
+    /**
+     * Returns true if there are more workout session records after this page, and false
+     * if this is the last page
+     * */
+    @Override
+    public boolean hasNextPage()
+    {
+        return this.hasNextPage;
+    }
+
+
+    /**
+     * Returns the continuation token of the next page, which is the workout session id
+     * (exclusive) that the next page of workout session list items comes before
+     *
+     * Note: Only meaningful if hasNextPage() returns true
+     *
+     * @see #hasNextPage()
+     * */
+    @Override
+    public long getNextPageBeforeSessionIdExclusive()
+    {
+        return this.nextPageBeforeSessionIdExclusive;
+    }
+}
@@ -0,0 +1,90 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.IStoredWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionRecordsPage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * This class represents a single page of workout session records, along with a
+ * continuation token that is used to query the next page
+ *
+ * */
+public class WorkoutSessionRecordsPage implements IWorkoutSessionRecordsPage
+{
+    private final List<IStoredWorkoutSession> listOfStoredWorkoutSessions;
+    private final boolean hasNextPage;
+    private final long nextPageBeforeSessionIdExclusive;
+
+
+    /**
+     * Initializes an instance of WorkoutSessionRecordsPage
+     *
+     * @param listOfStoredWorkoutSessions the workout session records within this page, in
+     *                                    descending order according to their workout
+     *                                    session ids
+     * @param hasNextPage whether there are more workout session records after this page
+     * @param nextPageBeforeSessionIdExclusive the continuation token of the next page
+     *
+     * @throws NullPointerException if the argument listOfStoredWorkoutSessions is null
+     * @throws IllegalArgumentException if the argument nextPageBeforeSessionIdExclusive is
+     * a negative number
+     * */
+    public WorkoutSessionRecordsPage(List<IStoredWorkoutSession> listOfStoredWorkoutSessions,
+                                     boolean hasNextPage, long nextPageBeforeSessionIdExclusive)
+    {
+        if (listOfStoredWorkoutSessions == null)
+        {
+            throw new NullPointerException("List of stored workout sessions cannot be null");
+        }
+
+        if (nextPageBeforeSessionIdExclusive < 0)
+        {
+            throw new IllegalArgumentException("Next page session id cannot be negative");
+        }
+
+        this.listOfStoredWorkoutSessions = new ArrayList<>(listOfStoredWorkoutSessions);
+        this.hasNextPage = hasNextPage;
+        this.nextPageBeforeSessionIdExclusive = nextPageBeforeSessionIdExclusive;
+    }
+
+
+    /**
+     * Returns an unmodifiable list of the workout session records within this page, in
+     * descending order according to their workout session ids
+     * */
+    @Override
+    public List<IStoredWorkoutSession> getListOfStoredWorkoutSessions()
+    {
+        return Collections.unmodifiableList(this.listOfStoredWorkoutSessions);
+    }
+
+
+    /**
+     * Returns true if there are more workout session records after this page, and false
+     * if this is the last page
+     * */
+    @Override
+    public boolean hasNextPage()
+    {
+        return this.hasNextPage;
+    }
+
+
+    /**
+     * Returns the continuation token of the next page, which is the workout session id
+     * (exclusive) that the next page of workout session records comes before
+     *
+     * Note: Only meaningful if hasNextPage() returns true
+     *
+     * @see #hasNextPage()
+     * */
+    @Override
+    public long getNextPageBeforeSessionIdExclusive()
+    {
+        return this.nextPageBeforeSessionIdExclusive;
+    }
+}
@@ -0,0 +1,215 @@
+package com.murdoch.fitnessapp.models.implementations;
+
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * This class is used for storing the values of a workout session at one point in time, so
+ * that they can be read from other threads while the workout session is still being
+ * changed. Its values cannot be changed once it is created
+ *
+ * The GPSLocations are not copied into the snapshot. Instead, it keeps a snapshot of the
+ * GPSTrack, which shares the arrays of the GPSTrack of the workout session up to the number
+ * of GPSLocations and pauses at the time (the watermark), so creating a snapshot takes
+ * constant time however long the workout session is
+ *
+ * Note: As all of its fields are final, a snapshot can be safely read from any thread once
+ * it has been created, e.g. by a UI or export thread
+ *
+ * @see GPSTrack#createSnapshot()
+ * */
+public class WorkoutSessionSnapshot
+{
+    private final long version;
+    private final IWorkoutSession.ActivityType activityType;
+    private final LocalDateTime startDateTime;
+    private final int durationInSeconds;
+    private final int numberOfStepsTaken;
+    private final double caloriesConsumed;
+    private final double distanceTravelledInKilometers;
+    private final GPSTrack gpsTrack;
+    private final List<ISplit> listOfSplits;
+    private final List<String> listOfImagesTaken;
+
+
+    /**
+     * Initializes a WorkoutSessionSnapshot with the values provided in the argument
+     *
+     * Note: The GPSTrack and the lists are kept without being copied, so the GPSTrack is
+     * expected to be a snapshot itself, and the lists are expected to be unmodifiable and to
+     * never be changed afterwards
+     *
+     * @param versionValue the number of snapshots of the workout session created before this
+     *                     one
+     * @param activityTypeValue the activity type of the workout session
+     * @param startDateTimeValue the start date time of the workout session. Can be null
+     * @param durationInSecondsValue the duration of the workout session in seconds
+     * @param numberOfStepsTakenValue the number of steps taken during the workout session
+     * @param caloriesConsumedValue the calories consumed during the workout session
+     * @param distanceTravelledInKilometersValue the distance travelled in kilometers
+     * @param gpsTrackValue a snapshot of the GPSTrack of the workout session
+     * @param listOfSplitsValue the splits of the workout session
+     * @param listOfImagesTakenValue the image paths of the images taken
+     *
+     * @throws NullPointerException if any argument other than startDateTimeValue is null
+     * @throws IllegalArgumentException if any of the numeric arguments is negative
+     *
+     * @see GPSTrack#createSnapshot()
+     * */
+    public WorkoutSessionSnapshot(long versionValue,
+                                  IWorkoutSession.ActivityType activityTypeValue,
+                                  LocalDateTime startDateTimeValue, int durationInSecondsValue,
+                                  int numberOfStepsTakenValue, double caloriesConsumedValue,
+                                  double distanceTravelledInKilometersValue,
+                                  GPSTrack gpsTrackValue, List<ISplit> listOfSplitsValue,
+                                  List<String> listOfImagesTakenValue)
+    {
+        if (activityTypeValue == null || gpsTrackValue == null || listOfSplitsValue == null ||
+                listOfImagesTakenValue == null)
+        {
+            throw new NullPointerException("Activity type, GPS track, list of splits and " +
+                                           "list of images taken cannot be null");
+        }
+
+        if (versionValue < 0 || durationInSecondsValue < 0 || numberOfStepsTakenValue < 0 ||
+                caloriesConsumedValue < 0 || distanceTravelledInKilometersValue < 0)
+        {
+            throw new IllegalArgumentException("Version, duration, number of steps, calories " +
+                                               "and distance cannot be negative");
+        }
+
+        this.version = versionValue;
+        this.activityType = activityTypeValue;
+        this.startDateTime = startDateTimeValue;
+        this.durationInSeconds = durationInSecondsValue;
+        this.numberOfStepsTaken = numberOfStepsTakenValue;
+        this.caloriesConsumed = caloriesConsumedValue;
+        this.distanceTravelledInKilometers = distanceTravelledInKilometersValue;
+        this.gpsTrack = gpsTrackValue;
+        this.listOfSplits = listOfSplitsValue;
+        this.listOfImagesTaken = listOfImagesTakenValue;
+    }
+
+
+    /**
+     * Returns the number of snapshots of the workout session created before this one, which
+     * can be used to tell whether a snapshot is newer than another
+     * */
+    public long getVersion()
+    {
+        return this.version;
+    }
+
+
+    /**
+     * Returns the activity type of the workout session
+     * */
+    public IWorkoutSession.ActivityType getActivityType()
+    {
+        return this.activityType;
+    }
+
+
+    /**
+     * Returns the start date time of the workout session, or null if it has not been set
+     * */
+    public LocalDateTime getStartDateTime()
+    {
+        return this.startDateTime;
+    }
+
+
+    /**
+     * Returns the duration of the workout session in seconds
+     * */
+    public int getDurationInSeconds()
+    {
+        return this.durationInSeconds;
+    }
+
+
+    /**
+     * Returns the number of steps taken during the workout session
+     * */
+    public int getNumberOfStepsTaken()
+    {
+        return this.numberOfStepsTaken;
+    }
+
+
+    /**
+     * Returns the number of calories consumed
+     * */
+    public double getCaloriesConsumed()
+    {
+        return this.caloriesConsumed;
+    }
+
+
+    /**
+     * Returns the distance travelled in kilometers
+     * */
+    public double getDistanceTravelledInKilometers()
+    {
+        return this.distanceTravelledInKilometers;
+    }
+
+
+    /**
+     * Returns the number of GPSLocations added to the workout session when the snapshot was
+     * created, excluding the pauses
+     * */
+    public int getNumberOfGPSLocations()
+    {
+        return this.gpsTrack.getNumberOfGPSLocations();
+    }
+
+
+    /**
+     * Returns the number of pauses added to the workout session when the snapshot was
+     * created
+     * */
+    public int getNumberOfPauses()
+    {
+        return this.gpsTrack.getNumberOfPauses();
+    }
+
+
+    /**
+     * Returns the GPSLocations and pauses added to the workout session when the snapshot was
+     * created
+     *
+     * Note: A new snapshot of the GPSTrack is returned on every call, in constant time, so
+     * that adding to the GPSTrack returned does not change this snapshot
+     *
+     * @see GPSTrack#createSnapshot()
+     * */
+    public GPSTrack getGPSTrack()
+    {
+        return this.gpsTrack.createSnapshot();
+    }
+
+
+    /**
+     * Returns an unmodifiable list of the splits of the workout session when the snapshot
+     * was created
+     * */
+    public List<ISplit> getListOfSplits()
+    {
+        return this.listOfSplits;
+    }
+
+
+    /**
+     * Returns an unmodifiable list of the image paths of the images taken when the snapshot
+     * was created
+     * */
+    public List<String> getListOfImagesTaken()
+    {
+        return this.listOfImagesTaken;
+    }
+}
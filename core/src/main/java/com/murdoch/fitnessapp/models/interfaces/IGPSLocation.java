@@ -0,0 +1,148 @@
+package com.murdoch.fitnessapp.models.interfaces;
+
+/**
+ * An interface for classes that store geo-location data
+ *
+ * Besides the latitude and longitude, a location may have the timestamp, accuracy, altitude
+ * and speed that it was sampled with, each of which is optional
+ *
+ * */
+public interface IGPSLocation
+{
+    /**
+     * Sets the value of the latitude
+     *
+     * @param latitudeValue the value of latitude to be set
+     *
+     * @throws IllegalArgumentException if latitudeValue is
+     * outside valid range
+     * */
+    void setLatitude(double latitudeValue );
+
+
+    /**
+     * Returns the latitude of the IGPSLocation
+     * */
+    double getLatitude();
+
+
+    /**
+     * Sets the value of the longitude
+     *
+     * @param longitudeValue the value of longitude to be set
+     *
+     * @throws IllegalArgumentException if longitudeValue is
+     * outside valid range
+     * */
+    void setLongitude(double longitudeValue);
+
+
+    /**
+     * Returns the latitude of the IGPSLocation
+     * */
+    double getLongitude();
+
+
+    /**
+     * Sets the time at which the location was sampled
+     *
+     * @param timestampInMilliseconds the time in milliseconds since the epoch
+     *                                (1970-01-01T00:00:00Z)
+     *
+     * @throws IllegalArgumentException if timestampInMilliseconds is a negative number
+     * */
+    void setTimestampInMilliseconds(long timestampInMilliseconds);
+
+
+    /**
+     * Returns the time at which the location was sampled, in milliseconds since the epoch,
+     * or a negative number if the IGPSLocation has no timestamp
+     *
+     * @see #hasTimestamp()
+     * */
+    long getTimestampInMilliseconds();
+
+
+    /**
+     * Returns true if the IGPSLocation has a timestamp, and false if otherwise
+     * */
+    boolean hasTimestamp();
+
+
+    /**
+     * Sets the estimated horizontal accuracy of the location, i.e. the radius in which the
+     * actual location is likely to be
+     *
+     * @param accuracyInMeters the accuracy in meters
+     *
+     * @throws IllegalArgumentException if accuracyInMeters is a negative number or is not
+     * finite
+     * */
+    void setAccuracyInMeters(double accuracyInMeters);
+
+
+    /**
+     * Returns the estimated horizontal accuracy of the location in meters, or NaN if the
+     * IGPSLocation has no accuracy
+     *
+     * @see #hasAccuracy()
+     * */
+    double getAccuracyInMeters();
+
+
+    /**
+     * Returns true if the IGPSLocation has an accuracy, and false if otherwise
+     * */
+    boolean hasAccuracy();
+
+
+    /**
+     * Sets the altitude of the location
+     *
+     * @param altitudeInMeters the altitude in meters above the WGS 84 reference ellipsoid
+     *
+     * @throws IllegalArgumentException if altitudeInMeters is not finite
+     * */
+    void setAltitudeInMeters(double altitudeInMeters);
+
+
+    /**
+     * Returns the altitude of the location in meters, or NaN if the IGPSLocation has no
+     * altitude
+     *
+     * @see #hasAltitude()
+     * */
+    double getAltitudeInMeters();
+
+
+    /**
+     * Returns true if the IGPSLocation has an altitude, and false if otherwise
+     * */
+    boolean hasAltitude();
+
+
+    /**
+     * Sets the speed over ground at the location
+     *
+     * @param speedInMetersPerSecond the speed in meters per second
+     *
+     * @throws IllegalArgumentException if speedInMetersPerSecond is a negative number or is
+     * not finite
+     * */
+    void setSpeedInMetersPerSecond(double speedInMetersPerSecond);
+
+
+    /**
+     * Returns the speed over ground at the location in meters per second, or NaN if the
+     * IGPSLocation has no speed
+     *
+     * @see #hasSpeed()
+     * */
+    double getSpeedInMetersPerSecond();
+
+
+    /**
+     * Returns true if the IGPSLocation has a speed, and false if otherwise
+     * */
+    boolean hasSpeed();
+}
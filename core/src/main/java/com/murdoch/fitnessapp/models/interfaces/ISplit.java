@@ -0,0 +1,39 @@
+package com.murdoch.fitnessapp.models.interfaces;
+
+/**
+ * An interface for classes representing a split of a workout session, i.e. the point at
+ * which the distance travelled crossed a whole kilometer or mile, or at which the user
+ * marked a lap
+ *
+ * Both the distance travelled and the elapsed duration are measured from the start of the
+ * workout session, so the distance and duration of the split itself are the differences
+ * from the previous split of the same kind
+ *
+ * */
+public interface ISplit
+{
+    enum SplitType
+    {
+        KILOMETER, MILE, LAP
+    }
+
+
+    /**
+     * Returns the type of the split
+     * */
+    SplitType getSplitType();
+
+
+    /**
+     * Returns the distance travelled from the start of the workout session up to the split,
+     * in kilometers
+     * */
+    double getDistanceTravelledInKilometers();
+
+
+    /**
+     * Returns the duration elapsed from the start of the workout session up to the split,
+     * in seconds
+     * */
+    double getElapsedDurationInSeconds();
+}
@@ -0,0 +1,90 @@
+package com.murdoch.fitnessapp.models.interfaces;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+
+import java.util.List;
+
+/**
+ * A interface for classes representing workout sessions that has been stored in a database.
+ *
+ * Difference between this interface and IWorkoutSession is that this interface
+ * has setters and getters for the Id of the workout session stored in the database, and
+ * setters for the calories consumed, distance travelled, GPSTrack and splits stored in the
+ * database
+ *
+ * */
+public interface IStoredWorkoutSession extends IWorkoutSession
+{
+    /**
+     * Sets the workout session Id
+     *
+     * @param workoutSessionId the workout session Id
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     * */
+    void setWorkoutSessionId(long workoutSessionId);
+
+
+    /**
+     * Returns the workout session Id
+     *
+     * */
+    long getWorkoutSessionId();
+
+
+    /**
+     * Sets the number of calories consumed to the value stored in the database, so that it
+     * does not need to be calculated again
+     *
+     * @param caloriesConsumed the number of calories consumed
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     *
+     * @see #calculateCaloriesConsumed()
+     * */
+    void setCaloriesConsumed(double caloriesConsumed);
+
+
+    /**
+     * Sets the distance travelled in kilometers to the value stored in the database, so that
+     * it does not need to be calculated again
+     *
+     * @param distanceTravelledInKilometers the distance travelled in kilometers
+     *
+     * @throws IllegalArgumentException if the argument is a negative number
+     *
+     * @see #calculateDistanceTravelled()
+     * */
+    void setDistanceTravelledInKilometers(double distanceTravelledInKilometers);
+
+
+    /**
+     * Sets the GPSLocations and pauses to the GPSTrack stored in the database, replacing
+     * any GPSLocations added before, without accumulating the distance travelled or emitting
+     * splits again
+     *
+     * Note: The distance travelled should be set before the GPSTrack, as it is taken as the
+     * running total of the distance travelled
+     *
+     * @param gpsTrack the GPSTrack of the workout session
+     *
+     * @throws NullPointerException if the argument is null
+     *
+     * @see #setDistanceTravelledInKilometers(double)
+     * */
+    void setGPSTrack(GPSTrack gpsTrack);
+
+
+    /**
+     * Sets the splits to the splits stored in the database, replacing any splits emitted
+     * while adding the GPSLocations of the workout session, so that they do not need to be
+     * calculated again
+     *
+     * @param listOfSplits the splits, in the order that they occurred
+     *
+     * @throws NullPointerException if the argument or any of its splits is null
+     *
+     * @see #getListOfSplits()
+     * */
+    void setListOfSplits(List<ISplit> listOfSplits);
+}
@@ -183,17 +183,56 @@ public interface IWorkoutSession
     void calculateDistanceTravelled();
 
 
+    /**
+     * Update the distance travelled by the user to the running total of the distances
+     * between successive GPSLocations, which is accumulated as each GPSLocation is added.
+     * Unlike calculateDistanceTravelled(), the list of GPSLocations is not traversed, so the
+     * distance travelled is updated in constant time
+     *
+     * The distance updated gives the same result as calculateDistanceTravelled(), and can
+     * then be retrieved via the method getDistanceTravelledInKilometers()
+     *
+     * @see #addGPSLocation(IGPSLocation)
+     * @see #calculateDistanceTravelled()
+     * @see #getDistanceTravelledInKilometers()
+     * */
+    void updateDistanceTravelled();
+
+
     /**
      * Returns the distance travelled in kilometers
      *
      * Note: The distance travelled cannot be directly set. It has
-     * to be calculated through the method calculateDistanceTravelled()
+     * to be calculated through either of the methods calculateDistanceTravelled() or
+     * updateDistanceTravelled()
      *
      * @see #calculateDistanceTravelled()
+     * @see #updateDistanceTravelled()
      * */
     double getDistanceTravelledInKilometers();
 
 
+    /**
+     * Mark a lap at the last GPSLocation added, with the current duration of the workout
+     * session as its elapsed duration
+     *
+     * @see #getListOfSplits()
+     * */
+    void markLap();
+
+
+    /**
+     * Returns an unmodifiable list of the splits of the workout session, in the order that
+     * they occurred. The distance splits are emitted as each GPSLocation is added, whenever
+     * the distance travelled crosses a whole kilometer (or mile), and the laps are added
+     * through the method markLap()
+     *
+     * @see #addGPSLocation(IGPSLocation)
+     * @see #markLap()
+     * */
+    List<ISplit> getListOfSplits();
+
+
     /**
      * Add an image to the list of images taken. Does not check for
      * duplicates
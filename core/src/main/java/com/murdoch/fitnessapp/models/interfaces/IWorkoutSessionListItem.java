@@ -0,0 +1,79 @@
+package com.murdoch.fitnessapp.models.interfaces;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * This interface is used for classes that represent a workout session record as it is
+ * displayed in a list of workout session records
+ *
+ * Unlike IStoredWorkoutSession, it does not contain the GPSLocations and images of the
+ * workout session, only the number of them. The complete workout session record can be
+ * queried by its workout session id when it is needed
+ *
+ * */
+public interface IWorkoutSessionListItem
+{
+    /**
+     * Returns the workout session Id
+     *
+     * */
+    long getWorkoutSessionId();
+
+
+    /**
+     * Returns the activity type of the workout session
+     *
+     * */
+    IWorkoutSession.ActivityType getActivityType();
+
+
+    /**
+     * Returns the start date time of the workout session
+     *
+     * */
+    LocalDateTime getStartDateTime();
+
+
+    /**
+     * Returns the duration of the workout session in seconds
+     *
+     * */
+    int getDurationInSeconds();
+
+
+    /**
+     * Returns the number of steps taken in the workout session
+     *
+     * */
+    int getNumberOfStepsTaken();
+
+
+    /**
+     * Returns the number of calories consumed in the workout session
+     *
+     * */
+    double getCaloriesConsumed();
+
+
+    /**
+     * Returns the distance travelled in the workout session, in kilometers
+     *
+     * */
+    double getDistanceTravelledInKilometers();
+
+
+    /**
+     * Returns the number of non-null GPSLocations of the workout session, i.e. excluding
+     * the null elements that represent a pause
+     *
+     * */
+    int getNumberOfGPSLocations();
+
+
+    /**
+     * Returns the number of images taken during the workout session
+     *
+     * */
+    int getNumberOfImagesTaken();
+}
@@ -0,0 +1,37 @@
+package com.murdoch.fitnessapp.models.interfaces;
+
+import java.util.List;
+
+
+/**
+ * This interface is used for classes that represent a single page of workout session
+ * list items, along with a continuation token that is used to query the next page
+ *
+ * @see IWorkoutSessionRecordsPage
+ * */
+public interface IWorkoutSessionListItemsPage
+{
+    /**
+     * Returns an unmodifiable list of the workout session list items within this page, in
+     * descending order according to their workout session ids
+     * */
+    List<IWorkoutSessionListItem> getListOfWorkoutSessionListItems();
+
+
+    /**
+     * Returns true if there are more workout session records after this page, and false
+     * if this is the last page
+     * */
+    boolean hasNextPage();
+
+
+    /**
+     * Returns the continuation token of the next page, which is the workout session id
+     * (exclusive) that the next page of workout session list items comes before
+     *
+     * Note: Only meaningful if hasNextPage() returns true
+     *
+     * @see #hasNextPage()
+     * */
+    long getNextPageBeforeSessionIdExclusive();
+}
@@ -464,21 +464,89 @@ public class GPSLocationUnitTest
     }
 
 
+    /**
+     * Test that a GPSLocation has no timestamp, accuracy, altitude or speed until they are
+     * set, and then returns the values set
+     * */
+    @Test
+    public void setDetails_ValidDetails_NoException()
+    {
+        GPSLocation gpsLocation = new GPSLocation(12.34, 45.67);
+
+        assertFalse(gpsLocation.hasTimestamp());
+        assertFalse(gpsLocation.hasAccuracy());
+        assertFalse(gpsLocation.hasAltitude());
+        assertFalse(gpsLocation.hasSpeed());
+        assertEquals(GPSLocation.NO_TIMESTAMP, gpsLocation.getTimestampInMilliseconds());
+        assertTrue(Double.isNaN(gpsLocation.getAccuracyInMeters()));
+
+        final long RANDOM_TIMESTAMP_IN_MILLISECONDS = 1700000000123L;
+        final double RANDOM_ACCURACY_IN_METERS = 4.5;
+        final double RANDOM_ALTITUDE_IN_METERS = -12.3;
+        final double RANDOM_SPEED_IN_METERS_PER_SECOND = 2.75;
+
+        gpsLocation.setTimestampInMilliseconds(RANDOM_TIMESTAMP_IN_MILLISECONDS);
+        gpsLocation.setAccuracyInMeters(RANDOM_ACCURACY_IN_METERS);
+        gpsLocation.setAltitudeInMeters(RANDOM_ALTITUDE_IN_METERS);
+        gpsLocation.setSpeedInMetersPerSecond(RANDOM_SPEED_IN_METERS_PER_SECOND);
+
+        final int MAXIMUM_DELTA = 0;
+
+        assertTrue(gpsLocation.hasTimestamp());
+        assertTrue(gpsLocation.hasAccuracy());
+        assertTrue(gpsLocation.hasAltitude());
+        assertTrue(gpsLocation.hasSpeed());
+        assertEquals(RANDOM_TIMESTAMP_IN_MILLISECONDS, gpsLocation.getTimestampInMilliseconds());
+        assertEquals(RANDOM_ACCURACY_IN_METERS, gpsLocation.getAccuracyInMeters(), MAXIMUM_DELTA);
+        assertEquals(RANDOM_ALTITUDE_IN_METERS, gpsLocation.getAltitudeInMeters(), MAXIMUM_DELTA);
+        assertEquals(RANDOM_SPEED_IN_METERS_PER_SECOND,
+                     gpsLocation.getSpeedInMetersPerSecond(), MAXIMUM_DELTA);
+    }
+
 
     /**
-     * Test the describeContents() method of the Parcelable interface correctly returns its
-     * default value
+     * Test that the setters of the details throw an IllegalArgumentException for a negative
+     * timestamp, and for a negative or non-finite accuracy, altitude or speed
      * */
     @Test
-    public void describeContents_DefaultDescription_NoException()
+    public void setDetails_InvalidDetails_IllegalArgumentException()
     {
         GPSLocation gpsLocation = new GPSLocation();
 
-        final int EXPECTED_DESCRIPTION_VALUE = 0;
+        assertThrows(IllegalArgumentException.class,
+                () -> gpsLocation.setTimestampInMilliseconds(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> gpsLocation.setAccuracyInMeters(-0.1));
+        assertThrows(IllegalArgumentException.class,
+                () -> gpsLocation.setAccuracyInMeters(Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> gpsLocation.setAltitudeInMeters(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> gpsLocation.setSpeedInMetersPerSecond(-1));
 
-        assertEquals(EXPECTED_DESCRIPTION_VALUE,
-                    gpsLocation.describeContents());
+        assertFalse(gpsLocation.hasTimestamp());
+        assertFalse(gpsLocation.hasAccuracy());
+        assertFalse(gpsLocation.hasAltitude());
+        assertFalse(gpsLocation.hasSpeed());
     }
 
 
-}
\ No newline at end of file
+    /**
+     * Test the overridden equals(Object) correctly returns false when two GPSLocations have
+     * the same coordinates but different details, and true once the details are the same
+     * */
+    @Test
+    public void equals_SameCoordinatesDifferentDetails_NotEqual()
+    {
+        final GPSLocation RANDOM_GPS_LOCATION_1 = new GPSLocation(12.34, 45.67);
+        final GPSLocation RANDOM_GPS_LOCATION_2 = new GPSLocation(12.34, 45.67);
+
+        RANDOM_GPS_LOCATION_1.setAltitudeInMeters(15.2);
+
+        assertFalse(RANDOM_GPS_LOCATION_1.equals(RANDOM_GPS_LOCATION_2));
+
+        RANDOM_GPS_LOCATION_2.setAltitudeInMeters(15.2);
+
+        assertTrue(RANDOM_GPS_LOCATION_1.equals(RANDOM_GPS_LOCATION_2));
+    }
+}
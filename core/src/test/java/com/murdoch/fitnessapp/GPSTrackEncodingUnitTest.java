@@ -0,0 +1,309 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackEncoding;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains the unit test of various methods of the GPSTrackEncoding class
+ */
+public class GPSTrackEncodingUnitTest
+{
+
+    /**
+     * Test that decoding an encoded empty track returns an empty list
+     * */
+    @Test
+    public void encodeAndDecode_EmptyTrack_NoException()
+    {
+        byte[] encodedTrack = GPSTrackEncoding.encode(new ArrayList<>());
+
+        assertTrue(GPSTrackEncoding.decode(encodedTrack).isEmpty());
+    }
+
+
+    /**
+     * Test that decoding an encoded track returns the same GPSLocations and pauses, in the
+     * same order, when the coordinates have no more decimal places than the fixed-point scale
+     * */
+    @Test
+    public void encodeAndDecode_TrackWithPauses_NoException()
+    {
+        final List<IGPSLocation> RANDOM_TRACK = Arrays.asList(
+                null,
+                new GPSLocation(12.34, 56.78),
+                new GPSLocation(12.3401, 56.7802),
+                null,
+                null,
+                new GPSLocation(-43.21, -87.65),
+                new GPSLocation(GPSLocation.LATITUDE_MAX_INCLUSIVE,
+                                GPSLocation.LONGITUDE_MIN_INCLUSIVE),
+                new GPSLocation(GPSLocation.LATITUDE_MIN_INCLUSIVE,
+                                GPSLocation.LONGITUDE_MAX_INCLUSIVE),
+                null);
+
+        byte[] encodedTrack = GPSTrackEncoding.encode(RANDOM_TRACK);
+
+        assertEquals(RANDOM_TRACK, GPSTrackEncoding.decode(encodedTrack));
+    }
+
+
+    /**
+     * Test that every decoded coordinate of a random track is within half a fixed-point unit
+     * of the original coordinate
+     * */
+    @Test
+    public void encodeAndDecode_RandomTrack_WithinFixedPointPrecision()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_GPS_LOCATIONS = 5000;
+
+        final double MAXIMUM_DELTA = 0.5 / GPSTrackEncoding.COORDINATE_SCALE + 1e-12;
+
+        Random random = new Random(RANDOM_SEED);
+
+        List<IGPSLocation> track = new ArrayList<>();
+
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS; index++)
+        {
+            track.add(new GPSLocation(random.nextDouble() * 180 - 90,
+                                      random.nextDouble() * 360 - 180));
+        }
+
+
+        List<IGPSLocation> decodedTrack = GPSTrackEncoding.decode(GPSTrackEncoding.encode(track));
+
+        assertEquals(track.size(), decodedTrack.size());
+
+        for (int index = 0; index < track.size(); index++)
+        {
+            assertEquals(track.get(index).getLatitude(),
+                         decodedTrack.get(index).getLatitude(), MAXIMUM_DELTA);
+
+            assertEquals(track.get(index).getLongitude(),
+                         decodedTrack.get(index).getLongitude(), MAXIMUM_DELTA);
+        }
+    }
+
+
+    /**
+     * Test that a track of nearby GPSLocations (such as a walk) is encoded with only a few
+     * bytes per GPSLocation
+     * */
+    @Test
+    public void encode_TrackOfNearbyGPSLocations_FewBytesPerGPSLocation()
+    {
+        final int NUMBER_OF_GPS_LOCATIONS = 1000;
+
+        //roughly 1 meter apart
+        final double STEP_IN_DEGREES = 0.00001;
+
+        final int MAXIMUM_BYTES_PER_GPS_LOCATION = 4;
+
+        //the first GPSLocation is encoded relative to 0, so it needs more bytes
+        final int MAXIMUM_BYTES_OF_HEADER_AND_FIRST_GPS_LOCATION = 24;
+
+        List<IGPSLocation> track = new ArrayList<>();
+
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS; index++)
+        {
+            track.add(new GPSLocation(-32.0 + index * STEP_IN_DEGREES,
+                                      115.8 + index * STEP_IN_DEGREES));
+        }
+
+        byte[] encodedTrack = GPSTrackEncoding.encode(track);
+
+        assertTrue(encodedTrack.length <= MAXIMUM_BYTES_OF_HEADER_AND_FIRST_GPS_LOCATION +
+                MAXIMUM_BYTES_PER_GPS_LOCATION * (NUMBER_OF_GPS_LOCATIONS - 1));
+    }
+
+
+    /**
+     * Test that encode(List) throws a NullPointerException when the argument is null
+     * */
+    @Test
+    public void encode_InvalidNullList_NullPointerException()
+    {
+        assertThrows(NullPointerException.class, () -> GPSTrackEncoding.encode(null));
+    }
+
+
+    /**
+     * Test that decode(byte[]) throws a NullPointerException when the argument is null
+     * */
+    @Test
+    public void decode_InvalidNullEncodedTrack_NullPointerException()
+    {
+        assertThrows(NullPointerException.class, () -> GPSTrackEncoding.decode(null));
+    }
+
+
+    /**
+     * Test that decode(byte[]) throws an IllegalArgumentException when the format version
+     * is not supported
+     * */
+    @Test
+    public void decode_InvalidFormatVersion_IllegalArgumentException()
+    {
+        final byte[] RANDOM_INVALID_ENCODED_TRACK = new byte[]{ 99, 0 };
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GPSTrackEncoding.decode(RANDOM_INVALID_ENCODED_TRACK));
+    }
+
+
+    /**
+     * Test that decode(byte[]) throws an IllegalArgumentException when the encoded track
+     * is truncated
+     * */
+    @Test
+    public void decode_InvalidTruncatedEncodedTrack_IllegalArgumentException()
+    {
+        final List<IGPSLocation> RANDOM_TRACK = Arrays.asList(
+                new GPSLocation(12.34, 56.78),
+                new GPSLocation(-43.21, -87.65));
+
+        byte[] encodedTrack = GPSTrackEncoding.encode(RANDOM_TRACK);
+
+        byte[] truncatedEncodedTrack = Arrays.copyOf(encodedTrack, encodedTrack.length - 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GPSTrackEncoding.decode(truncatedEncodedTrack));
+    }
+
+
+    /**
+     * Test that decoding an encoded track returns the same details of the GPSLocations, when
+     * the details have no more decimal places than their quantisation, and GPSLocations
+     * with only some (or none) of the details
+     * */
+    @Test
+    public void encodeAndDecode_TrackWithDetails_NoException()
+    {
+        GPSLocation gpsLocationWithAllDetails = new GPSLocation(12.34, 56.78);
+        gpsLocationWithAllDetails.setTimestampInMilliseconds(1700000000123L);
+        gpsLocationWithAllDetails.setAccuracyInMeters(4.5);
+        gpsLocationWithAllDetails.setAltitudeInMeters(-12.3);
+        gpsLocationWithAllDetails.setSpeedInMetersPerSecond(2.75);
+
+        //the timestamp goes backwards, as the clock of a device can be adjusted
+        GPSLocation gpsLocationWithSomeDetails = new GPSLocation(12.3401, 56.7802);
+        gpsLocationWithSomeDetails.setTimestampInMilliseconds(1700000000001L);
+        gpsLocationWithSomeDetails.setAltitudeInMeters(30.1);
+
+        final List<IGPSLocation> RANDOM_TRACK = Arrays.asList(
+                gpsLocationWithAllDetails,
+                null,
+                gpsLocationWithSomeDetails,
+                new GPSLocation(-43.21, -87.65));
+
+        byte[] encodedTrack = GPSTrackEncoding.encode(RANDOM_TRACK);
+
+        assertEquals(GPSTrackEncoding.FORMAT_VERSION, encodedTrack[0]);
+        assertEquals(RANDOM_TRACK, GPSTrackEncoding.decode(encodedTrack));
+    }
+
+
+    /**
+     * Test that decoding an encoded track directly into a GPSTrack gives the same
+     * GPSLocations, details and pauses as decoding it into a list, along with their bounding
+     * box
+     * */
+    @Test
+    public void decodeToGPSTrack_TrackWithDetailsAndPauses_SameAsDecode()
+    {
+        GPSLocation gpsLocationWithSomeDetails = new GPSLocation(12.3401, 56.7802);
+        gpsLocationWithSomeDetails.setTimestampInMilliseconds(1700000000001L);
+        gpsLocationWithSomeDetails.setSpeedInMetersPerSecond(2.75);
+
+        final List<IGPSLocation> RANDOM_TRACK = Arrays.asList(
+                null,
+                new GPSLocation(12.34, 56.78),
+                gpsLocationWithSomeDetails,
+                null,
+                null,
+                new GPSLocation(-43.21, -87.65),
+                null);
+
+        byte[] encodedTrack = GPSTrackEncoding.encode(RANDOM_TRACK);
+
+        GPSTrack gpsTrack = GPSTrackEncoding.decodeToGPSTrack(encodedTrack);
+
+        assertEquals(GPSTrackEncoding.decode(encodedTrack), gpsTrack.getListOfGPSLocations());
+        assertEquals(RANDOM_TRACK, gpsTrack.getListOfGPSLocations());
+        assertEquals(3, gpsTrack.getNumberOfGPSLocations());
+        assertEquals(4, gpsTrack.getNumberOfPauses());
+        assertEquals(-43.21, gpsTrack.getMinimumLatitude(), 1e-12);
+        assertEquals(56.78, gpsTrack.getMaximumLongitude(), 1e-3);
+    }
+
+
+    /**
+     * Test that a track of nearby GPSLocations sampled every second, with all their details,
+     * is encoded with only a few more bytes per GPSLocation than without the details
+     * */
+    @Test
+    public void encode_TrackOfNearbyGPSLocationsWithDetails_FewBytesPerGPSLocation()
+    {
+        final int NUMBER_OF_GPS_LOCATIONS = 1000;
+
+        //roughly 1 meter apart
+        final double STEP_IN_DEGREES = 0.00001;
+
+        final int MAXIMUM_BYTES_PER_GPS_LOCATION = 4 + 5;
+
+        //the first GPSLocation and timestamp are encoded relative to 0, so they need more
+        //bytes
+        final int MAXIMUM_BYTES_OF_HEADER_AND_FIRST_GPS_LOCATION = 32;
+
+        List<IGPSLocation> track = new ArrayList<>();
+
+        for (int index = 0; index < NUMBER_OF_GPS_LOCATIONS; index++)
+        {
+            GPSLocation gpsLocation = new GPSLocation(-32.0 + index * STEP_IN_DEGREES,
+                                                      115.8 + index * STEP_IN_DEGREES);
+
+            gpsLocation.setTimestampInMilliseconds(1700000000000L + index * 1000L);
+            gpsLocation.setAccuracyInMeters(5 + (index % 3));
+            gpsLocation.setAltitudeInMeters(20 + (index % 7) * 0.1);
+            gpsLocation.setSpeedInMetersPerSecond(1.2);
+
+            track.add(gpsLocation);
+        }
+
+        byte[] encodedTrack = GPSTrackEncoding.encode(track);
+
+        assertTrue(encodedTrack.length <= MAXIMUM_BYTES_OF_HEADER_AND_FIRST_GPS_LOCATION +
+                MAXIMUM_BYTES_PER_GPS_LOCATION * (NUMBER_OF_GPS_LOCATIONS - 1));
+    }
+
+
+    /**
+     * Test that a track encoded with format version 1, before the details were encoded, is
+     * still decoded into GPSLocations without details
+     * */
+    @Test
+    public void decode_FormatVersionWithoutDetails_NoException()
+    {
+        //a GPSLocation 1 and 2 fixed-point units from 0, then a pause
+        final byte[] ENCODED_TRACK_WITHOUT_DETAILS = new byte[]{
+                GPSTrackEncoding.FORMAT_VERSION_WITHOUT_DETAILS, 2, 4, 4, 1 };
+
+        final List<IGPSLocation> EXPECTED_TRACK = Arrays.asList(
+                new GPSLocation(1 / GPSTrackEncoding.COORDINATE_SCALE,
+                                2 / GPSTrackEncoding.COORDINATE_SCALE),
+                null);
+
+        assertEquals(EXPECTED_TRACK, GPSTrackEncoding.decode(ENCODED_TRACK_WITHOUT_DETAILS));
+    }
+}
@@ -0,0 +1,110 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackLevelsOfDetail;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackSimplification;
+
+import java.util.Random;
+
+/**
+ * Contains the unit test of various methods of the GPSTrackLevelsOfDetail class
+ */
+public class GPSTrackLevelsOfDetailUnitTest
+{
+    /**
+     * Test that each level of detail, built from a single run of the algorithm, is the same
+     * as simplifying the track separately at its tolerance
+     * */
+    @Test
+    public void getGPSTrack_SyntheticRunningTrack_SameAsSimplifiedSeparately()
+    {
+        GPSTrack gpsTrack = GPSTrackSimplificationUnitTest.createSyntheticRunningTrack(
+                                                                    new Random(15), 3600);
+
+        GPSTrackLevelsOfDetail gpsTrackLevelsOfDetail = new GPSTrackLevelsOfDetail(gpsTrack);
+
+        for (int level = 0; level < gpsTrackLevelsOfDetail.getNumberOfLevelsOfDetail(); level++)
+        {
+            double toleranceInMeters = gpsTrackLevelsOfDetail.getToleranceInMeters(level);
+
+            assertEquals(GPSTrackSimplification.simplify(gpsTrack, toleranceInMeters),
+                         gpsTrackLevelsOfDetail.getGPSTrack(level));
+        }
+    }
+
+
+    /**
+     * Test that each level of detail has fewer GPSLocations than the previous one, and the
+     * same pauses as the track
+     * */
+    @Test
+    public void getGPSTrack_SyntheticRunningTrack_FewerGPSLocationsPerLevel()
+    {
+        GPSTrack gpsTrack = GPSTrackSimplificationUnitTest.createSyntheticRunningTrack(
+                                                                    new Random(15), 3600);
+
+        GPSTrackLevelsOfDetail gpsTrackLevelsOfDetail = new GPSTrackLevelsOfDetail(gpsTrack);
+
+        int previousNumberOfGPSLocations = gpsTrack.getNumberOfGPSLocations();
+
+        for (int level = 0; level < gpsTrackLevelsOfDetail.getNumberOfLevelsOfDetail(); level++)
+        {
+            GPSTrack simplifiedGPSTrack = gpsTrackLevelsOfDetail.getGPSTrack(level);
+
+            assertTrue(simplifiedGPSTrack.getNumberOfGPSLocations() <
+                       previousNumberOfGPSLocations);
+            assertEquals(gpsTrack.getNumberOfPauses(), simplifiedGPSTrack.getNumberOfPauses());
+
+            previousNumberOfGPSLocations = simplifiedGPSTrack.getNumberOfGPSLocations();
+        }
+    }
+
+
+    /**
+     * Test that the coarsest level of detail within the tolerance given is returned, and the
+     * finest level of detail when the tolerance given is finer than every level
+     * */
+    @Test
+    public void getGPSTrackForTolerance_VariousTolerances_CoarsestLevelWithinTolerance()
+    {
+        GPSTrack gpsTrack = GPSTrackSimplificationUnitTest.createSyntheticRunningTrack(
+                                                                    new Random(15), 600);
+
+        GPSTrackLevelsOfDetail gpsTrackLevelsOfDetail =
+                                            new GPSTrackLevelsOfDetail(gpsTrack, 1, 10, 100);
+
+        assertSame(gpsTrackLevelsOfDetail.getGPSTrack(0),
+                   gpsTrackLevelsOfDetail.getGPSTrackForTolerance(0.5));
+        assertSame(gpsTrackLevelsOfDetail.getGPSTrack(0),
+                   gpsTrackLevelsOfDetail.getGPSTrackForTolerance(1));
+        assertSame(gpsTrackLevelsOfDetail.getGPSTrack(1),
+                   gpsTrackLevelsOfDetail.getGPSTrackForTolerance(50));
+        assertSame(gpsTrackLevelsOfDetail.getGPSTrack(2),
+                   gpsTrackLevelsOfDetail.getGPSTrackForTolerance(1000));
+    }
+
+
+    /**
+     * Test that tolerances that are not in strictly increasing order throw an
+     * IllegalArgumentException
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_DecreasingTolerances_ThrowsIllegalArgumentException()
+    {
+        new GPSTrackLevelsOfDetail(new GPSTrack(), 10, 5);
+    }
+
+
+    /**
+     * Test that no tolerance throws an IllegalArgumentException
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_NoTolerance_ThrowsIllegalArgumentException()
+    {
+        new GPSTrackLevelsOfDetail(new GPSTrack(), new double[0]);
+    }
+}
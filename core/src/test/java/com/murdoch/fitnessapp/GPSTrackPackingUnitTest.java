@@ -0,0 +1,221 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackPacking;
+
+import java.util.Random;
+
+/**
+ * Contains the unit test of various methods of the GPSTrackPacking class
+ */
+public class GPSTrackPackingUnitTest
+{
+    /**
+     * Test that unpacking a packed empty track returns an empty track
+     * */
+    @Test
+    public void packAndUnpack_EmptyTrack_EmptyTrack()
+    {
+        GPSTrack unpackedGPSTrack = GPSTrackPacking.unpack(GPSTrackPacking.pack(new GPSTrack()));
+
+        assertTrue(unpackedGPSTrack.isEmpty());
+    }
+
+
+    /**
+     * Test that unpacking a packed track returns an equal track, with coordinates of full
+     * precision and pauses at every position, for random tracks
+     * */
+    @Test
+    public void packAndUnpack_RandomTracksWithPauses_EqualTrack()
+    {
+        Random random = new Random(17);
+
+        for (int trackIndex = 0; trackIndex < 100; trackIndex++)
+        {
+            GPSTrack gpsTrack = new GPSTrack();
+
+            int numberOfElements = random.nextInt(200);
+
+            for (int index = 0; index < numberOfElements; index++)
+            {
+                if (random.nextInt(10) == 0)
+                {
+                    gpsTrack.addPause();
+                }
+                else
+                {
+                    gpsTrack.addGPSLocation(random.nextDouble() * 180 - 90,
+                                            random.nextDouble() * 360 - 180);
+                }
+            }
+
+            GPSTrack unpackedGPSTrack = GPSTrackPacking.unpack(GPSTrackPacking.pack(gpsTrack));
+
+            assertEquals(gpsTrack, unpackedGPSTrack);
+        }
+    }
+
+
+    /**
+     * Test that GPSLocations can still be added to an unpacked track, after a trailing pause
+     * */
+    @Test
+    public void unpack_TrackEndingWithPause_GPSLocationsCanBeAdded()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addPause();
+
+        GPSTrack unpackedGPSTrack = GPSTrackPacking.unpack(GPSTrackPacking.pack(gpsTrack));
+
+        unpackedGPSTrack.addGPSLocation(1.364000, 103.927000);
+        unpackedGPSTrack.addPause();
+
+        gpsTrack.addGPSLocation(1.364000, 103.927000);
+        gpsTrack.addPause();
+
+        assertEquals(gpsTrack, unpackedGPSTrack);
+    }
+
+
+    /**
+     * Test that the packed track takes 16 bytes per GPSLocation and 4 bytes per pause, after
+     * its header
+     * */
+    @Test
+    public void pack_TrackWithPauses_ExpectedSize()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index < 1000; index++)
+        {
+            if (index % 100 == 0)
+            {
+                gpsTrack.addPause();
+            }
+
+            gpsTrack.addGPSLocation(-32.0 + index * 0.00004, 115.8 + index * 0.00003);
+        }
+
+        final int EXPECTED_SIZE_IN_BYTES = 8 + 1000 * 16 + 10 * 4;
+
+        assertEquals(EXPECTED_SIZE_IN_BYTES, GPSTrackPacking.pack(gpsTrack).length);
+    }
+
+
+    /**
+     * Test that a truncated packed track throws an IllegalArgumentException
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void unpack_TruncatedTrack_ThrowsIllegalArgumentException()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+
+        byte[] packedGPSTrack = GPSTrackPacking.pack(gpsTrack);
+
+        byte[] truncatedGPSTrack = new byte[packedGPSTrack.length - 1];
+        System.arraycopy(packedGPSTrack, 0, truncatedGPSTrack, 0, truncatedGPSTrack.length);
+
+        GPSTrackPacking.unpack(truncatedGPSTrack);
+    }
+
+
+    /**
+     * Test that a packed track whose pauses are out of order throws an
+     * IllegalArgumentException
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void unpack_PausesOutOfOrder_ThrowsIllegalArgumentException()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addPause();
+        gpsTrack.addPause();
+
+        byte[] packedGPSTrack = GPSTrackPacking.pack(gpsTrack);
+
+        //the segment start index of the first pause is the 4 bytes after the coordinates
+        packedGPSTrack[8 + 16] = 5;
+
+        GPSTrackPacking.unpack(packedGPSTrack);
+    }
+
+
+    /**
+     * Test that a null argument throws a NullPointerException
+     * */
+    @Test(expected = NullPointerException.class)
+    public void pack_NullTrack_ThrowsNullPointerException()
+    {
+        GPSTrackPacking.pack(null);
+    }
+
+
+    /**
+     * Test that unpacking a packed track with details returns an equal track, in which the
+     * GPSLocations added without details still have none
+     * */
+    @Test
+    public void packAndUnpack_RandomTrackWithDetails_EqualTrack()
+    {
+        Random random = new Random(23);
+
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index < 500; index++)
+        {
+            if (random.nextInt(10) == 0)
+            {
+                gpsTrack.addPause();
+            }
+            else if (random.nextInt(5) == 0)
+            {
+                gpsTrack.addGPSLocation(random.nextDouble() * 180 - 90,
+                                        random.nextDouble() * 360 - 180);
+            }
+            else
+            {
+                gpsTrack.addGPSLocation(random.nextDouble() * 180 - 90,
+                                        random.nextDouble() * 360 - 180,
+                                        1700000000000L + index * 1000L,
+                                        random.nextDouble() * 20,
+                                        random.nextDouble() * 1000 - 100,
+                                        random.nextBoolean() ? Double.NaN
+                                                             : random.nextDouble() * 5);
+            }
+        }
+
+        GPSTrack unpackedGPSTrack = GPSTrackPacking.unpack(GPSTrackPacking.pack(gpsTrack));
+
+        assertTrue(unpackedGPSTrack.hasDetails());
+        assertEquals(gpsTrack, unpackedGPSTrack);
+        assertEquals(gpsTrack.getListOfGPSLocations(), unpackedGPSTrack.getListOfGPSLocations());
+    }
+
+
+    /**
+     * Test that the details take 32 more bytes per GPSLocation, after the pauses
+     * */
+    @Test
+    public void pack_TrackWithDetails_ExpectedSize()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addPause();
+        gpsTrack.addGPSLocation(1.364000, 103.927000, 1700000000000L, 3.5, 12.0, 1.2);
+
+        final int EXPECTED_SIZE_IN_BYTES = 8 + 2 * 16 + 4 + 2 * 32;
+
+        assertEquals(EXPECTED_SIZE_IN_BYTES, GPSTrackPacking.pack(gpsTrack).length);
+    }
+}
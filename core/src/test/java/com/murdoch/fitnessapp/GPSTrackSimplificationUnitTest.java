@@ -0,0 +1,389 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackSimplification;
+import com.murdoch.fitnessapp.models.implementations.GeodesicDistance;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains the unit test of various methods of the GPSTrackSimplification class
+ */
+public class GPSTrackSimplificationUnitTest
+{
+    private static final double METERS_PER_DEGREE =
+                            GeodesicDistance.EARTH_RADIUS_IN_KILOMETERS * 1000 * Math.PI / 180;
+
+
+    /**
+     * Test that only the first and last GPSLocations of a straight line are kept
+     * */
+    @Test
+    public void simplify_CollinearGPSLocations_OnlyFirstAndLastKept()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index < 100; index++)
+        {
+            gpsTrack.addGPSLocation(-32.0 + index * 0.0001, 115.8 + index * 0.0001);
+        }
+
+        final double RANDOM_TOLERANCE_IN_METERS = 1;
+
+        GPSTrack simplifiedGPSTrack =
+                        GPSTrackSimplification.simplify(gpsTrack, RANDOM_TOLERANCE_IN_METERS);
+
+        final int EXPECTED_NUMBER_OF_GPS_LOCATIONS = 2;
+
+        assertEquals(EXPECTED_NUMBER_OF_GPS_LOCATIONS,
+                     simplifiedGPSTrack.getNumberOfGPSLocations());
+        assertEquals(gpsTrack.getListOfGPSLocations().get(0),
+                     simplifiedGPSTrack.getListOfGPSLocations().get(0));
+        assertEquals(gpsTrack.getListOfGPSLocations().get(99),
+                     simplifiedGPSTrack.getListOfGPSLocations().get(1));
+    }
+
+
+    /**
+     * Test that a track with leading, consecutive and trailing pauses, and segments of one
+     * and two GPSLocations, is simplified with the same pauses and every GPSLocation kept
+     * */
+    @Test
+    public void simplify_TrackWithPausesAtEveryPosition_SameAsTrack()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addPause();
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addGPSLocation(1.363200, 103.926100);
+        gpsTrack.addPause();
+        gpsTrack.addPause();
+        gpsTrack.addGPSLocation(1.364000, 103.927000);
+        gpsTrack.addPause();
+
+        final double RANDOM_TOLERANCE_IN_METERS = 1000;
+
+        GPSTrack simplifiedGPSTrack =
+                        GPSTrackSimplification.simplify(gpsTrack, RANDOM_TOLERANCE_IN_METERS);
+
+        assertEquals(gpsTrack, simplifiedGPSTrack);
+    }
+
+
+    /**
+     * Test that every GPSLocation of a realistic running track, with GPS noise, turns and
+     * pauses, is within the tolerance of the simplified track, and that the pauses are kept
+     * */
+    @Test
+    public void simplify_SyntheticRunningTrack_EveryGPSLocationWithinTolerance()
+    {
+        final double[] RANDOM_TOLERANCES_IN_METERS = {0, 2, 8, 32, 128};
+
+        GPSTrack gpsTrack = createSyntheticRunningTrack(new Random(15), 3600);
+
+        for (double toleranceInMeters : RANDOM_TOLERANCES_IN_METERS)
+        {
+            GPSTrack simplifiedGPSTrack =
+                                GPSTrackSimplification.simplify(gpsTrack, toleranceInMeters);
+
+            assertEquals(gpsTrack.getNumberOfPauses(), simplifiedGPSTrack.getNumberOfPauses());
+
+            assertAllGPSLocationsWithinTolerance(gpsTrack, simplifiedGPSTrack,
+                                                 toleranceInMeters);
+        }
+    }
+
+
+    /**
+     * Test that a realistic running track is reduced to a small fraction of its GPSLocations,
+     * while the distance of the simplified track stays close to the distance of the track.
+     * The simplified track is slightly shorter, mostly because the GPS noise is smoothed out
+     * */
+    @Test
+    public void simplify_SyntheticRunningTrack_FewerGPSLocationsAndSimilarDistance()
+    {
+        final double RANDOM_TOLERANCE_IN_METERS = 8;
+
+        GPSTrack gpsTrack = createSyntheticRunningTrack(new Random(15), 3600);
+
+        GPSTrack simplifiedGPSTrack =
+                        GPSTrackSimplification.simplify(gpsTrack, RANDOM_TOLERANCE_IN_METERS);
+
+        final double MAXIMUM_FRACTION_OF_GPS_LOCATIONS_KEPT = 0.05;
+        final double MAXIMUM_RELATIVE_DISTANCE_ERROR = 0.15;
+
+        assertTrue(simplifiedGPSTrack.getNumberOfGPSLocations() <=
+                gpsTrack.getNumberOfGPSLocations() * MAXIMUM_FRACTION_OF_GPS_LOCATIONS_KEPT);
+
+        double distanceInKilometers = gpsTrack.calculateTotalDistanceInKilometers(
+                                                    GeodesicDistance.Mode.HAVERSINE);
+        double simplifiedDistanceInKilometers = simplifiedGPSTrack
+                .calculateTotalDistanceInKilometers(GeodesicDistance.Mode.HAVERSINE);
+
+        assertTrue(simplifiedDistanceInKilometers <= distanceInKilometers);
+        assertEquals(distanceInKilometers, simplifiedDistanceInKilometers,
+                     distanceInKilometers * MAXIMUM_RELATIVE_DISTANCE_ERROR);
+    }
+
+
+    /**
+     * Test that the turning point of an out and back track is kept, even though every
+     * GPSLocation is on the line between the first and last GPSLocations
+     * */
+    @Test
+    public void simplify_OutAndBackTrack_TurningPointKept()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index <= 50; index++)
+        {
+            gpsTrack.addGPSLocation(-32.0, 115.8 + index * 0.0001);
+        }
+
+        for (int index = 49; index >= 0; index--)
+        {
+            gpsTrack.addGPSLocation(-32.0, 115.8 + index * 0.0001);
+        }
+
+        final double RANDOM_TOLERANCE_IN_METERS = 10;
+
+        GPSTrack simplifiedGPSTrack =
+                        GPSTrackSimplification.simplify(gpsTrack, RANDOM_TOLERANCE_IN_METERS);
+
+        final int EXPECTED_NUMBER_OF_GPS_LOCATIONS = 3;
+        final IGPSLocation EXPECTED_TURNING_POINT = gpsTrack.getListOfGPSLocations().get(50);
+
+        assertEquals(EXPECTED_NUMBER_OF_GPS_LOCATIONS,
+                     simplifiedGPSTrack.getNumberOfGPSLocations());
+        assertEquals(EXPECTED_TURNING_POINT, simplifiedGPSTrack.getListOfGPSLocations().get(1));
+    }
+
+
+    /**
+     * Test that an empty track is simplified into an empty track
+     * */
+    @Test
+    public void simplify_EmptyTrack_EmptyTrack()
+    {
+        final double RANDOM_TOLERANCE_IN_METERS = 8;
+
+        GPSTrack simplifiedGPSTrack = GPSTrackSimplification.simplify(new GPSTrack(),
+                                                                RANDOM_TOLERANCE_IN_METERS);
+
+        assertTrue(simplifiedGPSTrack.isEmpty());
+    }
+
+
+    /**
+     * Test that a negative tolerance throws an IllegalArgumentException
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void simplify_NegativeTolerance_ThrowsIllegalArgumentException()
+    {
+        final double INVALID_TOLERANCE_IN_METERS = -1;
+
+        GPSTrackSimplification.simplify(new GPSTrack(), INVALID_TOLERANCE_IN_METERS);
+    }
+
+
+    /**
+     * Test that a tolerance that is not a number throws an IllegalArgumentException
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void simplify_NaNTolerance_ThrowsIllegalArgumentException()
+    {
+        GPSTrackSimplification.simplify(new GPSTrack(), Double.NaN);
+    }
+
+
+    /**
+     * Returns a track shaped like a run through a street grid, with one GPSLocation per
+     * second at about 3 meters per second, a turn at most street corners, gentle curves,
+     * about 3 meters of GPS noise, and a pause about every ten minutes
+     *
+     * @param random the source of randomness of the track
+     * @param numberOfGPSLocations the number of GPSLocations in the track, excluding pauses
+     * */
+    static GPSTrack createSyntheticRunningTrack(Random random, int numberOfGPSLocations)
+    {
+        final double SPEED_IN_METERS_PER_SECOND = 3;
+        final double GPS_NOISE_IN_METERS = 3;
+        final double NOISE_CORRELATION = 0.9;
+        final double BLOCK_LENGTH_IN_METERS = 150;
+        final int PAUSE_INTERVAL = 600;
+
+        final double START_LATITUDE = -32.0667;
+        final double START_LONGITUDE = 115.8333;
+
+        double metersPerDegreeOfLongitude = METERS_PER_DEGREE *
+                                            Math.cos(START_LATITUDE * Math.PI / 180);
+
+        GPSTrack gpsTrack = new GPSTrack();
+
+        double xInMeters = 0;
+        double yInMeters = 0;
+        double headingInRadians = 0;
+        double curvatureInRadiansPerMeter = 0;
+        double distanceToCornerInMeters = BLOCK_LENGTH_IN_METERS;
+
+        double noiseXInMeters = 0;
+        double noiseYInMeters = 0;
+        double noiseInnovationInMeters = GPS_NOISE_IN_METERS *
+                                         Math.sqrt(1 - NOISE_CORRELATION * NOISE_CORRELATION);
+
+        for (int index = 0; index < numberOfGPSLocations; index++)
+        {
+            if (index > 0 && index % PAUSE_INTERVAL == 0)
+            {
+                gpsTrack.addPause();
+            }
+
+            //GPS noise drifts slowly rather than jumping independently between fixes
+            noiseXInMeters = NOISE_CORRELATION * noiseXInMeters +
+                             noiseInnovationInMeters * random.nextGaussian();
+            noiseYInMeters = NOISE_CORRELATION * noiseYInMeters +
+                             noiseInnovationInMeters * random.nextGaussian();
+
+            double latitude = START_LATITUDE + (yInMeters + noiseYInMeters) / METERS_PER_DEGREE;
+            double longitude = START_LONGITUDE +
+                               (xInMeters + noiseXInMeters) / metersPerDegreeOfLongitude;
+
+            gpsTrack.addGPSLocation(latitude, longitude);
+
+
+            double stepInMeters = SPEED_IN_METERS_PER_SECOND * (0.8 + random.nextDouble() * 0.4);
+
+            headingInRadians += curvatureInRadiansPerMeter * stepInMeters;
+            xInMeters += Math.cos(headingInRadians) * stepInMeters;
+            yInMeters += Math.sin(headingInRadians) * stepInMeters;
+
+            distanceToCornerInMeters -= stepInMeters;
+
+            if (distanceToCornerInMeters <= 0)
+            {
+                double turn = random.nextDouble();
+
+                if (turn < 0.35)
+                {
+                    headingInRadians += Math.PI / 2;
+                }
+                else if (turn < 0.7)
+                {
+                    headingInRadians -= Math.PI / 2;
+                }
+
+                curvatureInRadiansPerMeter = random.nextDouble() < 0.3 ?
+                                             (random.nextDouble() - 0.5) * 0.01 : 0;
+
+                distanceToCornerInMeters = BLOCK_LENGTH_IN_METERS *
+                                           (0.5 + random.nextDouble());
+            }
+        }
+
+        return gpsTrack;
+    }
+
+
+    /**
+     * Assert that the simplified track only contains GPSLocations of the track, in the same
+     * segments, and that every GPSLocation of the track is within the tolerance of the
+     * simplified track
+     * */
+    static void assertAllGPSLocationsWithinTolerance(GPSTrack gpsTrack,
+                                                     GPSTrack simplifiedGPSTrack,
+                                                     double toleranceInMeters)
+    {
+        //the simplified track must be a subsequence of the track, pauses included
+        List<IGPSLocation> listOfGPSLocations = gpsTrack.getListOfGPSLocations();
+        List<IGPSLocation> simplifiedListOfGPSLocations =
+                                            simplifiedGPSTrack.getListOfGPSLocations();
+
+        List<Integer> keptIndices = new ArrayList<>();
+
+        int simplifiedIndex = 0;
+
+        for (int index = 0; index < listOfGPSLocations.size(); index++)
+        {
+            IGPSLocation gpsLocation = listOfGPSLocations.get(index);
+
+            if (simplifiedIndex < simplifiedListOfGPSLocations.size() &&
+                    (gpsLocation == null ?
+                     simplifiedListOfGPSLocations.get(simplifiedIndex) == null :
+                     gpsLocation.equals(simplifiedListOfGPSLocations.get(simplifiedIndex))))
+            {
+                keptIndices.add(index);
+                simplifiedIndex++;
+            }
+            else
+            {
+                assertNotNull("A pause was removed", gpsLocation);
+            }
+        }
+
+        assertEquals(simplifiedListOfGPSLocations.size(), simplifiedIndex);
+
+
+        //every removed GPSLocation must be close to the line between its kept neighbours
+        final double ROUNDING_ERROR_IN_METERS = 1e-6;
+
+        for (int keptIndex = 1; keptIndex < keptIndices.size(); keptIndex++)
+        {
+            IGPSLocation start = listOfGPSLocations.get(keptIndices.get(keptIndex - 1));
+            IGPSLocation end = listOfGPSLocations.get(keptIndices.get(keptIndex));
+
+            for (int index = keptIndices.get(keptIndex - 1) + 1;
+                 index < keptIndices.get(keptIndex); index++)
+            {
+                assertNotNull(start);
+                assertNotNull(end);
+
+                double distanceInMeters = calculateDistanceToLineSegmentInMeters(
+                        listOfGPSLocations.get(index), start, end, gpsTrack.getLatitude(0));
+
+                assertTrue(distanceInMeters <= toleranceInMeters + ROUNDING_ERROR_IN_METERS);
+            }
+        }
+    }
+
+
+    /**
+     * Calculate and return the distance in meters between a GPSLocation and the line segment
+     * between two other GPSLocations, in an equirectangular projection around a reference
+     * latitude
+     * */
+    private static double calculateDistanceToLineSegmentInMeters(IGPSLocation point,
+                                                                 IGPSLocation start,
+                                                                 IGPSLocation end,
+                                                                 double referenceLatitude)
+    {
+        double metersPerDegreeOfLongitude = METERS_PER_DEGREE *
+                                            Math.cos(referenceLatitude * Math.PI / 180);
+
+        double pointX = point.getLongitude() * metersPerDegreeOfLongitude;
+        double pointY = point.getLatitude() * METERS_PER_DEGREE;
+        double startX = start.getLongitude() * metersPerDegreeOfLongitude;
+        double startY = start.getLatitude() * METERS_PER_DEGREE;
+        double endX = end.getLongitude() * metersPerDegreeOfLongitude;
+        double endY = end.getLatitude() * METERS_PER_DEGREE;
+
+        double segmentX = endX - startX;
+        double segmentY = endY - startY;
+        double segmentLengthSquared = segmentX * segmentX + segmentY * segmentY;
+
+        double projection = segmentLengthSquared == 0 ? 0 :
+                ((pointX - startX) * segmentX + (pointY - startY) * segmentY) /
+                segmentLengthSquared;
+
+        projection = Math.max(0, Math.min(1, projection));
+
+        return Math.hypot(pointX - (startX + projection * segmentX),
+                          pointY - (startY + projection * segmentY));
+    }
+}
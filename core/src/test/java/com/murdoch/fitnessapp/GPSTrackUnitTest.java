@@ -0,0 +1,408 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.GPSLocation;
+import com.murdoch.fitnessapp.models.implementations.GPSTrack;
+import com.murdoch.fitnessapp.models.implementations.GPSTrackPacking;
+import com.murdoch.fitnessapp.models.interfaces.IGPSLocation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Contains the unit test of various methods of the GPSTrack class
+ */
+public class GPSTrackUnitTest
+{
+    /**
+     * Test that the list view of a track with leading, consecutive and trailing pauses
+     * contains the same elements, in the same order, as the list the elements were added from
+     * */
+    @Test
+    public void getListOfGPSLocations_TrackWithPausesAtEveryPosition_SameAsAddedList()
+    {
+        final List<IGPSLocation> RANDOM_LIST_OF_GPS_LOCATIONS = new ArrayList<>();
+
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(null);
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(new GPSLocation(1.363189, 103.926002));
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(new GPSLocation(1.363200, 103.926100));
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(null);
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(null);
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(new GPSLocation(1.364000, 103.927000));
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(null);
+
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (IGPSLocation gpsLocation : RANDOM_LIST_OF_GPS_LOCATIONS)
+        {
+            gpsTrack.add(gpsLocation);
+        }
+
+        final int EXPECTED_NUMBER_OF_GPS_LOCATIONS = 3;
+        final int EXPECTED_NUMBER_OF_PAUSES = 4;
+
+        assertEquals(EXPECTED_NUMBER_OF_GPS_LOCATIONS, gpsTrack.getNumberOfGPSLocations());
+        assertEquals(EXPECTED_NUMBER_OF_PAUSES, gpsTrack.getNumberOfPauses());
+        assertTrue(gpsTrack.endsWithPause());
+
+        assertEquals(RANDOM_LIST_OF_GPS_LOCATIONS, gpsTrack.getListOfGPSLocations());
+        assertEquals(RANDOM_LIST_OF_GPS_LOCATIONS, new ArrayList<>(gpsTrack.getListOfGPSLocations()));
+    }
+
+
+    /**
+     * Test that both get(int) and the iterator of the list view return the same elements as
+     * the list the elements were added from, for random tracks with random pauses
+     * */
+    @Test
+    public void getListOfGPSLocations_RandomTracks_GetAndIteratorSameAsAddedList()
+    {
+        final long RANDOM_SEED = 42;
+        final int NUMBER_OF_TRACKS = 20;
+        final int NUMBER_OF_ELEMENTS_PER_TRACK = 1000;
+
+        final double PAUSE_PROBABILITY = 0.1;
+
+        Random random = new Random(RANDOM_SEED);
+
+        for (int trackIndex = 0; trackIndex < NUMBER_OF_TRACKS; trackIndex++)
+        {
+            List<IGPSLocation> listOfGPSLocations = new ArrayList<>();
+            GPSTrack gpsTrack = new GPSTrack();
+
+            for (int index = 0; index < NUMBER_OF_ELEMENTS_PER_TRACK; index++)
+            {
+                IGPSLocation gpsLocation = random.nextDouble() < PAUSE_PROBABILITY ? null :
+                        new GPSLocation(random.nextDouble() * 180 - 90,
+                                        random.nextDouble() * 360 - 180);
+
+                listOfGPSLocations.add(gpsLocation);
+                gpsTrack.add(gpsLocation);
+            }
+
+
+            List<IGPSLocation> listView = gpsTrack.getListOfGPSLocations();
+
+            assertEquals(listOfGPSLocations.size(), listView.size());
+
+            Iterator<IGPSLocation> iterator = listView.iterator();
+
+            for (int index = 0; index < listOfGPSLocations.size(); index++)
+            {
+                assertEquals(listOfGPSLocations.get(index), listView.get(index));
+                assertEquals(listOfGPSLocations.get(index), iterator.next());
+            }
+
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+
+    /**
+     * Test that the list view reflects the GPSLocations added after it is returned
+     * */
+    @Test
+    public void getListOfGPSLocations_AddAfterViewReturned_ViewUpdated()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        List<IGPSLocation> listView = gpsTrack.getListOfGPSLocations();
+
+        final IGPSLocation RANDOM_GPS_LOCATION = new GPSLocation(1.363189, 103.926002);
+
+        gpsTrack.add(RANDOM_GPS_LOCATION);
+
+        final int EXPECTED_SIZE_OF_LIST = 1;
+        final int INDEX_OF_RANDOM_GPS_LOCATION = 0;
+
+        assertEquals(EXPECTED_SIZE_OF_LIST, listView.size());
+        assertEquals(RANDOM_GPS_LOCATION, listView.get(INDEX_OF_RANDOM_GPS_LOCATION));
+    }
+
+
+    /**
+     * Test that the list view cannot be modified
+     * */
+    @Test
+    public void getListOfGPSLocations_AddToView_UnsupportedOperationException()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> gpsTrack.getListOfGPSLocations().add(new GPSLocation()));
+    }
+
+
+    /**
+     * Test that accessing the list view or the coordinates outside the range of the track
+     * throws an IndexOutOfBoundsException
+     * */
+    @Test
+    public void get_IndexOutOfRange_IndexOutOfBoundsException()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.add(new GPSLocation(1.363189, 103.926002));
+        gpsTrack.addPause();
+
+        final int LIST_INDEX_OUT_OF_RANGE = 2;
+        final int GPS_LOCATION_INDEX_OUT_OF_RANGE = 1;
+        final int PAUSE_INDEX_OUT_OF_RANGE = 1;
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> gpsTrack.getListOfGPSLocations().get(LIST_INDEX_OUT_OF_RANGE));
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> gpsTrack.getLatitude(GPS_LOCATION_INDEX_OUT_OF_RANGE));
+
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> gpsTrack.getSegmentStartIndex(PAUSE_INDEX_OUT_OF_RANGE));
+    }
+
+
+    /**
+     * Test that clear() removes all the GPSLocations and pauses
+     * */
+    @Test
+    public void clear_TrackWithGPSLocationsAndPauses_EmptyTrack()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.add(new GPSLocation(1.363189, 103.926002));
+        gpsTrack.addPause();
+
+        gpsTrack.clear();
+
+        assertTrue(gpsTrack.isEmpty());
+        assertFalse(gpsTrack.endsWithPause());
+        assertTrue(gpsTrack.getListOfGPSLocations().isEmpty());
+        assertEquals(new GPSTrack(), gpsTrack);
+    }
+
+
+    /**
+     * Test that two tracks are only equal if they have the same GPSLocations and the same
+     * pauses
+     * */
+    @Test
+    public void equals_SameGPSLocationsDifferentPauses_NotEqual()
+    {
+        GPSTrack gpsTrack1 = new GPSTrack();
+        GPSTrack gpsTrack2 = new GPSTrack();
+
+        gpsTrack1.add(new GPSLocation(1.363189, 103.926002));
+        gpsTrack1.addPause();
+        gpsTrack1.add(new GPSLocation(1.364000, 103.927000));
+
+        gpsTrack2.add(new GPSLocation(1.363189, 103.926002));
+        gpsTrack2.add(new GPSLocation(1.364000, 103.927000));
+
+        assertNotEquals(gpsTrack1, gpsTrack2);
+
+        gpsTrack2.clear();
+        gpsTrack2.add(new GPSLocation(1.363189, 103.926002));
+        gpsTrack2.addPause();
+        gpsTrack2.add(new GPSLocation(1.364000, 103.927000));
+
+        assertEquals(gpsTrack1, gpsTrack2);
+        assertEquals(gpsTrack1.hashCode(), gpsTrack2.hashCode());
+    }
+
+
+    /**
+     * Test that the details of the GPSLocations are kept by the track, with the GPSLocations
+     * added before the first GPSLocation with details having none
+     * */
+    @Test
+    public void getListOfGPSLocations_GPSLocationsWithAndWithoutDetails_SameAsAddedList()
+    {
+        final List<IGPSLocation> RANDOM_LIST_OF_GPS_LOCATIONS = new ArrayList<>();
+
+        GPSLocation gpsLocationWithAllDetails = new GPSLocation(1.363200, 103.926100);
+        gpsLocationWithAllDetails.setTimestampInMilliseconds(1700000000000L);
+        gpsLocationWithAllDetails.setAccuracyInMeters(3.9);
+        gpsLocationWithAllDetails.setAltitudeInMeters(15.5);
+        gpsLocationWithAllDetails.setSpeedInMetersPerSecond(2.4);
+
+        GPSLocation gpsLocationWithSomeDetails = new GPSLocation(1.364000, 103.927000);
+        gpsLocationWithSomeDetails.setTimestampInMilliseconds(1700000005000L);
+
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(new GPSLocation(1.363189, 103.926002));
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(gpsLocationWithAllDetails);
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(null);
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(gpsLocationWithSomeDetails);
+        RANDOM_LIST_OF_GPS_LOCATIONS.add(new GPSLocation(1.365000, 103.928000));
+
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (IGPSLocation gpsLocation : RANDOM_LIST_OF_GPS_LOCATIONS)
+        {
+            gpsTrack.add(gpsLocation);
+        }
+
+        assertTrue(gpsTrack.hasDetails());
+        assertEquals(GPSLocation.NO_TIMESTAMP, gpsTrack.getTimestampInMilliseconds(0));
+        assertEquals(1700000000000L, gpsTrack.getTimestampInMilliseconds(1));
+        assertTrue(Double.isNaN(gpsTrack.getAltitudeInMeters(2)));
+
+        assertEquals(RANDOM_LIST_OF_GPS_LOCATIONS, gpsTrack.getListOfGPSLocations());
+        assertEquals(RANDOM_LIST_OF_GPS_LOCATIONS,
+                     new ArrayList<>(gpsTrack.getListOfGPSLocations()));
+    }
+
+
+    /**
+     * Test that a track without details is equal to a track whose GPSLocations were added
+     * with missing details, but not to a track whose GPSLocations have any detail
+     * */
+    @Test
+    public void equals_SameCoordinatesDifferentDetails_NotEqual()
+    {
+        GPSTrack gpsTrack1 = new GPSTrack();
+        GPSTrack gpsTrack2 = new GPSTrack();
+
+        gpsTrack1.addGPSLocation(1.363189, 103.926002);
+
+        gpsTrack2.addGPSLocation(1.363189, 103.926002, GPSLocation.NO_TIMESTAMP,
+                                 Double.NaN, Double.NaN, Double.NaN);
+
+        assertEquals(gpsTrack1, gpsTrack2);
+        assertEquals(gpsTrack2, gpsTrack1);
+
+        gpsTrack1.addGPSLocation(1.364000, 103.927000);
+        gpsTrack2.addGPSLocation(1.364000, 103.927000, GPSLocation.NO_TIMESTAMP,
+                                 Double.NaN, Double.NaN, 1.5);
+
+        assertNotEquals(gpsTrack1, gpsTrack2);
+    }
+
+
+    /**
+     * Test that a snapshot keeps the GPSLocations and pauses of the track when it was
+     * created, while GPSLocations and pauses are added to the track afterwards, including
+     * when the arrays of the track grow
+     * */
+    @Test
+    public void createSnapshot_AddedToTrackAfterwards_SnapshotUnchanged()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addPause();
+        gpsTrack.addGPSLocation(1.364000, 103.927000, 1000, 5, 12, 1.5);
+
+        List<IGPSLocation> expectedListOfGPSLocations =
+                                    new ArrayList<>(gpsTrack.getListOfGPSLocations());
+
+        GPSTrack snapshot = gpsTrack.createSnapshot();
+
+        for (int index = 0; index < 200; index++)
+        {
+            gpsTrack.addGPSLocation(1.365 + index * 1e-4, 103.928, 2000 + index, 4, 11, 2);
+
+            if (index % 50 == 0)
+            {
+                gpsTrack.addPause();
+            }
+        }
+
+        assertEquals(2, snapshot.getNumberOfGPSLocations());
+        assertEquals(1, snapshot.getNumberOfPauses());
+        assertEquals(expectedListOfGPSLocations,
+                     new ArrayList<>(snapshot.getListOfGPSLocations()));
+    }
+
+
+    /**
+     * Test that adding GPSLocations and pauses to a snapshot copies the arrays shared with
+     * the track first, so that neither the track nor the snapshot is changed by the other
+     * */
+    @Test
+    public void createSnapshot_AddedToSnapshot_TrackUnchanged()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addGPSLocation(1.364000, 103.927000);
+
+        GPSTrack snapshot = gpsTrack.createSnapshot();
+
+        snapshot.addGPSLocation(10, 20);
+        snapshot.addPause();
+        gpsTrack.addGPSLocation(30, 40, 1000, 5, 12, 1.5);
+
+        assertEquals(3, gpsTrack.getNumberOfGPSLocations());
+        assertEquals(0, gpsTrack.getNumberOfPauses());
+        assertEquals(30, gpsTrack.getLatitude(2), 0);
+        assertEquals(1000, gpsTrack.getTimestampInMilliseconds(2));
+
+        assertEquals(3, snapshot.getNumberOfGPSLocations());
+        assertEquals(1, snapshot.getNumberOfPauses());
+        assertEquals(10, snapshot.getLatitude(2), 0);
+        assertFalse(snapshot.hasDetails());
+    }
+
+
+    /**
+     * Test that the bounding box is that of the GPSLocations added, ignoring the pauses, and
+     * that it is empty (NaN) before any GPSLocation is added and after the track is cleared
+     * */
+    @Test
+    public void getMinimumAndMaximumCoordinates_GPSLocationsAdded_BoundingBox()
+    {
+        GPSTrack gpsTrack = new GPSTrack();
+
+        gpsTrack.addPause();
+
+        assertTrue(Double.isNaN(gpsTrack.getMinimumLatitude()));
+        assertTrue(Double.isNaN(gpsTrack.getMaximumLongitude()));
+
+        gpsTrack.addGPSLocation(1.363189, 103.926002);
+        gpsTrack.addGPSLocation(1.371000, 103.920000, 1000, 5, 12, 1.5);
+        gpsTrack.addPause();
+        gpsTrack.addGPSLocation(1.360000, 103.931000);
+
+        assertEquals(1.360000, gpsTrack.getMinimumLatitude(), 0);
+        assertEquals(1.371000, gpsTrack.getMaximumLatitude(), 0);
+        assertEquals(103.920000, gpsTrack.getMinimumLongitude(), 0);
+        assertEquals(103.931000, gpsTrack.getMaximumLongitude(), 0);
+
+        gpsTrack.clear();
+
+        assertTrue(Double.isNaN(gpsTrack.getMaximumLatitude()));
+        assertTrue(Double.isNaN(gpsTrack.getMinimumLongitude()));
+    }
+
+
+    /**
+     * Test that a track unpacked from its packed form has the same bounding box as the
+     * original track
+     * */
+    @Test
+    public void getMinimumAndMaximumCoordinates_UnpackedTrack_SameBoundingBox()
+    {
+        final Random RANDOM = new Random(7);
+
+        GPSTrack gpsTrack = new GPSTrack();
+
+        for (int index = 0; index < 500; index++)
+        {
+            gpsTrack.addGPSLocation(-33.9 + RANDOM.nextDouble() * 0.1,
+                                    151.1 + RANDOM.nextDouble() * 0.1);
+        }
+
+        GPSTrack unpackedGPSTrack = GPSTrackPacking.unpack(GPSTrackPacking.pack(gpsTrack));
+
+        assertEquals(gpsTrack.getMinimumLatitude(), unpackedGPSTrack.getMinimumLatitude(), 0);
+        assertEquals(gpsTrack.getMaximumLatitude(), unpackedGPSTrack.getMaximumLatitude(), 0);
+        assertEquals(gpsTrack.getMinimumLongitude(), unpackedGPSTrack.getMinimumLongitude(),
+                     0);
+        assertEquals(gpsTrack.getMaximumLongitude(), unpackedGPSTrack.getMaximumLongitude(),
+                     0);
+    }
+}
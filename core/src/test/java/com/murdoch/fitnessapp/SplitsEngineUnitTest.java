@@ -0,0 +1,242 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.Split;
+import com.murdoch.fitnessapp.models.implementations.SplitsEngine;
+import com.murdoch.fitnessapp.models.interfaces.ISplit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the unit test of various methods of the SplitsEngine class
+ */
+public class SplitsEngineUnitTest
+{
+    private static final double MAXIMUM_DELTA = 1e-9;
+
+
+    /**
+     * Test the constructor throws a NullPointerException when the distance split type is null
+     * */
+    @Test(expected = NullPointerException.class)
+    public void constructor_NullDistanceSplitType_NullPointerException()
+    {
+        new SplitsEngine(null);
+    }
+
+
+    /**
+     * Test the constructor throws an IllegalArgumentException when the distance split type is
+     * a lap, as laps cannot be emitted by distance
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_LapSplitType_IllegalArgumentException()
+    {
+        new SplitsEngine(ISplit.SplitType.LAP);
+    }
+
+
+    /**
+     * Test that no split is emitted before the distance travelled reaches the first kilometer
+     * */
+    @Test
+    public void update_DistanceBelowFirstKilometer_NoSplit()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(0.4, 100);
+        splitsEngine.update(0.999, 250);
+
+        assertTrue(splitsEngine.getListOfSplits().isEmpty());
+    }
+
+
+    /**
+     * Test that a split is emitted at the kilometer crossed, with the elapsed duration
+     * interpolated between the two updates around the boundary
+     * */
+    @Test
+    public void update_KilometerCrossed_SplitWithInterpolatedDuration()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(0.8, 200);
+        splitsEngine.update(1.2, 300);
+
+        List<ISplit> listOfSplits = splitsEngine.getListOfSplits();
+
+        assertEquals(1, listOfSplits.size());
+        assertEquals(ISplit.SplitType.KILOMETER, listOfSplits.get(0).getSplitType());
+        assertEquals(1.0, listOfSplits.get(0).getDistanceTravelledInKilometers(),
+                     MAXIMUM_DELTA);
+        assertEquals(250, listOfSplits.get(0).getElapsedDurationInSeconds(), MAXIMUM_DELTA);
+    }
+
+
+    /**
+     * Test that a split is emitted for every kilometer crossed within a single update, such
+     * as after a gap in the GPSLocations
+     * */
+    @Test
+    public void update_SeveralKilometersCrossedInOneUpdate_OneSplitPerKilometer()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(3.5, 700);
+
+        List<ISplit> listOfSplits = splitsEngine.getListOfSplits();
+
+        assertEquals(3, listOfSplits.size());
+
+        for (int index = 0; index < listOfSplits.size(); index++)
+        {
+            assertEquals(index + 1, listOfSplits.get(index).getDistanceTravelledInKilometers(),
+                         MAXIMUM_DELTA);
+            assertEquals(200 * (index + 1),
+                         listOfSplits.get(index).getElapsedDurationInSeconds(), MAXIMUM_DELTA);
+        }
+    }
+
+
+    /**
+     * Test that the splits of a mile split engine are emitted at every mile crossed
+     * */
+    @Test
+    public void update_MileSplitType_SplitsAtEveryMile()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.MILE);
+
+        splitsEngine.update(1.5, 100);
+        splitsEngine.update(3.3, 200);
+
+        List<ISplit> listOfSplits = splitsEngine.getListOfSplits();
+
+        assertEquals(2, listOfSplits.size());
+        assertEquals(ISplit.SplitType.MILE, listOfSplits.get(0).getSplitType());
+        assertEquals(SplitsEngine.KILOMETERS_PER_MILE,
+                     listOfSplits.get(0).getDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+        assertEquals(2 * SplitsEngine.KILOMETERS_PER_MILE,
+                     listOfSplits.get(1).getDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+    }
+
+
+    /**
+     * Test that the update throws an IllegalArgumentException when the distance travelled
+     * is less than that of the previous update
+     * */
+    @Test(expected = IllegalArgumentException.class)
+    public void update_DecreasingDistance_IllegalArgumentException()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(1.5, 100);
+        splitsEngine.update(1.4, 110);
+    }
+
+
+    /**
+     * Test that a lap is marked at the distance travelled of the last update, in between the
+     * distance splits
+     * */
+    @Test
+    public void markLap_AfterUpdates_LapAtLastDistance()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(0.6, 150);
+
+        ISplit lap = splitsEngine.markLap(160);
+
+        splitsEngine.update(1.4, 400);
+
+        List<ISplit> listOfSplits = splitsEngine.getListOfSplits();
+
+        assertEquals(2, listOfSplits.size());
+        assertEquals(lap, listOfSplits.get(0));
+        assertEquals(ISplit.SplitType.LAP, lap.getSplitType());
+        assertEquals(0.6, lap.getDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+        assertEquals(160, lap.getElapsedDurationInSeconds(), MAXIMUM_DELTA);
+        assertEquals(ISplit.SplitType.KILOMETER, listOfSplits.get(1).getSplitType());
+    }
+
+
+    /**
+     * Test that the durations and distances of the splits are calculated separately for the
+     * distance splits and the laps
+     * */
+    @Test
+    public void calculateDurationsAndDistancesOfSplits_DistanceSplitsAndLaps_PerKindDifferences()
+    {
+        List<ISplit> listOfSplits = new ArrayList<>();
+
+        listOfSplits.add(new Split(ISplit.SplitType.LAP, 0.5, 140));
+        listOfSplits.add(new Split(ISplit.SplitType.KILOMETER, 1, 300));
+        listOfSplits.add(new Split(ISplit.SplitType.LAP, 1.6, 480));
+        listOfSplits.add(new Split(ISplit.SplitType.KILOMETER, 2, 590));
+
+        double[] durationsInSeconds =
+                        SplitsEngine.calculateDurationsOfSplitsInSeconds(listOfSplits);
+        double[] distancesInKilometers =
+                        SplitsEngine.calculateDistancesOfSplitsInKilometers(listOfSplits);
+
+        assertArrayEquals(new double[] {140, 300, 340, 290}, durationsInSeconds, MAXIMUM_DELTA);
+        assertArrayEquals(new double[] {0.5, 1, 1.1, 1}, distancesInKilometers, MAXIMUM_DELTA);
+    }
+
+
+    /**
+     * Test that an engine restored with stored splits continues emitting splits from the
+     * last update restored, without emitting the restored splits again
+     * */
+    @Test
+    public void restore_StoredSplits_ContinuesFromLastUpdate()
+    {
+        List<ISplit> listOfStoredSplits = new ArrayList<>();
+
+        listOfStoredSplits.add(new Split(ISplit.SplitType.KILOMETER, 1, 300));
+        listOfStoredSplits.add(new Split(ISplit.SplitType.LAP, 1.5, 450));
+
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(5, 1000);
+        splitsEngine.restore(listOfStoredSplits, 1.5, 450);
+
+        assertEquals(listOfStoredSplits, splitsEngine.getListOfSplits());
+
+        splitsEngine.update(2.5, 750);
+
+        List<ISplit> listOfSplits = splitsEngine.getListOfSplits();
+
+        assertEquals(3, listOfSplits.size());
+        assertEquals(2.0, listOfSplits.get(2).getDistanceTravelledInKilometers(),
+                     MAXIMUM_DELTA);
+        assertEquals(600, listOfSplits.get(2).getElapsedDurationInSeconds(), MAXIMUM_DELTA);
+    }
+
+
+    /**
+     * Test that clearing the engine removes all the splits, and starts again from no
+     * distance travelled
+     * */
+    @Test
+    public void clear_AfterSplits_EmptyAndRestartsFromZero()
+    {
+        SplitsEngine splitsEngine = new SplitsEngine(ISplit.SplitType.KILOMETER);
+
+        splitsEngine.update(2.5, 700);
+        splitsEngine.clear();
+
+        assertTrue(splitsEngine.getListOfSplits().isEmpty());
+        assertEquals(0, splitsEngine.getLastDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+
+        splitsEngine.update(1.0, 310);
+
+        assertEquals(1, splitsEngine.getListOfSplits().size());
+        assertEquals(310, splitsEngine.getListOfSplits().get(0).getElapsedDurationInSeconds(),
+                     MAXIMUM_DELTA);
+    }
+}
@@ -0,0 +1,151 @@
+package com.murdoch.fitnessapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionListItem;
+import com.murdoch.fitnessapp.models.implementations.WorkoutSessionListItemsPage;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSession;
+import com.murdoch.fitnessapp.models.interfaces.IWorkoutSessionListItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contains the unit test of various methods of the WorkoutSessionListItem and
+ * WorkoutSessionListItemsPage classes
+ */
+public class WorkoutSessionListItemUnitTest
+{
+    private static final long RANDOM_WORKOUT_SESSION_ID = 7;
+    private static final IWorkoutSession.ActivityType RANDOM_ACTIVITY_TYPE =
+                                                        IWorkoutSession.ActivityType.RUNNING;
+    private static final LocalDateTime RANDOM_START_DATE_TIME =
+                                                        LocalDateTime.of(2021, 10, 22, 15, 12, 45);
+    private static final int RANDOM_DURATION_IN_SECONDS = 500;
+    private static final int RANDOM_NUMBER_OF_STEPS_TAKEN = 1000;
+    private static final double RANDOM_CALORIES_CONSUMED = 45.5;
+    private static final double RANDOM_DISTANCE_TRAVELLED_IN_KILOMETERS = 1.25;
+    private static final int RANDOM_NUMBER_OF_GPS_LOCATIONS = 120;
+    private static final int RANDOM_NUMBER_OF_IMAGES_TAKEN = 3;
+
+
+    /**
+     * Test the constructor correctly initializes all the values of the list item
+     * */
+    @Test
+    public void constructor_ValidArguments_NoException()
+    {
+        WorkoutSessionListItem workoutSessionListItem = getRandomWorkoutSessionListItem();
+
+        final double MAXIMUM_DELTA = 0;
+
+        assertEquals(RANDOM_WORKOUT_SESSION_ID, workoutSessionListItem.getWorkoutSessionId());
+        assertEquals(RANDOM_ACTIVITY_TYPE, workoutSessionListItem.getActivityType());
+        assertEquals(RANDOM_START_DATE_TIME, workoutSessionListItem.getStartDateTime());
+        assertEquals(RANDOM_DURATION_IN_SECONDS, workoutSessionListItem.getDurationInSeconds());
+        assertEquals(RANDOM_NUMBER_OF_STEPS_TAKEN,
+                     workoutSessionListItem.getNumberOfStepsTaken());
+        assertEquals(RANDOM_CALORIES_CONSUMED,
+                     workoutSessionListItem.getCaloriesConsumed(), MAXIMUM_DELTA);
+        assertEquals(RANDOM_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                     workoutSessionListItem.getDistanceTravelledInKilometers(), MAXIMUM_DELTA);
+        assertEquals(RANDOM_NUMBER_OF_GPS_LOCATIONS,
+                     workoutSessionListItem.getNumberOfGPSLocations());
+        assertEquals(RANDOM_NUMBER_OF_IMAGES_TAKEN,
+                     workoutSessionListItem.getNumberOfImagesTaken());
+    }
+
+
+    /**
+     * Test the constructor throws a NullPointerException if the start date time is null
+     * */
+    @Test
+    public void constructor_InvalidNullStartDateTime_NullPointerException()
+    {
+        assertThrows(NullPointerException.class,
+                () -> new WorkoutSessionListItem(RANDOM_WORKOUT_SESSION_ID,
+                        RANDOM_ACTIVITY_TYPE, null, RANDOM_DURATION_IN_SECONDS,
+                        RANDOM_NUMBER_OF_STEPS_TAKEN, RANDOM_CALORIES_CONSUMED,
+                        RANDOM_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                        RANDOM_NUMBER_OF_GPS_LOCATIONS, RANDOM_NUMBER_OF_IMAGES_TAKEN));
+    }
+
+
+    /**
+     * Test the constructor throws an IllegalArgumentException if the number of GPSLocations
+     * is a negative number
+     * */
+    @Test
+    public void constructor_InvalidNegativeNumberOfGPSLocations_IllegalArgumentException()
+    {
+        final int RANDOM_INVALID_NEGATIVE_NUMBER_OF_GPS_LOCATIONS = -1;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkoutSessionListItem(RANDOM_WORKOUT_SESSION_ID,
+                        RANDOM_ACTIVITY_TYPE, RANDOM_START_DATE_TIME, RANDOM_DURATION_IN_SECONDS,
+                        RANDOM_NUMBER_OF_STEPS_TAKEN, RANDOM_CALORIES_CONSUMED,
+                        RANDOM_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                        RANDOM_INVALID_NEGATIVE_NUMBER_OF_GPS_LOCATIONS,
+                        RANDOM_NUMBER_OF_IMAGES_TAKEN));
+    }
+
+
+    /**
+     * Test that the page copies the list of list items, and that the list returned by
+     * getListOfWorkoutSessionListItems() cannot be modified
+     * */
+    @Test
+    public void workoutSessionListItemsPage_ModifyLists_UnsupportedOperationException()
+    {
+        List<IWorkoutSessionListItem> listOfWorkoutSessionListItems = new ArrayList<>();
+        listOfWorkoutSessionListItems.add(getRandomWorkoutSessionListItem());
+
+        final boolean RANDOM_HAS_NEXT_PAGE = true;
+
+        WorkoutSessionListItemsPage workoutSessionListItemsPage =
+                new WorkoutSessionListItemsPage(listOfWorkoutSessionListItems,
+                                                RANDOM_HAS_NEXT_PAGE, RANDOM_WORKOUT_SESSION_ID);
+
+        listOfWorkoutSessionListItems.clear();
+
+        final int EXPECTED_LIST_SIZE = 1;
+
+        assertEquals(EXPECTED_LIST_SIZE,
+                     workoutSessionListItemsPage.getListOfWorkoutSessionListItems().size());
+
+        assertTrue(workoutSessionListItemsPage.hasNextPage());
+
+        assertEquals(RANDOM_WORKOUT_SESSION_ID,
+                     workoutSessionListItemsPage.getNextPageBeforeSessionIdExclusive());
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> workoutSessionListItemsPage.getListOfWorkoutSessionListItems().clear());
+    }
+
+
+    /**
+     * Test the page constructor throws a NullPointerException if the list of list items
+     * is null
+     * */
+    @Test
+    public void workoutSessionListItemsPage_InvalidNullList_NullPointerException()
+    {
+        assertThrows(NullPointerException.class,
+                () -> new WorkoutSessionListItemsPage(null, false, 0));
+    }
+
+
+    /**
+     * Returns a list item with the random values of this class
+     * */
+    private static WorkoutSessionListItem getRandomWorkoutSessionListItem()
+    {
+        return new WorkoutSessionListItem(RANDOM_WORKOUT_SESSION_ID, RANDOM_ACTIVITY_TYPE,
+                RANDOM_START_DATE_TIME, RANDOM_DURATION_IN_SECONDS, RANDOM_NUMBER_OF_STEPS_TAKEN,
+                RANDOM_CALORIES_CONSUMED, RANDOM_DISTANCE_TRAVELLED_IN_KILOMETERS,
+                RANDOM_NUMBER_OF_GPS_LOCATIONS, RANDOM_NUMBER_OF_IMAGES_TAKEN);
+    }
+}